@@ -2,6 +2,18 @@ package com.trackerpro.config;
 
 import com.trackerpro.entity.*;
 import com.trackerpro.repository.*;
+import com.trackerpro.service.ApplicationFunnelService;
+import com.trackerpro.service.CourseDemandRanking;
+import com.trackerpro.service.ComplaintSearchService;
+import com.trackerpro.service.CourseSuggestIndex;
+import com.trackerpro.service.DistinctCountService;
+import com.trackerpro.service.EmailExistenceFilter;
+import com.trackerpro.service.EntityCounterService;
+import com.trackerpro.service.LoginKeyBackfillService;
+import com.trackerpro.service.PrincipalDirectoryService;
+import com.trackerpro.service.RegistrationFacetIndex;
+import com.trackerpro.service.SearchIndexService;
+import com.trackerpro.service.TrendRollupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +44,42 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private LoginKeyBackfillService loginKeyBackfillService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private ApplicationFunnelService applicationFunnelService;
+    
+    @Autowired
+    private CourseDemandRanking courseDemandRanking;
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+    
     @Override
     public void run(String... args) throws Exception {
         logger.info("Initializing application data...");
@@ -42,6 +90,22 @@ public class DataInitializer implements CommandLineRunner {
         initializeCourses();
         initializeComplaints();
         
+        // Fill normalized login columns on rows written before they existed
+        loginKeyBackfillService.backfill();
+        
+        // Seed data above is written through repositories, so bring the login directory in line
+        principalDirectoryService.synchronize();
+        emailExistenceFilter.rebuild();
+        entityCounterService.reconcile();
+        trendRollupService.rebuildEmptySeries();
+        applicationFunnelService.rebuild();
+        courseDemandRanking.rebuild();
+        distinctCountService.load();
+        registrationFacetIndex.rebuild();
+        searchIndexService.warmStart();
+        courseSuggestIndex.rebuild();
+        complaintSearchService.rebuild();
+        
         logger.info("Application data initialization completed");
     }
     
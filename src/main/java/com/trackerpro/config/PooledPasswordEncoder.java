@@ -0,0 +1,256 @@
+package com.trackerpro.config;
+
+import com.trackerpro.exception.OverloadedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Password encoder that runs the (CPU-heavy) delegate on a dedicated pool sized
+ * to the cores instead of on request threads. The pool has a bounded queue; when
+ * it is full, or a task waits longer than the configured limit, callers get an
+ * {@link OverloadedException} right away so the rest of the API stays responsive.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+    
+    private static final long BULK_RETRY_MILLIS = 10;
+    
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                 long maxWaitMillis, long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    /**
+     * Encode many passwords across all pool threads, for bulk imports.
+     * At most one task per pool thread is in flight for the batch, so interactive
+     * logins still find room in the queue; when the queue is full anyway the batch
+     * waits and retries instead of failing. Results are in input order.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                inFlight.acquire();
+                futures.add(submitWhenAccepted(timed(() -> {
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                })));
+            }
+            
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+            
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private <T> Future<T> submitWhenAccepted(Callable<T> task) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    throw e;
+                }
+                Thread.sleep(BULK_RETRY_MILLIS);
+            }
+        }
+    }
+    
+    private <T> Callable<T> timed(Callable<T> hashTask) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            recordMax(totalQueueWaitNanos, maxQueueWaitNanos, startedAt - submittedAt);
+            try {
+                return hashTask.call();
+            } finally {
+                recordMax(totalHashNanos, maxHashNanos, System.nanoTime() - startedAt);
+                completed.increment();
+            }
+        };
+    }
+    
+    private <T> T execute(Callable<T> hashTask) {
+        Future<T> future;
+        try {
+            future = executor.submit(timed(hashTask));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new OverloadedException("Server is busy. Please try again shortly.", retryAfterSeconds, e);
+        }
+        
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timedOut.increment();
+            throw new OverloadedException("Server is busy. Please try again shortly.", retryAfterSeconds, e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private static void recordMax(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+    
+    /**
+     * Snapshot of the hashing pool for monitoring
+     */
+    public HashingStatistics getStatistics() {
+        HashingStatistics stats = new HashingStatistics();
+        long completedCount = completed.sum();
+        stats.setPoolSize(executor.getMaximumPoolSize());
+        stats.setActiveThreads(executor.getActiveCount());
+        stats.setQueuedTasks(executor.getQueue().size());
+        stats.setQueueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.setCompletedTasks(completedCount);
+        stats.setRejectedTasks(rejected.sum());
+        stats.setTimedOutTasks(timedOut.sum());
+        stats.setAverageQueueWaitMillis(completedCount == 0 ? 0 : nanosToMillis(totalQueueWaitNanos.sum()) / completedCount);
+        stats.setMaxQueueWaitMillis(nanosToMillis(maxQueueWaitNanos.get()));
+        stats.setAverageHashMillis(completedCount == 0 ? 0 : nanosToMillis(totalHashNanos.sum()) / completedCount);
+        stats.setMaxHashMillis(nanosToMillis(maxHashNanos.get()));
+        return stats;
+    }
+    
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+    
+    // Inner class for statistics
+    public static class HashingStatistics {
+        private int poolSize;
+        private int activeThreads;
+        private int queuedTasks;
+        private int queueCapacity;
+        private long completedTasks;
+        private long rejectedTasks;
+        private long timedOutTasks;
+        private double averageQueueWaitMillis;
+        private double maxQueueWaitMillis;
+        private double averageHashMillis;
+        private double maxHashMillis;
+        
+        // Getters and Setters
+        public int getPoolSize() { return poolSize; }
+        public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+        
+        public int getActiveThreads() { return activeThreads; }
+        public void setActiveThreads(int activeThreads) { this.activeThreads = activeThreads; }
+        
+        public int getQueuedTasks() { return queuedTasks; }
+        public void setQueuedTasks(int queuedTasks) { this.queuedTasks = queuedTasks; }
+        
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        
+        public long getCompletedTasks() { return completedTasks; }
+        public void setCompletedTasks(long completedTasks) { this.completedTasks = completedTasks; }
+        
+        public long getRejectedTasks() { return rejectedTasks; }
+        public void setRejectedTasks(long rejectedTasks) { this.rejectedTasks = rejectedTasks; }
+        
+        public long getTimedOutTasks() { return timedOutTasks; }
+        public void setTimedOutTasks(long timedOutTasks) { this.timedOutTasks = timedOutTasks; }
+        
+        public double getAverageQueueWaitMillis() { return averageQueueWaitMillis; }
+        public void setAverageQueueWaitMillis(double averageQueueWaitMillis) { this.averageQueueWaitMillis = averageQueueWaitMillis; }
+        
+        public double getMaxQueueWaitMillis() { return maxQueueWaitMillis; }
+        public void setMaxQueueWaitMillis(double maxQueueWaitMillis) { this.maxQueueWaitMillis = maxQueueWaitMillis; }
+        
+        public double getAverageHashMillis() { return averageHashMillis; }
+        public void setAverageHashMillis(double averageHashMillis) { this.averageHashMillis = averageHashMillis; }
+        
+        public double getMaxHashMillis() { return maxHashMillis; }
+        public void setMaxHashMillis(double maxHashMillis) { this.maxHashMillis = maxHashMillis; }
+    }
+}
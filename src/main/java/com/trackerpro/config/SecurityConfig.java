@@ -1,13 +1,17 @@
 package com.trackerpro.config;
 
+import com.trackerpro.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,13 +23,24 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt runs on a dedicated, bounded pool so hashing bursts cannot occupy every request thread
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder(
+            @Value("${trackerpro.password-hashing.threads:0}") int threads,
+            @Value("${trackerpro.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${trackerpro.password-hashing.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${trackerpro.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity,
+                maxWaitMillis, retryAfterSeconds);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            SessionTokenService sessionTokenService,
+            @Value("${trackerpro.session.enforce:false}") boolean enforceSessions) throws Exception {
         http
                 // Disable CSRF for API endpoints
                 .csrf(csrf -> csrf.disable())
@@ -36,22 +51,39 @@ public class SecurityConfig {
                 // Configure session management
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
+                // Authenticate signed session tokens without a database lookup
+                .addFilterBefore(new SessionTokenFilter(sessionTokenService), UsernamePasswordAuthenticationFilter.class)
+
+                // Missing or invalid tokens get 401 rather than 403
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
                 // Configure authorization
-                .authorizeHttpRequests(authz -> authz
+                .authorizeHttpRequests(authz -> {
+                    authz
                         // Allow public access to authentication endpoints
                         .requestMatchers(
                                 "/api/login",
                                 "/api/auth/register",
                                 "/api/logout",
                                 "/api/auth/status"
-                        ).permitAll()
-
-                        // Allow admin endpoints (temporarily for testing)
-                        .requestMatchers("/api/admin/**").permitAll()
-
-                        // Allow student endpoints
-                        .requestMatchers("/api/student/**").permitAll()
-
+                        ).permitAll();
+
+                    if (enforceSessions) {
+                        // Admin console is for admins and staff, student pages for any signed-in principal
+                        authz
+                            .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "FACULTY", "HR")
+                            .requestMatchers("/api/student/**").authenticated();
+                    } else {
+                        authz
+                            // Allow admin endpoints (temporarily for testing)
+                            .requestMatchers("/api/admin/**").permitAll()
+
+                            // Allow student endpoints
+                            .requestMatchers("/api/student/**").permitAll();
+                    }
+
+                    authz
                         // Allow courses endpoints
                         .requestMatchers("/api/courses/**").permitAll()
 
@@ -76,8 +108,8 @@ public class SecurityConfig {
                         ).permitAll()
 
                         // All other requests
-                        .anyRequest().permitAll()
-                );
+                        .anyRequest().permitAll();
+                });
 
         return http.build();
     }
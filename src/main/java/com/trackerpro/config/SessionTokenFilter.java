@@ -0,0 +1,43 @@
+package com.trackerpro.config;
+
+import com.trackerpro.service.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying a "Bearer" session token. The token is
+ * verified in memory by {@link SessionTokenService}; no database lookup happens
+ * per request. Requests without a valid token continue unauthenticated.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+    
+    private final SessionTokenService sessionTokenService;
+    
+    public SessionTokenFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = SessionTokenService.extractBearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+        
+        sessionTokenService.verify(token).ifPresent(claims -> {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                claims, null, List.of(new SimpleGrantedAuthority("ROLE_" + claims.getRole())));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        });
+        
+        filterChain.doFilter(request, response);
+    }
+}
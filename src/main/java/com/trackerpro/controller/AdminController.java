@@ -1,22 +1,64 @@
 package com.trackerpro.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackerpro.config.PooledPasswordEncoder;
 import com.trackerpro.dto.ApiResponse;
+import com.trackerpro.dto.ComplaintSearchQuery;
+import com.trackerpro.dto.ComplaintSearchResult;
+import com.trackerpro.dto.CourseSuggestion;
+import com.trackerpro.dto.GlobalSearchResult;
+import com.trackerpro.dto.DistinctEstimate;
+import com.trackerpro.dto.RegistrationFacetQuery;
+import com.trackerpro.dto.RegistrationFacetResult;
+import com.trackerpro.dto.FunnelReport;
+import com.trackerpro.dto.StudentImportSummary;
+import com.trackerpro.dto.TrendPoint;
 import com.trackerpro.entity.Admin;
 import com.trackerpro.entity.Course;
+import com.trackerpro.entity.DistinctMetric;
 import com.trackerpro.entity.Student;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.entity.TrendSeries;
 import com.trackerpro.entity.User;
+import com.trackerpro.exception.OverloadedException;
 import com.trackerpro.service.AdminService;
+import com.trackerpro.service.ApplicationFunnelService;
+import com.trackerpro.service.ComplaintSearchService;
 import com.trackerpro.service.CourseService;
+import com.trackerpro.service.CourseSuggestIndex;
+import com.trackerpro.service.DashboardEventHub;
+import com.trackerpro.service.DashboardStatsCache;
+import com.trackerpro.service.DistinctCountService;
+import com.trackerpro.service.EmailExistenceFilter;
+import com.trackerpro.service.FanOutExecutor;
+import com.trackerpro.service.GlobalSearchService;
+import com.trackerpro.service.LoginThrottleService;
+import com.trackerpro.service.RegistrationFacetIndex;
+import com.trackerpro.service.SearchIndexService;
+import com.trackerpro.service.StudentImportReader;
+import com.trackerpro.service.StudentHomeCache;
+import com.trackerpro.service.StudentImportService;
 import com.trackerpro.service.StudentService;
 import com.trackerpro.service.StudentApplicationService;
+import com.trackerpro.service.TrendRollupService;
 import com.trackerpro.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -42,6 +84,57 @@ public class AdminController {
     
     @Autowired
     private StudentApplicationService applicationService;
+    
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+    
+    @Autowired
+    private DashboardEventHub dashboardEventHub;
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private ApplicationFunnelService applicationFunnelService;
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+    
+    @Autowired
+    private GlobalSearchService globalSearchService;
+    
+    @Autowired
+    private PooledPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * Get dashboard statistics
@@ -51,26 +144,8 @@ public class AdminController {
         logger.info("Fetching dashboard statistics");
         
         try {
-            StudentService.StudentStatistics studentStats = studentService.getStudentStatistics();
-            UserService.UserStatistics userStats = userService.getUserStatistics();
-            AdminService.AdminStatistics adminStats = adminService.getAdminStatistics();
-            CourseService.CourseStatistics courseStats = courseService.getCourseStatistics();
-            StudentApplicationService.ApplicationStatistics appStats = applicationService.getApplicationStatistics();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalStudents", studentStats.getTotalStudents());
-            stats.put("newStudentsThisWeek", studentStats.getNewStudentsThisWeek());
-            stats.put("enrolledStudents", studentStats.getEnrolledStudents());
-            stats.put("completedStudents", studentStats.getCompletedStudents());
-            stats.put("totalFaculty", userStats.getFacultyCount());
-            stats.put("totalHR", userStats.getHrCount());
-            stats.put("totalUsers", userStats.getActiveUsers());
-            stats.put("totalAdmins", adminStats.getActiveAdmins());
-            stats.put("totalCourses", courseStats.getTotalCourses());
-            stats.put("publishedCourses", courseStats.getPublishedCourses());
-            stats.put("totalApplications", appStats.getTotalApplications());
-            stats.put("acceptedApplications", appStats.getAcceptedCount());
-            stats.put("pendingApplications", appStats.getAppliedCount() + appStats.getUnderReviewCount());
+            // Served from the snapshot; refreshed in the background once stale
+            Map<String, Object> stats = dashboardStatsCache.getStats();
             
             return ResponseEntity.ok(ApiResponse.success("Dashboard statistics fetched", stats));
             
@@ -80,6 +155,217 @@ public class AdminController {
         }
     }
     
+    /**
+     * Get registration, application and complaint trends from the rollup buckets.
+     * Defaults to daily points over the last 30 days for every series.
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<ApiResponse<Map<String, List<TrendPoint>>>> getTrends(
+            @RequestParam(required = false) String series,
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Fetching trends: series={}, granularity={}, from={}, to={}", series, granularity, from, to);
+        
+        try {
+            TrendGranularity bucketSize = TrendGranularity.valueOf(granularity.toUpperCase());
+            LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+            LocalDateTime rangeStart = from != null ? from : rangeEnd.minusDays(30);
+            List<TrendSeries> requested = series != null
+                ? List.of(TrendSeries.valueOf(series.toUpperCase()))
+                : List.of(TrendSeries.values());
+            
+            Map<String, List<TrendPoint>> trends = new LinkedHashMap<>();
+            for (TrendSeries trendSeries : requested) {
+                trends.put(trendSeries.name().toLowerCase(),
+                           trendRollupService.getSeries(trendSeries, bucketSize, rangeStart, rangeEnd));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Trends fetched", trends));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid trend request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching trends", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to fetch trends"));
+        }
+    }
+    
+    /**
+     * Get the application funnel and time-in-stage percentiles, for all applications
+     * or per course / per monthly cohort, optionally narrowed to one course or cohort (e.g. 2026-10)
+     */
+    @GetMapping("/analytics/funnel")
+    public ResponseEntity<ApiResponse<List<FunnelReport>>> getApplicationFunnel(
+            @RequestParam(defaultValue = "NONE") String groupBy,
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(required = false) String cohort) {
+        logger.info("Fetching application funnel: groupBy={}, courseId={}, cohort={}", groupBy, courseId, cohort);
+        
+        try {
+            ApplicationFunnelService.GroupBy grouping = ApplicationFunnelService.GroupBy.valueOf(groupBy.toUpperCase());
+            List<FunnelReport> funnel = applicationFunnelService.getFunnel(grouping, courseId, cohort);
+            return ResponseEntity.ok(ApiResponse.success("Application funnel fetched", funnel));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid funnel request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching application funnel", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to fetch application funnel"));
+        }
+    }
+    
+    /**
+     * Get approximate distinct counts (HyperLogLog, about 1.6% standard error) of applicants per
+     * course category, student locations or complainants per complaint category.
+     * Defaults to the last four weeks.
+     */
+    @GetMapping("/analytics/distinct")
+    public ResponseEntity<ApiResponse<List<DistinctEstimate>>> getDistinctCounts(
+            @RequestParam String metric,
+            @RequestParam(required = false) String dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Fetching distinct counts: metric={}, dimension={}, from={}, to={}", metric, dimension, from, to);
+        
+        try {
+            DistinctMetric distinctMetric = DistinctMetric.valueOf(metric.toUpperCase());
+            LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+            LocalDateTime rangeStart = from != null ? from : rangeEnd.minusWeeks(4);
+            return ResponseEntity.ok(ApiResponse.success("Distinct counts fetched",
+                    distinctCountService.estimate(distinctMetric, dimension, rangeStart, rangeEnd)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid distinct count request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching distinct counts", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to fetch distinct counts"));
+        }
+    }
+    
+    /**
+     * Stream dashboard changes (stats deltas, new registrations and applications) as Server-Sent Events
+     */
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        logger.info("Opening dashboard stream");
+        return dashboardEventHub.subscribe();
+    }
+    
+    /**
+     * Get password hashing pool statistics (queue wait, hash time, rejections)
+     */
+    @GetMapping("/metrics/password-hashing")
+    public ResponseEntity<ApiResponse<PooledPasswordEncoder.HashingStatistics>> getPasswordHashingStats() {
+        return ResponseEntity.ok(ApiResponse.success("Password hashing statistics fetched",
+                passwordEncoder.getStatistics()));
+    }
+    
+    /**
+     * Get login throttling counters (accepted and throttled attempts)
+     */
+    @GetMapping("/metrics/login-throttle")
+    public ResponseEntity<ApiResponse<LoginThrottleService.ThrottleStatistics>> getLoginThrottleStats() {
+        return ResponseEntity.ok(ApiResponse.success("Login throttle statistics fetched",
+                loginThrottleService.getStatistics()));
+    }
+    
+    /**
+     * Get student home cache statistics (hit rate of the login prefetch)
+     */
+    @GetMapping("/metrics/student-home-cache")
+    public ResponseEntity<ApiResponse<StudentHomeCache.CacheStatistics>> getStudentHomeCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Student home cache statistics fetched",
+                studentHomeCache.getStatistics()));
+    }
+    
+    /**
+     * Get dashboard statistics cache statistics (fresh/stale hits, refreshes)
+     */
+    @GetMapping("/metrics/dashboard-cache")
+    public ResponseEntity<ApiResponse<DashboardStatsCache.CacheStatistics>> getDashboardCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Dashboard cache statistics fetched",
+                dashboardStatsCache.getStatistics()));
+    }
+    
+    /**
+     * Get dashboard stream statistics (connections, events, slow subscribers dropped)
+     */
+    @GetMapping("/metrics/dashboard-stream")
+    public ResponseEntity<ApiResponse<DashboardEventHub.StreamStatistics>> getDashboardStreamStats() {
+        return ResponseEntity.ok(ApiResponse.success("Dashboard stream statistics fetched",
+                dashboardEventHub.getStatistics()));
+    }
+    
+    /**
+     * Get application funnel snapshot statistics (size, last refresh time)
+     */
+    @GetMapping("/metrics/funnel-snapshot")
+    public ResponseEntity<ApiResponse<ApplicationFunnelService.SnapshotStatistics>> getFunnelSnapshotStats() {
+        return ResponseEntity.ok(ApiResponse.success("Funnel snapshot statistics fetched",
+                applicationFunnelService.getStatistics()));
+    }
+    
+    /**
+     * Get distinct-count sketch statistics (sketches held, writes pending)
+     */
+    @GetMapping("/metrics/distinct-sketches")
+    public ResponseEntity<ApiResponse<DistinctCountService.SketchStatistics>> getDistinctSketchStats() {
+        return ResponseEntity.ok(ApiResponse.success("Distinct sketch statistics fetched",
+                distinctCountService.getStatistics()));
+    }
+    
+    /**
+     * Get search index statistics (documents and trigrams per index)
+     */
+    @GetMapping("/metrics/search-index")
+    public ResponseEntity<ApiResponse<Map<String, SearchIndexService.IndexStatistics>>> getSearchIndexStats() {
+        return ResponseEntity.ok(ApiResponse.success("Search index statistics fetched", searchIndexService.getStatistics()));
+    }
+    
+    /**
+     * Get complaint text index statistics (complaints, distinct terms, average length)
+     */
+    @GetMapping("/metrics/complaint-index")
+    public ResponseEntity<ApiResponse<ComplaintSearchService.IndexStatistics>> getComplaintIndexStats() {
+        return ResponseEntity.ok(ApiResponse.success("Complaint index statistics fetched",
+                complaintSearchService.getStatistics()));
+    }
+    
+    /**
+     * Get per-branch timings of parallel composite reads
+     */
+    @GetMapping("/metrics/fan-out")
+    public ResponseEntity<ApiResponse<Map<String, FanOutExecutor.BranchStatistics>>> getFanOutStats() {
+        return ResponseEntity.ok(ApiResponse.success("Fan-out statistics fetched", fanOutExecutor.getStatistics()));
+    }
+    
+    /**
+     * Get email existence filter statistics (lookups skipped, false positive rates)
+     */
+    @GetMapping("/metrics/email-filter")
+    public ResponseEntity<ApiResponse<EmailExistenceFilter.FilterStatistics>> getEmailFilterStats() {
+        return ResponseEntity.ok(ApiResponse.success("Email filter statistics fetched",
+                emailExistenceFilter.getStatistics()));
+    }
+    
+    /**
+     * Rebuild the email existence filter from the principal directory
+     */
+    @PostMapping("/email-filter/rebuild")
+    public ResponseEntity<ApiResponse<EmailExistenceFilter.FilterStatistics>> rebuildEmailFilter() {
+        logger.info("Rebuilding email existence filter");
+        
+        try {
+            emailExistenceFilter.rebuild();
+            return ResponseEntity.ok(ApiResponse.success("Email filter rebuilt",
+                    emailExistenceFilter.getStatistics()));
+            
+        } catch (Exception e) {
+            logger.error("Error rebuilding email filter", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to rebuild email filter"));
+        }
+    }
+    
     /**
      * Get all student registrations
      */
@@ -98,22 +384,134 @@ public class AdminController {
     }
     
     /**
-     * Search student registrations
+     * Bulk-register students from a CSV (text/csv) or NDJSON (application/x-ndjson) file.
+     * Responds with one NDJSON result line per input row, followed by a summary line.
+     */
+    @PostMapping(value = "/registrations/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importRegistrations(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Bulk student import started ({})", request.getContentType());
+        
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        
+        Writer out = response.getWriter();
+        StudentImportSummary summary = studentImportService.importStudents(
+            request.getReader(),
+            StudentImportReader.Format.fromContentType(request.getContentType()),
+            result -> writeLine(out, result)
+        );
+        writeLine(out, summary);
+        out.flush();
+    }
+    
+    private void writeLine(Writer out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsString(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import results", e);
+        }
+    }
+    
+    /**
+     * Search students, users, admins, courses, applications and complaints at once; hits are
+     * grouped by type, best group first, with each source's time and any source that missed the deadline
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<GlobalSearchResult>> globalSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        logger.info("Global search with query: {}", q);
+        
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Search completed", globalSearchService.search(q, limit)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid search request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error running global search", e);
+            return ResponseEntity.ok(ApiResponse.failure("Search failed"));
+        }
+    }
+    
+    /**
+     * Global search as Server-Sent Events: one "source" event per source as it finishes, then "done"
+     * with the merged result
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGlobalSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        logger.info("Streaming global search with query: {}", q);
+        return globalSearchService.stream(q, limit);
+    }
+    
+    /**
+     * Search student registrations by name or email, best matches first
      */
     @GetMapping("/registrations/search")
-    public ResponseEntity<ApiResponse<List<Student>>> searchRegistrations(@RequestParam String query) {
+    public ResponseEntity<ApiResponse<List<Student>>> searchRegistrations(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         logger.info("Searching registrations with query: {}", query);
         
         try {
-            List<Student> students = studentService.searchStudents(query);
+            List<Student> students = studentService.searchStudents(query, page, size);
             return ResponseEntity.ok(ApiResponse.success("Search completed", students));
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid search request: " + e.getMessage()));
         } catch (Exception e) {
             logger.error("Error searching registrations", e);
             return ResponseEntity.ok(ApiResponse.failure("Search failed"));
         }
     }
     
+    /**
+     * Filter registrations by any mix of status, gender, age range, location and registration
+     * week; returns one page of students (newest first) and the match count of every facet value
+     */
+    @GetMapping("/registrations/facets")
+    public ResponseEntity<ApiResponse<RegistrationFacetResult>> getRegistrationFacets(@ModelAttribute RegistrationFacetQuery query) {
+        logger.info("Faceted registration search: status={}, gender={}, age={}-{}, location={}, weeks={}..{}",
+                    query.getStatus(), query.getGender(), query.getMinAge(), query.getMaxAge(),
+                    query.getLocation(), query.getWeekFrom(), query.getWeekTo());
+        
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Registrations fetched", registrationFacetIndex.search(query)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid facet request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in faceted registration search", e);
+            return ResponseEntity.ok(ApiResponse.failure("Faceted search failed"));
+        }
+    }
+    
+    /**
+     * Search complaint descriptions, resolution notes, categories and student names, most
+     * relevant first, optionally narrowed to some statuses and priorities
+     */
+    @GetMapping("/complaints/search")
+    public ResponseEntity<ApiResponse<ComplaintSearchResult>> searchComplaints(@ModelAttribute ComplaintSearchQuery query) {
+        logger.info("Searching complaints with query: {}, status={}, priority={}",
+                    query.getQ(), query.getStatus(), query.getPriority());
+        
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Search completed", complaintSearchService.search(query)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid search request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching complaints", e);
+            return ResponseEntity.ok(ApiResponse.failure("Complaint search failed"));
+        }
+    }
+    
     /**
      * Get recent student registrations
      */
@@ -159,6 +557,8 @@ public class AdminController {
             User createdUser = userService.createUser(user);
             return ResponseEntity.ok(ApiResponse.success("User created successfully", createdUser));
             
+        } catch (OverloadedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error creating user", e);
             return ResponseEntity.ok(ApiResponse.failure("Failed to create user: " + e.getMessage()));
@@ -193,6 +593,8 @@ public class AdminController {
             Admin createdAdmin = adminService.createAdmin(admin);
             return ResponseEntity.ok(ApiResponse.success("Admin created successfully", createdAdmin));
             
+        } catch (OverloadedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error creating admin", e);
             return ResponseEntity.ok(ApiResponse.failure("Failed to create admin: " + e.getMessage()));
@@ -304,6 +706,24 @@ public class AdminController {
         }
     }
     
+    /**
+     * Autocomplete courses, drafts included, by code, title or category words
+     */
+    @GetMapping("/courses/suggest")
+    public ResponseEntity<ApiResponse<List<CourseSuggestion>>> suggestCourses(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Suggestions fetched", courseSuggestIndex.suggest(q, limit, true)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid suggest request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error suggesting courses", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to suggest courses"));
+        }
+    }
+    
     /**
      * Publish course
      */
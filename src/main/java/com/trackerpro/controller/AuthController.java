@@ -6,10 +6,12 @@ import com.trackerpro.dto.StudentRegistrationRequest;
 import com.trackerpro.dto.RegistrationResponse;
 import com.trackerpro.service.AuthenticationService;
 import com.trackerpro.service.StudentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,10 +31,11 @@ public class AuthController {
      * Universal login endpoint for all users (Admin, Faculty, HR, Students)
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                               HttpServletRequest request) {
         logger.info("Login attempt for email: {}", loginRequest.getEmail());
         
-        LoginResponse response = authenticationService.authenticateLogin(loginRequest);
+        LoginResponse response = authenticationService.authenticateLogin(loginRequest, request.getRemoteAddr());
         
         if (response.isSuccess()) {
             logger.info("Login successful for email: {}, userType: {}", 
@@ -68,21 +71,21 @@ public class AuthController {
     }
     
     /**
-     * Logout endpoint (for session cleanup if needed)
+     * Logout endpoint, revokes the presented session token
      */
     @PostMapping("/logout")
-    public ResponseEntity<LoginResponse> logout() {
+    public ResponseEntity<LoginResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         logger.info("User logout");
-        return ResponseEntity.ok(new LoginResponse(true, "Logout successful"));
+        return ResponseEntity.ok(authenticationService.logout(authorization));
     }
     
     /**
-     * Check authentication status
+     * Check authentication status of the presented session token
      */
     @GetMapping("/auth/status")
-    public ResponseEntity<LoginResponse> checkAuthStatus() {
-        // This would typically check JWT token or session
-        // For now, return a simple response
-        return ResponseEntity.ok(new LoginResponse(true, "Authentication check"));
+    public ResponseEntity<LoginResponse> checkAuthStatus(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return ResponseEntity.ok(authenticationService.checkStatus(authorization));
     }
-}
\ No newline at end of file
+}
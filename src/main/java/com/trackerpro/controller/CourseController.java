@@ -0,0 +1,66 @@
+package com.trackerpro.controller;
+
+import com.trackerpro.dto.ApiResponse;
+import com.trackerpro.dto.CourseDemand;
+import com.trackerpro.dto.CourseSuggestion;
+import com.trackerpro.service.CourseDemandRanking;
+import com.trackerpro.service.CourseSuggestIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/courses")
+@CrossOrigin(origins = "*")
+public class CourseController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CourseController.class);
+    
+    @Autowired
+    private CourseDemandRanking courseDemandRanking;
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
+    /**
+     * Get the most demanded published courses, optionally within one category
+     */
+    @GetMapping("/top")
+    public ResponseEntity<ApiResponse<List<CourseDemand>>> getTopCourses(
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String category) {
+        logger.info("Fetching top {} courses, category={}", k, category);
+        
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Top courses fetched", courseDemandRanking.getTop(k, category)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid top courses request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching top courses", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to fetch top courses"));
+        }
+    }
+    
+    /**
+     * Autocomplete published courses by code, title or category words
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<CourseSuggestion>>> suggestCourses(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Suggestions fetched", courseSuggestIndex.suggest(q, limit, false)));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(ApiResponse.failure("Invalid suggest request: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error suggesting courses", e);
+            return ResponseEntity.ok(ApiResponse.failure("Failed to suggest courses"));
+        }
+    }
+}
@@ -3,10 +3,11 @@ package com.trackerpro.controller;
 import com.trackerpro.entity.Student;
 import com.trackerpro.entity.Course;
 import com.trackerpro.entity.StudentApplication;
-import com.trackerpro.entity.CourseStatus;
 import com.trackerpro.service.StudentService;
 import com.trackerpro.service.CourseService;
 import com.trackerpro.service.StudentApplicationService;
+import com.trackerpro.service.StudentHomeCache;
+import com.trackerpro.exception.StudentNotFoundException;
 import com.trackerpro.dto.CourseApplicationRequest;
 import com.trackerpro.dto.ApplicationResponse;
 import jakarta.validation.Valid;
@@ -35,6 +36,9 @@ public class StudentController {
     @Autowired
     private StudentApplicationService applicationService;
     
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
     /**
      * Get student profile by ID
      */
@@ -43,7 +47,8 @@ public class StudentController {
         try {
             logger.info("Fetching profile for student: {}", studentId);
             
-            Student student = studentService.getStudentById(studentId);
+            Student student = studentHomeCache.getStudent(studentId)
+                .orElseThrow(() -> new StudentNotFoundException("Student not found with id: " + studentId));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -68,7 +73,7 @@ public class StudentController {
         try {
             logger.info("Fetching available courses for students");
             
-            List<Course> publishedCourses = courseService.getCoursesByStatus(CourseStatus.PUBLISHED);
+            List<Course> publishedCourses = studentHomeCache.getAvailableCourses();
             
             List<Map<String, Object>> coursesData = publishedCourses.stream()
                 .map(this::createCourseData)
@@ -97,7 +102,7 @@ public class StudentController {
         try {
             logger.info("Fetching application for student: {}", studentId);
             
-            Optional<StudentApplication> applicationOpt = applicationService.getStudentApplication(studentId);
+            Optional<StudentApplication> applicationOpt = studentHomeCache.getApplication(studentId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -142,7 +147,7 @@ public class StudentController {
         try {
             logger.info("Fetching application progress for student: {}", studentId);
             
-            Optional<StudentApplication> applicationOpt = applicationService.getStudentApplication(studentId);
+            Optional<StudentApplication> applicationOpt = studentHomeCache.getApplication(studentId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -216,7 +221,7 @@ public class StudentController {
     @GetMapping("/can-apply/{studentId}")
     public ResponseEntity<Map<String, Object>> canStudentApply(@PathVariable UUID studentId) {
         try {
-            boolean canApply = applicationService.canStudentApply(studentId);
+            boolean canApply = studentHomeCache.canApply(studentId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
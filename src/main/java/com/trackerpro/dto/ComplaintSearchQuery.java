@@ -0,0 +1,39 @@
+package com.trackerpro.dto;
+
+import com.trackerpro.entity.ComplaintPriority;
+import com.trackerpro.entity.ComplaintStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Words to look for in complaints, optionally narrowed to some statuses and
+ * priorities; multiple values of a filter match any of them
+ */
+public class ComplaintSearchQuery {
+    
+    private String q;
+    private List<ComplaintStatus> status = new ArrayList<>();
+    private List<ComplaintPriority> priority = new ArrayList<>();
+    private int page = 0;
+    private int size = 20;
+    
+    // Constructors
+    public ComplaintSearchQuery() {}
+    
+    // Getters and Setters
+    public String getQ() { return q; }
+    public void setQ(String q) { this.q = q; }
+    
+    public List<ComplaintStatus> getStatus() { return status; }
+    public void setStatus(List<ComplaintStatus> status) { this.status = status; }
+    
+    public List<ComplaintPriority> getPriority() { return priority; }
+    public void setPriority(List<ComplaintPriority> priority) { this.priority = priority; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
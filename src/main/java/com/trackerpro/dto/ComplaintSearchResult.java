@@ -0,0 +1,33 @@
+package com.trackerpro.dto;
+
+import com.trackerpro.entity.Complaint;
+
+import java.util.List;
+
+/**
+ * One page of complaints matching a text search, most relevant first, and the
+ * number of complaints matching in total
+ */
+public class ComplaintSearchResult {
+    
+    private long total;
+    private int page;
+    private int size;
+    private List<Complaint> complaints;
+    
+    // Constructors
+    public ComplaintSearchResult() {}
+    
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public List<Complaint> getComplaints() { return complaints; }
+    public void setComplaints(List<Complaint> complaints) { this.complaints = complaints; }
+}
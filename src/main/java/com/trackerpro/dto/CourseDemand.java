@@ -0,0 +1,49 @@
+package com.trackerpro.dto;
+
+import java.util.UUID;
+
+/**
+ * A course's place in the demand leaderboard; demand is its open applications
+ * (any status but rejected or completed)
+ */
+public class CourseDemand {
+    
+    private int rank;
+    private UUID courseId;
+    private String courseCode;
+    private String courseTitle;
+    private String category;
+    private long openApplications;
+    
+    // Constructors
+    public CourseDemand() {}
+    
+    public CourseDemand(int rank, UUID courseId, String courseCode, String courseTitle,
+                        String category, long openApplications) {
+        this.rank = rank;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseTitle = courseTitle;
+        this.category = category;
+        this.openApplications = openApplications;
+    }
+    
+    // Getters and Setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+    
+    public UUID getCourseId() { return courseId; }
+    public void setCourseId(UUID courseId) { this.courseId = courseId; }
+    
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    
+    public String getCourseTitle() { return courseTitle; }
+    public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public long getOpenApplications() { return openApplications; }
+    public void setOpenApplications(long openApplications) { this.openApplications = openApplications; }
+}
@@ -0,0 +1,44 @@
+package com.trackerpro.dto;
+
+import com.trackerpro.entity.CourseStatus;
+
+import java.util.UUID;
+
+/**
+ * A course offered as an autocomplete suggestion
+ */
+public class CourseSuggestion {
+    
+    private UUID courseId;
+    private String courseCode;
+    private String courseTitle;
+    private String category;
+    private CourseStatus status;
+    
+    // Constructors
+    public CourseSuggestion() {}
+    
+    public CourseSuggestion(UUID courseId, String courseCode, String courseTitle, String category, CourseStatus status) {
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseTitle = courseTitle;
+        this.category = category;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public UUID getCourseId() { return courseId; }
+    public void setCourseId(UUID courseId) { this.courseId = courseId; }
+    
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    
+    public String getCourseTitle() { return courseTitle; }
+    public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public CourseStatus getStatus() { return status; }
+    public void setStatus(CourseStatus status) { this.status = status; }
+}
@@ -0,0 +1,59 @@
+package com.trackerpro.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Approximate distinct count of a metric in one dimension over a range of weeks.
+ * About 95% of estimates fall between lowerBound and upperBound (two standard errors).
+ */
+public class DistinctEstimate {
+    
+    private String metric;
+    private String dimension;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long estimate;
+    private double relativeStandardError;
+    private long lowerBound;
+    private long upperBound;
+    
+    // Constructors
+    public DistinctEstimate() {}
+    
+    public DistinctEstimate(String metric, String dimension, LocalDateTime from, LocalDateTime to,
+                            long estimate, double relativeStandardError) {
+        this.metric = metric;
+        this.dimension = dimension;
+        this.from = from;
+        this.to = to;
+        this.estimate = estimate;
+        this.relativeStandardError = relativeStandardError;
+        this.lowerBound = Math.max(0, Math.round(estimate * (1 - 2 * relativeStandardError)));
+        this.upperBound = Math.round(estimate * (1 + 2 * relativeStandardError));
+    }
+    
+    // Getters and Setters
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+    
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+    
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+    
+    public long getEstimate() { return estimate; }
+    public void setEstimate(long estimate) { this.estimate = estimate; }
+    
+    public double getRelativeStandardError() { return relativeStandardError; }
+    public void setRelativeStandardError(double relativeStandardError) { this.relativeStandardError = relativeStandardError; }
+    
+    public long getLowerBound() { return lowerBound; }
+    public void setLowerBound(long lowerBound) { this.lowerBound = lowerBound; }
+    
+    public long getUpperBound() { return upperBound; }
+    public void setUpperBound(long upperBound) { this.upperBound = upperBound; }
+}
@@ -0,0 +1,82 @@
+package com.trackerpro.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Application funnel of one group (a course, a monthly cohort, or everything):
+ * how many applications reached each stage, the conversion from the previous
+ * stage, and percentiles of the time spent between stage timestamps
+ */
+public class FunnelReport {
+    
+    private String group;
+    private String label;
+    private long applications;
+    private long rejected;
+    private Map<String, Long> reachedStage = new LinkedHashMap<>();
+    private Map<String, Double> conversionFromPreviousStage = new LinkedHashMap<>();
+    private Map<String, StageDuration> timeInStage = new LinkedHashMap<>();
+    
+    // Constructors
+    public FunnelReport() {}
+    
+    public FunnelReport(String group, String label) {
+        this.group = group;
+        this.label = label;
+    }
+    
+    // Getters and Setters
+    public String getGroup() { return group; }
+    public void setGroup(String group) { this.group = group; }
+    
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+    
+    public long getApplications() { return applications; }
+    public void setApplications(long applications) { this.applications = applications; }
+    
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    
+    public Map<String, Long> getReachedStage() { return reachedStage; }
+    public void setReachedStage(Map<String, Long> reachedStage) { this.reachedStage = reachedStage; }
+    
+    public Map<String, Double> getConversionFromPreviousStage() { return conversionFromPreviousStage; }
+    public void setConversionFromPreviousStage(Map<String, Double> conversionFromPreviousStage) { this.conversionFromPreviousStage = conversionFromPreviousStage; }
+    
+    public Map<String, StageDuration> getTimeInStage() { return timeInStage; }
+    public void setTimeInStage(Map<String, StageDuration> timeInStage) { this.timeInStage = timeInStage; }
+    
+    /**
+     * Percentiles, in hours, of the time between two stage timestamps
+     */
+    public static class StageDuration {
+        private long samples;
+        private double p50Hours;
+        private double p90Hours;
+        private double p99Hours;
+        
+        public StageDuration() {}
+        
+        public StageDuration(long samples, double p50Hours, double p90Hours, double p99Hours) {
+            this.samples = samples;
+            this.p50Hours = p50Hours;
+            this.p90Hours = p90Hours;
+            this.p99Hours = p99Hours;
+        }
+        
+        // Getters and Setters
+        public long getSamples() { return samples; }
+        public void setSamples(long samples) { this.samples = samples; }
+        
+        public double getP50Hours() { return p50Hours; }
+        public void setP50Hours(double p50Hours) { this.p50Hours = p50Hours; }
+        
+        public double getP90Hours() { return p90Hours; }
+        public void setP90Hours(double p90Hours) { this.p90Hours = p90Hours; }
+        
+        public double getP99Hours() { return p99Hours; }
+        public void setP99Hours(double p99Hours) { this.p99Hours = p99Hours; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.trackerpro.dto;
+
+import java.util.UUID;
+
+/**
+ * One match of the global admin search, whatever its type
+ */
+public class GlobalSearchHit {
+    
+    private String type;
+    private UUID id;
+    private String title;
+    private String subtitle;
+    private double score;
+    
+    // Constructors
+    public GlobalSearchHit() {}
+    
+    public GlobalSearchHit(String type, UUID id, String title, String subtitle, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.score = score;
+    }
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getSubtitle() { return subtitle; }
+    public void setSubtitle(String subtitle) { this.subtitle = subtitle; }
+    
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
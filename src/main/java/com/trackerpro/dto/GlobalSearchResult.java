@@ -0,0 +1,45 @@
+package com.trackerpro.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merged result of the global admin search: hits grouped by type, groups ordered by
+ * their best hit, with per-source timings and the sources that failed or timed out
+ */
+public class GlobalSearchResult {
+    
+    private String query;
+    private Map<String, List<GlobalSearchHit>> groups;
+    private Map<String, Long> timingsMillis;
+    private Map<String, String> errors;
+    private boolean complete;
+    
+    // Constructors
+    public GlobalSearchResult() {}
+    
+    public GlobalSearchResult(String query, Map<String, List<GlobalSearchHit>> groups,
+                              Map<String, Long> timingsMillis, Map<String, String> errors) {
+        this.query = query;
+        this.groups = groups;
+        this.timingsMillis = timingsMillis;
+        this.errors = errors;
+        this.complete = errors.isEmpty();
+    }
+    
+    // Getters and Setters
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+    
+    public Map<String, List<GlobalSearchHit>> getGroups() { return groups; }
+    public void setGroups(Map<String, List<GlobalSearchHit>> groups) { this.groups = groups; }
+    
+    public Map<String, Long> getTimingsMillis() { return timingsMillis; }
+    public void setTimingsMillis(Map<String, Long> timingsMillis) { this.timingsMillis = timingsMillis; }
+    
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+    
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -0,0 +1,63 @@
+package com.trackerpro.dto;
+
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.StudentStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters of the faceted registration search; every filter is optional and
+ * multiple statuses or genders match any of them
+ */
+public class RegistrationFacetQuery {
+    
+    private List<StudentStatus> status = new ArrayList<>();
+    private List<Gender> gender = new ArrayList<>();
+    private Integer minAge;
+    private Integer maxAge;
+    private String location;
+    
+    // Registration weeks, by any day within them
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate weekFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate weekTo;
+    
+    private int page = 0;
+    private int size = 20;
+    
+    // Constructors
+    public RegistrationFacetQuery() {}
+    
+    // Getters and Setters
+    public List<StudentStatus> getStatus() { return status; }
+    public void setStatus(List<StudentStatus> status) { this.status = status; }
+    
+    public List<Gender> getGender() { return gender; }
+    public void setGender(List<Gender> gender) { this.gender = gender; }
+    
+    public Integer getMinAge() { return minAge; }
+    public void setMinAge(Integer minAge) { this.minAge = minAge; }
+    
+    public Integer getMaxAge() { return maxAge; }
+    public void setMaxAge(Integer maxAge) { this.maxAge = maxAge; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public LocalDate getWeekFrom() { return weekFrom; }
+    public void setWeekFrom(LocalDate weekFrom) { this.weekFrom = weekFrom; }
+    
+    public LocalDate getWeekTo() { return weekTo; }
+    public void setWeekTo(LocalDate weekTo) { this.weekTo = weekTo; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
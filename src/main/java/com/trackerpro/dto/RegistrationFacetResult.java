@@ -0,0 +1,40 @@
+package com.trackerpro.dto;
+
+import com.trackerpro.entity.Student;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of students matching a faceted search, newest first, with the number
+ * of matches per value of each facet. A facet's counts apply every filter except
+ * its own, so they show what selecting another value of that facet would return.
+ */
+public class RegistrationFacetResult {
+    
+    private long total;
+    private int page;
+    private int size;
+    private List<Student> students;
+    private Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+    
+    // Constructors
+    public RegistrationFacetResult() {}
+    
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public List<Student> getStudents() { return students; }
+    public void setStudents(List<Student> students) { this.students = students; }
+    
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Long>> facets) { this.facets = facets; }
+}
@@ -0,0 +1,49 @@
+package com.trackerpro.dto;
+
+/**
+ * Outcome of a single row of a bulk student import
+ */
+public class StudentImportResult {
+    
+    private long row;
+    private boolean success;
+    private String message;
+    private String email;
+    private String studentId;
+    
+    // Constructors
+    public StudentImportResult() {}
+    
+    public StudentImportResult(long row, boolean success, String message, String email, String studentId) {
+        this.row = row;
+        this.success = success;
+        this.message = message;
+        this.email = email;
+        this.studentId = studentId;
+    }
+    
+    // Static factory methods
+    public static StudentImportResult success(long row, String email, String studentId) {
+        return new StudentImportResult(row, true, "Registered", email, studentId);
+    }
+    
+    public static StudentImportResult failure(long row, String email, String message) {
+        return new StudentImportResult(row, false, message, email, null);
+    }
+    
+    // Getters and Setters
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+}
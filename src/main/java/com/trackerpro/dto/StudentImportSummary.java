@@ -0,0 +1,35 @@
+package com.trackerpro.dto;
+
+/**
+ * Totals of a bulk student import, sent after the per-row results
+ */
+public class StudentImportSummary {
+    
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    
+    // Constructors
+    public StudentImportSummary() {}
+    
+    public StudentImportSummary(long totalRows, long imported, long failed, long elapsedMillis) {
+        this.totalRows = totalRows;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    // Getters and Setters
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
@@ -0,0 +1,27 @@
+package com.trackerpro.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One bucket of a trend time series
+ */
+public class TrendPoint {
+    
+    private LocalDateTime bucketStart;
+    private long count;
+    
+    // Constructors
+    public TrendPoint() {}
+    
+    public TrendPoint(LocalDateTime bucketStart, long count) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
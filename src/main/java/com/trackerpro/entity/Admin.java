@@ -1,10 +1,12 @@
 package com.trackerpro.entity;
 
+import com.trackerpro.service.SearchIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "admins")
 public class Admin {
 
@@ -15,9 +17,17 @@ public class Admin {
     @Column(name = "username", unique = true, nullable = false, length = 50)
     private String username;
 
+    // Normalized copy of username for indexed case-insensitive lookups, see LoginKeys
+    @Column(name = "username_normalized", unique = true, length = 50)
+    private String usernameNormalized;
+
     @Column(name = "email", unique = true, nullable = false, length = 100)
     private String email;
 
+    // Normalized copy of email for indexed case-insensitive lookups, see LoginKeys
+    @Column(name = "email_normalized", unique = true, length = 100)
+    private String emailNormalized;
+
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -56,10 +66,16 @@ public class Admin {
     public void setAdminId(UUID adminId) { this.adminId = adminId; }
 
     public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
+    public void setUsername(String username) {
+        this.username = username;
+        this.usernameNormalized = LoginKeys.normalize(username);
+    }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = LoginKeys.normalize(email);
+    }
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -87,9 +103,21 @@ public class Admin {
         return firstName + (lastName != null ? " " + lastName : "");
     }
 
+    @PrePersist
+    public void prePersist() {
+        normalizeLoginColumns();
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        normalizeLoginColumns();
+    }
+
+    // Keep normalized columns in sync however username and email were assigned
+    private void normalizeLoginColumns() {
+        this.usernameNormalized = LoginKeys.normalize(username);
+        this.emailNormalized = LoginKeys.normalize(email);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.trackerpro.entity;
 
+import com.trackerpro.service.ComplaintSearchListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,6 +12,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "complaints")
+@EntityListeners(ComplaintSearchListener.class)
 public class Complaint {
     
     @Id
@@ -0,0 +1,22 @@
+package com.trackerpro.entity;
+
+public enum DistinctMetric {
+    APPLICANTS("Distinct applicants per course category"),
+    STUDENT_LOCATIONS("Distinct student locations"),
+    COMPLAINANTS("Distinct complainants per complaint category");
+    
+    private final String displayName;
+    
+    DistinctMetric(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,78 @@
+package com.trackerpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Serialized HyperLogLog sketch of the distinct values of a metric within one
+ * dimension (e.g. a course category) and one week
+ */
+@Entity
+@Table(name = "distinct_sketches",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"metric", "dimension", "bucket_start"}))
+public class DistinctSketch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "sketch_id")
+    private UUID sketchId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 30)
+    private DistinctMetric metric;
+    
+    @Column(name = "dimension", nullable = false, length = 50)
+    private String dimension;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    // HyperLogLog.toBytes(); at most 2 + 4096 bytes at precision 12
+    @Column(name = "registers", nullable = false, length = 8192)
+    private byte[] registers;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public DistinctSketch() {}
+    
+    public DistinctSketch(DistinctMetric metric, String dimension, LocalDateTime bucketStart, byte[] registers) {
+        this.metric = metric;
+        this.dimension = dimension;
+        this.bucketStart = bucketStart;
+        this.registers = registers;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public UUID getSketchId() { return sketchId; }
+    public void setSketchId(UUID sketchId) { this.sketchId = sketchId; }
+    
+    public DistinctMetric getMetric() { return metric; }
+    public void setMetric(DistinctMetric metric) { this.metric = metric; }
+    
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public byte[] getRegisters() { return registers; }
+    public void setRegisters(byte[] registers) { this.registers = registers; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public String toString() {
+        return "DistinctSketch{" +
+                "metric=" + metric +
+                ", dimension='" + dimension + '\'' +
+                ", bucketStart=" + bucketStart +
+                ", bytes=" + (registers != null ? registers.length : 0) +
+                '}';
+    }
+}
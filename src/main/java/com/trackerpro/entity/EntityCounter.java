@@ -0,0 +1,77 @@
+package com.trackerpro.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * One stripe of a maintained count, keyed by (entity, dimension, value), e.g.
+ * (student, status, ENROLLED). A count is spread over several stripe rows so
+ * concurrent writers rarely update the same row; its value is the sum of its stripes.
+ */
+@Entity
+@Table(name = "entity_counters",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"entity_name", "dimension", "dimension_value", "stripe"}),
+       indexes = @Index(name = "idx_entity_counters_entity", columnList = "entity_name"))
+public class EntityCounter {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "counter_id")
+    private UUID counterId;
+    
+    @Column(name = "entity_name", nullable = false, length = 30)
+    private String entityName;
+    
+    @Column(name = "dimension", nullable = false, length = 30)
+    private String dimension;
+    
+    @Column(name = "dimension_value", nullable = false, length = 100)
+    private String dimensionValue;
+    
+    @Column(name = "stripe", nullable = false)
+    private int stripe;
+    
+    @Column(name = "counter_value", nullable = false)
+    private long counterValue;
+    
+    // Constructors
+    public EntityCounter() {}
+    
+    public EntityCounter(String entityName, String dimension, String dimensionValue, int stripe) {
+        this.entityName = entityName;
+        this.dimension = dimension;
+        this.dimensionValue = dimensionValue;
+        this.stripe = stripe;
+    }
+    
+    // Getters and Setters
+    public UUID getCounterId() { return counterId; }
+    public void setCounterId(UUID counterId) { this.counterId = counterId; }
+    
+    public String getEntityName() { return entityName; }
+    public void setEntityName(String entityName) { this.entityName = entityName; }
+    
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+    
+    public String getDimensionValue() { return dimensionValue; }
+    public void setDimensionValue(String dimensionValue) { this.dimensionValue = dimensionValue; }
+    
+    public int getStripe() { return stripe; }
+    public void setStripe(int stripe) { this.stripe = stripe; }
+    
+    public long getCounterValue() { return counterValue; }
+    public void setCounterValue(long counterValue) { this.counterValue = counterValue; }
+    
+    @Override
+    public String toString() {
+        return "EntityCounter{" +
+                "entityName='" + entityName + '\'' +
+                ", dimension='" + dimension + '\'' +
+                ", dimensionValue='" + dimensionValue + '\'' +
+                ", stripe=" + stripe +
+                ", counterValue=" + counterValue +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.trackerpro.entity;
+
+import java.util.Locale;
+
+/**
+ * Normalization of emails and usernames into login keys: trimmed and lower-cased.
+ * Entities store the normalized form in indexed columns so that case-insensitive
+ * lookups are plain equality matches instead of LOWER(...) table scans.
+ */
+public final class LoginKeys {
+    
+    private LoginKeys() {}
+    
+    public static String normalize(String login) {
+        return login == null ? null : login.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,115 @@
+package com.trackerpro.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * One login key (normalized email or admin username) in the principal directory.
+ * Mirrors the login-relevant columns of admins, users and students so that a
+ * login resolves with a single indexed lookup.
+ */
+@Entity
+@Table(name = "principal_directory",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"login_key", "principal_type"}),
+       indexes = {
+           @Index(name = "idx_principal_directory_login_key", columnList = "login_key"),
+           @Index(name = "idx_principal_directory_principal_id", columnList = "principal_id")
+       })
+public class PrincipalEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "entry_id")
+    private UUID entryId;
+    
+    @Column(name = "login_key", nullable = false, length = 100)
+    private String loginKey;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "principal_type", nullable = false, length = 20)
+    private PrincipalType principalType;
+    
+    @Column(name = "principal_id", nullable = false)
+    private UUID principalId;
+    
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "role", nullable = false, length = 20)
+    private String role;
+    
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+    
+    @Column(name = "first_name", length = 50)
+    private String firstName;
+    
+    @Column(name = "last_name", length = 50)
+    private String lastName;
+    
+    // Constructors
+    public PrincipalEntry() {}
+    
+    public PrincipalEntry(String loginKey, PrincipalType principalType, UUID principalId, String passwordHash,
+                          String status, String role, String email, String firstName, String lastName) {
+        this.loginKey = loginKey;
+        this.principalType = principalType;
+        this.principalId = principalId;
+        this.passwordHash = passwordHash;
+        this.status = status;
+        this.role = role;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+    
+    // Getters and Setters
+    public UUID getEntryId() { return entryId; }
+    public void setEntryId(UUID entryId) { this.entryId = entryId; }
+    
+    public String getLoginKey() { return loginKey; }
+    public void setLoginKey(String loginKey) { this.loginKey = loginKey; }
+    
+    public PrincipalType getPrincipalType() { return principalType; }
+    public void setPrincipalType(PrincipalType principalType) { this.principalType = principalType; }
+    
+    public UUID getPrincipalId() { return principalId; }
+    public void setPrincipalId(UUID principalId) { this.principalId = principalId; }
+    
+    public String getPasswordHash() { return passwordHash; }
+    public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    // Helper methods
+    public boolean isLoginAllowed() {
+        return principalType != null && principalType.allowsLogin(status);
+    }
+    
+    @Override
+    public String toString() {
+        return "PrincipalEntry{" +
+                "loginKey='" + loginKey + '\'' +
+                ", principalType=" + principalType +
+                ", principalId=" + principalId +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.trackerpro.entity;
+
+public enum PrincipalType {
+    ADMIN("Admin"),
+    USER("User"),
+    STUDENT("Student");
+    
+    private final String displayName;
+    
+    PrincipalType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Whether an account of this type in the given status may log in.
+     * Admins and users must be ACTIVE, students only need to be not SUSPENDED.
+     */
+    public boolean allowsLogin(String status) {
+        if (status == null) {
+            return false;
+        }
+        return switch (this) {
+            case ADMIN -> AdminStatus.ACTIVE.name().equals(status);
+            case USER -> UserStatus.ACTIVE.name().equals(status);
+            case STUDENT -> !StudentStatus.SUSPENDED.name().equals(status);
+        };
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,5 +1,6 @@
 package com.trackerpro.entity;
 
+import com.trackerpro.service.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,7 +14,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "students")
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "students",
+       indexes = @Index(name = "idx_students_registered_at", columnList = "registered_at"))
 public class Student {
     
     @Id
@@ -36,6 +39,10 @@ public class Student {
     @Column(name = "email", nullable = false, unique = true, length = 50)
     private String email;
     
+    // Normalized copy of email for indexed case-insensitive lookups, see LoginKeys
+    @Column(name = "email_normalized", unique = true, length = 50)
+    private String emailNormalized;
+    
     @NotBlank(message = "Password is required")
     @Column(name = "password", nullable = false)
     private String password;
@@ -101,7 +108,10 @@ public class Student {
     public void setLastName(String lastName) { this.lastName = lastName; }
     
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = LoginKeys.normalize(email);
+    }
     
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -130,6 +140,13 @@ public class Student {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    // Keep normalized columns in sync however the email was assigned
+    @PrePersist
+    @PreUpdate
+    protected void normalizeLoginColumns() {
+        this.emailNormalized = LoginKeys.normalize(email);
+    }
+    
     // Helper methods
     public String getFullName() {
         return firstName + (lastName != null ? " " + lastName : "");
@@ -1,5 +1,6 @@
 package com.trackerpro.entity;
 
+import com.trackerpro.service.ApplicationFunnelListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,7 +11,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "student_applications", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id"}),
+       indexes = @Index(name = "idx_student_applications_updated_at", columnList = "updated_at"))
+@EntityListeners(ApplicationFunnelListener.class)
 public class StudentApplication {
     
     @Id
@@ -0,0 +1,72 @@
+package com.trackerpro.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Number of events of a series (e.g. registrations) that fell into one hour,
+ * day or week. Buckets are maintained as rows are inserted, so trends are read
+ * without touching the base tables.
+ */
+@Entity
+@Table(name = "trend_buckets",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"series", "granularity", "bucket_start"}))
+public class TrendBucket {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "bucket_id")
+    private UUID bucketId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "series", nullable = false, length = 20)
+    private TrendSeries series;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private TrendGranularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "bucket_count", nullable = false)
+    private long bucketCount;
+    
+    // Constructors
+    public TrendBucket() {}
+    
+    public TrendBucket(TrendSeries series, TrendGranularity granularity, LocalDateTime bucketStart, long bucketCount) {
+        this.series = series;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.bucketCount = bucketCount;
+    }
+    
+    // Getters and Setters
+    public UUID getBucketId() { return bucketId; }
+    public void setBucketId(UUID bucketId) { this.bucketId = bucketId; }
+    
+    public TrendSeries getSeries() { return series; }
+    public void setSeries(TrendSeries series) { this.series = series; }
+    
+    public TrendGranularity getGranularity() { return granularity; }
+    public void setGranularity(TrendGranularity granularity) { this.granularity = granularity; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public long getBucketCount() { return bucketCount; }
+    public void setBucketCount(long bucketCount) { this.bucketCount = bucketCount; }
+    
+    @Override
+    public String toString() {
+        return "TrendBucket{" +
+                "series=" + series +
+                ", granularity=" + granularity +
+                ", bucketStart=" + bucketStart +
+                ", bucketCount=" + bucketCount +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.trackerpro.entity;
+
+public enum TrendSeries {
+    REGISTRATIONS("Registrations"),
+    APPLICATIONS("Applications"),
+    COMPLAINTS("Complaints");
+    
+    private final String displayName;
+    
+    TrendSeries(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
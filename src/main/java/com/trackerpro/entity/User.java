@@ -1,5 +1,6 @@
 package com.trackerpro.entity;
 
+import com.trackerpro.service.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "users")
 public class User {
     
@@ -34,6 +36,10 @@ public class User {
     @Column(name = "email", nullable = false, unique = true, length = 50)
     private String email;
     
+    // Normalized copy of email for indexed case-insensitive lookups, see LoginKeys
+    @Column(name = "email_normalized", unique = true, length = 50)
+    private String emailNormalized;
+    
     @NotBlank(message = "Password is required")
     @Column(name = "password", nullable = false)
     private String password;
@@ -69,6 +75,9 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Column(name = "last_login")
+    private LocalDateTime lastLogin;
+    
     // Constructors
     public User() {}
     
@@ -91,7 +100,10 @@ public class User {
     public void setLastName(String lastName) { this.lastName = lastName; }
     
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = LoginKeys.normalize(email);
+    }
     
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -120,6 +132,16 @@ public class User {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public LocalDateTime getLastLogin() { return lastLogin; }
+    public void setLastLogin(LocalDateTime lastLogin) { this.lastLogin = lastLogin; }
+    
+    // Keep normalized columns in sync however the email was assigned
+    @PrePersist
+    @PreUpdate
+    protected void normalizeLoginColumns() {
+        this.emailNormalized = LoginKeys.normalize(email);
+    }
+    
     // Helper methods
     public String getFullName() {
         return firstName + (lastName != null ? " " + lastName : "");
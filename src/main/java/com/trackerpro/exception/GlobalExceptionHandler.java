@@ -5,6 +5,7 @@ import com.trackerpro.dto.LoginResponse;
 import com.trackerpro.dto.RegistrationResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -42,6 +43,31 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.failure(ex.getMessage()));
     }
 
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<?> handleOverloadedException(OverloadedException ex, WebRequest request) {
+        logger.warn("Request rejected, server overloaded: {}", ex.getMessage());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        // Check if it's a login/register endpoint
+        String path = request.getDescription(false);
+        if (path.contains("/api/login")) {
+            return response.body(LoginResponse.failure(ex.getMessage()));
+        } else if (path.contains("/api/auth/register")) {
+            return response.body(RegistrationResponse.failure(ex.getMessage()));
+        } else {
+            return response.body(ApiResponse.failure(ex.getMessage()));
+        }
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<LoginResponse> handleLoginThrottledException(LoginThrottledException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(LoginResponse.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
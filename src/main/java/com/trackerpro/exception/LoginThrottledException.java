@@ -0,0 +1,19 @@
+package com.trackerpro.exception;
+
+/**
+ * Thrown when a login attempt exceeds the per-account or per-IP rate.
+ * Mapped to 429 with a Retry-After header.
+ */
+public class LoginThrottledException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
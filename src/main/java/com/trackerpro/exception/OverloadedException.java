@@ -0,0 +1,24 @@
+package com.trackerpro.exception;
+
+/**
+ * Thrown when a bounded resource (such as the password hashing pool) cannot
+ * accept more work. Mapped to 503 with a Retry-After header.
+ */
+public class OverloadedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public OverloadedException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
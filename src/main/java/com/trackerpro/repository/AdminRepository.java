@@ -2,37 +2,95 @@ package com.trackerpro.repository;
 
 import com.trackerpro.entity.Admin;
 import com.trackerpro.entity.AdminStatus;
+import com.trackerpro.entity.LoginKeys;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, UUID> {
 
+    /**
+     * Find admin by normalized email (unique index lookup)
+     */
+    @Query("SELECT a FROM Admin a WHERE a.emailNormalized = :emailNormalized")
+    Optional<Admin> findByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    /**
+     * Find admin by normalized username (unique index lookup)
+     */
+    @Query("SELECT a FROM Admin a WHERE a.usernameNormalized = :usernameNormalized")
+    Optional<Admin> findByUsernameNormalized(@Param("usernameNormalized") String usernameNormalized);
+
+    /**
+     * Check if a normalized email exists (unique index lookup)
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Admin a WHERE a.emailNormalized = :emailNormalized")
+    boolean existsByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    /**
+     * Check if a normalized username exists (unique index lookup)
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Admin a WHERE a.usernameNormalized = :usernameNormalized")
+    boolean existsByUsernameNormalized(@Param("usernameNormalized") String usernameNormalized);
+
     /**
      * Find admin by email (case-insensitive)
      */
-    Optional<Admin> findByEmailIgnoreCase(String email);
+    default Optional<Admin> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(LoginKeys.normalize(email));
+    }
 
     /**
      * Find admin by username (case-insensitive)
      */
-    Optional<Admin> findByUsernameIgnoreCase(String username);
+    default Optional<Admin> findByUsernameIgnoreCase(String username) {
+        return findByUsernameNormalized(LoginKeys.normalize(username));
+    }
 
     /**
      * Check if email exists (case-insensitive)
      */
-    boolean existsByEmailIgnoreCase(String email);
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(LoginKeys.normalize(email));
+    }
 
     /**
      * Check if username exists (case-insensitive)
      */
-    boolean existsByUsernameIgnoreCase(String username);
+    default boolean existsByUsernameIgnoreCase(String username) {
+        return existsByUsernameNormalized(LoginKeys.normalize(username));
+    }
+
+    /**
+     * Find admins whose normalized columns have not been backfilled yet
+     */
+    @Query("SELECT a.adminId FROM Admin a WHERE a.emailNormalized IS NULL OR a.usernameNormalized IS NULL")
+    List<UUID> findIdsWithoutNormalizedLogin(Pageable pageable);
+
+    /**
+     * Backfill normalized email and username for the given admins
+     */
+    @Modifying
+    @Query("UPDATE Admin a SET a.emailNormalized = LOWER(TRIM(a.email)), " +
+           "a.usernameNormalized = LOWER(TRIM(a.username)) WHERE a.adminId IN :ids")
+    int backfillNormalizedLogin(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Status histogram, one row per status: [status, count]
+     */
+    @Query("SELECT a.status, COUNT(a) FROM Admin a GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
 
     /**
      * Find all admins by status
@@ -50,13 +108,16 @@ public interface AdminRepository extends JpaRepository<Admin, UUID> {
      */
     long countByStatus(AdminStatus status);
 
-    /**
-     * Search admins by name or email
-     */
-    @Query("SELECT a FROM Admin a WHERE " +
-            "LOWER(a.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(a.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(a.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(a.username) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Admin> searchAdmins(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+    // Stream searchable fields of every admin, oldest first: [adminId, firstName, lastName, email, username]
+    @Query("SELECT a.adminId, a.firstName, a.lastName, a.email, a.username FROM Admin a ORDER BY a.createdAt, a.adminId")
+    Stream<Object[]> streamSearchFields();
+    
+    // Stream searchable fields of admins changed since a time (search index catch-up): [adminId, firstName, lastName, email, username]
+    @Query("SELECT a.adminId, a.firstName, a.lastName, a.email, a.username FROM Admin a " +
+           "WHERE COALESCE(a.updatedAt, a.createdAt) >= :since ORDER BY a.createdAt, a.adminId")
+    Stream<Object[]> streamSearchFieldsChangedSince(@Param("since") LocalDateTime since);
+    
+    // Stream every admin id (drops search index documents of rows deleted meanwhile)
+    @Query("SELECT a.adminId FROM Admin a")
+    Stream<UUID> streamIds();
+}
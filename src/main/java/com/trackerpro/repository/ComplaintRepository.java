@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, UUID> {
@@ -43,13 +44,6 @@ public interface ComplaintRepository extends JpaRepository<Complaint, UUID> {
            "END, c.createdAt ASC")
     List<Complaint> findOpenComplaintsByPriority();
     
-    // Search complaints by description or student name
-    @Query("SELECT c FROM Complaint c WHERE " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.studentName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.category) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Complaint> searchComplaints(@Param("searchTerm") String searchTerm);
-    
     // Count complaints by status
     long countByStatus(ComplaintStatus status);
     
@@ -59,4 +53,18 @@ public interface ComplaintRepository extends JpaRepository<Complaint, UUID> {
     // Find all distinct categories
     @Query("SELECT DISTINCT c.category FROM Complaint c ORDER BY c.category")
     List<String> findAllDistinctCategories();
-}
\ No newline at end of file
+    
+    // Stream every complaint time (used to rebuild complaint trend buckets)
+    @Query("SELECT c.createdAt FROM Complaint c")
+    Stream<LocalDateTime> streamCreatedAt();
+    
+    // Stream every complainant: [studentEmail, studentName, category, createdAt] (rebuilds complainant sketches)
+    @Query("SELECT c.studentEmail, c.studentName, c.category, c.createdAt FROM Complaint c")
+    Stream<Object[]> streamComplainants();
+    
+    // Stream every complaint's searchable fields, oldest first (rebuilds the complaint text index):
+    // [complaintId, category, studentName, description, resolutionNotes, status, priority]
+    @Query("SELECT c.complaintId, c.category, c.studentName, c.description, c.resolutionNotes, c.status, c.priority " +
+           "FROM Complaint c ORDER BY c.createdAt, c.complaintId")
+    Stream<Object[]> streamSearchFields();
+}
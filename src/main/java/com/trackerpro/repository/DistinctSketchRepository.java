@@ -0,0 +1,21 @@
+package com.trackerpro.repository;
+
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.DistinctSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DistinctSketchRepository extends JpaRepository<DistinctSketch, UUID> {
+    
+    // Find the sketch of one metric, dimension and week
+    Optional<DistinctSketch> findByMetricAndDimensionAndBucketStart(DistinctMetric metric, String dimension,
+                                                                     LocalDateTime bucketStart);
+    
+    // Check if a metric has any sketches
+    boolean existsByMetric(DistinctMetric metric);
+}
@@ -0,0 +1,49 @@
+package com.trackerpro.repository;
+
+import com.trackerpro.entity.EntityCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EntityCounterRepository extends JpaRepository<EntityCounter, UUID> {
+    
+    // Add a delta to one stripe of a counter
+    @Modifying
+    @Query("UPDATE EntityCounter c SET c.counterValue = c.counterValue + :delta " +
+           "WHERE c.entityName = :entityName AND c.dimension = :dimension " +
+           "AND c.dimensionValue = :dimensionValue AND c.stripe = :stripe")
+    int addToStripe(@Param("entityName") String entityName, @Param("dimension") String dimension,
+                    @Param("dimensionValue") String dimensionValue, @Param("stripe") int stripe,
+                    @Param("delta") long delta);
+    
+    // Stripes that exist for a counter
+    @Query("SELECT c.stripe FROM EntityCounter c WHERE c.entityName = :entityName " +
+           "AND c.dimension = :dimension AND c.dimensionValue = :dimensionValue")
+    List<Integer> findStripes(@Param("entityName") String entityName, @Param("dimension") String dimension,
+                              @Param("dimensionValue") String dimensionValue);
+    
+    // Counter totals of an entity, summed over stripes: [dimension, value, total]
+    @Query("SELECT c.dimension, c.dimensionValue, SUM(c.counterValue) FROM EntityCounter c " +
+           "WHERE c.entityName = :entityName GROUP BY c.dimension, c.dimensionValue")
+    List<Object[]> sumByEntity(@Param("entityName") String entityName);
+    
+    // Real counts and counter totals in one statement, so both are read from the same snapshot:
+    // [entity, dimension, value, actual count, counter total]
+    @Query("SELECT 'student', 'status', cast(s.status as String), COUNT(s), 0L FROM Student s GROUP BY s.status " +
+           "UNION ALL SELECT 'application', 'status', cast(a.status as String), COUNT(a), 0L " +
+           "FROM StudentApplication a GROUP BY a.status " +
+           "UNION ALL SELECT 'course', 'status', cast(c.status as String), COUNT(c), 0L FROM Course c GROUP BY c.status " +
+           "UNION ALL SELECT 'course', 'category', c.category, COUNT(c), 0L FROM Course c GROUP BY c.category " +
+           "UNION ALL SELECT 'user', 'role', cast(u.role as String), COUNT(u), 0L FROM User u GROUP BY u.role " +
+           "UNION ALL SELECT 'user', 'status', cast(u.status as String), COUNT(u), 0L FROM User u GROUP BY u.status " +
+           "UNION ALL SELECT ec.entityName, ec.dimension, ec.dimensionValue, 0L, SUM(ec.counterValue) " +
+           "FROM EntityCounter ec WHERE ec.entityName IN ('student', 'application', 'course', 'user') " +
+           "GROUP BY ec.entityName, ec.dimension, ec.dimensionValue")
+    List<Object[]> compareWithActualCounts();
+}
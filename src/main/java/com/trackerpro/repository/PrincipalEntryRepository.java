@@ -0,0 +1,40 @@
+package com.trackerpro.repository;
+
+import com.trackerpro.entity.PrincipalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface PrincipalEntryRepository extends JpaRepository<PrincipalEntry, UUID> {
+    
+    // Find all directory entries for a normalized login key (one per principal type at most)
+    List<PrincipalEntry> findByLoginKey(String loginKey);
+    
+    // Find all directory entries owned by a principal
+    List<PrincipalEntry> findByPrincipalId(UUID principalId);
+    
+    // Stream every login key (used to build the email existence filter)
+    @Query("SELECT p.loginKey FROM PrincipalEntry p")
+    Stream<String> streamAllLoginKeys();
+    
+    // Count principals that have at least one directory entry
+    @Query("SELECT COUNT(DISTINCT p.principalId) FROM PrincipalEntry p")
+    long countDistinctPrincipals();
+    
+    // Update the status of all directory entries owned by a principal
+    @Modifying
+    @Query("UPDATE PrincipalEntry p SET p.status = :status WHERE p.principalId = :principalId")
+    int updateStatus(@Param("principalId") UUID principalId, @Param("status") String status);
+    
+    // Remove all directory entries owned by a principal
+    @Modifying
+    @Query("DELETE FROM PrincipalEntry p WHERE p.principalId = :principalId")
+    int deleteByPrincipalId(@Param("principalId") UUID principalId);
+}
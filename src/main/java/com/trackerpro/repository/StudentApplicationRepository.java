@@ -7,9 +7,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentApplicationRepository extends JpaRepository<StudentApplication, UUID> {
@@ -18,6 +21,10 @@ public interface StudentApplicationRepository extends JpaRepository<StudentAppli
     @Query("SELECT sa FROM StudentApplication sa WHERE sa.student.studentId = :studentId")
     Optional<StudentApplication> findByStudentId(@Param("studentId") UUID studentId);
     
+    // Find application by student ID with its course loaded, for use outside a session
+    @Query("SELECT sa FROM StudentApplication sa JOIN FETCH sa.course WHERE sa.student.studentId = :studentId")
+    Optional<StudentApplication> findByStudentIdWithCourse(@Param("studentId") UUID studentId);
+    
     // Check if student already has an application
     @Query("SELECT COUNT(sa) > 0 FROM StudentApplication sa WHERE sa.student.studentId = :studentId")
     boolean existsByStudentId(@Param("studentId") UUID studentId);
@@ -40,6 +47,17 @@ public interface StudentApplicationRepository extends JpaRepository<StudentAppli
     @Query("SELECT COUNT(sa) FROM StudentApplication sa WHERE sa.course.courseId = :courseId")
     long countByCourseId(@Param("courseId") UUID courseId);
     
+    // Applications of one course excluding the given statuses
+    @Query("SELECT COUNT(sa) FROM StudentApplication sa " +
+           "WHERE sa.course.courseId = :courseId AND sa.status NOT IN :excluded")
+    long countByCourseIdExcluding(@Param("courseId") UUID courseId,
+                                  @Param("excluded") Collection<ApplicationStatus> excluded);
+    
+    // Applications per course excluding the given statuses, one row per course: [courseId, count]
+    @Query("SELECT sa.course.courseId, COUNT(sa) FROM StudentApplication sa " +
+           "WHERE sa.status NOT IN :excluded GROUP BY sa.course.courseId")
+    List<Object[]> countGroupedByCourseExcluding(@Param("excluded") Collection<ApplicationStatus> excluded);
+    
     // Get all applications with student and course details (for admin dashboard)
     @Query("SELECT sa FROM StudentApplication sa " +
            "JOIN FETCH sa.student s " +
@@ -47,19 +65,42 @@ public interface StudentApplicationRepository extends JpaRepository<StudentAppli
            "ORDER BY sa.appliedAt DESC")
     List<StudentApplication> findAllWithDetails();
     
-    // Search applications by student name or email
+    // Applications of the given students, newest first: [applicationId, studentId]
+    @Query("SELECT sa.applicationId, sa.student.studentId FROM StudentApplication sa " +
+           "WHERE sa.student.studentId IN :studentIds " +
+           "ORDER BY sa.appliedAt DESC")
+    List<Object[]> findIdsByStudentIds(@Param("studentIds") Collection<UUID> studentIds);
+    
+    // The given applications with their student and course
     @Query("SELECT sa FROM StudentApplication sa " +
            "JOIN FETCH sa.student s " +
            "JOIN FETCH sa.course c " +
-           "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(s.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "ORDER BY sa.appliedAt DESC")
-    List<StudentApplication> searchByStudentDetails(@Param("searchTerm") String searchTerm);
+           "WHERE sa.applicationId IN :applicationIds")
+    List<StudentApplication> findByIdsWithDetails(@Param("applicationIds") Collection<UUID> applicationIds);
     
     // Get recent applications (last 7 days)
     @Query("SELECT sa FROM StudentApplication sa " +
            "WHERE sa.appliedAt >= :fromDate " +
            "ORDER BY sa.appliedAt DESC")
     List<StudentApplication> findRecentApplications(@Param("fromDate") java.time.LocalDateTime fromDate);
-}
\ No newline at end of file
+    
+    // Stream every application time (used to rebuild application trend buckets)
+    @Query("SELECT sa.appliedAt FROM StudentApplication sa")
+    Stream<LocalDateTime> streamAppliedAt();
+    
+    // Stream every applicant: [studentId, course category, appliedAt] (rebuilds applicant sketches)
+    @Query("SELECT sa.student.studentId, c.category, sa.appliedAt FROM StudentApplication sa JOIN sa.course c")
+    Stream<Object[]> streamApplicants();
+    
+    // Funnel columns of every application:
+    // [applicationId, courseId, courseTitle, status, appliedAt, interviewDate, acceptedAt, completedAt, updatedAt]
+    @Query("SELECT sa.applicationId, c.courseId, c.courseTitle, sa.status, sa.appliedAt, sa.interviewDate, " +
+           "sa.acceptedAt, sa.completedAt, sa.updatedAt FROM StudentApplication sa JOIN sa.course c")
+    Stream<Object[]> streamFunnelRows();
+    
+    // Funnel columns of applications updated at or after the given time (same layout as above)
+    @Query("SELECT sa.applicationId, c.courseId, c.courseTitle, sa.status, sa.appliedAt, sa.interviewDate, " +
+           "sa.acceptedAt, sa.completedAt, sa.updatedAt FROM StudentApplication sa JOIN sa.course c " +
+           "WHERE sa.updatedAt >= :since")
+    Stream<Object[]> streamFunnelRowsUpdatedSince(@Param("since") LocalDateTime since);
+}
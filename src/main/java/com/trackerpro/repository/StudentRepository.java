@@ -3,26 +3,54 @@ package com.trackerpro.repository;
 import com.trackerpro.entity.Student;
 import com.trackerpro.entity.StudentStatus;
 import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.LoginKeys;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, UUID> {
     
+    // Find student by normalized email (unique index lookup)
+    @Query("SELECT s FROM Student s WHERE s.emailNormalized = :emailNormalized")
+    Optional<Student> findByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+    
+    // Check if a normalized email exists (unique index lookup)
+    @Query("SELECT COUNT(s) > 0 FROM Student s WHERE s.emailNormalized = :emailNormalized")
+    boolean existsByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+    
     // Find student by email (case-insensitive)
-    @Query("SELECT s FROM Student s WHERE LOWER(s.email) = LOWER(:email)")
-    Optional<Student> findByEmailIgnoreCase(@Param("email") String email);
+    default Optional<Student> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(LoginKeys.normalize(email));
+    }
     
     // Check if email exists (case-insensitive)
-    @Query("SELECT COUNT(s) > 0 FROM Student s WHERE LOWER(s.email) = LOWER(:email)")
-    boolean existsByEmailIgnoreCase(@Param("email") String email);
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(LoginKeys.normalize(email));
+    }
+    
+    // Find which of the given normalized emails are already registered
+    @Query("SELECT s.emailNormalized FROM Student s WHERE s.emailNormalized IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Find students whose normalized email has not been backfilled yet
+    @Query("SELECT s.studentId FROM Student s WHERE s.emailNormalized IS NULL")
+    List<UUID> findIdsWithoutNormalizedEmail(Pageable pageable);
+    
+    // Backfill normalized emails for the given students
+    @Modifying
+    @Query("UPDATE Student s SET s.emailNormalized = LOWER(TRIM(s.email)) WHERE s.studentId IN :ids")
+    int backfillNormalizedEmail(@Param("ids") Collection<UUID> ids);
     
     // Find students by status
     List<Student> findByStatus(StudentStatus status);
@@ -30,13 +58,6 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     // Find students by gender
     List<Student> findByGender(Gender gender);
     
-    // Search students by name or email
-    @Query("SELECT s FROM Student s WHERE " +
-           "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(s.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Student> searchStudents(@Param("searchTerm") String searchTerm);
-    
     // Find students registered within date range
     @Query("SELECT s FROM Student s WHERE s.registeredAt BETWEEN :startDate AND :endDate")
     List<Student> findStudentsRegisteredBetween(@Param("startDate") LocalDateTime startDate, 
@@ -63,4 +84,31 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     // Find students by location
     @Query("SELECT s FROM Student s WHERE LOWER(s.location) LIKE LOWER(CONCAT('%', :location, '%'))")
     List<Student> findByLocationContainingIgnoreCase(@Param("location") String location);
-}
\ No newline at end of file
+    
+    // Stream every registration time (used to rebuild registration trend buckets)
+    @Query("SELECT s.registeredAt FROM Student s")
+    Stream<LocalDateTime> streamRegisteredAt();
+    
+    // Stream every location with its registration time: [location, registeredAt] (rebuilds location sketches)
+    @Query("SELECT s.location, s.registeredAt FROM Student s")
+    Stream<Object[]> streamLocations();
+    
+    // Stream facet columns of every student, oldest first: [studentId, status, gender, age, location, registeredAt]
+    @Query("SELECT s.studentId, s.status, s.gender, s.age, s.location, s.registeredAt FROM Student s " +
+           "ORDER BY s.registeredAt, s.studentId")
+    Stream<Object[]> streamFacetRows();
+    
+    // Stream searchable fields of every student, oldest first: [studentId, firstName, lastName, email]
+    @Query("SELECT s.studentId, s.firstName, s.lastName, s.email FROM Student s " +
+           "ORDER BY s.registeredAt, s.studentId")
+    Stream<Object[]> streamSearchFields();
+    
+    // Stream searchable fields of students changed since a time (search index catch-up): [studentId, firstName, lastName, email]
+    @Query("SELECT s.studentId, s.firstName, s.lastName, s.email FROM Student s " +
+           "WHERE COALESCE(s.updatedAt, s.registeredAt) >= :since ORDER BY s.registeredAt, s.studentId")
+    Stream<Object[]> streamSearchFieldsChangedSince(@Param("since") LocalDateTime since);
+    
+    // Stream every student id (drops search index documents of rows deleted meanwhile)
+    @Query("SELECT s.studentId FROM Student s")
+    Stream<UUID> streamIds();
+}
@@ -0,0 +1,49 @@
+package com.trackerpro.repository;
+
+import com.trackerpro.entity.TrendBucket;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.entity.TrendSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TrendBucketRepository extends JpaRepository<TrendBucket, UUID> {
+    
+    // Add a delta to one bucket
+    @Modifying
+    @Query("UPDATE TrendBucket b SET b.bucketCount = b.bucketCount + :delta " +
+           "WHERE b.series = :series AND b.granularity = :granularity AND b.bucketStart = :bucketStart")
+    int addToBucket(@Param("series") TrendSeries series, @Param("granularity") TrendGranularity granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart, @Param("delta") long delta);
+    
+    // Check if a bucket row exists
+    boolean existsBySeriesAndGranularityAndBucketStart(TrendSeries series, TrendGranularity granularity,
+                                                       LocalDateTime bucketStart);
+    
+    // Check if a series has any buckets
+    boolean existsBySeries(TrendSeries series);
+    
+    // Buckets of a series in [from, to), oldest first
+    @Query("SELECT b FROM TrendBucket b WHERE b.series = :series AND b.granularity = :granularity " +
+           "AND b.bucketStart >= :from AND b.bucketStart < :to ORDER BY b.bucketStart")
+    List<TrendBucket> findRange(@Param("series") TrendSeries series, @Param("granularity") TrendGranularity granularity,
+                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Total of a series' buckets starting at or after the given time
+    @Query("SELECT COALESCE(SUM(b.bucketCount), 0) FROM TrendBucket b WHERE b.series = :series " +
+           "AND b.granularity = :granularity AND b.bucketStart >= :from")
+    long sumSince(@Param("series") TrendSeries series, @Param("granularity") TrendGranularity granularity,
+                  @Param("from") LocalDateTime from);
+    
+    // Drop buckets of one granularity that start before the given time
+    @Modifying
+    @Query("DELETE FROM TrendBucket b WHERE b.granularity = :granularity AND b.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") TrendGranularity granularity, @Param("before") LocalDateTime before);
+}
@@ -1,27 +1,52 @@
 package com.trackerpro.repository;
 
+import com.trackerpro.entity.LoginKeys;
 import com.trackerpro.entity.User;
 import com.trackerpro.entity.UserRole;
 import com.trackerpro.entity.UserStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    // Find user by normalized email (unique index lookup)
+    @Query("SELECT u FROM User u WHERE u.emailNormalized = :emailNormalized")
+    Optional<User> findByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+    
+    // Check if a normalized email exists (unique index lookup)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.emailNormalized = :emailNormalized")
+    boolean existsByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+    
     // Find user by email (case-insensitive)
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+    default Optional<User> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(LoginKeys.normalize(email));
+    }
     
     // Check if email exists (case-insensitive)
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmailIgnoreCase(@Param("email") String email);
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(LoginKeys.normalize(email));
+    }
+    
+    // Find users whose normalized email has not been backfilled yet
+    @Query("SELECT u.userId FROM User u WHERE u.emailNormalized IS NULL")
+    List<UUID> findIdsWithoutNormalizedEmail(Pageable pageable);
+    
+    // Backfill normalized emails for the given users
+    @Modifying
+    @Query("UPDATE User u SET u.emailNormalized = LOWER(TRIM(u.email)) WHERE u.userId IN :ids")
+    int backfillNormalizedEmail(@Param("ids") Collection<UUID> ids);
     
     // Find users by role
     List<User> findByRole(UserRole role);
@@ -36,16 +61,22 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.status = 'ACTIVE'")
     List<User> findActiveUsersByRole(@Param("role") UserRole role);
     
-    // Search users by name or email
-    @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<User> searchUsers(@Param("searchTerm") String searchTerm);
-    
     // Count users by role
     long countByRole(UserRole role);
     
     // Count active users
     long countByStatus(UserStatus status);
-}
\ No newline at end of file
+    
+    // Stream searchable fields of every user, oldest first: [userId, firstName, lastName, email]
+    @Query("SELECT u.userId, u.firstName, u.lastName, u.email FROM User u ORDER BY u.createdAt, u.userId")
+    Stream<Object[]> streamSearchFields();
+    
+    // Stream searchable fields of users changed since a time (search index catch-up): [userId, firstName, lastName, email]
+    @Query("SELECT u.userId, u.firstName, u.lastName, u.email FROM User u " +
+           "WHERE COALESCE(u.updatedAt, u.createdAt) >= :since ORDER BY u.createdAt, u.userId")
+    Stream<Object[]> streamSearchFieldsChangedSince(@Param("since") LocalDateTime since);
+    
+    // Stream every user id (drops search index documents of rows deleted meanwhile)
+    @Query("SELECT u.userId FROM User u")
+    Stream<UUID> streamIds();
+}
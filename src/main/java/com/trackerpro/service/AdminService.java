@@ -2,11 +2,13 @@ package com.trackerpro.service;
 
 import com.trackerpro.entity.Admin;
 import com.trackerpro.entity.AdminStatus;
+import com.trackerpro.entity.PrincipalEntry;
+import com.trackerpro.entity.PrincipalType;
 import com.trackerpro.repository.AdminRepository;
-import com.trackerpro.dto.LoginRequest;
 import com.trackerpro.dto.LoginResponse;
 import com.trackerpro.exception.UserNotFoundException;
 import com.trackerpro.exception.DuplicateEmailException;
+import com.trackerpro.exception.OverloadedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -23,52 +25,51 @@ public class AdminService {
 
     @Autowired
     private AdminRepository adminRepository;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    private LoginActivityService loginActivityService;
+
     /**
-     * Authenticate admin login
+     * Authenticate admin login against a resolved principal directory entry
      */
-    public LoginResponse authenticateAdmin(LoginRequest loginRequest) {
+    public LoginResponse authenticateAdmin(PrincipalEntry entry, String rawPassword) {
         try {
-            // Check by email first
-            Optional<Admin> adminOpt = adminRepository.findByEmailIgnoreCase(loginRequest.getEmail());
-
-            // If not found by email, try by username
-            if (adminOpt.isEmpty()) {
-                adminOpt = adminRepository.findByUsernameIgnoreCase(loginRequest.getEmail());
+            // Check if admin is active
+            if (!entry.isLoginAllowed()) {
+                return LoginResponse.failure("Admin account is not active. Please contact support.");
             }
 
-            if (adminOpt.isPresent()) {
-                Admin admin = adminOpt.get();
-
-                // Check if admin is active
-                if (admin.getStatus() != AdminStatus.ACTIVE) {
-                    return LoginResponse.failure("Admin account is not active. Please contact support.");
-                }
-
-                // Verify password
-                if (passwordEncoder.matches(loginRequest.getPassword(), admin.getPassword())) {
-                    // Update last login
-                    admin.setLastLogin(LocalDateTime.now());
-                    adminRepository.save(admin);
-
-                    LoginResponse.UserInfo adminInfo = new LoginResponse.UserInfo(
-                            admin.getAdminId().toString(),
-                            admin.getFirstName(),
-                            admin.getLastName(),
-                            admin.getEmail(),
-                            "ADMIN"
-                    );
-                    return LoginResponse.success("ADMIN", adminInfo);
-                } else {
-                    return LoginResponse.failure("Invalid credentials");
-                }
+            // Verify password
+            if (passwordEncoder.matches(rawPassword, entry.getPasswordHash())) {
+                // Update last login (written behind, the login itself stays read-only)
+                loginActivityService.recordLogin(PrincipalType.ADMIN, entry.getPrincipalId(), LocalDateTime.now());
+
+                LoginResponse.UserInfo adminInfo = new LoginResponse.UserInfo(
+                        entry.getPrincipalId().toString(),
+                        entry.getFirstName(),
+                        entry.getLastName(),
+                        entry.getEmail(),
+                        "ADMIN"
+                );
+                return LoginResponse.success("ADMIN", adminInfo);
             }
 
             return LoginResponse.failure("Invalid credentials");
 
+        } catch (OverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.failure("Login failed. Please try again.");
         }
@@ -79,12 +80,12 @@ public class AdminService {
      */
     public Admin createAdmin(Admin admin) {
         // Check if email already exists
-        if (adminRepository.existsByEmailIgnoreCase(admin.getEmail())) {
+        if (emailExistenceFilter.exists(admin.getEmail(), () -> adminRepository.existsByEmailIgnoreCase(admin.getEmail()))) {
             throw new DuplicateEmailException("Email already exists: " + admin.getEmail());
         }
 
         // Check if username already exists
-        if (adminRepository.existsByUsernameIgnoreCase(admin.getUsername())) {
+        if (emailExistenceFilter.exists(admin.getUsername(), () -> adminRepository.existsByUsernameIgnoreCase(admin.getUsername()))) {
             throw new DuplicateEmailException("Username already exists: " + admin.getUsername());
         }
 
@@ -96,7 +97,9 @@ public class AdminService {
             admin.setStatus(AdminStatus.ACTIVE);
         }
 
-        return adminRepository.save(admin);
+        Admin savedAdmin = adminRepository.save(admin);
+        principalDirectoryService.syncAdmin(savedAdmin);
+        return savedAdmin;
     }
 
     /**
@@ -136,14 +139,14 @@ public class AdminService {
 
         // Check if email is being changed and if new email exists
         if (!existingAdmin.getEmail().equalsIgnoreCase(updatedAdmin.getEmail())) {
-            if (adminRepository.existsByEmailIgnoreCase(updatedAdmin.getEmail())) {
+            if (emailExistenceFilter.exists(updatedAdmin.getEmail(), () -> adminRepository.existsByEmailIgnoreCase(updatedAdmin.getEmail()))) {
                 throw new DuplicateEmailException("Email already exists: " + updatedAdmin.getEmail());
             }
         }
 
         // Check if username is being changed and if new username exists
         if (!existingAdmin.getUsername().equalsIgnoreCase(updatedAdmin.getUsername())) {
-            if (adminRepository.existsByUsernameIgnoreCase(updatedAdmin.getUsername())) {
+            if (emailExistenceFilter.exists(updatedAdmin.getUsername(), () -> adminRepository.existsByUsernameIgnoreCase(updatedAdmin.getUsername()))) {
                 throw new DuplicateEmailException("Username already exists: " + updatedAdmin.getUsername());
             }
         }
@@ -160,7 +163,9 @@ public class AdminService {
             existingAdmin.setPassword(passwordEncoder.encode(updatedAdmin.getPassword()));
         }
 
-        return adminRepository.save(existingAdmin);
+        Admin savedAdmin = adminRepository.save(existingAdmin);
+        principalDirectoryService.syncAdmin(savedAdmin);
+        return savedAdmin;
     }
 
     /**
@@ -169,24 +174,37 @@ public class AdminService {
     public void deleteAdmin(UUID adminId) {
         Admin admin = getAdminById(adminId);
         adminRepository.delete(admin);
+        principalDirectoryService.removePrincipal(adminId);
     }
 
     /**
-     * Search admins
+     * Search admins by name, email or username; one ranked page from the search index, falling back to
+     * typo-tolerant matching when nothing contains the term
      */
-    public List<Admin> searchAdmins(String searchTerm) {
-        return adminRepository.searchAdmins(searchTerm);
+    public List<Admin> searchAdmins(String searchTerm, int page, int size) {
+        List<UUID> ids = searchIndexService.searchOrFuzzy(SearchIndexService.Kind.ADMIN, searchTerm, page, size).ids();
+        return SearchIndexService.inOrder(ids, adminRepository.findAllById(ids), Admin::getAdminId);
     }
 
     /**
      * Get admin statistics
      */
+    @Transactional(readOnly = true)
     public AdminStatistics getAdminStatistics() {
         AdminStatistics stats = new AdminStatistics();
-        stats.setTotalAdmins(adminRepository.count());
-        stats.setActiveAdmins(adminRepository.countByStatus(AdminStatus.ACTIVE));
-        stats.setInactiveAdmins(adminRepository.countByStatus(AdminStatus.INACTIVE));
-        stats.setSuspendedAdmins(adminRepository.countByStatus(AdminStatus.SUSPENDED));
+        
+        // One grouped query: status histogram
+        for (Object[] row : adminRepository.countGroupedByStatus()) {
+            AdminStatus status = (AdminStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            stats.setTotalAdmins(stats.getTotalAdmins() + count);
+            
+            switch (status) {
+                case ACTIVE -> stats.setActiveAdmins(count);
+                case INACTIVE -> stats.setInactiveAdmins(count);
+                case SUSPENDED -> stats.setSuspendedAdmins(count);
+            }
+        }
         return stats;
     }
 
@@ -0,0 +1,24 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.StudentApplication;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that tells the {@link ApplicationFunnelService} about deleted
+ * applications, which its updated_at refresh cannot see; the service is looked up
+ * on use, as in {@link SearchIndexListener}.
+ */
+public class ApplicationFunnelListener {
+    
+    private final ObjectProvider<ApplicationFunnelService> applicationFunnelService;
+    
+    public ApplicationFunnelListener(ObjectProvider<ApplicationFunnelService> applicationFunnelService) {
+        this.applicationFunnelService = applicationFunnelService;
+    }
+    
+    @PostRemove
+    public void deleted(StudentApplication application) {
+        applicationFunnelService.ifAvailable(funnel -> funnel.deleted(application.getApplicationId()));
+    }
+}
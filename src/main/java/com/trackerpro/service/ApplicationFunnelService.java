@@ -0,0 +1,517 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.FunnelReport;
+import com.trackerpro.entity.ApplicationStatus;
+import com.trackerpro.repository.StudentApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Application funnel (APPLIED -> UNDER_REVIEW -> INTERVIEW -> ACCEPTED -> COMPLETED,
+ * plus REJECTED) and time-in-stage percentiles, per course or monthly cohort.
+ *
+ * Queries run against an in-memory columnar copy of the funnel-relevant fields:
+ * one primitive array per column, a few bytes per application, so a query is a
+ * single pass over arrays, counting into arrays indexed by group, and never
+ * touches the database. The copy is built once and then kept current by reading
+ * only applications whose updated_at moved past the last seen value; deletes are
+ * applied as they commit (through {@link ApplicationFunnelListener}), and a
+ * periodic full rebuild picks up rows removed outside JPA.
+ *
+ * A stage counts as reached when the application's status or stage timestamps
+ * show it got there; a rejected application keeps the stages it reached before.
+ * Under review has no timestamp, so time-in-stage covers applied, interview,
+ * accepted and completed times. Percentiles come from log-scaled histograms
+ * with about 3% error.
+ */
+@Service
+public class ApplicationFunnelService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationFunnelService.class);
+    
+    // Funnel stages in order; REJECTED is counted separately
+    private static final ApplicationStatus[] STAGES = {
+        ApplicationStatus.APPLIED, ApplicationStatus.UNDER_REVIEW, ApplicationStatus.INTERVIEW,
+        ApplicationStatus.ACCEPTED, ApplicationStatus.COMPLETED
+    };
+    
+    private static final String[] DURATIONS = {
+        "appliedToInterview", "interviewToAccepted", "acceptedToCompleted", "appliedToAccepted"
+    };
+    
+    static final int NONE = Integer.MIN_VALUE;
+    
+    // Rows re-read on each incremental refresh, to catch transactions that committed late
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private volatile Columns columns;
+    // Deleted applications and when the delete committed (nanoTime); guarded by lock
+    private final Map<UUID, Long> deletedAt = new HashMap<>();
+    private volatile LocalDateTime watermark;
+    private volatile long lastRefreshMillis;
+    
+    public enum GroupBy { NONE, COURSE, COHORT }
+    
+    @Autowired
+    public ApplicationFunnelService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Funnel reports, one per group; courseId and cohort ("2026-10") optionally narrow the applications
+     */
+    public List<FunnelReport> getFunnel(GroupBy groupBy, UUID courseId, String cohort) {
+        if (columns == null) {
+            refresh();
+        }
+        
+        lock.readLock().lock();
+        try {
+            Columns data = columns;
+            int courseFilter = courseId == null ? NONE : data.courseIndex.getOrDefault(courseId, -1);
+            int cohortFilter = cohort == null ? NONE : parseCohort(cohort);
+            
+            return report(data, groupBy, courseFilter, cohortFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // One pass over the rows; groups are course slots or months since the first cohort
+    static List<FunnelReport> report(Columns data, GroupBy groupBy, int courseFilter, int cohortFilter) {
+        int groups = switch (groupBy) {
+            case NONE -> 1;
+            case COURSE -> data.courseIds.size();
+            case COHORT -> data.size == 0 ? 0 : data.maxCohort - data.minCohort + 1;
+        };
+        Accumulator accumulator = new Accumulator(groups);
+        for (int row = 0; row < data.size; row++) {
+            if (!data.live[row]
+                    || (courseFilter != NONE && data.course[row] != courseFilter)
+                    || (cohortFilter != NONE && data.cohort[row] != cohortFilter)) {
+                continue;
+            }
+            int group = switch (groupBy) {
+                case NONE -> 0;
+                case COURSE -> data.course[row];
+                case COHORT -> data.cohort[row] - data.minCohort;
+            };
+            accumulator.add(group, data, row);
+        }
+        
+        List<FunnelReport> reports = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (accumulator.applications[group] == 0) {
+                continue;
+            }
+            FunnelReport report = switch (groupBy) {
+                case NONE -> new FunnelReport("all", "All applications");
+                case COURSE -> new FunnelReport(data.courseIds.get(group).toString(), data.courseTitles.get(group));
+                case COHORT -> new FunnelReport(cohortLabel(data.minCohort + group), cohortLabel(data.minCohort + group));
+            };
+            accumulator.fill(group, report);
+            reports.add(report);
+        }
+        return reports;
+    }
+    
+    /**
+     * An application was deleted; it leaves the snapshot once the delete commits
+     */
+    public void deleted(UUID applicationId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                deletedAt.put(applicationId, System.nanoTime());
+                if (columns != null) {
+                    columns.remove(applicationId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+    
+    /**
+     * Bring the snapshot up to date with applications changed since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.funnel.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (columns == null) {
+            rebuild();
+            return;
+        }
+        
+        long start = System.nanoTime();
+        LocalDateTime since = watermark.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        List<Object[]> changed = readOnlyTransaction.execute(status -> {
+            try (Stream<Object[]> rows = applicationRepository.streamFunnelRowsUpdatedSince(since)) {
+                return rows.toList();
+            }
+        });
+        
+        if (!changed.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : changed) {
+                    // Read before a delete committed, applied after it
+                    if (!deletedAt.containsKey((UUID) row[0])) {
+                        columns.upsert(row);
+                    }
+                    advanceWatermark(row);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lastRefreshMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+    
+    /**
+     * Build a new snapshot from all applications and swap it in; readers keep the old one meanwhile
+     */
+    @Scheduled(initialDelayString = "${trackerpro.funnel.full-rebuild-interval-ms:21600000}",
+               fixedDelayString = "${trackerpro.funnel.full-rebuild-interval-ms:21600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Columns rebuilt = new Columns(columns == null ? 1024 : columns.size);
+        watermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+        
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = applicationRepository.streamFunnelRows()) {
+                rows.forEach(row -> {
+                    rebuilt.upsert(row);
+                    advanceWatermark(row);
+                });
+            }
+        });
+        
+        lock.writeLock().lock();
+        try {
+            // Deletes that committed while the rows were read may still be in them; older ones cannot be
+            deletedAt.keySet().forEach(rebuilt::remove);
+            deletedAt.values().removeIf(committedAt -> committedAt < start);
+            columns = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRefreshMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Application funnel snapshot rebuilt with {} applications in {} ms", rebuilt.size, lastRefreshMillis);
+    }
+    
+    private void advanceWatermark(Object[] row) {
+        LocalDateTime updatedAt = (LocalDateTime) row[8];
+        if (updatedAt != null && updatedAt.isAfter(watermark)) {
+            watermark = updatedAt;
+        }
+    }
+    
+    /**
+     * Snapshot size and refresh cost
+     */
+    public SnapshotStatistics getStatistics() {
+        SnapshotStatistics stats = new SnapshotStatistics();
+        Columns data = columns;
+        stats.setApplications(data == null ? 0 : data.size);
+        stats.setCourses(data == null ? 0 : data.courseIds.size());
+        stats.setWatermark(watermark);
+        stats.setLastRefreshMillis(lastRefreshMillis);
+        return stats;
+    }
+    
+    private static int minutes(LocalDateTime time) {
+        return time == null ? NONE : (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+    
+    private static int cohortOf(LocalDateTime appliedAt) {
+        return appliedAt == null ? 0 : appliedAt.getYear() * 12 + appliedAt.getMonthValue() - 1;
+    }
+    
+    private static int parseCohort(String cohort) {
+        String[] parts = cohort.trim().split("-");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Cohort must look like 2026-10");
+        }
+        return Integer.parseInt(parts[0]) * 12 + Integer.parseInt(parts[1]) - 1;
+    }
+    
+    private static String cohortLabel(int cohort) {
+        return String.format("%04d-%02d", cohort / 12, cohort % 12 + 1);
+    }
+    
+    /**
+     * One primitive array per column; rows are addressed by index, applications by id through rowOf
+     */
+    static final class Columns {
+        private int size;
+        private int minCohort = Integer.MAX_VALUE;
+        private int maxCohort = Integer.MIN_VALUE;
+        private int[] course;
+        private int[] cohort;
+        private byte[] furthestStage;
+        private boolean[] rejected;
+        private boolean[] live;
+        private int[] appliedAt;
+        private int[] interviewAt;
+        private int[] acceptedAt;
+        private int[] completedAt;
+        
+        private final Map<UUID, Integer> rowOf = new HashMap<>();
+        private final Map<UUID, Integer> courseIndex = new HashMap<>();
+        private final List<UUID> courseIds = new ArrayList<>();
+        private final List<String> courseTitles = new ArrayList<>();
+        
+        Columns(int capacity) {
+            int initial = Math.max(16, capacity);
+            course = new int[initial];
+            cohort = new int[initial];
+            furthestStage = new byte[initial];
+            rejected = new boolean[initial];
+            live = new boolean[initial];
+            appliedAt = new int[initial];
+            interviewAt = new int[initial];
+            acceptedAt = new int[initial];
+            completedAt = new int[initial];
+        }
+        
+        // Row layout: see StudentApplicationRepository.streamFunnelRows
+        void upsert(Object[] values) {
+            UUID applicationId = (UUID) values[0];
+            UUID courseId = (UUID) values[1];
+            ApplicationStatus status = (ApplicationStatus) values[3];
+            
+            Integer existing = rowOf.get(applicationId);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                if (size == course.length) {
+                    grow();
+                }
+                row = size++;
+                rowOf.put(applicationId, row);
+            }
+            
+            Integer courseSlot = courseIndex.get(courseId);
+            if (courseSlot == null) {
+                courseSlot = courseIds.size();
+                courseIndex.put(courseId, courseSlot);
+                courseIds.add(courseId);
+                courseTitles.add((String) values[2]);
+            } else {
+                courseTitles.set(courseSlot, (String) values[2]);
+            }
+            
+            LocalDateTime applied = (LocalDateTime) values[4];
+            course[row] = courseSlot;
+            cohort[row] = cohortOf(applied);
+            minCohort = Math.min(minCohort, cohort[row]);
+            maxCohort = Math.max(maxCohort, cohort[row]);
+            appliedAt[row] = minutes(applied);
+            interviewAt[row] = minutes((LocalDateTime) values[5]);
+            acceptedAt[row] = minutes((LocalDateTime) values[6]);
+            completedAt[row] = minutes((LocalDateTime) values[7]);
+            rejected[row] = status == ApplicationStatus.REJECTED;
+            furthestStage[row] = (byte) furthestStage(status, interviewAt[row], acceptedAt[row], completedAt[row]);
+            live[row] = true;
+        }
+        
+        private void remove(UUID applicationId) {
+            Integer row = rowOf.remove(applicationId);
+            if (row != null) {
+                live[row] = false;
+            }
+        }
+        
+        private static int furthestStage(ApplicationStatus status, int interview, int accepted, int completed) {
+            int furthest = 0;
+            for (int stage = 0; stage < STAGES.length; stage++) {
+                if (STAGES[stage] == status) {
+                    furthest = stage;
+                }
+            }
+            if (interview != NONE) {
+                furthest = Math.max(furthest, 2);
+            }
+            if (accepted != NONE) {
+                furthest = Math.max(furthest, 3);
+            }
+            if (completed != NONE) {
+                furthest = Math.max(furthest, 4);
+            }
+            return furthest;
+        }
+        
+        private void grow() {
+            int capacity = course.length * 2;
+            course = Arrays.copyOf(course, capacity);
+            cohort = Arrays.copyOf(cohort, capacity);
+            furthestStage = Arrays.copyOf(furthestStage, capacity);
+            rejected = Arrays.copyOf(rejected, capacity);
+            live = Arrays.copyOf(live, capacity);
+            appliedAt = Arrays.copyOf(appliedAt, capacity);
+            interviewAt = Arrays.copyOf(interviewAt, capacity);
+            acceptedAt = Arrays.copyOf(acceptedAt, capacity);
+            completedAt = Arrays.copyOf(completedAt, capacity);
+        }
+    }
+    
+    /**
+     * Funnel counts and duration histograms of every group, in flat arrays indexed by group
+     */
+    private static final class Accumulator {
+        private final long[] applications;
+        private final long[] rejected;
+        // [group * STAGES.length + stage] and [group * DURATIONS.length + metric]
+        private final long[] reached;
+        private final DurationHistogram[] durations;
+        
+        private Accumulator(int groups) {
+            applications = new long[groups];
+            rejected = new long[groups];
+            reached = new long[groups * STAGES.length];
+            durations = new DurationHistogram[groups * DURATIONS.length];
+        }
+        
+        private void add(int group, Columns data, int row) {
+            applications[group]++;
+            if (data.rejected[row]) {
+                rejected[group]++;
+            }
+            int stages = group * STAGES.length;
+            for (int stage = 0; stage <= data.furthestStage[row]; stage++) {
+                reached[stages + stage]++;
+            }
+            int metrics = group * DURATIONS.length;
+            addDuration(metrics, data.appliedAt[row], data.interviewAt[row]);
+            addDuration(metrics + 1, data.interviewAt[row], data.acceptedAt[row]);
+            addDuration(metrics + 2, data.acceptedAt[row], data.completedAt[row]);
+            addDuration(metrics + 3, data.appliedAt[row], data.acceptedAt[row]);
+        }
+        
+        private void addDuration(int slot, int from, int to) {
+            if (from != NONE && to != NONE && to >= from) {
+                if (durations[slot] == null) {
+                    durations[slot] = new DurationHistogram();
+                }
+                durations[slot].record(to - from);
+            }
+        }
+        
+        private void fill(int group, FunnelReport report) {
+            report.setApplications(applications[group]);
+            report.setRejected(rejected[group]);
+            int stages = group * STAGES.length;
+            for (int stage = 0; stage < STAGES.length; stage++) {
+                report.getReachedStage().put(STAGES[stage].name(), reached[stages + stage]);
+                if (stage > 0) {
+                    long previous = reached[stages + stage - 1];
+                    report.getConversionFromPreviousStage().put(STAGES[stage].name(),
+                        previous == 0 ? 0.0 : (double) reached[stages + stage] / previous);
+                }
+            }
+            for (int metric = 0; metric < DURATIONS.length; metric++) {
+                DurationHistogram histogram = durations[group * DURATIONS.length + metric];
+                if (histogram != null) {
+                    report.getTimeInStage().put(DURATIONS[metric], new FunnelReport.StageDuration(
+                        histogram.count, histogram.percentileHours(0.50),
+                        histogram.percentileHours(0.90), histogram.percentileHours(0.99)));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Minute durations in log-scaled buckets: exact below 32 minutes, then 16 buckets per power of two
+     */
+    static final class DurationHistogram {
+        private static final int SUB_BUCKETS = 16;
+        private static final int LINEAR = 32;
+        
+        private final long[] buckets = new long[LINEAR + (31 - 5) * SUB_BUCKETS + SUB_BUCKETS];
+        private long count;
+        
+        void record(int minutes) {
+            buckets[indexOf(minutes)]++;
+            count++;
+        }
+        
+        double percentileHours(double percentile) {
+            long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long seen = 0;
+            for (int index = 0; index < buckets.length; index++) {
+                seen += buckets[index];
+                if (seen >= rank) {
+                    return valueOf(index) / 60.0;
+                }
+            }
+            return 0;
+        }
+        
+        private static int indexOf(int minutes) {
+            if (minutes < LINEAR) {
+                return minutes;
+            }
+            int exponent = 31 - Integer.numberOfLeadingZeros(minutes);
+            int mantissa = (minutes >>> (exponent - 4)) & (SUB_BUCKETS - 1);
+            return LINEAR + (exponent - 5) * SUB_BUCKETS + mantissa;
+        }
+        
+        // Middle of the bucket
+        private static double valueOf(int index) {
+            if (index < LINEAR) {
+                return index;
+            }
+            int exponent = (index - LINEAR) / SUB_BUCKETS + 5;
+            int mantissa = (index - LINEAR) % SUB_BUCKETS;
+            double width = Math.pow(2, exponent - 4);
+            return (SUB_BUCKETS + mantissa) * width + width / 2;
+        }
+    }
+    
+    // Inner class for statistics
+    public static class SnapshotStatistics {
+        private int applications;
+        private int courses;
+        private LocalDateTime watermark;
+        private long lastRefreshMillis;
+        
+        // Getters and Setters
+        public int getApplications() { return applications; }
+        public void setApplications(int applications) { this.applications = applications; }
+        
+        public int getCourses() { return courses; }
+        public void setCourses(int courses) { this.courses = courses; }
+        
+        public LocalDateTime getWatermark() { return watermark; }
+        public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+        
+        public long getLastRefreshMillis() { return lastRefreshMillis; }
+        public void setLastRefreshMillis(long lastRefreshMillis) { this.lastRefreshMillis = lastRefreshMillis; }
+    }
+}
@@ -2,12 +2,24 @@ package com.trackerpro.service;
 
 import com.trackerpro.dto.LoginRequest;
 import com.trackerpro.dto.LoginResponse;
+import com.trackerpro.entity.PrincipalEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class AuthenticationService {
     
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+    
     @Autowired
     private AdminService adminService;
     
@@ -18,28 +30,66 @@ public class AuthenticationService {
     private StudentService studentService;
     
     /**
-     * Universal login method that handles Admin, Users (Faculty/HR), and Students
+     * Universal login method that handles Admin, Users (Faculty/HR), and Students.
+     * The principal directory resolves the account in one lookup, so at most one
+     * password hash is checked per attempt.
      */
     public LoginResponse authenticateLogin(LoginRequest loginRequest) {
-        // First try admin authentication
-        LoginResponse adminResponse = adminService.authenticateAdmin(loginRequest);
-        if (adminResponse.isSuccess()) {
-            return adminResponse;
-        }
+        return authenticateLogin(loginRequest, null);
+    }
+    
+    /**
+     * Universal login with per-account and per-IP throttling; throttled attempts
+     * are refused before any repository or password encoder call, and successful
+     * ones do not count against the limits
+     */
+    public LoginResponse authenticateLogin(LoginRequest loginRequest, String clientAddress) {
+        loginThrottleService.checkAttempt(loginRequest.getEmail(), clientAddress);
         
-        // Then try user authentication (Faculty/HR)
-        LoginResponse userResponse = userService.authenticateUser(loginRequest);
-        if (userResponse.isSuccess()) {
-            return userResponse;
+        Optional<PrincipalEntry> entryOpt = principalDirectoryService.resolveLogin(loginRequest.getEmail());
+        if (entryOpt.isEmpty()) {
+            return LoginResponse.failure("Invalid email or password");
         }
         
-        // Finally try student authentication
-        LoginResponse studentResponse = studentService.authenticateStudent(loginRequest);
-        if (studentResponse.isSuccess()) {
-            return studentResponse;
+        PrincipalEntry entry = entryOpt.get();
+        LoginResponse response = switch (entry.getPrincipalType()) {
+            case ADMIN -> adminService.authenticateAdmin(entry, loginRequest.getPassword());
+            case USER -> userService.authenticateUser(entry, loginRequest.getPassword());
+            case STUDENT -> studentService.authenticateStudent(entry, loginRequest.getPassword());
+        };
+        
+        if (response.isSuccess()) {
+            loginThrottleService.recordSuccess(loginRequest.getEmail(), clientAddress);
+            response.setToken(sessionTokenService.issueToken(
+                entry.getPrincipalType(), entry.getPrincipalId().toString(), response.getUserType()));
+            return response;
         }
         
-        // If all fail, return generic failure message
+        // Never reveal which part of the login failed
         return LoginResponse.failure("Invalid email or password");
     }
-}
\ No newline at end of file
+    
+    /**
+     * Revoke the session token presented on logout
+     */
+    public LoginResponse logout(String authorizationHeader) {
+        sessionTokenService.revoke(SessionTokenService.extractBearerToken(authorizationHeader));
+        return new LoginResponse(true, "Logout successful");
+    }
+    
+    /**
+     * Check a session token without touching the database
+     */
+    public LoginResponse checkStatus(String authorizationHeader) {
+        Optional<SessionTokenService.SessionClaims> claims =
+            sessionTokenService.verify(SessionTokenService.extractBearerToken(authorizationHeader));
+        if (claims.isEmpty()) {
+            return LoginResponse.failure("Not authenticated");
+        }
+        
+        SessionTokenService.SessionClaims session = claims.get();
+        LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
+            session.getPrincipalId(), null, null, null, session.getRole());
+        return new LoginResponse(true, "Authenticated", session.getRole(), userInfo);
+    }
+}
@@ -0,0 +1,102 @@
+package com.trackerpro.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings. Bits live in an {@link AtomicLongArray}
+ * and are set with atomic OR, so concurrent adds and lookups need no locking.
+ * A negative answer is exact; a positive answer is wrong with roughly the
+ * configured probability while the filter holds no more than its expected insertions.
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+    
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+    
+    public void add(String key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        insertions.increment();
+    }
+    
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * False positive probability implied by the current fill ratio: (setBits / bits)^k
+     */
+    public double estimatedFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / bitCount, hashFunctions);
+    }
+    
+    public long getInsertions() {
+        return insertions.sum();
+    }
+    
+    public long getBitCount() {
+        return bitCount;
+    }
+    
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+    
+    // Kirsch-Mitzenmacher double hashing: bit_i = h1 + i * h2
+    private long bitIndex(long combinedHash) {
+        return Math.floorMod(combinedHash, bitCount);
+    }
+    
+    // 64-bit FNV-1a over UTF-8 bytes with a murmur3 finalizer
+    static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
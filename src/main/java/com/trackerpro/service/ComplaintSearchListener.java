@@ -0,0 +1,32 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.Complaint;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that forwards complaint inserts, updates and deletes to the
+ * {@link ComplaintSearchService}; the service is looked up on use, as in
+ * {@link SearchIndexListener}.
+ */
+public class ComplaintSearchListener {
+    
+    private final ObjectProvider<ComplaintSearchService> complaintSearchService;
+    
+    public ComplaintSearchListener(ObjectProvider<ComplaintSearchService> complaintSearchService) {
+        this.complaintSearchService = complaintSearchService;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    public void saved(Complaint complaint) {
+        complaintSearchService.ifAvailable(index -> index.saved(complaint));
+    }
+    
+    @PostRemove
+    public void deleted(Complaint complaint) {
+        complaintSearchService.ifAvailable(index -> index.deleted(complaint));
+    }
+}
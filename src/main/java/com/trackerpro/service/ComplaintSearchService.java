@@ -0,0 +1,176 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.ComplaintSearchQuery;
+import com.trackerpro.dto.ComplaintSearchResult;
+import com.trackerpro.entity.Complaint;
+import com.trackerpro.entity.ComplaintPriority;
+import com.trackerpro.entity.ComplaintStatus;
+import com.trackerpro.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Relevance-ranked search over complaint text, served from a {@link ComplaintTextIndex}
+ * instead of LIKE over the description and resolution notes TEXT columns. The index
+ * is rebuilt at startup and follows complaint inserts, updates and deletes (through
+ * {@link ComplaintSearchListener}) once they commit; a search only loads the
+ * complaints of the requested page, by id.
+ */
+@Service
+public class ComplaintSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintSearchService.class);
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(lock);
+    
+    // Guarded by lock
+    private ComplaintTextIndex index = new ComplaintTextIndex();
+    
+    @Autowired
+    public ComplaintSearchService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * One page of complaints containing any of the query's words, most relevant first
+     */
+    public ComplaintSearchResult search(ComplaintSearchQuery query) {
+        SearchHits hits = searchIds(query.getQ(), query.getStatus(), query.getPriority(), query.getPage(), query.getSize());
+        
+        ComplaintSearchResult result = new ComplaintSearchResult();
+        result.setTotal(hits.total());
+        result.setPage(query.getPage());
+        result.setSize(query.getSize());
+        result.setComplaints(load(hits.ids()));
+        return result;
+    }
+    
+    /**
+     * One page of ids of complaints containing any of the words, most relevant first; empty
+     * filters match every status or priority
+     */
+    public SearchHits searchIds(String words, List<ComplaintStatus> statuses, List<ComplaintPriority> priorities,
+                                int page, int size) {
+        if (words == null || words.isBlank()) {
+            throw new IllegalArgumentException("Search words are required");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(words, statuses, priorities, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Complaints for a page of ids, in the order of the page
+     */
+    public List<Complaint> load(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return SearchIndexService.inOrder(ids, complaintRepository.findAllById(ids), Complaint::getComplaintId);
+    }
+    
+    /**
+     * Replace the index with one built from the database
+     */
+    public void rebuild() {
+        rebuildBuffer.begin();
+        ComplaintTextIndex rebuilt;
+        try {
+            rebuilt = readOnlyTransaction.execute(status -> {
+                ComplaintTextIndex built = new ComplaintTextIndex();
+                try (Stream<Object[]> rows = complaintRepository.streamSearchFields()) {
+                    rows.forEach(row -> built.put((UUID) row[0], (String) row[1], (String) row[2], (String) row[3],
+                                                  (String) row[4], (ComplaintStatus) row[5], (ComplaintPriority) row[6]));
+                }
+                return built;
+            });
+            rebuildBuffer.swap(() -> index = rebuilt);
+        } finally {
+            rebuildBuffer.end();
+        }
+        logger.info("Complaint text index rebuilt with {} complaints and {} terms", rebuilt.size(), rebuilt.terms());
+    }
+    
+    /**
+     * A complaint was inserted or updated
+     */
+    public void saved(Complaint complaint) {
+        UUID id = complaint.getComplaintId();
+        String category = complaint.getCategory();
+        String studentName = complaint.getStudentName();
+        String description = complaint.getDescription();
+        String resolutionNotes = complaint.getResolutionNotes();
+        ComplaintStatus status = complaint.getStatus();
+        ComplaintPriority priority = complaint.getPriority();
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(
+            () -> index.put(id, category, studentName, description, resolutionNotes, status, priority)));
+    }
+    
+    /**
+     * A complaint was deleted
+     */
+    public void deleted(Complaint complaint) {
+        UUID id = complaint.getComplaintId();
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> index.remove(id)));
+    }
+    
+    /**
+     * Complaints, distinct terms and average weighted length of the index
+     */
+    public IndexStatistics getStatistics() {
+        lock.readLock().lock();
+        try {
+            IndexStatistics stats = new IndexStatistics();
+            stats.setDocuments(index.size());
+            stats.setTerms(index.terms());
+            stats.setAverageLength(index.averageLength());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Inner class for statistics
+    public static class IndexStatistics {
+        private int documents;
+        private int terms;
+        private double averageLength;
+        
+        // Getters and Setters
+        public int getDocuments() { return documents; }
+        public void setDocuments(int documents) { this.documents = documents; }
+        
+        public int getTerms() { return terms; }
+        public void setTerms(int terms) { this.terms = terms; }
+        
+        public double getAverageLength() { return averageLength; }
+        public void setAverageLength(double averageLength) { this.averageLength = averageLength; }
+    }
+}
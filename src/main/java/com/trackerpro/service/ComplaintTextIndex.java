@@ -0,0 +1,282 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.ComplaintPriority;
+import com.trackerpro.entity.ComplaintStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over complaint text ranked with BM25. A complaint's category,
+ * student name, description and resolution notes are tokenized into lower-case
+ * words; the category and student name count twice, so a query naming a category
+ * ranks complaints filed under it above ones that merely mention it.
+ *
+ * Each distinct word keeps the ordinals of the complaints using it with their
+ * weighted term frequency. A query scores only the complaints in the postings of
+ * its words (any word may match; complaints matching more and rarer words rank
+ * higher), filtered by status and priority from per-ordinal arrays, and keeps the
+ * requested page with a bounded heap. Ties go to the newest complaint.
+ *
+ * Not thread-safe; callers guard an index with their own lock.
+ */
+public class ComplaintTextIndex {
+    
+    // BM25 term frequency saturation and length normalization
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    
+    static final int CATEGORY_WEIGHT = 2;
+    static final int NAME_WEIGHT = 2;
+    static final int TEXT_WEIGHT = 1;
+    
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "i", "if", "in", "is", "it",
+        "me", "my", "no", "not", "of", "on", "or", "so", "the", "this", "to", "was", "we", "with"
+    );
+    
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    
+    // Indexed by ordinal; null terms once the complaint is removed
+    private UUID[] ids = new UUID[64];
+    private String[][] terms = new String[64][];
+    private int[] lengths = new int[64];
+    private byte[] statuses = new byte[64];
+    private byte[] priorities = new byte[64];
+    private int nextOrdinal;
+    private long totalLength;
+    
+    /**
+     * Add or replace a complaint
+     */
+    public void put(UUID id, String category, String studentName, String description, String resolutionNotes,
+                    ComplaintStatus status, ComplaintPriority priority) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        addTerms(frequencies, category, CATEGORY_WEIGHT);
+        addTerms(frequencies, studentName, NAME_WEIGHT);
+        addTerms(frequencies, description, TEXT_WEIGHT);
+        addTerms(frequencies, resolutionNotes, TEXT_WEIGHT);
+        
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) {
+            unindex(ordinal);
+        } else {
+            ordinal = nextOrdinal++;
+            if (ordinal == ids.length) {
+                int capacity = ordinal * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                terms = Arrays.copyOf(terms, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+            }
+            ordinals.put(id, ordinal);
+            ids[ordinal] = id;
+        }
+        
+        int length = 0;
+        String[] documentTerms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings termPostings = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            termPostings.add(ordinal, entry.getValue());
+            // Share the dictionary's copy of the word
+            documentTerms[i++] = termPostings.term;
+            length += entry.getValue();
+        }
+        terms[ordinal] = documentTerms;
+        lengths[ordinal] = length;
+        totalLength += length;
+        statuses[ordinal] = (byte) status.ordinal();
+        priorities[ordinal] = (byte) priority.ordinal();
+    }
+    
+    public void remove(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            unindex(ordinal);
+            ids[ordinal] = null;
+            terms[ordinal] = null;
+        }
+    }
+    
+    /**
+     * One page of the complaints matching any query word and the filters, best BM25 score
+     * first; empty filters match every status or priority
+     */
+    public SearchHits search(String query, Collection<ComplaintStatus> statusFilter,
+                             Collection<ComplaintPriority> priorityFilter, int page, int size) {
+        List<String> queryTerms = new ArrayList<>(tokenize(query).keySet());
+        if (queryTerms.isEmpty() || ordinals.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+        boolean[] statusAllowed = allowed(statusFilter, ComplaintStatus.values().length);
+        boolean[] priorityAllowed = allowed(priorityFilter, ComplaintPriority.values().length);
+        
+        // Score accumulated per ordinal; NaN marks ordinals not matched yet
+        double averageLength = (double) totalLength / ordinals.size();
+        double[] scores = new double[nextOrdinal];
+        Arrays.fill(scores, Double.NaN);
+        List<Integer> matched = new ArrayList<>();
+        for (String term : queryTerms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            double idf = idf(ordinals.size(), termPostings.size);
+            for (int k = 0; k < termPostings.size; k++) {
+                int ordinal = termPostings.ordinals[k];
+                if (!statusAllowed[statuses[ordinal]] || !priorityAllowed[priorities[ordinal]]) {
+                    continue;
+                }
+                if (Double.isNaN(scores[ordinal])) {
+                    scores[ordinal] = 0;
+                    matched.add(ordinal);
+                }
+                scores[ordinal] += idf * saturate(termPostings.frequencies[k], lengths[ordinal], averageLength);
+            }
+        }
+        
+        // Lowest-ranked of the kept complaints on top, so it is the one evicted; long so far pages cannot overflow
+        long offset = (long) page * size;
+        if (offset >= matched.size()) {
+            return new SearchHits(matched.size(), List.of());
+        }
+        int keep = (int) Math.min(offset + size, matched.size());
+        PriorityQueue<Integer> best = new PriorityQueue<>(keep, (a, b) -> compare(scores, a, b));
+        for (int ordinal : matched) {
+            if (best.size() < keep) {
+                best.add(ordinal);
+            } else if (compare(scores, ordinal, best.peek()) > 0) {
+                best.poll();
+                best.add(ordinal);
+            }
+        }
+        UUID[] ranked = new UUID[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = ids[best.poll()];
+        }
+        return new SearchHits(matched.size(), List.of(ranked).subList((int) offset, ranked.length));
+    }
+    
+    public int size() {
+        return ordinals.size();
+    }
+    
+    public int terms() {
+        return postings.size();
+    }
+    
+    public double averageLength() {
+        return ordinals.isEmpty() ? 0 : (double) totalLength / ordinals.size();
+    }
+    
+    /**
+     * Words of a text with their number of occurrences, stop words dropped
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        addTerms(frequencies, text, 1);
+        return frequencies;
+    }
+    
+    static double idf(int documents, int documentFrequency) {
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+    
+    static double saturate(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+    
+    // Higher score ranks higher; among equal scores the newer (higher) ordinal does
+    private static int compare(double[] scores, int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore : Integer.compare(a, b);
+    }
+    
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                frequencies.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+    
+    private static boolean[] allowed(Collection<? extends Enum<?>> filter, int values) {
+        boolean[] allowed = new boolean[values];
+        if (filter == null || filter.isEmpty()) {
+            Arrays.fill(allowed, true);
+        } else {
+            filter.forEach(value -> allowed[value.ordinal()] = true);
+        }
+        return allowed;
+    }
+    
+    private void unindex(int ordinal) {
+        for (String term : terms[ordinal]) {
+            Postings remaining = postings.get(term);
+            remaining.remove(ordinal);
+            if (remaining.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[ordinal];
+        lengths[ordinal] = 0;
+    }
+    
+    // Sorted ordinals of one word with the word's weighted frequency in each complaint
+    private static final class Postings {
+        private final String term;
+        private int[] ordinals = new int[1];
+        private int[] frequencies = new int[1];
+        private int size;
+        
+        private Postings(String term) {
+            this.term = term;
+        }
+        
+        private void add(int ordinal, int frequency) {
+            int index = size == 0 || ordinals[size - 1] < ordinal ? -size - 1 : Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            index = -index - 1;
+            if (size == ordinals.length) {
+                int capacity = size + (size >> 1) + 1;
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            ordinals[index] = ordinal;
+            frequencies[index] = frequency;
+            size++;
+        }
+        
+        private void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+                System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+}
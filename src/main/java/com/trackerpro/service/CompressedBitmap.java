@@ -0,0 +1,483 @@
+package com.trackerpro.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed set of non-negative ints in the style of Roaring bitmaps: values are
+ * split by their high 16 bits into chunks, and each chunk is stored as a sorted
+ * array of its low 16 bits while it holds at most 4096 values (8 KB or less),
+ * or as a 65536-bit bitmap (8 KB) once it holds more. Sparse sets stay small and
+ * dense ones intersect word by word.
+ *
+ * Not thread-safe; callers guard shared bitmaps with their own lock.
+ */
+public class CompressedBitmap {
+    
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    
+    // Chunk keys (high 16 bits) in ascending order, with their containers
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunks;
+    
+    public boolean add(int value) {
+        char key = (char) (value >>> 16);
+        // Values usually arrive in ascending order, landing in the last chunk
+        int index = chunks > 0 && keys[chunks - 1] == key ? chunks - 1 : Arrays.binarySearch(keys, 0, chunks, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        boolean added = container.add((char) value);
+        if (container instanceof ArrayContainer && container.cardinality > ARRAY_LIMIT) {
+            containers[index] = container.toBitmap();
+        }
+        return added;
+    }
+    
+    public boolean remove(int value) {
+        int index = Arrays.binarySearch(keys, 0, chunks, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        boolean removed = container.remove((char) value);
+        if (container.cardinality == 0) {
+            removeChunk(index);
+        } else if (container instanceof BitmapContainer && container.cardinality <= ARRAY_LIMIT) {
+            containers[index] = container.toArray();
+        }
+        return removed;
+    }
+    
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, chunks, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+    
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < chunks; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+    
+    public boolean isEmpty() {
+        return chunks == 0;
+    }
+    
+    /**
+     * Values in both bitmaps, as a new bitmap
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality > 0) {
+                    result.appendChunk(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Number of values in both bitmaps, without building the intersection
+     */
+    public int andCardinality(CompressedBitmap other) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+    
+    /**
+     * Values in either bitmap, as a new bitmap
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunks || j < other.chunks) {
+            if (j == other.chunks || (i < chunks && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], containers[i].copy());
+                i++;
+            } else if (i == chunks || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Union of any number of bitmaps; empty when there are none
+     */
+    public static CompressedBitmap orAll(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap bitmap : bitmaps) {
+            result = result.or(bitmap);
+        }
+        return result;
+    }
+    
+    /**
+     * Visit values from the largest down until the visitor returns false
+     */
+    public void forEachDescending(IntPredicate visitor) {
+        for (int i = chunks - 1; i >= 0; i--) {
+            if (!containers[i].forEachDescending(keys[i] << 16, visitor)) {
+                return;
+            }
+        }
+    }
+    
+    private void insertChunk(int index, char key, Container container) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunks - index);
+        System.arraycopy(containers, index, containers, index + 1, chunks - index);
+        keys[index] = key;
+        containers[index] = container;
+        chunks++;
+    }
+    
+    private void appendChunk(char key, Container container) {
+        insertChunk(chunks, key, container);
+    }
+    
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunks - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunks - index - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+    
+    private abstract static class Container {
+        int cardinality;
+        
+        abstract boolean add(char value);
+        abstract boolean remove(char value);
+        abstract boolean contains(char value);
+        abstract Container and(Container other);
+        abstract int andCardinality(Container other);
+        abstract Container or(Container other);
+        abstract Container copy();
+        abstract boolean forEachDescending(int high, IntPredicate visitor);
+        abstract BitmapContainer toBitmap();
+        abstract ArrayContainer toArray();
+    }
+    
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        
+        private ArrayContainer() {
+            this.values = new char[4];
+        }
+        
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        boolean add(char value) {
+            // Ascending adds (and repeats of the last value) skip the search
+            char last = cardinality == 0 ? 0 : values[cardinality - 1];
+            int index = cardinality == 0 || last < value ? -cardinality - 1
+                : last == value ? cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, Math.min(cardinality * 2, ARRAY_LIMIT + 1)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return true;
+        }
+        
+        @Override
+        boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+        
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality)];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+        
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(result, count);
+            return count > ARRAY_LIMIT ? union.toBitmap() : union;
+        }
+        
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(4, cardinality)), cardinality);
+        }
+        
+        @Override
+        boolean forEachDescending(int high, IntPredicate visitor) {
+            for (int i = cardinality - 1; i >= 0; i--) {
+                if (!visitor.test(high | values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+        
+        @Override
+        ArrayContainer toArray() {
+            return this;
+        }
+    }
+    
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        
+        private BitmapContainer() {
+            this.words = new long[BITMAP_WORDS];
+        }
+        
+        private BitmapContainer(long[] words) {
+            this.words = words;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+        }
+        
+        @Override
+        boolean add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        boolean remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+        
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & theirs[i];
+            }
+            BitmapContainer intersection = new BitmapContainer(result);
+            return intersection.cardinality <= ARRAY_LIMIT ? intersection.toArray() : intersection;
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(words[i] & theirs[i]);
+            }
+            return count;
+        }
+        
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.add(array.values[i]);
+                }
+                return result;
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] |= theirs[i];
+            }
+            return new BitmapContainer(result.words);
+        }
+        
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone());
+        }
+        
+        @Override
+        boolean forEachDescending(int high, IntPredicate visitor) {
+            for (int i = BITMAP_WORDS - 1; i >= 0; i--) {
+                long word = words[i];
+                while (word != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(word);
+                    if (!visitor.test(high | (i << 6) | bit)) {
+                        return false;
+                    }
+                    word &= ~(1L << bit);
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+        
+        @Override
+        ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    values[count++] = (char) ((i << 6) | bit);
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
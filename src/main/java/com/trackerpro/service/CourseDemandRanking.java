@@ -0,0 +1,224 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.CourseDemand;
+import com.trackerpro.entity.ApplicationStatus;
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.CourseStatus;
+import com.trackerpro.repository.CourseRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Leaderboard of courses by open applications, overall and per category.
+ *
+ * Courses are kept in sorted sets ordered by demand, so a top-K read walks the
+ * first K entries and an application change moves one course with a removal and
+ * an insertion (O(log n)); nothing is counted in the database after the startup
+ * rebuild. Changes are applied once the writing transaction commits, so a rolled
+ * back application never shows up in the ranking. A demand change made while a
+ * rebuild reads the database may or may not be in what it read, so once the
+ * rebuilt ranking is swapped in that course is counted again instead.
+ */
+@Service
+public class CourseDemandRanking {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CourseDemandRanking.class);
+    
+    // Applications in these statuses no longer count as demand
+    private static final Set<ApplicationStatus> CLOSED = EnumSet.of(ApplicationStatus.REJECTED, ApplicationStatus.COMPLETED);
+    
+    public static final int MAX_K = 100;
+    
+    private static final Comparator<Entry> BY_DEMAND = Comparator.comparingLong(Entry::demand).reversed()
+        .thenComparing(Entry::courseTitle, String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(Entry::courseId);
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(lock);
+    
+    // Guarded by lock; entries are immutable and replaced on every change
+    private Map<UUID, Entry> entries = new HashMap<>();
+    private NavigableSet<Entry> overall = new TreeSet<>(BY_DEMAND);
+    private Map<String, NavigableSet<Entry>> byCategory = new HashMap<>();
+    
+    @Autowired
+    public CourseDemandRanking(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Most demanded published courses, optionally within one category (case-insensitive)
+     */
+    public List<CourseDemand> getTop(int k, String category) {
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_K);
+        }
+        
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> ranking = category == null || category.isBlank()
+                ? overall
+                : byCategory.getOrDefault(categoryKey(category), new TreeSet<>(BY_DEMAND));
+            
+            List<CourseDemand> top = new ArrayList<>(k);
+            for (Entry entry : ranking) {
+                if (top.size() == k) {
+                    break;
+                }
+                if (entry.published()) {
+                    top.add(new CourseDemand(top.size() + 1, entry.courseId(), entry.courseCode(),
+                                             entry.courseTitle(), entry.category(), entry.demand()));
+                }
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replace the ranking with one built from the database
+     */
+    public void rebuild() {
+        rebuildBuffer.begin();
+        Map<UUID, Entry> rebuilt;
+        try {
+            rebuilt = readOnlyTransaction.execute(status -> {
+                Map<UUID, Long> demand = new HashMap<>();
+                for (Object[] row : applicationRepository.countGroupedByCourseExcluding(CLOSED)) {
+                    demand.put((UUID) row[0], (Long) row[1]);
+                }
+                Map<UUID, Entry> courses = new HashMap<>();
+                for (Course course : courseRepository.findAll()) {
+                    courses.put(course.getCourseId(), Entry.of(course, demand.getOrDefault(course.getCourseId(), 0L)));
+                }
+                return courses;
+            });
+            
+            rebuildBuffer.swap(() -> {
+                entries = new HashMap<>();
+                overall = new TreeSet<>(BY_DEMAND);
+                byCategory = new HashMap<>();
+                rebuilt.values().forEach(this::insert);
+            });
+        } finally {
+            rebuildBuffer.end();
+        }
+        logger.info("Course demand ranking rebuilt with {} courses", rebuilt.size());
+    }
+    
+    /**
+     * A new application was submitted for the course
+     */
+    public void applicationOpened(UUID courseId) {
+        TransactionHooks.afterCommit(() -> adjustDemand(courseId, 1));
+    }
+    
+    /**
+     * An application for the course changed status; only moves between open and closed change demand
+     */
+    public void applicationStatusChanged(UUID courseId, ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        int delta = (CLOSED.contains(oldStatus) ? 0 : -1) + (CLOSED.contains(newStatus) ? 0 : 1);
+        if (delta != 0) {
+            TransactionHooks.afterCommit(() -> adjustDemand(courseId, delta));
+        }
+    }
+    
+    /**
+     * A course was created or its title, category or status changed
+     */
+    public void courseSaved(Course course) {
+        Entry details = Entry.of(course, 0);
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> {
+            Entry existing = remove(details.courseId());
+            insert(details.withDemand(existing != null ? existing.demand() : 0));
+        }));
+    }
+    
+    /**
+     * A course was deleted
+     */
+    public void courseDeleted(UUID courseId) {
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> remove(courseId)));
+    }
+    
+    // Replayed on a rebuilt ranking as a recount, since the rebuild may already have counted it
+    private void adjustDemand(UUID courseId, long delta) {
+        rebuildBuffer.apply(() -> setDemand(courseId, existing -> existing.demand() + delta),
+                            () -> setDemand(courseId, existing -> applicationRepository.countByCourseIdExcluding(courseId, CLOSED)));
+    }
+    
+    private void setDemand(UUID courseId, ToLongFunction<Entry> demand) {
+        Entry existing = entries.get(courseId);
+        if (existing != null) {
+            long updated = Math.max(0, demand.applyAsLong(existing));
+            remove(courseId);
+            insert(existing.withDemand(updated));
+        }
+    }
+    
+    private void insert(Entry entry) {
+        entries.put(entry.courseId(), entry);
+        overall.add(entry);
+        byCategory.computeIfAbsent(categoryKey(entry.category()), key -> new TreeSet<>(BY_DEMAND)).add(entry);
+    }
+    
+    private Entry remove(UUID courseId) {
+        Entry existing = entries.remove(courseId);
+        if (existing != null) {
+            overall.remove(existing);
+            String key = categoryKey(existing.category());
+            NavigableSet<Entry> category = byCategory.get(key);
+            category.remove(existing);
+            if (category.isEmpty()) {
+                byCategory.remove(key);
+            }
+        }
+        return existing;
+    }
+    
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private record Entry(UUID courseId, String courseCode, String courseTitle, String category,
+                         boolean published, long demand) {
+        
+        private static Entry of(Course course, long demand) {
+            return new Entry(course.getCourseId(), course.getCourseCode(), course.getCourseTitle(),
+                             course.getCategory(), course.getStatus() == CourseStatus.PUBLISHED, demand);
+        }
+        
+        private Entry withDemand(long demand) {
+            return new Entry(courseId, courseCode, courseTitle, category, published, demand);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +24,18 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private CourseDemandRanking courseDemandRanking;
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
     /**
      * Get all courses
      */
@@ -59,6 +72,11 @@ public class CourseService {
         }
         
         Course savedCourse = courseRepository.save(course);
+        entityCounterService.increment(EntityCounterService.COURSE, EntityCounterService.STATUS, savedCourse.getStatus());
+        entityCounterService.increment(EntityCounterService.COURSE, EntityCounterService.CATEGORY, savedCourse.getCategory());
+        courseDemandRanking.courseSaved(savedCourse);
+        courseSuggestIndex.courseSaved(savedCourse);
+        studentHomeCache.evictCourses();
         logger.info("Course created successfully with ID: {}", savedCourse.getCourseId());
         return savedCourse;
     }
@@ -79,6 +97,9 @@ public class CourseService {
             }
         }
         
+        CourseStatus oldStatus = existingCourse.getStatus();
+        String oldCategory = existingCourse.getCategory();
+        
         // Update fields
         existingCourse.setCourseCode(updatedCourse.getCourseCode());
         existingCourse.setCourseTitle(updatedCourse.getCourseTitle());
@@ -92,6 +113,11 @@ public class CourseService {
         }
         
         Course savedCourse = courseRepository.save(existingCourse);
+        entityCounterService.move(EntityCounterService.COURSE, EntityCounterService.STATUS, oldStatus, savedCourse.getStatus());
+        entityCounterService.move(EntityCounterService.COURSE, EntityCounterService.CATEGORY, oldCategory, savedCourse.getCategory());
+        courseDemandRanking.courseSaved(savedCourse);
+        courseSuggestIndex.courseSaved(savedCourse);
+        studentHomeCache.evictCourses();
         logger.info("Course updated successfully: {}", savedCourse.getCourseId());
         return savedCourse;
     }
@@ -102,11 +128,15 @@ public class CourseService {
     public void deleteCourse(UUID courseId) {
         logger.info("Deleting course with ID: {}", courseId);
         
-        if (!courseRepository.existsById(courseId)) {
-            throw new RuntimeException("Course not found with ID: " + courseId);
-        }
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
         
-        courseRepository.deleteById(courseId);
+        courseRepository.delete(course);
+        entityCounterService.decrement(EntityCounterService.COURSE, EntityCounterService.STATUS, course.getStatus());
+        entityCounterService.decrement(EntityCounterService.COURSE, EntityCounterService.CATEGORY, course.getCategory());
+        courseDemandRanking.courseDeleted(courseId);
+        courseSuggestIndex.courseDeleted(courseId);
+        studentHomeCache.evictCourses();
         logger.info("Course deleted successfully: {}", courseId);
     }
     
@@ -143,8 +173,13 @@ public class CourseService {
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
         
+        CourseStatus oldStatus = course.getStatus();
         course.setStatus(CourseStatus.PUBLISHED);
         Course savedCourse = courseRepository.save(course);
+        entityCounterService.move(EntityCounterService.COURSE, EntityCounterService.STATUS, oldStatus, CourseStatus.PUBLISHED);
+        courseDemandRanking.courseSaved(savedCourse);
+        courseSuggestIndex.courseSaved(savedCourse);
+        studentHomeCache.evictCourses();
         
         logger.info("Course published successfully: {}", savedCourse.getCourseId());
         return savedCourse;
@@ -159,8 +194,13 @@ public class CourseService {
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
         
+        CourseStatus oldStatus = course.getStatus();
         course.setStatus(CourseStatus.DRAFT);
         Course savedCourse = courseRepository.save(course);
+        entityCounterService.move(EntityCounterService.COURSE, EntityCounterService.STATUS, oldStatus, CourseStatus.DRAFT);
+        courseDemandRanking.courseSaved(savedCourse);
+        courseSuggestIndex.courseSaved(savedCourse);
+        studentHomeCache.evictCourses();
         
         logger.info("Course unpublished successfully: {}", savedCourse.getCourseId());
         return savedCourse;
@@ -169,15 +209,22 @@ public class CourseService {
     /**
      * Get course statistics
      */
+    @Transactional(readOnly = true)
     public CourseStatistics getCourseStatistics() {
         logger.info("Calculating course statistics");
         
-        long totalCourses = courseRepository.count();
-        long publishedCourses = courseRepository.countByStatus(CourseStatus.PUBLISHED);
-        long draftCourses = courseRepository.countByStatus(CourseStatus.DRAFT);
-        List<String> categories = courseRepository.findAllDistinctCategories();
-        
-        return new CourseStatistics(totalCourses, publishedCourses, draftCourses, categories.size());
+        // Read from the maintained counters
+        Map<String, Map<String, Long>> counts = entityCounterService.getCounts(EntityCounterService.COURSE);
+        Map<String, Long> byStatus = counts.getOrDefault(EntityCounterService.STATUS, Map.of());
+        long categories = counts.getOrDefault(EntityCounterService.CATEGORY, Map.of()).values().stream()
+            .filter(count -> count > 0)
+            .count();
+        
+        return new CourseStatistics(
+            byStatus.values().stream().mapToLong(Long::longValue).sum(),
+            byStatus.getOrDefault(CourseStatus.PUBLISHED.name(), 0L),
+            byStatus.getOrDefault(CourseStatus.DRAFT.name(), 0L),
+            categories);
     }
     
     /**
@@ -0,0 +1,190 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.CourseSuggestion;
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.CourseStatus;
+import com.trackerpro.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Course autocomplete from a {@link PrefixTrie} over the words of each course's
+ * code, title and category, so a keystroke is answered from memory without the
+ * multi-column LIKE of CourseRepository.searchCourses.
+ *
+ * Every word of the query must start a word of the course; a course scores the
+ * sum of its best match per query word (code above the first title word, above
+ * other title words, above category) and ties go by title. Courses are re-indexed
+ * by CourseService as they are created, edited, published, unpublished or deleted,
+ * once the change commits.
+ */
+@Service
+public class CourseSuggestIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CourseSuggestIndex.class);
+    
+    public static final int MAX_SUGGESTIONS = 20;
+    
+    private static final int CODE = 4;
+    private static final int TITLE_START = 3;
+    private static final int TITLE = 2;
+    private static final int CATEGORY = 1;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(lock);
+    
+    // Guarded by lock
+    private Map<UUID, CourseSuggestion> courses = new HashMap<>();
+    private PrefixTrie<UUID> trie = new PrefixTrie<>();
+    
+    @Autowired
+    public CourseSuggestIndex(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Best matching courses for what has been typed so far; drafts only when asked for
+     */
+    public List<CourseSuggestion> suggest(String query, int limit, boolean includeDrafts) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> scores = null;
+            for (String word : words) {
+                Map<UUID, Integer> matches = new HashMap<>();
+                trie.forEachWithPrefix(word, (courseId, weight) -> matches.merge(courseId, weight, Math::max));
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    // Keep courses matching every word
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((courseId, score) -> score + matches.get(courseId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            
+            Map<UUID, Integer> ranked = scores;
+            return ranked.keySet().stream()
+                .map(courses::get)
+                .filter(course -> includeDrafts || course.getStatus() == CourseStatus.PUBLISHED)
+                .sorted(Comparator.<CourseSuggestion>comparingInt(course -> ranked.get(course.getCourseId())).reversed()
+                    .thenComparing(CourseSuggestion::getCourseTitle, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(CourseSuggestion::getCourseCode))
+                .limit(limit)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replace the index with one built from the database
+     */
+    public void rebuild() {
+        rebuildBuffer.begin();
+        List<Course> all;
+        PrefixTrie<UUID> rebuiltTrie = new PrefixTrie<>();
+        try {
+            all = readOnlyTransaction.execute(status -> courseRepository.findAll());
+            
+            Map<UUID, CourseSuggestion> rebuiltCourses = new HashMap<>();
+            for (Course course : all) {
+                CourseSuggestion suggestion = suggestionOf(course);
+                rebuiltCourses.put(course.getCourseId(), suggestion);
+                termsOf(suggestion).forEach((term, weight) -> rebuiltTrie.put(term, course.getCourseId(), weight));
+            }
+            
+            rebuildBuffer.swap(() -> {
+                courses = rebuiltCourses;
+                trie = rebuiltTrie;
+            });
+        } finally {
+            rebuildBuffer.end();
+        }
+        logger.info("Course suggest index rebuilt with {} courses and {} trie nodes", all.size(), rebuiltTrie.nodes());
+    }
+    
+    /**
+     * A course was created, edited, published or unpublished
+     */
+    public void courseSaved(Course course) {
+        CourseSuggestion suggestion = suggestionOf(course);
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> {
+            remove(suggestion.getCourseId());
+            courses.put(suggestion.getCourseId(), suggestion);
+            termsOf(suggestion).forEach((term, weight) -> trie.put(term, suggestion.getCourseId(), weight));
+        }));
+    }
+    
+    /**
+     * A course was deleted
+     */
+    public void courseDeleted(UUID courseId) {
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> remove(courseId)));
+    }
+    
+    private void remove(UUID courseId) {
+        CourseSuggestion existing = courses.remove(courseId);
+        if (existing != null) {
+            termsOf(existing).keySet().forEach(term -> trie.remove(term, courseId));
+        }
+    }
+    
+    private static CourseSuggestion suggestionOf(Course course) {
+        return new CourseSuggestion(course.getCourseId(), course.getCourseCode(), course.getCourseTitle(),
+                                    course.getCategory(), course.getStatus());
+    }
+    
+    // Words of a course with the weight of their best role
+    private static Map<String, Integer> termsOf(CourseSuggestion course) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        words(course.getCategory()).forEach(word -> terms.merge(word, CATEGORY, Math::max));
+        List<String> title = words(course.getCourseTitle());
+        for (int i = 0; i < title.size(); i++) {
+            terms.merge(title.get(i), i == 0 ? TITLE_START : TITLE, Math::max);
+        }
+        words(course.getCourseCode()).forEach(word -> terms.merge(word, CODE, Math::max));
+        return terms;
+    }
+    
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,347 @@
+package com.trackerpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentApplication;
+import com.trackerpro.exception.OverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes dashboard changes to connected admin pages over Server-Sent Events.
+ *
+ * Every event is computed and serialized once and then queued to each
+ * subscriber: stats deltas are recomputed only when counters have changed
+ * (checked on a short interval), and services publish new registrations and
+ * applications as application events, broadcast after their transaction commits.
+ *
+ * Each subscriber has a bounded queue drained by a small sender pool; one that
+ * falls that far behind is disconnected and resynchronizes on reconnect, so a
+ * slow browser cannot hold events for the others. Connections are capped (a slot
+ * is reserved before a stream is set up and given back if setting it up fails)
+ * and idle streams get a heartbeat comment so proxies keep them open.
+ */
+@Service
+public class DashboardEventHub implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventHub.class);
+    
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final int maxConnections;
+    private final int queueCapacity;
+    private final long emitterTimeoutMs;
+    private final ExecutorService senders;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots taken against the cap, reserved before a subscriber is set up and released once
+    private final AtomicInteger connections = new AtomicInteger();
+    
+    // Last stats pushed, for computing deltas; only touched by the scheduler thread
+    private Map<String, Object> lastStats = Map.of();
+    private long lastChangeSequence = -1;
+    
+    private final LongAdder eventsPublished = new LongAdder();
+    private final LongAdder connectionsRejected = new LongAdder();
+    private final LongAdder slowSubscribersDropped = new LongAdder();
+    
+    @Autowired
+    public DashboardEventHub(@Value("${trackerpro.dashboard-stream.max-connections:100}") int maxConnections,
+                             @Value("${trackerpro.dashboard-stream.queue-capacity:64}") int queueCapacity,
+                             @Value("${trackerpro.dashboard-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${trackerpro.dashboard-stream.sender-threads:2}") int senderThreads) {
+        this.maxConnections = maxConnections;
+        this.queueCapacity = queueCapacity;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stream-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Open a stream for one admin page; starts with the current stats
+     */
+    public SseEmitter subscribe() {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            connectionsRejected.increment();
+            throw new OverloadedException("Too many dashboard streams are open", 30);
+        }
+        
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        subscribers.add(subscriber);
+        try {
+            emitter.onCompletion(() -> unsubscribe(subscriber));
+            emitter.onTimeout(() -> unsubscribe(subscriber));
+            emitter.onError(error -> unsubscribe(subscriber));
+            
+            Map<String, Object> stats = dashboardStatsCache.getStats();
+            enqueue(subscriber, new Event("stats", serialize(stats)));
+            return emitter;
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+    }
+    
+    /**
+     * Update announcing a newly registered student; publish it with the application event publisher
+     */
+    public static DashboardUpdate registration(Student student) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("studentId", student.getStudentId());
+        payload.put("firstName", student.getFirstName());
+        payload.put("lastName", student.getLastName());
+        payload.put("email", student.getEmail());
+        payload.put("location", student.getLocation());
+        payload.put("status", student.getStatus());
+        payload.put("registeredAt", student.getRegisteredAt());
+        return new DashboardUpdate("registration", payload);
+    }
+    
+    /**
+     * Update announcing a new or changed application; publish it with the application event publisher
+     */
+    public static DashboardUpdate application(StudentApplication application) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("applicationId", application.getApplicationId());
+        payload.put("studentId", application.getStudent().getStudentId());
+        payload.put("courseId", application.getCourse().getCourseId());
+        payload.put("courseTitle", application.getCourse().getCourseTitle());
+        payload.put("status", application.getStatus());
+        payload.put("appliedAt", application.getAppliedAt());
+        return new DashboardUpdate("application", payload);
+    }
+    
+    /**
+     * Broadcast a published update once the transaction that wrote it commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdate(DashboardUpdate update) {
+        if (!subscribers.isEmpty()) {
+            broadcast(new Event(update.name(), serialize(update.payload())));
+        }
+    }
+    
+    /**
+     * Push the stats that changed since the last push; skipped while nobody listens or nothing changed
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.dashboard-stream.interval-ms:2000}")
+    public void publishStatsDelta() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long changeSequence = entityCounterService.getChangeSequence();
+        if (changeSequence == lastChangeSequence) {
+            return;
+        }
+        
+        try {
+            Map<String, Object> stats = dashboardStatsCache.refreshNow();
+            Map<String, Object> delta = new LinkedHashMap<>();
+            stats.forEach((key, value) -> {
+                if (!"computedAt".equals(key) && !Objects.equals(lastStats.get(key), value)) {
+                    delta.put(key, value);
+                }
+            });
+            lastStats = stats;
+            lastChangeSequence = changeSequence;
+            
+            if (!delta.isEmpty()) {
+                delta.put("computedAt", stats.get("computedAt"));
+                broadcast(new Event("stats", serialize(delta)));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard stats delta failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Keep idle streams open through proxies and notice closed connections
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.dashboard-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(Event.HEARTBEAT);
+        }
+    }
+    
+    private void broadcast(Event event) {
+        if (event != Event.HEARTBEAT) {
+            eventsPublished.increment();
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, event);
+        }
+    }
+    
+    private void enqueue(Subscriber subscriber, Event event) {
+        if (!subscriber.queue.offer(event)) {
+            // Too far behind: disconnect it, the page reconnects and starts from fresh stats
+            slowSubscribersDropped.increment();
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        do {
+            Event event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    if (event == Event.HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name(event.name).data(event.data));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared would otherwise wait
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+    
+    // Whoever removes the subscriber first gives its slot back
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    private void close(Subscriber subscriber) {
+        if (unsubscribe(subscriber)) {
+            subscriber.queue.clear();
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+    
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize dashboard event", e);
+        }
+    }
+    
+    /**
+     * Snapshot of stream activity
+     */
+    public StreamStatistics getStatistics() {
+        StreamStatistics stats = new StreamStatistics();
+        stats.setConnections(connections.get());
+        stats.setEventsPublished(eventsPublished.sum());
+        stats.setConnectionsRejected(connectionsRejected.sum());
+        stats.setSlowSubscribersDropped(slowSubscribersDropped.sum());
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+        }
+        senders.shutdownNow();
+    }
+    
+    /**
+     * Row-level change for connected dashboards; payload holds plain values only,
+     * since it is read after the transaction that built it has ended
+     */
+    public record DashboardUpdate(String name, Map<String, Object> payload) {
+    }
+    
+    private static final class Event {
+        private static final Event HEARTBEAT = new Event("heartbeat", null);
+        
+        private final String name;
+        private final String data;
+        
+        private Event(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+    
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Event> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+    
+    // Inner class for statistics
+    public static class StreamStatistics {
+        private int connections;
+        private long eventsPublished;
+        private long connectionsRejected;
+        private long slowSubscribersDropped;
+        
+        // Getters and Setters
+        public int getConnections() { return connections; }
+        public void setConnections(int connections) { this.connections = connections; }
+        
+        public long getEventsPublished() { return eventsPublished; }
+        public void setEventsPublished(long eventsPublished) { this.eventsPublished = eventsPublished; }
+        
+        public long getConnectionsRejected() { return connectionsRejected; }
+        public void setConnectionsRejected(long connectionsRejected) { this.connectionsRejected = connectionsRejected; }
+        
+        public long getSlowSubscribersDropped() { return slowSubscribersDropped; }
+        public void setSlowSubscribersDropped(long slowSubscribersDropped) { this.slowSubscribersDropped = slowSubscribersDropped; }
+    }
+}
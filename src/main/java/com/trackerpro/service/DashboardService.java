@@ -0,0 +1,99 @@
+package com.trackerpro.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Collects the admin dashboard statistics. The five statistics are independent,
+ * so they are fetched in parallel, each in its own read-only transaction bounded
+ * by the dashboard deadline. A section that fails or runs past the deadline is
+ * left null and reported in {@link DashboardStatistics#getErrors()}.
+ */
+@Service
+public class DashboardService {
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private AdminService adminService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+    
+    @Autowired
+    private DeadlineQueryRunner queryRunner;
+    
+    @Value("${trackerpro.dashboard.timeout-ms:2000}")
+    private long timeoutMs;
+    
+    /**
+     * Compute all dashboard statistics; sections that miss the deadline are reported as errors
+     */
+    public DashboardStatistics getDashboardStatistics() {
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofMillis(timeoutMs))
+            .branch("students", deadline -> queryRunner.readOnly(deadline, studentService::getStudentStatistics))
+            .branch("users", deadline -> queryRunner.readOnly(deadline, userService::getUserStatistics))
+            .branch("admins", deadline -> queryRunner.readOnly(deadline, adminService::getAdminStatistics))
+            .branch("courses", deadline -> queryRunner.readOnly(deadline, courseService::getCourseStatistics))
+            .branch("applications", deadline -> queryRunner.readOnly(deadline, applicationService::getApplicationStatistics))
+            .execute();
+        
+        DashboardStatistics stats = new DashboardStatistics();
+        stats.setStudentStatistics(result.get("students", StudentService.StudentStatistics.class));
+        stats.setUserStatistics(result.get("users", UserService.UserStatistics.class));
+        stats.setAdminStatistics(result.get("admins", AdminService.AdminStatistics.class));
+        stats.setCourseStatistics(result.get("courses", CourseService.CourseStatistics.class));
+        stats.setApplicationStatistics(result.get("applications", StudentApplicationService.ApplicationStatistics.class));
+        stats.setErrors(result.getErrors());
+        stats.setTimingsMillis(result.getTimingsMillis());
+        return stats;
+    }
+    
+    
+    // Inner class for statistics
+    public static class DashboardStatistics {
+        private StudentService.StudentStatistics studentStatistics;
+        private UserService.UserStatistics userStatistics;
+        private AdminService.AdminStatistics adminStatistics;
+        private CourseService.CourseStatistics courseStatistics;
+        private StudentApplicationService.ApplicationStatistics applicationStatistics;
+        private Map<String, String> errors;
+        private Map<String, Long> timingsMillis;
+        
+        // Getters and Setters
+        public StudentService.StudentStatistics getStudentStatistics() { return studentStatistics; }
+        public void setStudentStatistics(StudentService.StudentStatistics studentStatistics) { this.studentStatistics = studentStatistics; }
+        
+        public UserService.UserStatistics getUserStatistics() { return userStatistics; }
+        public void setUserStatistics(UserService.UserStatistics userStatistics) { this.userStatistics = userStatistics; }
+        
+        public AdminService.AdminStatistics getAdminStatistics() { return adminStatistics; }
+        public void setAdminStatistics(AdminService.AdminStatistics adminStatistics) { this.adminStatistics = adminStatistics; }
+        
+        public CourseService.CourseStatistics getCourseStatistics() { return courseStatistics; }
+        public void setCourseStatistics(CourseService.CourseStatistics courseStatistics) { this.courseStatistics = courseStatistics; }
+        
+        public StudentApplicationService.ApplicationStatistics getApplicationStatistics() { return applicationStatistics; }
+        public void setApplicationStatistics(StudentApplicationService.ApplicationStatistics applicationStatistics) { this.applicationStatistics = applicationStatistics; }
+        
+        public Map<String, String> getErrors() { return errors; }
+        public void setErrors(Map<String, String> errors) { this.errors = errors; }
+        
+        public Map<String, Long> getTimingsMillis() { return timingsMillis; }
+        public void setTimingsMillis(Map<String, Long> timingsMillis) { this.timingsMillis = timingsMillis; }
+    }
+}
@@ -0,0 +1,264 @@
+package com.trackerpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the admin dashboard stats map from an in-memory snapshot. A snapshot
+ * younger than the freshness window is returned as is; an older one is still
+ * returned while a background refresh replaces it (stale-while-revalidate).
+ * Refreshes are single-flight: however many admins poll, at most one
+ * computation runs, and callers that must wait share its result.
+ *
+ * A snapshot also goes stale early once enough counter changes have committed
+ * since it was computed, and is never served past the max-stale bound. A
+ * snapshot missing sections (see {@link DashboardService}) is always refreshed.
+ */
+@Service
+public class DashboardStatsCache implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsCache.class);
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    private final long freshNanos;
+    private final long maxStaleNanos;
+    private final long invalidateAfterChanges;
+    private final ExecutorService refreshExecutor;
+    
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder blockingLoads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    
+    @Autowired
+    public DashboardStatsCache(@Value("${trackerpro.dashboard-cache.fresh-seconds:15}") long freshSeconds,
+                               @Value("${trackerpro.dashboard-cache.max-stale-seconds:300}") long maxStaleSeconds,
+                               @Value("${trackerpro.dashboard-cache.invalidate-after-changes:50}") long invalidateAfterChanges) {
+        this.freshNanos = TimeUnit.SECONDS.toNanos(freshSeconds);
+        this.maxStaleNanos = TimeUnit.SECONDS.toNanos(Math.max(freshSeconds, maxStaleSeconds));
+        this.invalidateAfterChanges = Math.max(1, invalidateAfterChanges);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * The dashboard stats map, including the "computedAt" time of the snapshot
+     */
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            long age = System.nanoTime() - current.computedAtNanos;
+            // A partial snapshot is served but never counts as fresh
+            boolean invalidated = current.partial
+                || entityCounterService.getChangeSequence() - current.changeSequence >= invalidateAfterChanges;
+            
+            if (age <= freshNanos && !invalidated) {
+                freshHits.increment();
+                return current.stats;
+            }
+            if (age <= maxStaleNanos) {
+                staleHits.increment();
+                refresh();
+                return current.stats;
+            }
+        }
+        
+        // Nothing usable yet: wait for the (shared) refresh
+        blockingLoads.increment();
+        try {
+            return refresh().join().stats;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    /**
+     * Compute a new snapshot now (sharing any refresh already running) and return it
+     */
+    public Map<String, Object> refreshNow() {
+        try {
+            return refresh().join().stats;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    /**
+     * Drop the snapshot; the next read computes a new one
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+    
+    /**
+     * Start a refresh unless one is already running; returns the running one
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, future)) {
+            return inFlight.get();
+        }
+        
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Snapshot computed = compute();
+                    snapshot.set(computed);
+                    refreshes.increment();
+                    future.complete(computed);
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    logger.warn("Dashboard statistics refresh failed: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.compareAndSet(future, null);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.compareAndSet(future, null);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    private Snapshot compute() {
+        // Read the sequence first, so changes racing with the queries count against this snapshot
+        long changeSequence = entityCounterService.getChangeSequence();
+        DashboardService.DashboardStatistics dashboard = dashboardService.getDashboardStatistics();
+        StudentService.StudentStatistics studentStats = dashboard.getStudentStatistics();
+        UserService.UserStatistics userStats = dashboard.getUserStatistics();
+        AdminService.AdminStatistics adminStats = dashboard.getAdminStatistics();
+        CourseService.CourseStatistics courseStats = dashboard.getCourseStatistics();
+        StudentApplicationService.ApplicationStatistics appStats = dashboard.getApplicationStatistics();
+        
+        // A section whose query failed or timed out is left out and named under "errors"
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (studentStats != null) {
+            stats.put("totalStudents", studentStats.getTotalStudents());
+            stats.put("newStudentsThisWeek", studentStats.getNewStudentsThisWeek());
+            stats.put("enrolledStudents", studentStats.getEnrolledStudents());
+            stats.put("completedStudents", studentStats.getCompletedStudents());
+        }
+        if (userStats != null) {
+            stats.put("totalFaculty", userStats.getFacultyCount());
+            stats.put("totalHR", userStats.getHrCount());
+            stats.put("totalUsers", userStats.getActiveUsers());
+        }
+        if (adminStats != null) {
+            stats.put("totalAdmins", adminStats.getActiveAdmins());
+        }
+        if (courseStats != null) {
+            stats.put("totalCourses", courseStats.getTotalCourses());
+            stats.put("publishedCourses", courseStats.getPublishedCourses());
+        }
+        if (appStats != null) {
+            stats.put("totalApplications", appStats.getTotalApplications());
+            stats.put("acceptedApplications", appStats.getAcceptedCount());
+            stats.put("pendingApplications", appStats.getAppliedCount() + appStats.getUnderReviewCount());
+        }
+        boolean partial = !dashboard.getErrors().isEmpty();
+        if (partial) {
+            stats.put("errors", Map.copyOf(dashboard.getErrors()));
+        }
+        stats.put("computedAt", LocalDateTime.now());
+        
+        return new Snapshot(Collections.unmodifiableMap(stats), System.nanoTime(), changeSequence, partial);
+    }
+    
+    /**
+     * Snapshot of cache effectiveness
+     */
+    public CacheStatistics getStatistics() {
+        CacheStatistics stats = new CacheStatistics();
+        stats.setFreshHits(freshHits.sum());
+        stats.setStaleHits(staleHits.sum());
+        stats.setBlockingLoads(blockingLoads.sum());
+        stats.setRefreshes(refreshes.sum());
+        stats.setRefreshFailures(refreshFailures.sum());
+        Snapshot current = snapshot.get();
+        stats.setSnapshotAgeMillis(current == null ? -1
+            : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - current.computedAtNanos));
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long computedAtNanos;
+        private final long changeSequence;
+        private final boolean partial;
+        
+        private Snapshot(Map<String, Object> stats, long computedAtNanos, long changeSequence, boolean partial) {
+            this.stats = stats;
+            this.computedAtNanos = computedAtNanos;
+            this.changeSequence = changeSequence;
+            this.partial = partial;
+        }
+    }
+    
+    // Inner class for statistics
+    public static class CacheStatistics {
+        private long freshHits;
+        private long staleHits;
+        private long blockingLoads;
+        private long refreshes;
+        private long refreshFailures;
+        private long snapshotAgeMillis;
+        
+        // Getters and Setters
+        public long getFreshHits() { return freshHits; }
+        public void setFreshHits(long freshHits) { this.freshHits = freshHits; }
+        
+        public long getStaleHits() { return staleHits; }
+        public void setStaleHits(long staleHits) { this.staleHits = staleHits; }
+        
+        public long getBlockingLoads() { return blockingLoads; }
+        public void setBlockingLoads(long blockingLoads) { this.blockingLoads = blockingLoads; }
+        
+        public long getRefreshes() { return refreshes; }
+        public void setRefreshes(long refreshes) { this.refreshes = refreshes; }
+        
+        public long getRefreshFailures() { return refreshFailures; }
+        public void setRefreshFailures(long refreshFailures) { this.refreshFailures = refreshFailures; }
+        
+        public long getSnapshotAgeMillis() { return snapshotAgeMillis; }
+        public void setSnapshotAgeMillis(long snapshotAgeMillis) { this.snapshotAgeMillis = snapshotAgeMillis; }
+    }
+}
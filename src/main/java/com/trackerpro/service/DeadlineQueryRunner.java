@@ -0,0 +1,51 @@
+package com.trackerpro.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.QueryTimeoutException;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the reads of a {@link FanOutExecutor} branch in a read-only transaction that
+ * ends with the call's deadline, to the millisecond.
+ *
+ * JDBC query timeouts are whole seconds (Hibernate rounds the millisecond timeout
+ * hint to the nearest second, so anything under half a second means no timeout at
+ * all), which cannot express a 500 ms search deadline. Instead, when the fan-out
+ * call gives up on the branch, the statement the branch is running is cancelled
+ * through Hibernate's JDBC coordinator; the branch then fails with the driver's
+ * cancellation error and releases its connection.
+ */
+@Service
+public class DeadlineQueryRunner {
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Run the query in a read-only transaction whose statements are cancelled at the deadline
+     */
+    public <T> T readOnly(FanOutExecutor.Deadline deadline, Supplier<T> query) {
+        if (deadline.isExpired()) {
+            throw new QueryTimeoutException("Deadline passed before the query started");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            JdbcCoordinator jdbcCoordinator = entityManager.unwrap(SessionImplementor.class).getJdbcCoordinator();
+            try (FanOutExecutor.Deadline.Registration ignored = deadline.onExpiry(jdbcCoordinator::cancelLastQuery)) {
+                return query.get();
+            }
+        });
+    }
+}
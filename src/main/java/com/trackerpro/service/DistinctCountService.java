@@ -0,0 +1,259 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.DistinctEstimate;
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.DistinctSketch;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.repository.ComplaintRepository;
+import com.trackerpro.repository.DistinctSketchRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import com.trackerpro.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Approximate distinct counts (applicants per course category, student locations,
+ * complainants per complaint category) from HyperLogLog sketches, one per
+ * metric, dimension and week.
+ *
+ * Sketches live in memory and are added to as rows are written; a range query
+ * merges the weekly sketches it covers, so nothing is counted in the database.
+ * Changed sketches are written to distinct_sketches on a short interval (merged
+ * with the stored copy, so several instances can share the table) and loaded
+ * at startup. A metric with no stored sketches is rebuilt from its base table.
+ *
+ * At precision 12 a sketch takes at most 4 KB and estimates have a relative
+ * standard error of 1.6%.
+ */
+@Service
+public class DistinctCountService implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DistinctCountService.class);
+    
+    public static final int PRECISION = 12;
+    
+    // Dimension of metrics that are not split (student locations), and of totals across dimensions
+    public static final String ALL = "all";
+    
+    private static final int MAX_DIMENSION_LENGTH = 50;
+    
+    @Autowired
+    private DistinctSketchRepository sketchRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private final TransactionTemplate transaction;
+    
+    private final Map<SketchKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public DistinctCountService(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Count a value of a metric at the given time (now when null); applied once the caller's transaction commits
+     */
+    public void record(DistinctMetric metric, String dimension, LocalDateTime time, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        SketchKey key = keyOf(metric, dimension, time != null ? time : LocalDateTime.now());
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        
+        TransactionHooks.afterCommit(() -> add(key, normalized));
+    }
+    
+    /**
+     * Distinct values of a metric in the weeks overlapping [from, to). Without a dimension,
+     * split metrics return one estimate per dimension followed by the total across all of them.
+     */
+    public List<DistinctEstimate> estimate(DistinctMetric metric, String dimension, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = TrendGranularity.WEEK.bucketStart(from);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        String wanted = dimension == null || dimension.isBlank() ? null : dimensionOf(metric, dimension);
+        
+        Map<String, HyperLogLog> byDimension = new TreeMap<>();
+        HyperLogLog total = new HyperLogLog(PRECISION);
+        sketches.forEach((key, sketch) -> {
+            if (key.metric() == metric
+                    && !key.bucketStart().isBefore(start) && key.bucketStart().isBefore(to)
+                    && (wanted == null || wanted.equals(key.dimension()))) {
+                byDimension.computeIfAbsent(key.dimension(), name -> new HyperLogLog(PRECISION)).merge(sketch);
+                total.merge(sketch);
+            }
+        });
+        
+        List<DistinctEstimate> estimates = new ArrayList<>();
+        if (wanted == null && isSplit(metric)) {
+            byDimension.forEach((name, sketch) -> estimates.add(estimateOf(metric, name, start, to, sketch)));
+        }
+        estimates.add(estimateOf(metric, wanted != null ? wanted : ALL, start, to, total));
+        return estimates;
+    }
+    
+    /**
+     * Write changed sketches; returns the number written
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.distinct.flush-interval-ms:10000}")
+    public synchronized int flush() {
+        int written = 0;
+        for (SketchKey key : new ArrayList<>(dirty)) {
+            dirty.remove(key);
+            HyperLogLog sketch = sketches.get(key);
+            try {
+                transaction.executeWithoutResult(status -> {
+                    DistinctSketch row = sketchRepository.findByMetricAndDimensionAndBucketStart(
+                        key.metric(), key.dimension(), key.bucketStart()).orElse(null);
+                    if (row == null) {
+                        sketchRepository.save(new DistinctSketch(key.metric(), key.dimension(), key.bucketStart(), sketch.toBytes()));
+                    } else {
+                        // Keep what other instances stored
+                        sketch.merge(HyperLogLog.fromBytes(row.getRegisters()));
+                        row.setRegisters(sketch.toBytes());
+                        row.setUpdatedAt(LocalDateTime.now());
+                        sketchRepository.save(row);
+                    }
+                });
+                written++;
+            } catch (RuntimeException e) {
+                // Typically a concurrent insert of the same sketch; retried on the next flush
+                logger.debug("Distinct sketch {} not written: {}", key, e.getMessage());
+                dirty.add(key);
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Load stored sketches and rebuild metrics that have none from their base tables
+     */
+    public void load() {
+        transaction.executeWithoutResult(status -> sketchRepository.findAll().forEach(row -> {
+            SketchKey key = new SketchKey(row.getMetric(), row.getDimension(), row.getBucketStart());
+            sketches.computeIfAbsent(key, k -> new HyperLogLog(PRECISION)).merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }));
+        
+        for (DistinctMetric metric : DistinctMetric.values()) {
+            if (sketchRepository.existsByMetric(metric)) {
+                continue;
+            }
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = streamValues(metric)) {
+                    rows.forEach(row -> {
+                        // Row layout: [value, dimension, time]
+                        if (row[0] != null) {
+                            add(keyOf(metric, (String) row[1], (LocalDateTime) row[2]),
+                                row[0].toString().trim().toLowerCase(Locale.ROOT));
+                        }
+                    });
+                }
+            });
+            logger.info("Rebuilt distinct sketches for {}", metric.name().toLowerCase());
+        }
+        flush();
+    }
+    
+    private Stream<Object[]> streamValues(DistinctMetric metric) {
+        return switch (metric) {
+            case APPLICANTS -> applicationRepository.streamApplicants();
+            case STUDENT_LOCATIONS -> studentRepository.streamLocations()
+                .map(row -> new Object[] {row[0], ALL, row[1]});
+            case COMPLAINANTS -> complaintRepository.streamComplainants()
+                .map(row -> new Object[] {row[0] != null ? row[0] : row[1], row[2], row[3]});
+        };
+    }
+    
+    private void add(SketchKey key, String value) {
+        if (sketches.computeIfAbsent(key, k -> new HyperLogLog(PRECISION)).add(value)) {
+            dirty.add(key);
+        }
+    }
+    
+    private static DistinctEstimate estimateOf(DistinctMetric metric, String dimension, LocalDateTime from,
+                                               LocalDateTime to, HyperLogLog sketch) {
+        return new DistinctEstimate(metric.name(), dimension, from, to, sketch.estimate(), sketch.relativeStandardError());
+    }
+    
+    private static SketchKey keyOf(DistinctMetric metric, String dimension, LocalDateTime time) {
+        return new SketchKey(metric, dimensionOf(metric, dimension), TrendGranularity.WEEK.bucketStart(time));
+    }
+    
+    private static String dimensionOf(DistinctMetric metric, String dimension) {
+        if (!isSplit(metric) || dimension == null || dimension.isBlank()) {
+            return ALL;
+        }
+        String normalized = dimension.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_DIMENSION_LENGTH ? normalized.substring(0, MAX_DIMENSION_LENGTH) : normalized;
+    }
+    
+    private static boolean isSplit(DistinctMetric metric) {
+        return metric != DistinctMetric.STUDENT_LOCATIONS;
+    }
+    
+    /**
+     * Sketches held in memory and waiting to be written
+     */
+    public SketchStatistics getStatistics() {
+        SketchStatistics stats = new SketchStatistics();
+        stats.setSketches(sketches.size());
+        stats.setPendingWrites(dirty.size());
+        stats.setRelativeStandardError(new HyperLogLog(PRECISION).relativeStandardError());
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Could not write distinct sketches on shutdown: {}", e.getMessage());
+        }
+    }
+    
+    private record SketchKey(DistinctMetric metric, String dimension, LocalDateTime bucketStart) {
+    }
+    
+    // Inner class for statistics
+    public static class SketchStatistics {
+        private int sketches;
+        private int pendingWrites;
+        private double relativeStandardError;
+        
+        // Getters and Setters
+        public int getSketches() { return sketches; }
+        public void setSketches(int sketches) { this.sketches = sketches; }
+        
+        public int getPendingWrites() { return pendingWrites; }
+        public void setPendingWrites(int pendingWrites) { this.pendingWrites = pendingWrites; }
+        
+        public double getRelativeStandardError() { return relativeStandardError; }
+        public void setRelativeStandardError(double relativeStandardError) { this.relativeStandardError = relativeStandardError; }
+    }
+}
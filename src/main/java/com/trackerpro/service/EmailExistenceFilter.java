@@ -0,0 +1,235 @@
+package com.trackerpro.service;
+
+import com.trackerpro.repository.PrincipalEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of every login key (emails of students, users and
+ * admins, plus admin usernames). Built from the principal directory at startup
+ * and fed by every directory write, so a "definitely absent" answer lets
+ * registration checks and logins skip the database round trip.
+ *
+ * Deleted or changed emails stay in the filter until the next rebuild; they
+ * only cost an extra query, never a wrong answer. Until the first rebuild has
+ * loaded the directory (the web server may already be taking requests), every key
+ * is reported as possibly present, so existing principals can still log in.
+ */
+@Service
+public class EmailExistenceFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailExistenceFilter.class);
+    
+    // Adds are replayed into a rebuilt filter if they are younger than this, covering
+    // transactions that were still open while the rebuild scanned the directory
+    private static final long JOURNAL_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(2);
+    
+    @Autowired
+    private PrincipalEntryRepository principalEntryRepository;
+    
+    private final long expectedInsertions;
+    private final double targetFalsePositiveRate;
+    
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    private final Queue<JournalEntry> recentAdds = new ConcurrentLinkedQueue<>();
+    // Held by add and by a rebuild's replay and swap, so no add lands only in a filter being replaced
+    private final Object swapLock = new Object();
+    
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder confirmedPresent = new LongAdder();
+    private final LongAdder unconfirmedPositives = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    
+    public EmailExistenceFilter(
+            @Value("${trackerpro.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${trackerpro.email-filter.false-positive-rate:0.01}") double targetFalsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, targetFalsePositiveRate);
+    }
+    
+    /**
+     * Whether the email (or username) might belong to any principal.
+     * False means it definitely does not; always true until the filter is loaded.
+     */
+    public boolean mightExist(String email) {
+        String key = PrincipalDirectoryService.normalize(email);
+        lookups.increment();
+        if (key == null || loaded && !filter.mightContain(key)) {
+            definitelyAbsent.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Run the database existence check only when the filter cannot rule the email out
+     */
+    public boolean exists(String email, BooleanSupplier databaseCheck) {
+        if (!mightExist(email)) {
+            return false;
+        }
+        boolean exists = databaseCheck.getAsBoolean();
+        recordOutcome(exists);
+        return exists;
+    }
+    
+    /**
+     * Record whether a positive filter answer was confirmed by the database
+     */
+    public void recordOutcome(boolean confirmed) {
+        if (confirmed) {
+            confirmedPresent.increment();
+        } else {
+            unconfirmedPositives.increment();
+        }
+    }
+    
+    /**
+     * Add a login key; called for every principal directory write
+     */
+    public void add(String loginKey) {
+        if (loginKey == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (swapLock) {
+            filter.add(loginKey);
+            recentAdds.add(new JournalEntry(loginKey, now));
+        }
+        
+        // Trim the journal lazily
+        JournalEntry oldest;
+        while ((oldest = recentAdds.peek()) != null && now - oldest.addedAt > JOURNAL_RETENTION_NANOS) {
+            recentAdds.remove(oldest);
+        }
+    }
+    
+    /**
+     * Rebuild the filter from the principal directory, dropping keys of deleted
+     * or renamed principals and resizing for the current population
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long keyCount = principalEntryRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, keyCount * 2), targetFalsePositiveRate);
+        
+        try (Stream<String> loginKeys = principalEntryRepository.streamAllLoginKeys()) {
+            loginKeys.forEach(rebuilt::add);
+        }
+        
+        // Replay adds from transactions that may not have been visible to the scan; adds
+        // wait meanwhile and then go to the rebuilt filter
+        synchronized (swapLock) {
+            for (Iterator<JournalEntry> it = recentAdds.iterator(); it.hasNext(); ) {
+                rebuilt.add(it.next().loginKey);
+            }
+            filter = rebuilt;
+        }
+        loaded = true;
+        rebuilds.increment();
+        logger.info("Email existence filter rebuilt with {} keys ({} bits, {} hash functions) in {} ms",
+                    rebuilt.getInsertions(), rebuilt.getBitCount(), rebuilt.getHashFunctions(),
+                    System.currentTimeMillis() - started);
+    }
+    
+    /**
+     * Snapshot of filter effectiveness
+     */
+    public FilterStatistics getStatistics() {
+        BloomFilter current = filter;
+        long positives = confirmedPresent.sum() + unconfirmedPositives.sum();
+        
+        FilterStatistics stats = new FilterStatistics();
+        stats.setLookups(lookups.sum());
+        stats.setDefinitelyAbsent(definitelyAbsent.sum());
+        stats.setConfirmedPresent(confirmedPresent.sum());
+        stats.setUnconfirmedPositives(unconfirmedPositives.sum());
+        stats.setObservedFalsePositiveRate(positives == 0 ? 0 : (double) unconfirmedPositives.sum() / positives);
+        stats.setEstimatedFalsePositiveRate(current.estimatedFalsePositiveRate());
+        stats.setInsertions(current.getInsertions());
+        stats.setBitCount(current.getBitCount());
+        stats.setHashFunctions(current.getHashFunctions());
+        stats.setRebuilds(rebuilds.sum());
+        stats.setLoaded(loaded);
+        return stats;
+    }
+    
+    private static final class JournalEntry {
+        private final String loginKey;
+        private final long addedAt;
+        
+        private JournalEntry(String loginKey, long addedAt) {
+            this.loginKey = loginKey;
+            this.addedAt = addedAt;
+        }
+    }
+    
+    /**
+     * Filter statistics. observedFalsePositiveRate is an upper bound: positives the
+     * database did not confirm also include keys of deleted principals and emails
+     * that exist in a different table than the one checked.
+     */
+    public static class FilterStatistics {
+        private long lookups;
+        private long definitelyAbsent;
+        private long confirmedPresent;
+        private long unconfirmedPositives;
+        private double observedFalsePositiveRate;
+        private double estimatedFalsePositiveRate;
+        private long insertions;
+        private long bitCount;
+        private int hashFunctions;
+        private long rebuilds;
+        private boolean loaded;
+        
+        // Getters and Setters
+        public long getLookups() { return lookups; }
+        public void setLookups(long lookups) { this.lookups = lookups; }
+        
+        public long getDefinitelyAbsent() { return definitelyAbsent; }
+        public void setDefinitelyAbsent(long definitelyAbsent) { this.definitelyAbsent = definitelyAbsent; }
+        
+        public long getConfirmedPresent() { return confirmedPresent; }
+        public void setConfirmedPresent(long confirmedPresent) { this.confirmedPresent = confirmedPresent; }
+        
+        public long getUnconfirmedPositives() { return unconfirmedPositives; }
+        public void setUnconfirmedPositives(long unconfirmedPositives) { this.unconfirmedPositives = unconfirmedPositives; }
+        
+        public double getObservedFalsePositiveRate() { return observedFalsePositiveRate; }
+        public void setObservedFalsePositiveRate(double observedFalsePositiveRate) { this.observedFalsePositiveRate = observedFalsePositiveRate; }
+        
+        public double getEstimatedFalsePositiveRate() { return estimatedFalsePositiveRate; }
+        public void setEstimatedFalsePositiveRate(double estimatedFalsePositiveRate) { this.estimatedFalsePositiveRate = estimatedFalsePositiveRate; }
+        
+        public long getInsertions() { return insertions; }
+        public void setInsertions(long insertions) { this.insertions = insertions; }
+        
+        public long getBitCount() { return bitCount; }
+        public void setBitCount(long bitCount) { this.bitCount = bitCount; }
+        
+        public int getHashFunctions() { return hashFunctions; }
+        public void setHashFunctions(int hashFunctions) { this.hashFunctions = hashFunctions; }
+        
+        public long getRebuilds() { return rebuilds; }
+        public void setRebuilds(long rebuilds) { this.rebuilds = rebuilds; }
+        
+        public boolean isLoaded() { return loaded; }
+        public void setLoaded(boolean loaded) { this.loaded = loaded; }
+    }
+}
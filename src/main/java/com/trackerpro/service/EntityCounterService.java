@@ -0,0 +1,215 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.EntityCounter;
+import com.trackerpro.repository.EntityCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains the entity_counters table so statistics read a handful of counter
+ * rows instead of counting large tables. Services call {@link #add}/{@link #move}
+ * inside their own write transaction, so counters commit or roll back with the
+ * change they describe. Each count is striped over several rows and every update
+ * picks a random stripe, so concurrent writers seldom wait on the same row lock.
+ *
+ * A scheduled reconciliation compares counters against real counts and adds the
+ * difference. Both are read by one statement, so they describe the same committed
+ * state, and corrections are deltas, so writes racing with it are not lost.
+ */
+@Service
+public class EntityCounterService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EntityCounterService.class);
+    
+    public static final String STUDENT = "student";
+    public static final String APPLICATION = "application";
+    public static final String COURSE = "course";
+    public static final String USER = "user";
+    
+    public static final String STATUS = "status";
+    public static final String ROLE = "role";
+    public static final String CATEGORY = "category";
+    
+    @Autowired
+    private EntityCounterRepository counterRepository;
+    
+    private final int stripes;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate transaction;
+    
+    // Counter keys whose stripe rows are known to exist
+    private final Set<String> provisionedKeys = ConcurrentHashMap.newKeySet();
+    
+    // Number of committed counter changes; lets readers tell how much changed since they looked
+    private final AtomicLong changeSequence = new AtomicLong();
+    
+    @Autowired
+    public EntityCounterService(PlatformTransactionManager transactionManager,
+                                @Value("${trackerpro.counters.stripes:8}") int stripes) {
+        this.stripes = Math.max(1, stripes);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Add delta to the count of (entity, dimension, value); null values are not counted
+     */
+    public void add(String entity, String dimension, Object value, long delta) {
+        if (value == null || delta == 0) {
+            return;
+        }
+        String dimensionValue = keyOf(value);
+        provision(entity, dimension, dimensionValue);
+        
+        // Joins the caller's transaction when there is one
+        transaction.executeWithoutResult(status -> {
+            int stripe = ThreadLocalRandom.current().nextInt(stripes);
+            if (counterRepository.addToStripe(entity, dimension, dimensionValue, stripe, delta) == 0) {
+                // Stripe rows were removed underneath us; provision them again and retry once
+                logger.warn("Counter {}/{}/{} has no stripe {}", entity, dimension, dimensionValue, stripe);
+                provisionedKeys.remove(keyOf(entity, dimension, dimensionValue));
+                provision(entity, dimension, dimensionValue);
+                counterRepository.addToStripe(entity, dimension, dimensionValue, stripe, delta);
+            }
+        });
+        
+        TransactionHooks.afterCommit(changeSequence::incrementAndGet);
+    }
+    
+    /**
+     * Committed counter changes since startup; only the difference between two reads is meaningful
+     */
+    public long getChangeSequence() {
+        return changeSequence.get();
+    }
+    
+    public void increment(String entity, String dimension, Object value) {
+        add(entity, dimension, value, 1);
+    }
+    
+    public void decrement(String entity, String dimension, Object value) {
+        add(entity, dimension, value, -1);
+    }
+    
+    /**
+     * Move one unit from one value to another, e.g. on a status change
+     */
+    public void move(String entity, String dimension, Object from, Object to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        decrement(entity, dimension, from);
+        increment(entity, dimension, to);
+    }
+    
+    /**
+     * Current counts of an entity: dimension -> value -> count
+     */
+    public Map<String, Map<String, Long>> getCounts(String entity) {
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        for (Object[] row : counterRepository.sumByEntity(entity)) {
+            counts.computeIfAbsent((String) row[0], dimension -> new HashMap<>())
+                  .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        return counts;
+    }
+    
+    /**
+     * Counts of one dimension of an entity: value -> count
+     */
+    public Map<String, Long> getCounts(String entity, String dimension) {
+        return getCounts(entity).getOrDefault(dimension, Map.of());
+    }
+    
+    /**
+     * Correct every counter that drifted from the real counts; returns the number corrected
+     */
+    @Scheduled(initialDelayString = "${trackerpro.counters.reconcile-interval-ms:600000}",
+               fixedDelayString = "${trackerpro.counters.reconcile-interval-ms:600000}")
+    public int reconcile() {
+        Integer corrected = transaction.execute(status -> {
+            // Counts and counter totals come from one statement, so a write committing meanwhile
+            // is either in both or in neither; [entity, dimension, value] -> [actual, counted]
+            Map<List<String>, long[]> totals = new HashMap<>();
+            for (Object[] row : counterRepository.compareWithActualCounts()) {
+                if (row[2] == null) {
+                    continue;
+                }
+                long[] total = totals.computeIfAbsent(
+                    List.of((String) row[0], (String) row[1], row[2].toString()), key -> new long[2]);
+                total[0] += ((Number) row[3]).longValue();
+                total[1] += ((Number) row[4]).longValue();
+            }
+            
+            int changes = 0;
+            for (Map.Entry<List<String>, long[]> entry : totals.entrySet()) {
+                List<String> key = entry.getKey();
+                long delta = entry.getValue()[0] - entry.getValue()[1];
+                if (delta != 0) {
+                    logger.debug("Counter {}/{}/{} drifted by {}", key.get(0), key.get(1), key.get(2), -delta);
+                    add(key.get(0), key.get(1), key.get(2), delta);
+                    changes++;
+                }
+            }
+            return changes;
+        });
+        
+        if (corrected != null && corrected > 0) {
+            logger.info("Counter reconciliation corrected {} counters", corrected);
+        }
+        return corrected == null ? 0 : corrected;
+    }
+    
+    private static String keyOf(Object value) {
+        return value instanceof Enum<?> enumValue ? enumValue.name() : value.toString();
+    }
+    
+    private static String keyOf(String entity, String dimension, String dimensionValue) {
+        return entity + '|' + dimension + '|' + dimensionValue;
+    }
+    
+    /**
+     * Make sure all stripe rows of a counter exist. Rows are created in their own
+     * transaction before the caller's update, so the update never has to insert.
+     */
+    private void provision(String entity, String dimension, String dimensionValue) {
+        String key = keyOf(entity, dimension, dimensionValue);
+        if (provisionedKeys.contains(key)) {
+            return;
+        }
+        
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                Set<Integer> existing = new HashSet<>(counterRepository.findStripes(entity, dimension, dimensionValue));
+                for (int stripe = 0; stripe < stripes; stripe++) {
+                    if (!existing.contains(stripe)) {
+                        counterRepository.save(new EntityCounter(entity, dimension, dimensionValue, stripe));
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer provisioned the same counter concurrently
+            logger.debug("Counter {} provisioned concurrently", key);
+        }
+        provisionedKeys.add(key);
+    }
+}
@@ -0,0 +1,417 @@
+package com.trackerpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs independent read calls of a composite endpoint in parallel, so the
+ * endpoint takes as long as its slowest call instead of the sum of all of them.
+ *
+ * Every call has a deadline that is handed to each branch. A branch that fails or
+ * misses the deadline does not fail the call: its name is reported in
+ * {@link Result#getErrors()} and the other branches' values are returned. A branch
+ * still running when the call gives up on it is interrupted, and actions it registered
+ * with {@link Deadline#onExpiry} run (e.g. cancelling its running statement). Branch
+ * timings are returned with the result and accumulated per branch name.
+ *
+ * A listener set with {@link Call#onBranchDone} hears about each branch as it
+ * finishes, so callers can pass results on before the slowest branch is done.
+ *
+ * Branches run on virtual threads when the JVM has them and they are enabled,
+ * otherwise on a bounded pool; when the pool is saturated a branch fails rather than
+ * running on (and holding up) the caller's thread.
+ */
+@Service
+public class FanOutExecutor implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FanOutExecutor.class);
+    
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Map<String, BranchTimer> timers = new ConcurrentHashMap<>();
+    
+    public FanOutExecutor(@Value("${trackerpro.fan-out.threads:8}") int threads,
+                          @Value("${trackerpro.fan-out.virtual-threads:true}") boolean preferVirtualThreads) {
+        ExecutorService virtual = preferVirtualThreads ? virtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        if (virtual != null) {
+            this.executor = virtual;
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fan-out-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+            );
+        }
+        logger.info("Fan-out executor using {}", virtualThreads ? "virtual threads" : threads + " platform threads");
+    }
+    
+    /**
+     * Start a composite call whose branches must all finish within the given time
+     */
+    public Call call(Duration timeout) {
+        return new Call(timeout);
+    }
+    
+    /**
+     * Virtual-thread executor when the running JVM provides one (Java 21+); looked up
+     * reflectively so the code still builds and runs on older JVMs
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Accumulated per-branch timings since startup
+     */
+    public Map<String, BranchStatistics> getStatistics() {
+        Map<String, BranchStatistics> stats = new LinkedHashMap<>();
+        timers.forEach((name, timer) -> stats.put(name, timer.snapshot()));
+        return stats;
+    }
+    
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Point in time by which a composite call has to finish
+     */
+    public static final class Deadline {
+        private final long deadlineNanos;
+        private final Set<Registration> expiryActions = ConcurrentHashMap.newKeySet();
+        private volatile boolean expired;
+        
+        private Deadline(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+        
+        public long remainingNanos() {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+        
+        public long remainingMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+        }
+        
+        public boolean isExpired() {
+            return remainingNanos() == 0;
+        }
+        
+        /**
+         * Run the action if the call gives up on its branches while the registration is open
+         * (at once if it already has); closing the registration waits for a running action,
+         * so the action never runs after close returns
+         */
+        public Registration onExpiry(Runnable action) {
+            Registration registration = new Registration(action);
+            expiryActions.add(registration);
+            if (expired) {
+                registration.fire();
+            }
+            return registration;
+        }
+        
+        private void expire() {
+            expired = true;
+            expiryActions.forEach(Registration::fire);
+        }
+        
+        /**
+         * An action registered with {@link #onExpiry}; close it once the guarded work is done
+         */
+        public final class Registration implements AutoCloseable {
+            private final Runnable action;
+            private boolean closed;
+            
+            private Registration(Runnable action) {
+                this.action = action;
+            }
+            
+            private synchronized void fire() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Fan-out expiry action failed: {}", e.getMessage());
+                }
+            }
+            
+            @Override
+            public synchronized void close() {
+                closed = true;
+                expiryActions.remove(this);
+            }
+        }
+    }
+    
+    /**
+     * A composite call being assembled: add branches, then {@link #execute()}
+     */
+    public final class Call {
+        private final Duration timeout;
+        private final Map<String, Function<Deadline, ?>> branches = new LinkedHashMap<>();
+        private BranchListener listener;
+        
+        // Set once the branches are started
+        private Deadline deadline;
+        private long submittedAt;
+        private final Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+        private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+        private final Map<String, Long> finishedAt = new ConcurrentHashMap<>();
+        
+        private Call(Duration timeout) {
+            this.timeout = timeout;
+        }
+        
+        public Call branch(String name, Function<Deadline, ?> branch) {
+            branches.put(name, branch);
+            return this;
+        }
+        
+        /**
+         * Be told about each branch as it finishes, usually on the branch's thread; a branch
+         * still running at the deadline is reported with a CancellationException
+         */
+        public Call onBranchDone(BranchListener listener) {
+            this.listener = listener;
+            return this;
+        }
+        
+        /**
+         * Run all branches in parallel and wait for them until the deadline
+         */
+        public Result execute() {
+            start();
+            boolean interrupted = false;
+            for (CompletableFuture<Object> future : futures.values()) {
+                try {
+                    future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException | ExecutionException e) {
+                    // Reported per branch by collect()
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    break;
+                }
+            }
+            return collect(interrupted);
+        }
+        
+        /**
+         * {@link #execute()} without holding a thread while the branches run: the result
+         * completes when every branch has finished or the deadline has passed
+         */
+        public CompletableFuture<Result> executeAsync() {
+            start();
+            return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> true)
+                .completeOnTimeout(false, deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(ignored -> collect(false));
+        }
+        
+        private void start() {
+            if (deadline != null) {
+                throw new IllegalStateException("Call already executed");
+            }
+            deadline = new Deadline(System.nanoTime() + timeout.toNanos());
+            submittedAt = System.nanoTime();
+            
+            branches.forEach((name, branch) -> {
+                CompletableFuture<Object> future;
+                try {
+                    future = CompletableFuture.supplyAsync(() -> run(name, branch), executor);
+                } catch (RejectedExecutionException e) {
+                    future = CompletableFuture.failedFuture(new RejectedExecutionException("Fan-out pool is saturated"));
+                }
+                if (listener != null) {
+                    future.whenComplete((value, error) -> notify(name, value, error,
+                        finishedAt.getOrDefault(name, System.nanoTime()) - startedAt.getOrDefault(name, submittedAt)));
+                }
+                futures.put(name, future);
+            });
+        }
+        
+        private Object run(String name, Function<Deadline, ?> branch) {
+            startedAt.put(name, System.nanoTime());
+            try (Deadline.Registration ignored = deadline.onExpiry(Thread.currentThread()::interrupt)) {
+                return branch.apply(deadline);
+            } finally {
+                finishedAt.put(name, System.nanoTime());
+            }
+        }
+        
+        private Result collect(boolean interrupted) {
+            Result result = new Result();
+            boolean abandoned = false;
+            for (Map.Entry<String, CompletableFuture<Object>> entry : futures.entrySet()) {
+                String name = entry.getKey();
+                CompletableFuture<Object> future = entry.getValue();
+                if (!future.isDone()) {
+                    future.cancel(true);
+                    abandoned = true;
+                    result.errors.put(name, interrupted ? "Interrupted" : "Timed out after " + timeout.toMillis() + " ms");
+                } else if (future.isCompletedExceptionally()) {
+                    Throwable cause = causeOf(future);
+                    logger.warn("Fan-out branch {} failed: {}", name, cause.getMessage());
+                    result.errors.put(name, "Failed: " + cause.getMessage());
+                } else {
+                    result.values.put(name, future.getNow(null));
+                }
+            }
+            if (abandoned) {
+                // Cancelling the future does not reach the branch; interrupt it and run its expiry actions
+                deadline.expire();
+            }
+            
+            // Branches still running at the deadline are timed up to now
+            long now = System.nanoTime();
+            for (String name : futures.keySet()) {
+                long start = startedAt.getOrDefault(name, submittedAt);
+                long elapsed = finishedAt.getOrDefault(name, now) - start;
+                result.timingsMillis.put(name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                timers.computeIfAbsent(name, key -> new BranchTimer()).record(elapsed, result.errors.containsKey(name));
+            }
+            return result;
+        }
+        
+        private static Throwable causeOf(CompletableFuture<Object> future) {
+            try {
+                future.join();
+                return new IllegalStateException("Branch did not fail");
+            } catch (CompletionException | CancellationException e) {
+                return e.getCause() != null ? e.getCause() : e;
+            }
+        }
+        
+        private void notify(String name, Object value, Throwable error, long elapsedNanos) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            try {
+                listener.branchDone(name, value, cause, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            } catch (RuntimeException e) {
+                logger.warn("Fan-out listener failed for branch {}: {}", name, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Receives each branch's value (or failure) and time as the branch finishes
+     */
+    @FunctionalInterface
+    public interface BranchListener {
+        void branchDone(String name, Object value, Throwable error, long elapsedMillis);
+    }
+    
+    /**
+     * Values of the branches that finished, errors of those that did not, and every branch's time
+     */
+    public static final class Result {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+        private final Map<String, String> errors = new LinkedHashMap<>();
+        private final Map<String, Long> timingsMillis = new LinkedHashMap<>();
+        
+        /**
+         * Value of a branch, or null if it failed or timed out
+         */
+        public <T> T get(String name, Class<T> type) {
+            return type.cast(values.get(name));
+        }
+        
+        public boolean isComplete() {
+            return errors.isEmpty();
+        }
+        
+        public Map<String, String> getErrors() { return errors; }
+        public Map<String, Long> getTimingsMillis() { return timingsMillis; }
+    }
+    
+    private static final class BranchTimer {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        
+        private void record(long elapsedNanos, boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+        
+        private BranchStatistics snapshot() {
+            BranchStatistics stats = new BranchStatistics();
+            long count = calls.sum();
+            stats.setCalls(count);
+            stats.setFailures(failures.sum());
+            stats.setAverageMillis(count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count);
+            stats.setMaxMillis(maxNanos.get() / 1_000_000.0);
+            return stats;
+        }
+    }
+    
+    // Inner class for statistics
+    public static class BranchStatistics {
+        private long calls;
+        private long failures;
+        private double averageMillis;
+        private double maxMillis;
+        
+        // Getters and Setters
+        public long getCalls() { return calls; }
+        public void setCalls(long calls) { this.calls = calls; }
+        
+        public long getFailures() { return failures; }
+        public void setFailures(long failures) { this.failures = failures; }
+        
+        public double getAverageMillis() { return averageMillis; }
+        public void setAverageMillis(double averageMillis) { this.averageMillis = averageMillis; }
+        
+        public double getMaxMillis() { return maxMillis; }
+        public void setMaxMillis(double maxMillis) { this.maxMillis = maxMillis; }
+    }
+}
@@ -0,0 +1,319 @@
+package com.trackerpro.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant lookup of documents by whole words (first name, last name, email
+ * local part), allowing a bounded number of edits per word: none up to two
+ * characters, one up to five, two beyond. An edit is an insertion, a deletion, a
+ * substitution or a swap of two adjacent characters (optimal string alignment).
+ *
+ * Distinct words are kept once, in sorted order, with a sorted array of the
+ * ordinals of the documents using them. A search walks that sorted dictionary as
+ * an implicit trie, carrying one row of the edit-distance table per prefix and
+ * abandoning a prefix as soon as every cell of its row exceeds the bound, so only
+ * a thin slice of the dictionary is compared.
+ *
+ * Every query word must match; documents are ranked by their summed edit
+ * distance, newest first within equal distance.
+ *
+ * A removed document's ordinal is not handed out again, as that would rank a new
+ * document among old ones. Once freed ordinals are half of those handed out, the
+ * live documents are renumbered in order and the arrays shrunk, so heap and search
+ * cost follow the live documents, not every document ever indexed.
+ *
+ * Heap use is dominated by one dictionary entry per distinct word and one
+ * ordinal, id and word array per document. With every email local part unique
+ * that is 292 bytes per document, 278 MB for 1M students (measured by
+ * FuzzyNameIndexTest#measureHeapAndLatency).
+ *
+ * Not thread-safe; callers guard an index with their own lock.
+ */
+public class FuzzyNameIndex {
+    
+    public static final int MAX_EDITS = 2;
+    
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    // Ordinals of the documents using each distinct word
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    
+    // Indexed by ordinal; null once the document is removed. Words are the dictionary's own instances.
+    private UUID[] ids = new UUID[64];
+    private String[][] words = new String[64][];
+    private int nextOrdinal;
+    // Ordinals below nextOrdinal whose document was removed
+    private int freed;
+    
+    /**
+     * Add or replace a document; fields are split into words, emails reduced to their local part
+     */
+    public void put(UUID id, String... fields) {
+        String[] fieldWords = wordsOf(fields);
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) {
+            if (Arrays.equals(fieldWords, words[ordinal])) {
+                return;
+            }
+            unindex(ordinal);
+        } else {
+            ordinal = nextOrdinal++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ordinal * 2);
+                words = Arrays.copyOf(words, ordinal * 2);
+            }
+            ordinals.put(id, ordinal);
+            ids[ordinal] = id;
+        }
+        
+        for (int i = 0; i < fieldWords.length; i++) {
+            Postings existing = postings.computeIfAbsent(fieldWords[i], Postings::new);
+            // Share the dictionary's copy of the word
+            fieldWords[i] = existing.word;
+            existing.add(ordinal);
+        }
+        words[ordinal] = fieldWords;
+    }
+    
+    public void remove(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            unindex(ordinal);
+            ids[ordinal] = null;
+            words[ordinal] = null;
+            freed++;
+            if (freed > 64 && freed * 2 > nextOrdinal) {
+                compact();
+            }
+        }
+    }
+    
+    /**
+     * One page of the documents whose words are all within the edit bound of a query word
+     */
+    public SearchHits search(String query, int page, int size) {
+        String[] queryWords = wordsOf(query);
+        if (queryWords.length == 0) {
+            return new SearchHits(0, List.of());
+        }
+        
+        // Summed distance + 1 per ordinal of the documents matching every word so far, 0 for the rest
+        int[] scores = null;
+        int levels = 1;
+        for (String queryWord : queryWords) {
+            int maxEdits = maxEdits(queryWord);
+            levels += maxEdits;
+            int[] best = new int[nextOrdinal];
+            wordsWithin(queryWord, maxEdits).forEach((word, distance) -> {
+                Postings matched = postings.get(word);
+                for (int k = 0; k < matched.size; k++) {
+                    int ordinal = matched.ordinals[k];
+                    if (best[ordinal] == 0 || best[ordinal] > distance + 1) {
+                        best[ordinal] = distance + 1;
+                    }
+                }
+            });
+            if (scores == null) {
+                scores = best;
+            } else {
+                for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+                    scores[ordinal] = scores[ordinal] == 0 || best[ordinal] == 0 ? 0 : scores[ordinal] + best[ordinal] - 1;
+                }
+            }
+        }
+        
+        long[] counts = new long[levels];
+        for (int score : scores) {
+            if (score > 0) {
+                counts[score - 1]++;
+            }
+        }
+        long total = Arrays.stream(counts).sum();
+        
+        // Walk distance levels from the closest, newest ordinals first within a level
+        long skip = (long) page * size;
+        List<UUID> pageIds = new ArrayList<>(size);
+        for (int level = 0; level < levels && pageIds.size() < size; level++) {
+            if (skip >= counts[level]) {
+                skip -= counts[level];
+                continue;
+            }
+            for (int ordinal = scores.length - 1; ordinal >= 0 && pageIds.size() < size; ordinal--) {
+                if (scores[ordinal] == level + 1) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        pageIds.add(ids[ordinal]);
+                    }
+                }
+            }
+            skip = 0;
+        }
+        return new SearchHits(total, pageIds);
+    }
+    
+    public int size() {
+        return ordinals.size();
+    }
+    
+    public int words() {
+        return postings.size();
+    }
+    
+    // Ordinals handed out, live or freed; the length of the per-search score array
+    int ordinalRange() {
+        return nextOrdinal;
+    }
+    
+    /**
+     * Dictionary words within the given number of edits of a word, with their distance
+     */
+    Map<String, Integer> wordsWithin(String word, int maxEdits) {
+        Map<String, Integer> matches = new HashMap<>();
+        int[] row = new int[word.length() + 1];
+        for (int j = 0; j < row.length; j++) {
+            row[j] = j;
+        }
+        visit("", null, row, word, maxEdits, matches);
+        return matches;
+    }
+    
+    // Extend a prefix of the dictionary by each next character its words continue with
+    private void visit(String prefix, int[] parentRow, int[] row, String word, int maxEdits,
+                       Map<String, Integer> matches) {
+        if (row[word.length()] <= maxEdits && !prefix.isEmpty() && postings.containsKey(prefix)) {
+            matches.put(prefix, row[word.length()]);
+        }
+        if (Arrays.stream(row).min().getAsInt() > maxEdits) {
+            return;
+        }
+        
+        String next = postings.higherKey(prefix);
+        while (next != null && next.startsWith(prefix)) {
+            char c = next.charAt(prefix.length());
+            visit(prefix + c, row, nextRow(prefix, parentRow, row, c, word), word, maxEdits, matches);
+            if (c == Character.MAX_VALUE) {
+                break;
+            }
+            next = postings.ceilingKey(prefix + (char) (c + 1));
+        }
+    }
+    
+    // Edit-distance row for prefix + c, from the rows of prefix and of prefix without its last character
+    private static int[] nextRow(String prefix, int[] parentRow, int[] row, char c, String word) {
+        int[] next = new int[row.length];
+        next[0] = row[0] + 1;
+        for (int j = 1; j < row.length; j++) {
+            int substitution = row[j - 1] + (word.charAt(j - 1) == c ? 0 : 1);
+            next[j] = Math.min(Math.min(row[j] + 1, next[j - 1] + 1), substitution);
+            if (parentRow != null && j > 1 && word.charAt(j - 2) == c
+                    && word.charAt(j - 1) == prefix.charAt(prefix.length() - 1)) {
+                next[j] = Math.min(next[j], parentRow[j - 2] + 1);
+            }
+        }
+        return next;
+    }
+    
+    // Renumber the live documents 0..size-1 in their current order, so rankings are unchanged
+    private void compact() {
+        int[] renumbered = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (ids[ordinal] != null) {
+                renumbered[ordinal] = live;
+                ids[live] = ids[ordinal];
+                words[live] = words[ordinal];
+                ordinals.put(ids[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(ids, live, nextOrdinal, null);
+        Arrays.fill(words, live, nextOrdinal, null);
+        int capacity = Math.max(64, live * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        words = Arrays.copyOf(words, capacity);
+        // Renumbering keeps the order, so every postings array stays sorted
+        for (Postings remaining : postings.values()) {
+            for (int k = 0; k < remaining.size; k++) {
+                remaining.ordinals[k] = renumbered[remaining.ordinals[k]];
+            }
+        }
+        nextOrdinal = live;
+        freed = 0;
+    }
+    
+    private void unindex(int ordinal) {
+        for (String word : words[ordinal]) {
+            Postings remaining = postings.get(word);
+            remaining.remove(ordinal);
+            if (remaining.size == 0) {
+                postings.remove(word);
+            }
+        }
+    }
+    
+    private static int maxEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+    
+    private static String[] wordsOf(String... fields) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (String word : WHITESPACE.split(field.trim().toLowerCase(Locale.ROOT))) {
+                int at = word.indexOf('@');
+                String local = at >= 0 ? word.substring(0, at) : word;
+                if (!local.isEmpty()) {
+                    words.add(local);
+                }
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+    
+    // Sorted ordinals of one word; new documents have the highest ordinal, so adds are usually appends
+    private static final class Postings {
+        private final String word;
+        private int[] ordinals = new int[1];
+        private int size;
+        
+        private Postings(String word) {
+            this.word = word;
+        }
+        
+        private void add(int ordinal) {
+            int index = size == 0 || ordinals[size - 1] < ordinal ? -size - 1 : Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+        
+        private void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+}
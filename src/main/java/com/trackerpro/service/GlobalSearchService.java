@@ -0,0 +1,221 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.CourseSuggestion;
+import com.trackerpro.dto.GlobalSearchHit;
+import com.trackerpro.dto.GlobalSearchResult;
+import com.trackerpro.entity.Admin;
+import com.trackerpro.entity.Complaint;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentApplication;
+import com.trackerpro.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One search box over every admin-visible entity. The six sources (students, users,
+ * admins, courses, applications, complaints) are queried in parallel by the
+ * {@link FanOutExecutor} under one deadline; a source that fails or misses it is
+ * reported in the errors and the others are still returned.
+ *
+ * Every hit is scored the same way whatever its source, from how well the query
+ * matches the hit's title or subtitle (whole field, field prefix, word prefix,
+ * substring, otherwise a fuzzy match), less a little per place in its source's own
+ * ranking. Hits are grouped by type and groups ordered by their best hit.
+ */
+@Service
+public class GlobalSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GlobalSearchService.class);
+    
+    public static final int MAX_LIMIT = 20;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private AdminService adminService;
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+    
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+    
+    @Autowired
+    private DeadlineQueryRunner queryRunner;
+    
+    @Value("${trackerpro.global-search.timeout-ms:500}")
+    private long timeoutMs;
+    
+    /**
+     * Search every source and wait for all of them, or for the deadline
+     */
+    public GlobalSearchResult search(String query, int limit) {
+        String term = checkQuery(query, limit);
+        return merge(term, call(term, limit).execute());
+    }
+    
+    /**
+     * Search every source, sending a "source" event with each source's hits as soon as it
+     * finishes and a final "done" event with the merged result
+     */
+    public SseEmitter stream(String query, int limit) {
+        String term = checkQuery(query, limit);
+        SseEmitter emitter = new SseEmitter(timeoutMs + 5_000);
+        
+        call(term, limit)
+            .onBranchDone((source, value, error, elapsedMillis) -> {
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("source", source);
+                event.put("elapsedMillis", elapsedMillis);
+                if (error == null) {
+                    event.put("hits", value);
+                } else {
+                    event.put("error", error.getMessage());
+                }
+                send(emitter, "source", event);
+            })
+            .executeAsync()
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    logger.error("Global search for '{}' failed", term, error);
+                    emitter.completeWithError(error);
+                } else {
+                    send(emitter, "done", merge(term, result));
+                    emitter.complete();
+                }
+            });
+        return emitter;
+    }
+    
+    private FanOutExecutor.Call call(String term, int limit) {
+        return fanOutExecutor.call(Duration.ofMillis(timeoutMs))
+            .branch("students", deadline -> queryRunner.readOnly(deadline, () ->
+                hits("student", studentService.searchStudents(term, 0, limit), term, Student::getStudentId,
+                     student -> student.getFirstName() + " " + student.getLastName(), Student::getEmail)))
+            .branch("users", deadline -> queryRunner.readOnly(deadline, () ->
+                hits("user", userService.searchUsers(term, 0, limit), term, User::getUserId,
+                     user -> user.getFirstName() + " " + user.getLastName(), User::getEmail)))
+            .branch("admins", deadline -> queryRunner.readOnly(deadline, () ->
+                hits("admin", adminService.searchAdmins(term, 0, limit), term, Admin::getAdminId,
+                     admin -> admin.getFirstName() + " " + admin.getLastName(), Admin::getEmail)))
+            .branch("courses", deadline ->
+                hits("course", courseSuggestIndex.suggest(term, limit, true), term, CourseSuggestion::getCourseId,
+                     CourseSuggestion::getCourseTitle, CourseSuggestion::getCourseCode))
+            .branch("applications", deadline -> queryRunner.readOnly(deadline, () ->
+                hits("application", applicationService.searchApplications(term, 0, limit), term,
+                     StudentApplication::getApplicationId,
+                     application -> application.getStudent().getFirstName() + " " + application.getStudent().getLastName(),
+                     application -> application.getCourse().getCourseTitle())))
+            .branch("complaints", deadline -> queryRunner.readOnly(deadline, () ->
+                hits("complaint", complaintSearchService.load(
+                         complaintSearchService.searchIds(term, List.of(), List.of(), 0, limit).ids()), term,
+                     Complaint::getComplaintId, Complaint::getCategory,
+                     complaint -> complaint.getStudentName() + ": " + complaint.getDescription())));
+    }
+    
+    // Hits of one source, scored; the source's own order breaks ties
+    private static <T> List<GlobalSearchHit> hits(String type, List<T> matches, String term,
+                                                  Function<T, UUID> id,
+                                                  Function<T, String> title, Function<T, String> subtitle) {
+        List<GlobalSearchHit> hits = new ArrayList<>(matches.size());
+        for (int rank = 0; rank < matches.size(); rank++) {
+            T match = matches.get(rank);
+            String titleText = title.apply(match);
+            String subtitleText = subtitle.apply(match);
+            double score = Math.max(score(titleText, term), score(subtitleText, term)) - rank * 0.001;
+            hits.add(new GlobalSearchHit(type, id.apply(match), titleText, subtitleText, score));
+        }
+        return hits;
+    }
+    
+    // Same scale for every source: whole field, field prefix, word prefix, substring, anything else
+    static double score(String text, String term) {
+        if (text == null) {
+            return 0.2;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        String query = term.toLowerCase(Locale.ROOT);
+        if (lower.equals(query)) {
+            return 1.0;
+        }
+        if (lower.startsWith(query)) {
+            return 0.8;
+        }
+        int at = lower.indexOf(query);
+        if (at < 0) {
+            // Typo-tolerant and word-by-word matches
+            return 0.2;
+        }
+        for (; at >= 0; at = lower.indexOf(query, at + 1)) {
+            if (!Character.isLetterOrDigit(lower.charAt(at - 1))) {
+                return 0.6;
+            }
+        }
+        return 0.4;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static GlobalSearchResult merge(String term, FanOutExecutor.Result result) {
+        Map<String, List<GlobalSearchHit>> groups = new LinkedHashMap<>();
+        for (String source : result.getTimingsMillis().keySet()) {
+            List<GlobalSearchHit> hits = result.get(source, List.class);
+            if (hits != null && !hits.isEmpty()) {
+                List<GlobalSearchHit> sorted = new ArrayList<>(hits);
+                sorted.sort(Comparator.comparingDouble(GlobalSearchHit::getScore).reversed());
+                groups.put(source, sorted);
+            }
+        }
+        
+        Map<String, List<GlobalSearchHit>> ranked = new LinkedHashMap<>();
+        groups.entrySet().stream()
+            .sorted(Comparator.comparingDouble(
+                (Map.Entry<String, List<GlobalSearchHit>> group) -> group.getValue().get(0).getScore()).reversed())
+            .forEach(group -> ranked.put(group.getKey(), group.getValue()));
+        return new GlobalSearchResult(term, ranked, result.getTimingsMillis(), result.getErrors());
+    }
+    
+    private static String checkQuery(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return query.trim();
+    }
+    
+    // Sources finishing after the stream has completed are dropped
+    private static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Global search event {} not sent: {}", name, e.getMessage());
+        }
+    }
+    
+}
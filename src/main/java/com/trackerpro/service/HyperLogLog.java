@@ -0,0 +1,147 @@
+package com.trackerpro.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog distinct-count sketch over strings with 2^precision one-byte
+ * registers. The relative standard error of {@link #estimate()} is
+ * 1.04 / sqrt(2^precision), e.g. 1.6% at precision 12. Sketches of the same
+ * precision merge by taking the register-wise maximum, so a sketch per time
+ * bucket can be combined into any range of buckets.
+ *
+ * Methods are synchronized; sketches are small and updates are a few instructions.
+ */
+public class HyperLogLog {
+    
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+    
+    private final int precision;
+    private final byte[] registers;
+    
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+    
+    /**
+     * Add a value; returns whether the sketch changed
+     */
+    public synchronized boolean add(String value) {
+        long hash = BloomFilter.hash64(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining bits, plus one; the sentinel bit bounds the rank
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Fold another sketch of the same precision into this one
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        byte[] theirs = other.copyRegisters();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Estimated number of distinct values added, with the small-range (linear counting) correction
+     */
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double raw = alpha(m) * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+    
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+    
+    public int getPrecision() {
+        return precision;
+    }
+    
+    /**
+     * Compact encoding: index/value pairs while few registers are set, the raw registers otherwise
+     */
+    public synchronized byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        if (set * 3 < registers.length) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + set * 3);
+            buffer.put(SPARSE).put((byte) precision);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        return ByteBuffer.allocate(2 + registers.length).put(DENSE).put((byte) precision).put(registers).array();
+    }
+    
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        HyperLogLog sketch = new HyperLogLog(buffer.get());
+        if (format == DENSE) {
+            buffer.get(sketch.registers);
+        } else {
+            while (buffer.hasRemaining()) {
+                int index = Short.toUnsignedInt(buffer.getShort());
+                sketch.registers[index] = buffer.get();
+            }
+        }
+        return sketch;
+    }
+    
+    public synchronized HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        System.arraycopy(registers, 0, copy.registers, 0, registers.length);
+        return copy;
+    }
+    
+    private synchronized byte[] copyRegisters() {
+        return registers.clone();
+    }
+    
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
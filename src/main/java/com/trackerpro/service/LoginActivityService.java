@@ -0,0 +1,142 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.PrincipalType;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins only record the
+ * timestamp in memory; a scheduled flush (at most max-staleness-ms later, and
+ * once more on shutdown) writes each table's pending timestamps with one
+ * UPDATE per chunk, so the login path itself stays read-only.
+ */
+@Service
+public class LoginActivityService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityService.class);
+    
+    private static final int MAX_ROWS_PER_UPDATE = 500;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final Map<UUID, LocalDateTime> pendingAdminLogins = new ConcurrentHashMap<>();
+    private final Map<UUID, LocalDateTime> pendingUserLogins = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public LoginActivityService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Record a successful login; repeated logins before the next flush coalesce into one write
+     */
+    public void recordLogin(PrincipalType principalType, UUID principalId, LocalDateTime loginTime) {
+        Map<UUID, LocalDateTime> pending = pendingFor(principalType);
+        if (pending != null) {
+            pending.merge(principalId, loginTime, (current, latest) -> latest.isAfter(current) ? latest : current);
+        }
+    }
+    
+    /**
+     * Number of last-login timestamps waiting to be written
+     */
+    public int getPendingCount() {
+        return pendingAdminLogins.size() + pendingUserLogins.size();
+    }
+    
+    /**
+     * Flush pending timestamps; runs every max-staleness-ms
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.last-login.max-staleness-ms:30000}",
+               initialDelayString = "${trackerpro.last-login.max-staleness-ms:30000}")
+    public void flush() {
+        flushTable("Admin", "adminId", pendingAdminLogins);
+        flushTable("User", "userId", pendingUserLogins);
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing {} pending last-login timestamps before shutdown", getPendingCount());
+        flush();
+    }
+    
+    private Map<UUID, LocalDateTime> pendingFor(PrincipalType principalType) {
+        return switch (principalType) {
+            case ADMIN -> pendingAdminLogins;
+            case USER -> pendingUserLogins;
+            case STUDENT -> null;
+        };
+    }
+    
+    private void flushTable(String entityName, String idAttribute, Map<UUID, LocalDateTime> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        // Drain atomically per key so logins recorded during the flush wait for the next one
+        Map<UUID, LocalDateTime> batch = new LinkedHashMap<>();
+        for (UUID principalId : new ArrayList<>(pending.keySet())) {
+            LocalDateTime loginTime = pending.remove(principalId);
+            if (loginTime != null) {
+                batch.put(principalId, loginTime);
+            }
+        }
+        
+        try {
+            List<Map.Entry<UUID, LocalDateTime>> entries = new ArrayList<>(batch.entrySet());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < entries.size(); from += MAX_ROWS_PER_UPDATE) {
+                    List<Map.Entry<UUID, LocalDateTime>> chunk =
+                        entries.subList(from, Math.min(from + MAX_ROWS_PER_UPDATE, entries.size()));
+                    updateChunk(entityName, idAttribute, chunk);
+                }
+            });
+            logger.debug("Flushed {} last-login timestamps for {}", batch.size(), entityName);
+        } catch (Exception e) {
+            logger.error("Failed to flush last-login timestamps for {}, will retry: {}", entityName, e.getMessage());
+            batch.forEach((principalId, loginTime) ->
+                pending.merge(principalId, loginTime, (current, latest) -> latest.isAfter(current) ? latest : current));
+        }
+    }
+    
+    private void updateChunk(String entityName, String idAttribute, List<Map.Entry<UUID, LocalDateTime>> chunk) {
+        // UPDATE <entity> e SET e.lastLogin = CASE WHEN e.id = :id0 THEN :at0 ... END WHERE e.id IN :ids
+        StringBuilder hql = new StringBuilder("UPDATE ").append(entityName)
+            .append(" e SET e.lastLogin = CASE");
+        for (int i = 0; i < chunk.size(); i++) {
+            hql.append(" WHEN e.").append(idAttribute).append(" = :id").append(i)
+               .append(" THEN :at").append(i);
+        }
+        hql.append(" ELSE e.lastLogin END WHERE e.").append(idAttribute).append(" IN :ids");
+        
+        Query update = entityManager.createQuery(hql.toString());
+        List<UUID> ids = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            update.setParameter("id" + i, chunk.get(i).getKey());
+            update.setParameter("at" + i, chunk.get(i).getValue());
+            ids.add(chunk.get(i).getKey());
+        }
+        update.setParameter("ids", ids);
+        update.executeUpdate();
+    }
+}
@@ -0,0 +1,83 @@
+package com.trackerpro.service;
+
+import com.trackerpro.repository.AdminRepository;
+import com.trackerpro.repository.StudentRepository;
+import com.trackerpro.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * One-off migration that fills the normalized email/username columns of rows
+ * written before those columns existed. Runs at startup in small batches, each
+ * in its own transaction, so large tables are not locked for the whole backfill.
+ * Does nothing once every row has been backfilled.
+ */
+@Service
+public class LoginKeyBackfillService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginKeyBackfillService.class);
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @Autowired
+    private AdminRepository adminRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    public LoginKeyBackfillService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Backfill all principal tables, returning the number of rows updated
+     */
+    public long backfill() {
+        long updated = backfill("admins", adminRepository::findIdsWithoutNormalizedLogin,
+                                adminRepository::backfillNormalizedLogin)
+                     + backfill("users", userRepository::findIdsWithoutNormalizedEmail,
+                                userRepository::backfillNormalizedEmail)
+                     + backfill("students", studentRepository::findIdsWithoutNormalizedEmail,
+                                studentRepository::backfillNormalizedEmail);
+        if (updated > 0) {
+            logger.info("Backfilled normalized login columns on {} rows", updated);
+        }
+        return updated;
+    }
+    
+    private long backfill(String table, Function<Pageable, List<UUID>> pendingIds,
+                          ToIntFunction<Collection<UUID>> update) {
+        Pageable firstBatch = PageRequest.of(0, BATCH_SIZE);
+        long updated = 0;
+        
+        while (true) {
+            Integer batchUpdated = transactionTemplate.execute(status -> {
+                List<UUID> ids = pendingIds.apply(firstBatch);
+                return ids.isEmpty() ? 0 : update.applyAsInt(ids);
+            });
+            if (batchUpdated == null || batchUpdated == 0) {
+                return updated;
+            }
+            updated += batchUpdated;
+            logger.debug("Backfilled {} rows of {}", updated, table);
+        }
+    }
+}
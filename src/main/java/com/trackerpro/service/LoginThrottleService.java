@@ -0,0 +1,125 @@
+package com.trackerpro.service;
+
+import com.trackerpro.exception.LoginThrottledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket throttling of login attempts, keyed by normalized email and by
+ * client IP. Checked before any repository or password encoder call; a successful
+ * login gets its tokens back, so only failed attempts use up a bucket and many
+ * students signing in from behind one campus NAT are not throttled.
+ */
+@Service
+public class LoginThrottleService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+    
+    private final TokenBucketTable accountBuckets;
+    private final TokenBucketTable ipBuckets;
+    
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder throttledByAccount = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+    
+    public LoginThrottleService(
+            @Value("${trackerpro.login-throttle.slots:65536}") int slots,
+            @Value("${trackerpro.login-throttle.account.capacity:10}") double accountCapacity,
+            @Value("${trackerpro.login-throttle.account.refill-per-minute:5}") double accountRefillPerMinute,
+            @Value("${trackerpro.login-throttle.ip.capacity:60}") double ipCapacity,
+            @Value("${trackerpro.login-throttle.ip.refill-per-minute:60}") double ipRefillPerMinute) {
+        this.accountBuckets = new TokenBucketTable(slots, accountCapacity, accountRefillPerMinute);
+        this.ipBuckets = new TokenBucketTable(slots, ipCapacity, ipRefillPerMinute);
+    }
+    
+    /**
+     * Admit a login attempt or throw {@link LoginThrottledException}
+     */
+    public void checkAttempt(String email, String clientAddress) {
+        if (clientAddress != null) {
+            long waitNanos = ipBuckets.tryAcquire(clientAddress);
+            if (waitNanos > 0) {
+                throttledByIp.increment();
+                logger.warn("Login throttled for client address: {}", clientAddress);
+                throw new LoginThrottledException("Too many login attempts. Please try again later.", toRetryAfterSeconds(waitNanos));
+            }
+        }
+        
+        String accountKey = PrincipalDirectoryService.normalize(email);
+        if (accountKey != null) {
+            long waitNanos = accountBuckets.tryAcquire(accountKey);
+            if (waitNanos > 0) {
+                throttledByAccount.increment();
+                logger.warn("Login throttled for email: {}", email);
+                throw new LoginThrottledException("Too many login attempts. Please try again later.", toRetryAfterSeconds(waitNanos));
+            }
+        }
+        
+        accepted.increment();
+    }
+    
+    /**
+     * Return the tokens taken by an attempt that turned out to be a successful login
+     */
+    public void recordSuccess(String email, String clientAddress) {
+        if (clientAddress != null) {
+            ipBuckets.refund(clientAddress);
+        }
+        String accountKey = PrincipalDirectoryService.normalize(email);
+        if (accountKey != null) {
+            accountBuckets.refund(accountKey);
+        }
+    }
+    
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+    
+    /**
+     * Snapshot of throttling counters for sizing the buckets
+     */
+    public ThrottleStatistics getStatistics() {
+        ThrottleStatistics stats = new ThrottleStatistics();
+        stats.setAcceptedAttempts(accepted.sum());
+        stats.setThrottledByAccount(throttledByAccount.sum());
+        stats.setThrottledByIp(throttledByIp.sum());
+        stats.setLiveAccountBuckets(accountBuckets.liveBuckets());
+        stats.setLiveIpBuckets(ipBuckets.liveBuckets());
+        stats.setSlotsPerTable(accountBuckets.getSlotCount());
+        return stats;
+    }
+    
+    // Inner class for statistics
+    public static class ThrottleStatistics {
+        private long acceptedAttempts;
+        private long throttledByAccount;
+        private long throttledByIp;
+        private int liveAccountBuckets;
+        private int liveIpBuckets;
+        private int slotsPerTable;
+        
+        // Getters and Setters
+        public long getAcceptedAttempts() { return acceptedAttempts; }
+        public void setAcceptedAttempts(long acceptedAttempts) { this.acceptedAttempts = acceptedAttempts; }
+        
+        public long getThrottledByAccount() { return throttledByAccount; }
+        public void setThrottledByAccount(long throttledByAccount) { this.throttledByAccount = throttledByAccount; }
+        
+        public long getThrottledByIp() { return throttledByIp; }
+        public void setThrottledByIp(long throttledByIp) { this.throttledByIp = throttledByIp; }
+        
+        public int getLiveAccountBuckets() { return liveAccountBuckets; }
+        public void setLiveAccountBuckets(int liveAccountBuckets) { this.liveAccountBuckets = liveAccountBuckets; }
+        
+        public int getLiveIpBuckets() { return liveIpBuckets; }
+        public void setLiveIpBuckets(int liveIpBuckets) { this.liveIpBuckets = liveIpBuckets; }
+        
+        public int getSlotsPerTable() { return slotsPerTable; }
+        public void setSlotsPerTable(int slotsPerTable) { this.slotsPerTable = slotsPerTable; }
+    }
+}
@@ -0,0 +1,149 @@
+package com.trackerpro.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Compressed (radix) prefix trie from string keys to weighted values. Each edge
+ * carries the longest run of characters shared by the keys below it, so a chain of
+ * single-child nodes never exists and a prefix lookup costs one step per edge
+ * rather than per character.
+ *
+ * A key may hold several values, each with its own weight; the same value may sit
+ * under several keys.
+ *
+ * Not thread-safe; callers guard a trie with their own lock.
+ */
+public class PrefixTrie<V> {
+    
+    private final Node<V> root = new Node<>("");
+    private int nodes = 1;
+    
+    /**
+     * Store a value under a key, keeping the higher weight when it is already there
+     */
+    public void put(String key, V value, int weight) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                nodes++;
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // Split the edge where the new key leaves it
+                Node<V> middle = new Node<>(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children.put(child.edge.charAt(0), child);
+                node.children.put(middle.edge.charAt(0), middle);
+                nodes++;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.values.merge(value, weight, Math::max);
+    }
+    
+    /**
+     * Drop a value from a key, pruning and re-merging the nodes it leaves redundant
+     */
+    public void remove(String key, V value) {
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return;
+            }
+            path.push(node);
+            node = child;
+            i += child.edge.length();
+        }
+        if (node.values.remove(value) == null) {
+            return;
+        }
+        
+        while (node != root && node.values.isEmpty() && node.children.size() <= 1) {
+            Node<V> parent = path.pop();
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.edge.charAt(0));
+            } else {
+                // Fold the only child into this node's edge
+                Node<V> only = node.children.values().iterator().next();
+                only.edge = node.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+            }
+            nodes--;
+            node = parent;
+        }
+    }
+    
+    /**
+     * Visit every value stored under a key that starts with the prefix, with its weight;
+     * a value under several such keys is visited once per key
+     */
+    public void forEachWithPrefix(String prefix, ObjIntConsumer<V> visitor) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return;
+            }
+            int remaining = prefix.length() - i;
+            if (remaining <= child.edge.length()) {
+                if (!child.edge.startsWith(prefix.substring(i))) {
+                    return;
+                }
+            } else if (!prefix.startsWith(child.edge, i)) {
+                return;
+            }
+            node = child;
+            i += child.edge.length();
+        }
+        
+        List<Node<V>> pending = new ArrayList<>();
+        pending.add(node);
+        while (!pending.isEmpty()) {
+            Node<V> next = pending.remove(pending.size() - 1);
+            next.values.forEach((value, weight) -> visitor.accept(value, weight));
+            pending.addAll(next.children.values());
+        }
+    }
+    
+    public int nodes() {
+        return nodes;
+    }
+    
+    private static int commonPrefix(String edge, String key, int from) {
+        int length = Math.min(edge.length(), key.length() - from);
+        int i = 0;
+        while (i < length && edge.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static final class Node<V> {
+        private String edge;
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private final Map<V, Integer> values = new HashMap<>(2);
+        
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
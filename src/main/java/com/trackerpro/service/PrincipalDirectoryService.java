@@ -0,0 +1,208 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.Admin;
+import com.trackerpro.entity.LoginKeys;
+import com.trackerpro.entity.PrincipalEntry;
+import com.trackerpro.entity.PrincipalType;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.User;
+import com.trackerpro.repository.AdminRepository;
+import com.trackerpro.repository.PrincipalEntryRepository;
+import com.trackerpro.repository.StudentRepository;
+import com.trackerpro.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains the principal directory: a single table mapping every normalized
+ * login key (email, plus username for admins) to the owning admin, user or student.
+ * Admin, user and student services keep it in sync on every create, update and delete.
+ */
+@Service
+@Transactional
+public class PrincipalDirectoryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalDirectoryService.class);
+    
+    @Autowired
+    private PrincipalEntryRepository principalEntryRepository;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private AdminRepository adminRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    /**
+     * Normalize an email or username into a directory login key
+     */
+    public static String normalize(String login) {
+        return LoginKeys.normalize(login);
+    }
+    
+    /**
+     * Resolve the principal a login should authenticate against.
+     * Follows the original precedence (admin, then user, then student) and skips
+     * accounts whose status does not allow login.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PrincipalEntry> resolveLogin(String login) {
+        String loginKey = normalize(login);
+        if (loginKey == null || loginKey.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        // Unknown emails never reach the database
+        if (!emailExistenceFilter.mightExist(loginKey)) {
+            return Optional.empty();
+        }
+        
+        List<PrincipalEntry> entries = principalEntryRepository.findByLoginKey(loginKey);
+        emailExistenceFilter.recordOutcome(!entries.isEmpty());
+        return entries.stream()
+            .filter(PrincipalEntry::isLoginAllowed)
+            .min(Comparator.comparing(PrincipalEntry::getPrincipalType));
+    }
+    
+    /**
+     * Create or replace the directory entries of an admin
+     */
+    public void syncAdmin(Admin admin) {
+        replaceEntries(admin.getAdminId(), entriesFor(admin));
+    }
+    
+    /**
+     * Create or replace the directory entry of a user (Faculty/HR)
+     */
+    public void syncUser(User user) {
+        replaceEntries(user.getUserId(), entriesFor(user));
+    }
+    
+    /**
+     * Create or replace the directory entry of a student
+     */
+    public void syncStudent(Student student) {
+        replaceEntries(student.getStudentId(), entriesFor(student));
+    }
+    
+    /**
+     * Create the directory entries of newly inserted students in one batch
+     */
+    public void addStudents(List<Student> students) {
+        List<PrincipalEntry> entries = new ArrayList<>(students.size());
+        students.forEach(student -> entries.addAll(entriesFor(student)));
+        principalEntryRepository.saveAll(entries);
+        entries.forEach(entry -> emailExistenceFilter.add(entry.getLoginKey()));
+    }
+    
+    /**
+     * Update only the status of a principal's directory entries
+     */
+    public void updateStatus(UUID principalId, Enum<?> status) {
+        principalEntryRepository.updateStatus(principalId, status.name());
+    }
+    
+    /**
+     * Remove all directory entries of a deleted principal
+     */
+    public void removePrincipal(UUID principalId) {
+        principalEntryRepository.deleteByPrincipalId(principalId);
+    }
+    
+    /**
+     * Rebuild the directory from the admin, user and student tables when it
+     * does not cover every principal (first start, or rows written outside the services)
+     */
+    public void synchronize() {
+        long principals = adminRepository.count() + userRepository.count() + studentRepository.count();
+        long indexed = principalEntryRepository.countDistinctPrincipals();
+        
+        if (principals == indexed) {
+            logger.info("Principal directory is up to date ({} principals)", indexed);
+            return;
+        }
+        
+        logger.info("Rebuilding principal directory ({} indexed, {} principals)", indexed, principals);
+        principalEntryRepository.deleteAllInBatch();
+        adminRepository.findAll().forEach(admin -> principalEntryRepository.saveAll(entriesFor(admin)));
+        userRepository.findAll().forEach(user -> principalEntryRepository.saveAll(entriesFor(user)));
+        studentRepository.findAll().forEach(student -> principalEntryRepository.saveAll(entriesFor(student)));
+        logger.info("Principal directory rebuilt");
+    }
+    
+    private List<PrincipalEntry> entriesFor(Admin admin) {
+        List<PrincipalEntry> entries = new ArrayList<>();
+        String emailKey = normalize(admin.getEmail());
+        entries.add(adminEntry(admin, emailKey));
+        
+        // Admins may also log in with their username
+        String usernameKey = normalize(admin.getUsername());
+        if (usernameKey != null && !usernameKey.equals(emailKey)) {
+            entries.add(adminEntry(admin, usernameKey));
+        }
+        return entries;
+    }
+    
+    private PrincipalEntry adminEntry(Admin admin, String loginKey) {
+        return new PrincipalEntry(
+            loginKey,
+            PrincipalType.ADMIN,
+            admin.getAdminId(),
+            admin.getPassword(),
+            admin.getStatus().name(),
+            "ADMIN",
+            admin.getEmail(),
+            admin.getFirstName(),
+            admin.getLastName()
+        );
+    }
+    
+    private List<PrincipalEntry> entriesFor(User user) {
+        return List.of(new PrincipalEntry(
+            normalize(user.getEmail()),
+            PrincipalType.USER,
+            user.getUserId(),
+            user.getPassword(),
+            user.getStatus().name(),
+            user.getRole().name(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName()
+        ));
+    }
+    
+    private List<PrincipalEntry> entriesFor(Student student) {
+        return List.of(new PrincipalEntry(
+            normalize(student.getEmail()),
+            PrincipalType.STUDENT,
+            student.getStudentId(),
+            student.getPassword(),
+            student.getStatus().name(),
+            "STUDENT",
+            student.getEmail(),
+            student.getFirstName(),
+            student.getLastName()
+        ));
+    }
+    
+    private void replaceEntries(UUID principalId, List<PrincipalEntry> entries) {
+        principalEntryRepository.deleteByPrincipalId(principalId);
+        principalEntryRepository.saveAll(entries);
+        entries.forEach(entry -> emailExistenceFilter.add(entry.getLoginKey()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.trackerpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Applies committed changes to an in-memory index under the index's write lock, and
+ * keeps those applied while a rebuild of the index is reading the database.
+ *
+ * A rebuild reads its snapshot without holding the lock and then swaps it in, so a
+ * change applied to the old index in the meantime would be lost with it. Changes
+ * applied between {@link #begin()} and {@link #end()} are therefore run again on the
+ * rebuilt index as part of {@link #swap}. A replayed change must set an entry to its
+ * committed state (a put or a remove), so replaying one the snapshot already has is
+ * harmless; a change that cannot be replayed as it is (a delta) passes its own replay.
+ */
+public final class RebuildBuffer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RebuildBuffer.class);
+    
+    private final Lock writeLock;
+    
+    // Guarded by writeLock
+    private final List<Runnable> replays = new ArrayList<>();
+    private int rebuilds;
+    
+    public RebuildBuffer(ReadWriteLock lock) {
+        this.writeLock = lock.writeLock();
+    }
+    
+    /**
+     * A rebuild is about to read the database; always followed by {@link #end()}
+     */
+    public void begin() {
+        writeLock.lock();
+        try {
+            rebuilds++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Apply a change to the current index
+     */
+    public void apply(Runnable change) {
+        apply(change, change);
+    }
+    
+    /**
+     * Apply a change to the current index; a rebuild running meanwhile runs the replay instead
+     */
+    public void apply(Runnable change, Runnable replay) {
+        writeLock.lock();
+        try {
+            change.run();
+            if (rebuilds > 0) {
+                replays.add(replay);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Swap the rebuilt index in, then replay the changes applied since the rebuild began
+     */
+    public void swap(Runnable swap) {
+        writeLock.lock();
+        try {
+            swap.run();
+            for (Runnable replay : replays) {
+                try {
+                    replay.run();
+                } catch (RuntimeException e) {
+                    // The rebuilt index is in place; one lost change must not undo that
+                    logger.warn("Change not replayed on the rebuilt index: {}", e.getMessage());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * The rebuild has swapped its index in or failed
+     */
+    public void end() {
+        writeLock.lock();
+        try {
+            // Overlapping rebuilds each replay everything since the first one began
+            if (--rebuilds == 0) {
+                replays.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.RegistrationFacetQuery;
+import com.trackerpro.dto.RegistrationFacetResult;
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentStatus;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Faceted registration search over in-memory bitmap indexes.
+ *
+ * Every student gets a dense ordinal, and every value of every facet (status,
+ * gender, age, location, registration week) has a {@link CompressedBitmap} of the
+ * ordinals that have it. A search ORs the bitmaps of the selected values within a
+ * facet and ANDs the facets together; facet counts are intersection sizes, so no
+ * query touches the database except to load the requested page of students.
+ *
+ * The index is built at startup and updated by the services that write students,
+ * once their transaction commits. Ordinals of deleted students are not reused
+ * until the next rebuild.
+ */
+@Service
+public class RegistrationFacetIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationFacetIndex.class);
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    // Location facet lists only the most frequent values
+    private static final int LOCATION_FACET_SIZE = 20;
+    
+    private static final String NO_LOCATION = "";
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(lock);
+    
+    // Guarded by lock
+    private Index index = new Index();
+    
+    @Autowired
+    public RegistrationFacetIndex(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Matching students (newest first) and facet counts for the given filters
+     */
+    public RegistrationFacetResult search(RegistrationFacetQuery query) {
+        if (query.getPage() < 0 || query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        RegistrationFacetResult result = new RegistrationFacetResult();
+        List<UUID> pageIds = new ArrayList<>();
+        
+        lock.readLock().lock();
+        try {
+            Map<Facet, CompressedBitmap> filters = index.filters(query);
+            
+            CompressedBitmap matches = index.live;
+            for (CompressedBitmap filter : filters.values()) {
+                matches = matches.and(filter);
+            }
+            result.setTotal(matches.cardinality());
+            
+            long skip = (long) query.getPage() * query.getSize();
+            long[] seen = {0};
+            matches.forEachDescending(ordinal -> {
+                if (seen[0]++ >= skip) {
+                    pageIds.add(index.studentIds.get(ordinal));
+                }
+                return pageIds.size() < query.getSize();
+            });
+            
+            for (Facet facet : Facet.values()) {
+                // Every filter except the facet's own
+                CompressedBitmap base = index.live;
+                for (Map.Entry<Facet, CompressedBitmap> filter : filters.entrySet()) {
+                    if (filter.getKey() != facet) {
+                        base = base.and(filter.getValue());
+                    }
+                }
+                result.getFacets().put(facet.label, index.counts(facet, base));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // Load the page in one query and keep the bitmap order
+        Map<UUID, Student> students = studentRepository.findAllById(pageIds).stream()
+            .collect(Collectors.toMap(Student::getStudentId, Function.identity()));
+        result.setStudents(pageIds.stream().map(students::get).filter(student -> student != null).toList());
+        result.setPage(query.getPage());
+        result.setSize(query.getSize());
+        return result;
+    }
+    
+    /**
+     * Replace the index with one built from the database
+     */
+    public void rebuild() {
+        Index rebuilt = new Index();
+        rebuildBuffer.begin();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = studentRepository.streamFacetRows()) {
+                    rows.forEach(row -> rebuilt.upsert(new FacetRow((UUID) row[0], (StudentStatus) row[1],
+                        (Gender) row[2], (Integer) row[3], (String) row[4], (LocalDateTime) row[5])));
+                }
+            });
+            rebuildBuffer.swap(() -> index = rebuilt);
+        } finally {
+            rebuildBuffer.end();
+        }
+        logger.info("Registration facet index rebuilt with {} students", rebuilt.live.cardinality());
+    }
+    
+    /**
+     * A student was created or changed; indexed once the caller's transaction commits
+     */
+    public void studentSaved(Student student) {
+        FacetRow row = new FacetRow(student.getStudentId(), student.getStatus(), student.getGender(),
+                                    student.getAge(), student.getLocation(), student.getRegisteredAt());
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> index.upsert(row)));
+    }
+    
+    /**
+     * A student was deleted
+     */
+    public void studentDeleted(UUID studentId) {
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> index.remove(studentId)));
+    }
+    
+    private static String locationKey(String location) {
+        return location == null ? NO_LOCATION : location.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static LocalDate weekOf(LocalDateTime registeredAt) {
+        return TrendGranularity.WEEK.bucketStart(registeredAt != null ? registeredAt : LocalDateTime.now()).toLocalDate();
+    }
+    
+    private enum Facet {
+        STATUS("status"), GENDER("gender"), AGE("age"), LOCATION("location"), WEEK("week");
+        
+        private final String label;
+        
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+    
+    private record FacetRow(UUID studentId, StudentStatus status, Gender gender, Integer age,
+                            String location, LocalDateTime registeredAt) {
+    }
+    
+    /**
+     * Ordinals, the facet values of each ordinal (to move it on update) and one bitmap per facet value
+     */
+    private static final class Index {
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<UUID> studentIds = new ArrayList<>();
+        private FacetRow[] rows = new FacetRow[1024];
+        
+        private final CompressedBitmap live = new CompressedBitmap();
+        private final Map<StudentStatus, CompressedBitmap> byStatus = new EnumMap<>(StudentStatus.class);
+        private final Map<Gender, CompressedBitmap> byGender = new EnumMap<>(Gender.class);
+        private final TreeMap<Integer, CompressedBitmap> byAge = new TreeMap<>();
+        private final Map<String, CompressedBitmap> byLocation = new HashMap<>();
+        private final Map<String, String> locationLabels = new HashMap<>();
+        private final TreeMap<LocalDate, CompressedBitmap> byWeek = new TreeMap<>();
+        
+        private void upsert(FacetRow row) {
+            Integer existing = ordinals.get(row.studentId());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal, rows[ordinal]);
+            } else {
+                ordinal = studentIds.size();
+                studentIds.add(row.studentId());
+                ordinals.put(row.studentId(), ordinal);
+                if (ordinal == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+            }
+            rows[ordinal] = row;
+            
+            live.add(ordinal);
+            if (row.status() != null) {
+                byStatus.computeIfAbsent(row.status(), key -> new CompressedBitmap()).add(ordinal);
+            }
+            if (row.gender() != null) {
+                byGender.computeIfAbsent(row.gender(), key -> new CompressedBitmap()).add(ordinal);
+            }
+            if (row.age() != null) {
+                byAge.computeIfAbsent(row.age(), key -> new CompressedBitmap()).add(ordinal);
+            }
+            String location = locationKey(row.location());
+            byLocation.computeIfAbsent(location, key -> new CompressedBitmap()).add(ordinal);
+            locationLabels.putIfAbsent(location, row.location() != null ? row.location().trim() : NO_LOCATION);
+            byWeek.computeIfAbsent(weekOf(row.registeredAt()), key -> new CompressedBitmap()).add(ordinal);
+        }
+        
+        private void remove(UUID studentId) {
+            Integer ordinal = ordinals.remove(studentId);
+            if (ordinal != null) {
+                unindex(ordinal, rows[ordinal]);
+                rows[ordinal] = null;
+            }
+        }
+        
+        private void unindex(int ordinal, FacetRow row) {
+            live.remove(ordinal);
+            removeFrom(byStatus, row.status(), ordinal);
+            removeFrom(byGender, row.gender(), ordinal);
+            removeFrom(byAge, row.age(), ordinal);
+            String location = locationKey(row.location());
+            if (removeFrom(byLocation, location, ordinal)) {
+                locationLabels.remove(location);
+            }
+            removeFrom(byWeek, weekOf(row.registeredAt()), ordinal);
+        }
+        
+        // Returns whether the value's bitmap became empty and was dropped
+        private static <K> boolean removeFrom(Map<K, CompressedBitmap> bitmaps, K value, int ordinal) {
+            CompressedBitmap bitmap = value == null ? null : bitmaps.get(value);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * One bitmap per facet that the query filters on: the union of its selected values
+         */
+        private Map<Facet, CompressedBitmap> filters(RegistrationFacetQuery query) {
+            Map<Facet, CompressedBitmap> filters = new EnumMap<>(Facet.class);
+            if (query.getStatus() != null && !query.getStatus().isEmpty()) {
+                filters.put(Facet.STATUS, union(query.getStatus().stream().map(byStatus::get)));
+            }
+            if (query.getGender() != null && !query.getGender().isEmpty()) {
+                filters.put(Facet.GENDER, union(query.getGender().stream().map(byGender::get)));
+            }
+            if (query.getMinAge() != null || query.getMaxAge() != null) {
+                int minAge = query.getMinAge() != null ? query.getMinAge() : Integer.MIN_VALUE;
+                int maxAge = query.getMaxAge() != null ? query.getMaxAge() : Integer.MAX_VALUE;
+                filters.put(Facet.AGE, minAge > maxAge ? new CompressedBitmap()
+                    : union(byAge.subMap(minAge, true, maxAge, true).values().stream()));
+            }
+            if (query.getLocation() != null && !query.getLocation().isBlank()) {
+                // Substring match, as the location search elsewhere; the location dictionary is small
+                String term = locationKey(query.getLocation());
+                filters.put(Facet.LOCATION, union(byLocation.entrySet().stream()
+                    .filter(entry -> entry.getKey().contains(term)).map(Map.Entry::getValue)));
+            }
+            if (query.getWeekFrom() != null || query.getWeekTo() != null) {
+                LocalDate from = query.getWeekFrom() != null ? weekOf(query.getWeekFrom().atStartOfDay()) : LocalDate.MIN;
+                LocalDate to = query.getWeekTo() != null ? weekOf(query.getWeekTo().atStartOfDay()) : LocalDate.MAX;
+                filters.put(Facet.WEEK, from.isAfter(to) ? new CompressedBitmap()
+                    : union(byWeek.subMap(from, true, to, true).values().stream()));
+            }
+            return filters;
+        }
+        
+        private static CompressedBitmap union(Stream<CompressedBitmap> bitmaps) {
+            return CompressedBitmap.orAll(bitmaps.filter(bitmap -> bitmap != null).toList());
+        }
+        
+        /**
+         * Matches per value of a facet within the base set, skipping values with none
+         */
+        private Map<String, Long> counts(Facet facet, CompressedBitmap base) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            switch (facet) {
+                case STATUS -> byStatus.forEach((value, bitmap) -> putCount(counts, value.name(), base, bitmap));
+                case GENDER -> byGender.forEach((value, bitmap) -> putCount(counts, value.name(), base, bitmap));
+                case AGE -> byAge.forEach((value, bitmap) -> putCount(counts, value.toString(), base, bitmap));
+                case WEEK -> byWeek.descendingMap().forEach((value, bitmap) -> putCount(counts, value.toString(), base, bitmap));
+                case LOCATION -> {
+                    Map<String, Long> all = new HashMap<>();
+                    byLocation.forEach((value, bitmap) -> putCount(all, locationLabels.get(value), base, bitmap));
+                    all.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                        .limit(LOCATION_FACET_SIZE)
+                        .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+                }
+            }
+            return counts;
+        }
+        
+        private static void putCount(Map<String, Long> counts, String value, CompressedBitmap base, CompressedBitmap bitmap) {
+            int count = base.andCardinality(bitmap);
+            if (count > 0) {
+                counts.merge(value, (long) count, Long::sum);
+            }
+        }
+    }
+}
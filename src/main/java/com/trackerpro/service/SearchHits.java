@@ -0,0 +1,11 @@
+package com.trackerpro.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a ranked in-memory search: the total number of matching documents
+ * and the ids on the requested page, best first
+ */
+public record SearchHits(long total, List<UUID> ids) {
+}
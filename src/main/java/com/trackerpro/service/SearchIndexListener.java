@@ -0,0 +1,33 @@
+package com.trackerpro.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that forwards inserts, updates and deletes of searchable
+ * entities to the {@link SearchIndexService}.
+ *
+ * Hibernate creates it through Spring's bean container while the entity manager
+ * factory is built, before the service exists, so the service is looked up on use.
+ */
+public class SearchIndexListener {
+    
+    private final ObjectProvider<SearchIndexService> searchIndexService;
+    
+    public SearchIndexListener(ObjectProvider<SearchIndexService> searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        searchIndexService.ifAvailable(index -> index.saved(entity));
+    }
+    
+    @PostRemove
+    public void deleted(Object entity) {
+        searchIndexService.ifAvailable(index -> index.deleted(entity));
+    }
+}
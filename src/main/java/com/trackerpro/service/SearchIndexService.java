@@ -0,0 +1,464 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.Admin;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.User;
+import com.trackerpro.repository.AdminRepository;
+import com.trackerpro.repository.StudentRepository;
+import com.trackerpro.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Name and email search over students, users and admins, served from one
+ * in-memory {@link TrigramIndex} per kind instead of LIKE '%term%' scans, plus a
+ * {@link FuzzyNameIndex} per kind for typo-tolerant matching of whole names.
+ *
+ * A search returns a ranked page of ids that the caller loads with a single IN
+ * query. The indexes are kept current by {@link SearchIndexListener}; a change is
+ * applied once its transaction commits.
+ *
+ * When a segments directory is configured, the indexed documents of each kind are
+ * also kept in a {@link SegmentStore}: changes are written as a new segment on a
+ * short interval and segments are merged in the background once there are too
+ * many. At startup the indexes are built from the segments and caught up with the
+ * rows changed since their watermark (less an overlap for transactions that were
+ * still committing) and with rows deleted meanwhile, instead of reading every row.
+ * Without segments, or when they cannot be read, the indexes are rebuilt from the
+ * tables and a new base segment is written.
+ */
+@Service
+public class SearchIndexService implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    public enum Kind { STUDENT, USER, ADMIN }
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AdminRepository adminRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(lock);
+    
+    // Empty when segments are disabled
+    private final Map<Kind, SegmentStore> stores = new EnumMap<>(Kind.class);
+    private final long catchUpOverlapSeconds;
+    private final int maxSegments;
+    
+    // Guarded by lock
+    private final Map<Kind, TrigramIndex> indexes = new EnumMap<>(Kind.class);
+    private final Map<Kind, FuzzyNameIndex> fuzzyIndexes = new EnumMap<>(Kind.class);
+    
+    @Autowired
+    public SearchIndexService(PlatformTransactionManager transactionManager,
+                              @Value("${trackerpro.search-index.segments-dir:}") String segmentsDir,
+                              @Value("${trackerpro.search-index.catch-up-overlap-seconds:60}") long catchUpOverlapSeconds,
+                              @Value("${trackerpro.search-index.max-segments:8}") int maxSegments) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.catchUpOverlapSeconds = catchUpOverlapSeconds;
+        this.maxSegments = maxSegments;
+        for (Kind kind : Kind.values()) {
+            indexes.put(kind, new TrigramIndex());
+            fuzzyIndexes.put(kind, new FuzzyNameIndex());
+            if (!segmentsDir.isBlank()) {
+                stores.put(kind, new SegmentStore(Path.of(segmentsDir, kind.name().toLowerCase())));
+            }
+        }
+    }
+    
+    /**
+     * One page of ids whose names or email (or admin username) contain the term, best matches first
+     */
+    public SearchHits search(Kind kind, String term, int page, int size) {
+        checkPage(page, size);
+        lock.readLock().lock();
+        try {
+            return indexes.get(kind).search(term, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * One page of ids whose first name, last name or email local part (or admin username) are each
+     * within a couple of typos of a word of the term, closest first
+     */
+    public SearchHits fuzzySearch(Kind kind, String term, int page, int size) {
+        checkPage(page, size);
+        lock.readLock().lock();
+        try {
+            return fuzzyIndexes.get(kind).search(term, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Substring matches, or the typo-tolerant ones when nothing contains the term
+     */
+    public SearchHits searchOrFuzzy(Kind kind, String term, int page, int size) {
+        SearchHits hits = search(kind, term, page, size);
+        return hits.total() > 0 ? hits : fuzzySearch(kind, term, page, size);
+    }
+    
+    /**
+     * Entities loaded for a page of ids, in the order of the page
+     */
+    public static <T> List<T> inOrder(List<UUID> ids, List<T> entities, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(idOf.apply(entity), entity));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    /**
+     * An indexed entity was inserted or updated
+     */
+    public void saved(Object entity) {
+        if (entity instanceof Student student) {
+            put(Kind.STUDENT, student.getStudentId(), student.getFirstName(), student.getLastName(), student.getEmail());
+        } else if (entity instanceof User user) {
+            put(Kind.USER, user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        } else if (entity instanceof Admin admin) {
+            put(Kind.ADMIN, admin.getAdminId(), admin.getFirstName(), admin.getLastName(), admin.getEmail(),
+                admin.getUsername());
+        }
+    }
+    
+    /**
+     * An indexed entity was deleted
+     */
+    public void deleted(Object entity) {
+        if (entity instanceof Student student) {
+            remove(Kind.STUDENT, student.getStudentId());
+        } else if (entity instanceof User user) {
+            remove(Kind.USER, user.getUserId());
+        } else if (entity instanceof Admin admin) {
+            remove(Kind.ADMIN, admin.getAdminId());
+        }
+    }
+    
+    /**
+     * Replace every index with one built from the database (and its segments with a new base)
+     */
+    public void rebuild() {
+        for (Kind kind : Kind.values()) {
+            rebuild(kind);
+        }
+    }
+    
+    /**
+     * Load every index from its segments and catch up with the database; rebuild any
+     * index that has no readable segments
+     */
+    public void warmStart() {
+        for (Kind kind : Kind.values()) {
+            SegmentStore store = stores.get(kind);
+            if (store == null) {
+                rebuild(kind);
+                continue;
+            }
+            try {
+                warmStart(kind, store);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Search index segments for {} not loaded, rebuilding: {}", kind.name().toLowerCase(), e.getMessage());
+                rebuild(kind);
+            }
+        }
+    }
+    
+    /**
+     * Write the changes since the last flush as new segments, merging segments once there are too many
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.search-index.flush-interval-ms:30000}")
+    public void flush() {
+        LocalDateTime watermark = LocalDateTime.now();
+        stores.forEach((kind, store) -> {
+            try {
+                store.flush(watermark);
+                if (store.segments() > maxSegments) {
+                    long start = System.nanoTime();
+                    store.merge();
+                    logger.info("Search index segments for {} merged in {} ms",
+                                kind.name().toLowerCase(), (System.nanoTime() - start) / 1_000_000);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Changes stay buffered and are retried on the next flush
+                logger.warn("Search index segments for {} not written: {}", kind.name().toLowerCase(), e.getMessage());
+            }
+        });
+    }
+    
+    @Override
+    public void destroy() {
+        flush();
+    }
+    
+    private void rebuild(Kind kind) {
+        rebuildBuffer.begin();
+        try {
+            TrigramIndex rebuilt = new TrigramIndex();
+            FuzzyNameIndex rebuiltFuzzy = new FuzzyNameIndex();
+            LocalDateTime watermark = LocalDateTime.now();
+            try (SegmentStore.Writer base = newBase(kind, watermark)) {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = searchFields(kind)) {
+                        rows.forEach(row -> {
+                            String[] fields = fieldsOf(row);
+                            rebuilt.put((UUID) row[0], fields);
+                            rebuiltFuzzy.put((UUID) row[0], fields);
+                            if (base != null) {
+                                base.add((UUID) row[0], fields);
+                            }
+                        });
+                    }
+                });
+                if (base != null) {
+                    base.commit();
+                }
+            } catch (IOException e) {
+                logger.warn("Search index base segment for {} not written: {}", kind.name().toLowerCase(), e.getMessage());
+            }
+            swap(kind, rebuilt, rebuiltFuzzy);
+            logger.info("Search index for {} rebuilt with {} documents, {} trigrams and {} distinct words",
+                        kind.name().toLowerCase(), rebuilt.size(), rebuilt.trigrams(), rebuiltFuzzy.words());
+        } finally {
+            rebuildBuffer.end();
+        }
+    }
+    
+    // The index is rebuilt even when its base segment cannot be written
+    private SegmentStore.Writer newBase(Kind kind, LocalDateTime watermark) {
+        SegmentStore store = stores.get(kind);
+        try {
+            return store != null ? store.newBase(watermark) : null;
+        } catch (IOException e) {
+            logger.warn("Search index base segment for {} not started: {}", kind.name().toLowerCase(), e.getMessage());
+            return null;
+        }
+    }
+    
+    private void warmStart(Kind kind, SegmentStore store) throws IOException {
+        rebuildBuffer.begin();
+        try {
+            long start = System.nanoTime();
+            // Each index replays the segments on its own thread
+            TrigramIndex loaded = new TrigramIndex();
+            CompletableFuture<SegmentStore.Loaded> trigrams = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store.replay(loaded::put, loaded::remove);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            FuzzyNameIndex loadedFuzzy = new FuzzyNameIndex();
+            SegmentStore.Loaded segments = store.replay(loadedFuzzy::put, loadedFuzzy::remove);
+            try {
+                trigrams.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw e;
+            }
+            if (segments.segments() == 0) {
+                rebuild(kind);
+                return;
+            }
+            long loadedAt = System.nanoTime();
+            
+            // Rows changed since the watermark, then documents whose rows are gone
+            LocalDateTime caughtUpTo = LocalDateTime.now();
+            int[] changes = new int[2];
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = changedSince(kind, segments.watermark().minusSeconds(catchUpOverlapSeconds))) {
+                    rows.forEach(row -> {
+                        String[] fields = fieldsOf(row);
+                        loaded.put((UUID) row[0], fields);
+                        loadedFuzzy.put((UUID) row[0], fields);
+                        store.record((UUID) row[0], fields);
+                        changes[0]++;
+                    });
+                }
+                Set<UUID> live = new HashSet<>();
+                try (Stream<UUID> ids = ids(kind)) {
+                    ids.forEach(live::add);
+                }
+                for (UUID id : loaded.ids()) {
+                    if (!live.contains(id)) {
+                        loaded.remove(id);
+                        loadedFuzzy.remove(id);
+                        store.record(id, null);
+                        changes[1]++;
+                    }
+                }
+            });
+            swap(kind, loaded, loadedFuzzy);
+            try {
+                store.flush(caughtUpTo);
+            } catch (IOException e) {
+                // Still buffered; written by the next scheduled flush
+                logger.warn("Search index catch-up for {} not written: {}", kind.name().toLowerCase(), e.getMessage());
+            }
+            logger.info("Search index for {} loaded from {} segments ({} documents) in {} ms and caught up with " +
+                        "{} changed and {} deleted rows in {} ms", kind.name().toLowerCase(), segments.segments(),
+                        loaded.size(), (loadedAt - start) / 1_000_000, changes[0], changes[1],
+                        (System.nanoTime() - loadedAt) / 1_000_000);
+        } finally {
+            rebuildBuffer.end();
+        }
+    }
+    
+    private Stream<Object[]> searchFields(Kind kind) {
+        return switch (kind) {
+            case STUDENT -> studentRepository.streamSearchFields();
+            case USER -> userRepository.streamSearchFields();
+            case ADMIN -> adminRepository.streamSearchFields();
+        };
+    }
+    
+    private Stream<Object[]> changedSince(Kind kind, LocalDateTime since) {
+        return switch (kind) {
+            case STUDENT -> studentRepository.streamSearchFieldsChangedSince(since);
+            case USER -> userRepository.streamSearchFieldsChangedSince(since);
+            case ADMIN -> adminRepository.streamSearchFieldsChangedSince(since);
+        };
+    }
+    
+    private Stream<UUID> ids(Kind kind) {
+        return switch (kind) {
+            case STUDENT -> studentRepository.streamIds();
+            case USER -> userRepository.streamIds();
+            case ADMIN -> adminRepository.streamIds();
+        };
+    }
+    
+    // Row layout: [id, field...]
+    private static String[] fieldsOf(Object[] row) {
+        return Arrays.stream(row, 1, row.length).map(field -> (String) field).toArray(String[]::new);
+    }
+    
+    // Only called between rebuildBuffer.begin() and end(), so changes made while the index was read are replayed
+    private void swap(Kind kind, TrigramIndex index, FuzzyNameIndex fuzzyIndex) {
+        rebuildBuffer.swap(() -> {
+            indexes.put(kind, index);
+            fuzzyIndexes.put(kind, fuzzyIndex);
+        });
+    }
+    
+    private void put(Kind kind, UUID id, String... fields) {
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> {
+            indexes.get(kind).put(id, fields);
+            fuzzyIndexes.get(kind).put(id, fields);
+            if (stores.containsKey(kind)) {
+                stores.get(kind).record(id, fields);
+            }
+        }));
+    }
+    
+    private void remove(Kind kind, UUID id) {
+        TransactionHooks.afterCommit(() -> rebuildBuffer.apply(() -> {
+            indexes.get(kind).remove(id);
+            fuzzyIndexes.get(kind).remove(id);
+            if (stores.containsKey(kind)) {
+                stores.get(kind).record(id, null);
+            }
+        }));
+    }
+    
+    static void checkPage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+    
+    /**
+     * Documents, distinct trigrams and distinct words held per index
+     */
+    public Map<String, IndexStatistics> getStatistics() {
+        Map<String, IndexStatistics> statistics = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            indexes.forEach((kind, index) -> {
+                IndexStatistics stats = new IndexStatistics();
+                stats.setDocuments(index.size());
+                stats.setTrigrams(index.trigrams());
+                stats.setWords(fuzzyIndexes.get(kind).words());
+                stats.setSegments(segmentsOf(kind));
+                statistics.put(kind.name().toLowerCase(), stats);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return statistics;
+    }
+    
+    private int segmentsOf(Kind kind) {
+        try {
+            return stores.containsKey(kind) ? stores.get(kind).segments() : 0;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    // Inner class for statistics
+    public static class IndexStatistics {
+        private int documents;
+        private int trigrams;
+        private int words;
+        private int segments;
+        
+        // Getters and Setters
+        public int getDocuments() { return documents; }
+        public void setDocuments(int documents) { this.documents = documents; }
+        
+        public int getTrigrams() { return trigrams; }
+        public void setTrigrams(int trigrams) { this.trigrams = trigrams; }
+        
+        public int getWords() { return words; }
+        public void setWords(int words) { this.words = words; }
+        
+        public int getSegments() { return segments; }
+        public void setSegments(int segments) { this.segments = segments; }
+    }
+}
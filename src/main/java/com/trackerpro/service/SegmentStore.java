@@ -0,0 +1,353 @@
+package com.trackerpro.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Search documents (an id and its text fields) persisted as immutable segment
+ * files, so an index can be reloaded at startup without reading its base table.
+ *
+ * Each segment holds the documents put or deleted since the previous one, plus
+ * a watermark: the time up to which the segments reflect the table. Segments are
+ * read back memory-mapped, oldest first, later records replacing earlier ones.
+ * Changes are buffered with {@link #record} and written as a new segment by
+ * {@link #flush}; {@link #merge} folds every segment into one, dropping deleted
+ * and replaced documents, so loading stays a single sequential read.
+ *
+ * A segment is written to a temporary file and renamed into place, and carries a
+ * CRC32 of its contents, so a torn or damaged segment is detected on load rather
+ * than read as data.
+ *
+ * The documents are names and emails, so the directory holds personal data and
+ * needs the database's protection. A deleted row's document remains in older
+ * segments until the next merge.
+ */
+public class SegmentStore {
+    
+    private static final int MAGIC = 0x54505358; // "TPSX"
+    private static final int VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte END = 0;
+    private static final String SUFFIX = ".seg";
+    
+    private final Path directory;
+    
+    // Guarded by this; sequence number of the newest segment written or reserved
+    private long lastSequence = -1;
+    
+    // Changes not yet written, in commit order; null fields mark a deletion
+    private final Object pendingLock = new Object();
+    private Map<UUID, String[]> pending = new LinkedHashMap<>();
+    
+    public SegmentStore(Path directory) {
+        this.directory = directory;
+    }
+    
+    /**
+     * Buffer a put (or, with null fields, a deletion) for the next segment
+     */
+    public void record(UUID id, String[] fields) {
+        synchronized (pendingLock) {
+            // Re-inserted so the latest change sits in commit order
+            pending.remove(id);
+            pending.put(id, fields);
+        }
+    }
+    
+    /**
+     * Write the buffered changes as a new segment covering the table up to the watermark;
+     * returns the number of changes written
+     */
+    public int flush(LocalDateTime watermark) throws IOException {
+        Map<UUID, String[]> changes;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            changes = pending;
+            pending = new LinkedHashMap<>();
+        }
+        try {
+            synchronized (this) {
+                try (Writer writer = new Writer(watermark, nextSequence(), List.of())) {
+                    changes.forEach(writer::add);
+                    writer.commit();
+                }
+            }
+            return changes.size();
+        } catch (IOException | RuntimeException e) {
+            // Put back behind anything recorded meanwhile, which is newer
+            synchronized (pendingLock) {
+                Map<UUID, String[]> restored = new LinkedHashMap<>(changes);
+                pending.forEach((id, fields) -> {
+                    restored.remove(id);
+                    restored.put(id, fields);
+                });
+                pending = restored;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Every live document in the order it was first put, and the latest watermark; empty
+     * with a null watermark when there are no segments
+     */
+    public Snapshot load() throws IOException {
+        Map<UUID, String[]> documents = new LinkedHashMap<>();
+        Loaded loaded = replay(documents::put, documents::remove);
+        return new Snapshot(documents, loaded.watermark(), loaded.segments());
+    }
+    
+    /**
+     * Replay every segment's records, oldest first, without collecting them; safe to run
+     * from several threads at once
+     */
+    public Loaded replay(BiConsumer<UUID, String[]> put, Consumer<UUID> delete) throws IOException {
+        List<Path> segments;
+        synchronized (this) {
+            segments = segmentFiles();
+        }
+        LocalDateTime watermark = null;
+        for (Path segment : segments) {
+            watermark = read(segment, put, delete);
+        }
+        return new Loaded(watermark, segments.size());
+    }
+    
+    /**
+     * Start a segment replacing all existing ones once committed (a base written from the table).
+     * Segments flushed while it is written come after it, so their newer changes still apply.
+     */
+    public synchronized Writer newBase(LocalDateTime watermark) throws IOException {
+        return new Writer(watermark, nextSequence(), segmentFiles());
+    }
+    
+    /**
+     * Fold every segment into one holding only the live documents
+     */
+    public synchronized void merge() throws IOException {
+        List<Path> segments = segmentFiles();
+        if (segments.size() < 2) {
+            return;
+        }
+        Map<UUID, String[]> documents = new LinkedHashMap<>();
+        LocalDateTime watermark = null;
+        for (Path segment : segments) {
+            watermark = read(segment, documents::put, documents::remove);
+        }
+        // Takes the place of the newest segment it folds in
+        Path newest = segments.get(segments.size() - 1);
+        try (Writer writer = new Writer(watermark, sequenceOf(newest), segments)) {
+            documents.forEach(writer::add);
+            writer.commit();
+        }
+    }
+    
+    public synchronized int segments() throws IOException {
+        return segmentFiles().size();
+    }
+    
+    public int pending() {
+        synchronized (pendingLock) {
+            return pending.size();
+        }
+    }
+    
+    private List<Path> segmentFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded sequence numbers, so name order is write order
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+    
+    private long nextSequence() throws IOException {
+        if (lastSequence < 0) {
+            List<Path> segments = segmentFiles();
+            lastSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1));
+        }
+        return ++lastSequence;
+    }
+    
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+    
+    // Replay one segment's records; returns its watermark
+    private static LocalDateTime read(Path segment, BiConsumer<UUID, String[]> put, Consumer<UUID> delete)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4 + 4 + 8 + 4 + 1 + 8) {
+                throw new IOException("Segment " + segment.getFileName() + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - 8));
+            if (crc.getValue() != buffer.getLong((int) size - 8)) {
+                throw new IOException("Segment " + segment.getFileName() + " failed its checksum");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Segment " + segment.getFileName() + " has an unknown format");
+            }
+            LocalDateTime watermark = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            
+            for (byte op = buffer.get(); op != END; op = buffer.get()) {
+                UUID id = new UUID(buffer.getLong(), buffer.getLong());
+                if (op == DELETE) {
+                    delete.accept(id);
+                    continue;
+                }
+                String[] fields = new String[buffer.get()];
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = readString(buffer);
+                }
+                put.accept(id, fields);
+            }
+            return watermark;
+        }
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Segment being written; it only becomes visible, replacing the segments it supersedes,
+     * on {@link #commit()}. Closing without committing discards it.
+     */
+    public final class Writer implements Closeable {
+        private final Path temporary;
+        private final Path target;
+        private final List<Path> replaces;
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream out;
+        private int documents;
+        private IOException failure;
+        private boolean committed;
+        
+        private Writer(LocalDateTime watermark, long sequence, List<Path> replaces) throws IOException {
+            Files.createDirectories(directory);
+            this.temporary = Files.createTempFile(directory, "segment", ".tmp");
+            this.target = directory.resolve(String.format("%012d%s", sequence, SUFFIX));
+            this.replaces = replaces;
+            OutputStream file = Files.newOutputStream(temporary);
+            this.out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(watermark.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(watermark.getNano());
+        }
+        
+        /**
+         * Write a document, or a deletion when the fields are null; a write error is
+         * raised by {@link #commit()}
+         */
+        public void add(UUID id, String[] fields) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                out.writeByte(fields == null ? DELETE : PUT);
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+                if (fields != null) {
+                    out.writeByte(fields.length);
+                    for (String field : fields) {
+                        writeString(field);
+                    }
+                    documents++;
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        
+        public int documents() {
+            return documents;
+        }
+        
+        public void commit() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            out.writeByte(END);
+            // The checksum covers everything before it
+            out.writeLong(crc.getValue());
+            out.close();
+            synchronized (SegmentStore.this) {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                for (Path replaced : replaces) {
+                    if (!replaced.equals(target)) {
+                        Files.deleteIfExists(replaced);
+                    }
+                }
+            }
+            committed = true;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+        
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+    
+    /**
+     * Documents and watermark read back from the segments
+     */
+    public record Snapshot(Map<UUID, String[]> documents, LocalDateTime watermark, int segments) {
+    }
+    
+    /**
+     * Watermark and number of the segments replayed
+     */
+    public record Loaded(LocalDateTime watermark, int segments) {
+    }
+    }
@@ -0,0 +1,187 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.PrincipalType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed session tokens. Verification needs no
+ * database access; logout revokes a token by id in an in-memory set whose
+ * entries are dropped once the token would have expired anyway.
+ *
+ * Token layout: base64url(tokenId|principalType|principalId|role|expiresAt) "." base64url(hmac)
+ */
+@Service
+public class SessionTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final SecretKeySpec signingKey;
+    private final Duration tokenLifetime;
+    private final ThreadLocal<Mac> macs;
+    
+    // tokenId -> expiry (epoch seconds) of revoked tokens
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    
+    public SessionTokenService(@Value("${trackerpro.session.secret:}") String secret,
+                               @Value("${trackerpro.session.ttl-minutes:480}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("trackerpro.session.secret is not set; using a random key, sessions will not survive a restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        
+        this.signingKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.tokenLifetime = Duration.ofMinutes(ttlMinutes);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(signingKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+    
+    /**
+     * Extract the token from an "Authorization: Bearer ..." header value
+     */
+    public static String extractBearerToken(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return authorizationHeader.substring(7).trim();
+    }
+    
+    /**
+     * Issue a signed token for an authenticated principal
+     */
+    public String issueToken(PrincipalType principalType, String principalId, String role) {
+        long expiresAt = Instant.now().plus(tokenLifetime).getEpochSecond();
+        String payload = String.join(FIELD_SEPARATOR,
+            UUID.randomUUID().toString(), principalType.name(), principalId, role, Long.toString(expiresAt));
+        
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+    
+    /**
+     * Verify signature, expiry and revocation of a token without touching the database
+     */
+    public Optional<SessionClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+            
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != 5) {
+                return Optional.empty();
+            }
+            
+            SessionClaims claims = new SessionClaims(
+                fields[0], PrincipalType.valueOf(fields[1]), fields[2], fields[3], Long.parseLong(fields[4]));
+            if (claims.getExpiresAt() <= Instant.now().getEpochSecond() || revokedTokens.containsKey(claims.getTokenId())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+            
+        } catch (IllegalArgumentException e) {
+            // Malformed base64, enum or number
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Revoke a token until its natural expiry
+     */
+    public boolean revoke(String token) {
+        Optional<SessionClaims> claims = verify(token);
+        claims.ifPresent(c -> revokedTokens.put(c.getTokenId(), c.getExpiresAt()));
+        return claims.isPresent();
+    }
+    
+    /**
+     * Number of revoked tokens still inside their lifetime
+     */
+    public int getRevokedCount() {
+        return revokedTokens.size();
+    }
+    
+    /**
+     * Drop revocations of tokens that have expired anyway
+     */
+    @Scheduled(fixedDelayString = "${trackerpro.session.revocation-purge-ms:60000}")
+    public void purgeExpiredRevocations() {
+        long now = Instant.now().getEpochSecond();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+    
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        mac.reset();
+        return mac.doFinal(payload);
+    }
+    
+    /**
+     * Claims carried by a verified session token
+     */
+    public static class SessionClaims {
+        private final String tokenId;
+        private final PrincipalType principalType;
+        private final String principalId;
+        private final String role;
+        private final long expiresAt;
+        
+        public SessionClaims(String tokenId, PrincipalType principalType, String principalId, String role, long expiresAt) {
+            this.tokenId = tokenId;
+            this.principalType = principalType;
+            this.principalId = principalId;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+        
+        public String getTokenId() { return tokenId; }
+        public PrincipalType getPrincipalType() { return principalType; }
+        public String getPrincipalId() { return principalId; }
+        public String getRole() { return role; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+}
@@ -6,6 +6,8 @@ import com.trackerpro.entity.Course;
 import com.trackerpro.entity.ApplicationStatus;
 import com.trackerpro.entity.CourseStatus;
 import com.trackerpro.entity.StudentStatus;
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.TrendSeries;
 import com.trackerpro.repository.StudentApplicationRepository;
 import com.trackerpro.repository.StudentRepository;
 import com.trackerpro.repository.CourseRepository;
@@ -14,11 +16,16 @@ import com.trackerpro.dto.ApplicationResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,12 +38,39 @@ public class StudentApplicationService {
     @Autowired
     private StudentApplicationRepository applicationRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
     @Autowired
     private StudentRepository studentRepository;
     
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
+    @Autowired
+    private CourseDemandRanking courseDemandRanking;
+    
     /**
      * Apply for a course (students can only apply for one course)
      */
@@ -73,10 +107,23 @@ public class StudentApplicationService {
             application.setStatus(ApplicationStatus.APPLIED); // Auto-approval: start with APPLIED
             
             // Update student status to ENROLLED since it's auto-approved
+            StudentStatus oldStudentStatus = student.getStatus();
             student.setStatus(StudentStatus.ENROLLED);
             studentRepository.save(student);
+            principalDirectoryService.updateStatus(student.getStudentId(), StudentStatus.ENROLLED);
+            registrationFacetIndex.studentSaved(student);
             
             StudentApplication savedApplication = applicationRepository.save(application);
+            entityCounterService.move(EntityCounterService.STUDENT, EntityCounterService.STATUS,
+                                      oldStudentStatus, StudentStatus.ENROLLED);
+            entityCounterService.increment(EntityCounterService.APPLICATION, EntityCounterService.STATUS,
+                                           savedApplication.getStatus());
+            trendRollupService.record(TrendSeries.APPLICATIONS, savedApplication.getAppliedAt(), 1);
+            courseDemandRanking.applicationOpened(course.getCourseId());
+            distinctCountService.record(DistinctMetric.APPLICANTS, course.getCategory(),
+                                        savedApplication.getAppliedAt(), student.getStudentId().toString());
+            studentHomeCache.evictStudent(student.getStudentId());
+            eventPublisher.publishEvent(DashboardEventHub.application(savedApplication));
             
             // Create response data
             ApplicationResponse.ApplicationData data = new ApplicationResponse.ApplicationData(
@@ -95,7 +142,7 @@ public class StudentApplicationService {
                        request.getStudentId(), request.getCourseId());
             
             return ApplicationResponse.success("Application submitted successfully! You are now enrolled in the course.", data);
-            
+        
         } catch (RuntimeException e) {
             logger.error("Course application failed: {}", e.getMessage());
             return ApplicationResponse.failure(e.getMessage());
@@ -132,6 +179,7 @@ public class StudentApplicationService {
                 .orElseThrow(() -> new RuntimeException("Application not found with ID: " + applicationId));
             
             ApplicationStatus oldStatus = application.getStatus();
+            StudentStatus oldStudentStatus = application.getStudent().getStatus();
             application.setStatus(newStatus);
             
             // Update timestamps based on status
@@ -143,21 +191,33 @@ public class StudentApplicationService {
                     // Update student status to COMPLETED
                     application.getStudent().setStatus(StudentStatus.COMPLETED);
                     studentRepository.save(application.getStudent());
+                    principalDirectoryService.updateStatus(application.getStudent().getStudentId(), StudentStatus.COMPLETED);
+                    registrationFacetIndex.studentSaved(application.getStudent());
                 }
                 case REJECTED -> {
                     // Update student status back to REGISTERED if rejected
                     application.getStudent().setStatus(StudentStatus.REGISTERED);
                     studentRepository.save(application.getStudent());
+                    principalDirectoryService.updateStatus(application.getStudent().getStudentId(), StudentStatus.REGISTERED);
+                    registrationFacetIndex.studentSaved(application.getStudent());
                 }
             }
             
             StudentApplication savedApplication = applicationRepository.save(application);
+            entityCounterService.move(EntityCounterService.APPLICATION, EntityCounterService.STATUS,
+                                      oldStatus, savedApplication.getStatus());
+            entityCounterService.move(EntityCounterService.STUDENT, EntityCounterService.STATUS,
+                                      oldStudentStatus, application.getStudent().getStatus());
+            courseDemandRanking.applicationStatusChanged(savedApplication.getCourse().getCourseId(),
+                                                         oldStatus, savedApplication.getStatus());
+            studentHomeCache.evictStudent(application.getStudent().getStudentId());
+            eventPublisher.publishEvent(DashboardEventHub.application(savedApplication));
             
             logger.info("Application status updated from {} to {} for application: {}", 
                        oldStatus, newStatus, applicationId);
             
             return ApplicationResponse.success("Application status updated successfully.");
-            
+        
         } catch (RuntimeException e) {
             logger.error("Failed to update application status: {}", e.getMessage());
             return ApplicationResponse.failure(e.getMessage());
@@ -176,11 +236,47 @@ public class StudentApplicationService {
     }
     
     /**
-     * Search applications by student details
+     * Search applications by student name or email; one page of the applications of the matching
+     * students, in the students' ranked order and newest first within a student
      */
-    public List<StudentApplication> searchApplications(String searchTerm) {
+    public List<StudentApplication> searchApplications(String searchTerm, int page, int size) {
         logger.info("Searching applications with term: {}", searchTerm);
-        return applicationRepository.searchByStudentDetails(searchTerm);
+        SearchIndexService.checkPage(page, size);
+        long skip = (long) page * size;
+        List<UUID> applicationIds = new ArrayList<>(size);
+        // Walk the ranked students a batch at a time; those without applications take no slots
+        for (int batch = 0; applicationIds.size() < size; batch++) {
+            SearchHits students = searchIndexService.search(
+                SearchIndexService.Kind.STUDENT, searchTerm, batch, SearchIndexService.MAX_PAGE_SIZE);
+            if (students.ids().isEmpty()) {
+                break;
+            }
+            List<UUID> batchIds = inStudentOrder(students.ids(), applicationRepository.findIdsByStudentIds(students.ids()));
+            int from = (int) Math.min(skip, batchIds.size());
+            skip -= from;
+            applicationIds.addAll(batchIds.subList(from, Math.min(batchIds.size(), from + size - applicationIds.size())));
+            if ((long) (batch + 1) * SearchIndexService.MAX_PAGE_SIZE >= students.total()) {
+                break;
+            }
+        }
+        if (applicationIds.isEmpty()) {
+            return List.of();
+        }
+        return SearchIndexService.inOrder(applicationIds, applicationRepository.findByIdsWithDetails(applicationIds),
+                                          StudentApplication::getApplicationId);
+    }
+    
+    // Application ids from [applicationId, studentId] rows, grouped by the students' order; rows keep theirs within a student
+    static List<UUID> inStudentOrder(List<UUID> studentIds, List<Object[]> rows) {
+        Map<UUID, List<UUID>> byStudent = new HashMap<>();
+        for (Object[] row : rows) {
+            byStudent.computeIfAbsent((UUID) row[1], studentId -> new ArrayList<>()).add((UUID) row[0]);
+        }
+        List<UUID> applicationIds = new ArrayList<>(rows.size());
+        for (UUID studentId : studentIds) {
+            applicationIds.addAll(byStudent.getOrDefault(studentId, List.of()));
+        }
+        return applicationIds;
     }
     
     /**
@@ -202,19 +298,26 @@ public class StudentApplicationService {
     /**
      * Get application statistics
      */
+    @Transactional(readOnly = true)
     public ApplicationStatistics getApplicationStatistics() {
         logger.info("Calculating application statistics");
         
-        long totalApplications = applicationRepository.count();
-        long appliedCount = applicationRepository.countByStatus(ApplicationStatus.APPLIED);
-        long underReviewCount = applicationRepository.countByStatus(ApplicationStatus.UNDER_REVIEW);
-        long interviewCount = applicationRepository.countByStatus(ApplicationStatus.INTERVIEW);
-        long acceptedCount = applicationRepository.countByStatus(ApplicationStatus.ACCEPTED);
-        long rejectedCount = applicationRepository.countByStatus(ApplicationStatus.REJECTED);
-        long completedCount = applicationRepository.countByStatus(ApplicationStatus.COMPLETED);
+        // Read from the maintained counters
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        long totalApplications = 0;
+        for (Map.Entry<String, Long> entry : entityCounterService
+                .getCounts(EntityCounterService.APPLICATION, EntityCounterService.STATUS).entrySet()) {
+            counts.put(ApplicationStatus.valueOf(entry.getKey()), entry.getValue());
+            totalApplications += entry.getValue();
+        }
         
-        return new ApplicationStatistics(totalApplications, appliedCount, underReviewCount, 
-                                       interviewCount, acceptedCount, rejectedCount, completedCount);
+        return new ApplicationStatistics(totalApplications,
+                                       counts.getOrDefault(ApplicationStatus.APPLIED, 0L),
+                                       counts.getOrDefault(ApplicationStatus.UNDER_REVIEW, 0L),
+                                       counts.getOrDefault(ApplicationStatus.INTERVIEW, 0L),
+                                       counts.getOrDefault(ApplicationStatus.ACCEPTED, 0L),
+                                       counts.getOrDefault(ApplicationStatus.REJECTED, 0L),
+                                       counts.getOrDefault(ApplicationStatus.COMPLETED, 0L));
     }
     
     /**
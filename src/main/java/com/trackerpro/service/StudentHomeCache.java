@@ -0,0 +1,311 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.CourseStatus;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentApplication;
+import com.trackerpro.repository.CourseRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import com.trackerpro.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived cache of what the student home page reads right after login:
+ * the student's profile, their application (with course) and the published
+ * course list. A successful student login prefetches it in the background, so
+ * the first page render is served from memory.
+ *
+ * Student and application writes evict the student's entry (again after commit),
+ * and course writes evict everything; other changes show up once the TTL expires.
+ */
+@Service
+public class StudentHomeCache implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentHomeCache.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor prefetchExecutor;
+    private final long ttlNanos;
+    private final int maxEntries;
+    
+    private final Map<UUID, StudentHome> homes = new ConcurrentHashMap<>();
+    private final AtomicReference<Timestamped<List<Course>>> availableCourses = new AtomicReference<>();
+    
+    // Bumped on every eviction; a prefetch that overlapped a write does not publish its result
+    private final AtomicLong studentGeneration = new AtomicLong();
+    private final AtomicLong courseGeneration = new AtomicLong();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder prefetches = new LongAdder();
+    private final LongAdder prefetchesDropped = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    @Autowired
+    public StudentHomeCache(PlatformTransactionManager transactionManager,
+                            @Value("${trackerpro.student-home-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${trackerpro.student-home-cache.max-entries:10000}") int maxEntries,
+                            @Value("${trackerpro.student-home-cache.prefetch-threads:2}") int prefetchThreads) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.prefetchExecutor = new ThreadPoolExecutor(
+            prefetchThreads, prefetchThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(256),
+            runnable -> {
+                Thread thread = new Thread(runnable, "student-home-prefetch-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
+    /**
+     * Load a student's home data in the background; dropped when the prefetch queue is full
+     */
+    public void prefetch(UUID studentId) {
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    loadHome(studentId);
+                    if (freshCourses() == null) {
+                        loadCourses();
+                    }
+                    prefetches.increment();
+                } catch (Exception e) {
+                    logger.warn("Prefetch failed for student {}: {}", studentId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            prefetchesDropped.increment();
+        }
+    }
+    
+    /**
+     * The student's profile, from the cache when fresh
+     */
+    public Optional<Student> getStudent(UUID studentId) {
+        return Optional.ofNullable(home(studentId).student);
+    }
+    
+    /**
+     * The student's application with its course loaded, from the cache when fresh
+     */
+    public Optional<StudentApplication> getApplication(UUID studentId) {
+        return Optional.ofNullable(home(studentId).application);
+    }
+    
+    /**
+     * Whether the student may still apply (has no application)
+     */
+    public boolean canApply(UUID studentId) {
+        return home(studentId).application == null;
+    }
+    
+    /**
+     * Published courses, from the cache when fresh
+     */
+    public List<Course> getAvailableCourses() {
+        List<Course> courses = freshCourses();
+        if (courses != null) {
+            hits.increment();
+            return courses;
+        }
+        misses.increment();
+        return loadCourses();
+    }
+    
+    /**
+     * Drop a student's cached home data; call from any write to the student or their application
+     */
+    public void evictStudent(UUID studentId) {
+        evictStudentNow(studentId);
+        TransactionHooks.afterCommit(() -> evictStudentNow(studentId));
+    }
+    
+    /**
+     * Drop the cached course list; call from any course write
+     */
+    public void evictCourses() {
+        evictCoursesNow();
+        TransactionHooks.afterCommit(this::evictCoursesNow);
+    }
+    
+    private StudentHome home(UUID studentId) {
+        StudentHome home = homes.get(studentId);
+        if (home != null && !isExpired(home.loadedAt)) {
+            hits.increment();
+            return home;
+        }
+        misses.increment();
+        return loadHome(studentId);
+    }
+    
+    private StudentHome loadHome(UUID studentId) {
+        long generation = studentGeneration.get();
+        StudentHome home = readOnlyTransaction.execute(status -> new StudentHome(
+            studentRepository.findById(studentId).orElse(null),
+            applicationRepository.findByStudentIdWithCourse(studentId).orElse(null),
+            System.nanoTime()
+        ));
+        
+        if (home.student != null && studentGeneration.get() == generation) {
+            if (homes.size() >= maxEntries) {
+                homes.values().removeIf(cached -> isExpired(cached.loadedAt));
+            }
+            if (homes.size() < maxEntries) {
+                homes.put(studentId, home);
+            }
+        }
+        return home;
+    }
+    
+    private List<Course> freshCourses() {
+        Timestamped<List<Course>> cached = availableCourses.get();
+        return cached != null && !isExpired(cached.loadedAt) ? cached.value : null;
+    }
+    
+    private List<Course> loadCourses() {
+        long generation = courseGeneration.get();
+        List<Course> courses = readOnlyTransaction.execute(status ->
+            List.copyOf(courseRepository.findByStatus(CourseStatus.PUBLISHED)));
+        
+        if (courseGeneration.get() == generation) {
+            availableCourses.set(new Timestamped<>(courses, System.nanoTime()));
+        }
+        return courses;
+    }
+    
+    private void evictStudentNow(UUID studentId) {
+        studentGeneration.incrementAndGet();
+        if (homes.remove(studentId) != null) {
+            evictions.increment();
+        }
+    }
+    
+    private void evictCoursesNow() {
+        courseGeneration.incrementAndGet();
+        if (availableCourses.getAndSet(null) != null) {
+            evictions.increment();
+        }
+        
+        // Cached applications embed course details too
+        studentGeneration.incrementAndGet();
+        homes.clear();
+    }
+    
+    private boolean isExpired(long loadedAt) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+    
+    /**
+     * Snapshot of cache effectiveness
+     */
+    public CacheStatistics getStatistics() {
+        CacheStatistics stats = new CacheStatistics();
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        stats.setHits(hitCount);
+        stats.setMisses(misses.sum());
+        stats.setHitRate(lookups == 0 ? 0 : (double) hitCount / lookups);
+        stats.setPrefetches(prefetches.sum());
+        stats.setPrefetchesDropped(prefetchesDropped.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setCachedStudents(homes.size());
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+    
+    private static final class StudentHome {
+        private final Student student;
+        private final StudentApplication application;
+        private final long loadedAt;
+        
+        private StudentHome(Student student, StudentApplication application, long loadedAt) {
+            this.student = student;
+            this.application = application;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    private static final class Timestamped<T> {
+        private final T value;
+        private final long loadedAt;
+        
+        private Timestamped(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    // Inner class for statistics
+    public static class CacheStatistics {
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long prefetches;
+        private long prefetchesDropped;
+        private long evictions;
+        private int cachedStudents;
+        
+        // Getters and Setters
+        public long getHits() { return hits; }
+        public void setHits(long hits) { this.hits = hits; }
+        
+        public long getMisses() { return misses; }
+        public void setMisses(long misses) { this.misses = misses; }
+        
+        public double getHitRate() { return hitRate; }
+        public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+        
+        public long getPrefetches() { return prefetches; }
+        public void setPrefetches(long prefetches) { this.prefetches = prefetches; }
+        
+        public long getPrefetchesDropped() { return prefetchesDropped; }
+        public void setPrefetchesDropped(long prefetchesDropped) { this.prefetchesDropped = prefetchesDropped; }
+        
+        public long getEvictions() { return evictions; }
+        public void setEvictions(long evictions) { this.evictions = evictions; }
+        
+        public int getCachedStudents() { return cachedStudents; }
+        public void setCachedStudents(int cachedStudents) { this.cachedStudents = cachedStudents; }
+    }
+}
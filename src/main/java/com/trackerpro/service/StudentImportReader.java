@@ -0,0 +1,171 @@
+package com.trackerpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackerpro.dto.StudentRegistrationRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads {@link StudentRegistrationRequest} rows one line at a time from a CSV
+ * or NDJSON stream, so imports never hold more than the current chunk in memory.
+ *
+ * CSV files need a header row naming the request fields (firstName, lastName,
+ * gender, dob, location, mobileNo, email, password, age) in any order. Fields may
+ * be double-quoted, but a record must fit on one line.
+ */
+public class StudentImportReader {
+    
+    public enum Format {
+        CSV, NDJSON;
+        
+        /**
+         * Pick the format from a request content type, defaulting to NDJSON
+         */
+        public static Format fromContentType(String contentType) {
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? CSV : NDJSON;
+        }
+    }
+    
+    /**
+     * One input row: either a parsed request or the reason it could not be parsed
+     */
+    public record Row(long rowNumber, StudentRegistrationRequest request, String error) {
+        
+        public String email() {
+            return request == null ? null : request.getEmail();
+        }
+    }
+    
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long rowNumber;
+    
+    public StudentImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Read up to maxRows rows; an empty list means the input is exhausted
+     */
+    public List<Row> nextChunk(int maxRows) {
+        List<Row> chunk = new ArrayList<>(maxRows);
+        try {
+            String line;
+            while (chunk.size() < maxRows && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = readHeader(line);
+                    continue;
+                }
+                rowNumber++;
+                chunk.add(format == Format.CSV ? parseCsv(line) : parseJson(line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file", e);
+        }
+        return chunk;
+    }
+    
+    private Row parseJson(String line) {
+        try {
+            return new Row(rowNumber, objectMapper.readValue(line, StudentRegistrationRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(rowNumber, null, "Malformed JSON row");
+        }
+    }
+    
+    private Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+    
+    private Row parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return new Row(rowNumber, null, "Malformed CSV row");
+        }
+        
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName(column(values, "firstname"));
+        request.setLastName(column(values, "lastname"));
+        request.setGender(column(values, "gender"));
+        request.setDob(column(values, "dob"));
+        request.setLocation(column(values, "location"));
+        request.setMobileNo(column(values, "mobileno"));
+        request.setEmail(column(values, "email"));
+        request.setPassword(column(values, "password"));
+        
+        String age = column(values, "age");
+        if (age != null) {
+            try {
+                request.setAge(Integer.valueOf(age));
+            } catch (NumberFormatException e) {
+                return new Row(rowNumber, request, "Age must be a number");
+            }
+        }
+        return new Row(rowNumber, request, null);
+    }
+    
+    private String column(List<String> values, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * Split a CSV line, honouring double quotes and "" escapes; null if a quote is left open
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        
+        if (quoted) {
+            return null;
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,283 @@
+package com.trackerpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackerpro.config.PooledPasswordEncoder;
+import com.trackerpro.dto.StudentImportResult;
+import com.trackerpro.dto.StudentImportSummary;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentStatus;
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.TrendSeries;
+import com.trackerpro.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk student registration. The input is processed in fixed-size chunks: rows are
+ * validated in parallel, duplicates are found with one query per chunk, passwords
+ * are hashed across the hashing pool and the chunk is inserted in one batched
+ * transaction. Results are handed to the caller row by row, so memory use does not
+ * grow with the size of the file.
+ */
+@Service
+public class StudentImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
+    @Autowired
+    private PooledPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    @Autowired
+    public StudentImportService(PlatformTransactionManager transactionManager,
+                                @Value("${trackerpro.student-import.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+    
+    /**
+     * Import every row of a CSV or NDJSON stream, reporting each row's outcome in input order
+     */
+    public StudentImportSummary importStudents(BufferedReader input, StudentImportReader.Format format,
+                                               Consumer<StudentImportResult> resultSink) {
+        long started = System.currentTimeMillis();
+        StudentImportReader reader = new StudentImportReader(input, format, objectMapper);
+        long totalRows = 0;
+        long imported = 0;
+        
+        List<StudentImportReader.Row> chunk;
+        while (!(chunk = reader.nextChunk(chunkSize)).isEmpty()) {
+            for (StudentImportResult result : importChunk(chunk)) {
+                totalRows++;
+                if (result.isSuccess()) {
+                    imported++;
+                }
+                resultSink.accept(result);
+            }
+        }
+        
+        long elapsed = System.currentTimeMillis() - started;
+        logger.info("Imported {} of {} students in {} ms", imported, totalRows, elapsed);
+        return new StudentImportSummary(totalRows, imported, totalRows - imported, elapsed);
+    }
+    
+    private StudentImportResult[] importChunk(List<StudentImportReader.Row> chunk) {
+        StudentImportResult[] results = new StudentImportResult[chunk.size()];
+        
+        // Validate rows in parallel; a null result means the row is still a candidate
+        IntStream.range(0, chunk.size()).parallel().forEach(i -> results[i] = validate(chunk.get(i)));
+        
+        rejectDuplicates(chunk, results);
+        
+        // Build entities, then hash all passwords of the chunk across the hashing pool
+        List<Integer> candidates = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        List<String> rawPasswords = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            StudentImportReader.Row row = chunk.get(i);
+            try {
+                students.add(toStudent(row.request()));
+                rawPasswords.add(row.request().getPassword());
+                candidates.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = StudentImportResult.failure(row.rowNumber(), row.email(), "Invalid gender value provided.");
+            }
+        }
+        
+        if (!students.isEmpty()) {
+            List<String> hashes = passwordEncoder.encodeAll(rawPasswords);
+            for (int i = 0; i < students.size(); i++) {
+                students.get(i).setPassword(hashes.get(i));
+            }
+            insert(chunk, candidates, students, results);
+        }
+        return results;
+    }
+    
+    private StudentImportResult validate(StudentImportReader.Row row) {
+        if (row.error() != null) {
+            return StudentImportResult.failure(row.rowNumber(), row.email(), row.error());
+        }
+        
+        Set<ConstraintViolation<StudentRegistrationRequest>> violations = validator.validate(row.request());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String message = violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+        return StudentImportResult.failure(row.rowNumber(), row.email(), message);
+    }
+    
+    /**
+     * Reject rows repeating an email of the same chunk, or of an existing student.
+     * Earlier chunks are already committed, so the query also catches repeats across chunks.
+     */
+    private void rejectDuplicates(List<StudentImportReader.Row> chunk, StudentImportResult[] results) {
+        Map<String, Integer> rowByEmail = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            StudentImportReader.Row row = chunk.get(i);
+            if (rowByEmail.putIfAbsent(PrincipalDirectoryService.normalize(row.email()), i) != null) {
+                results[i] = StudentImportResult.failure(row.rowNumber(), row.email(),
+                                                         "Email appears more than once in the import.");
+            }
+        }
+        
+        List<String> possiblyRegistered = rowByEmail.keySet().stream()
+            .filter(emailExistenceFilter::mightExist)
+            .toList();
+        if (possiblyRegistered.isEmpty()) {
+            return;
+        }
+        
+        Set<String> registered = new HashSet<>(studentRepository.findExistingEmails(possiblyRegistered));
+        for (String email : possiblyRegistered) {
+            boolean exists = registered.contains(email);
+            emailExistenceFilter.recordOutcome(exists);
+            if (exists) {
+                StudentImportReader.Row row = chunk.get(rowByEmail.get(email));
+                results[rowByEmail.get(email)] = StudentImportResult.failure(row.rowNumber(), row.email(),
+                        "Email already exists. Please use a different email.");
+            }
+        }
+    }
+    
+    private void insert(List<StudentImportReader.Row> chunk, List<Integer> candidates, List<Student> students,
+                        StudentImportResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                studentRepository.saveAll(students);
+                principalDirectoryService.addStudents(students);
+                students.forEach(registrationFacetIndex::studentSaved);
+                entityCounterService.add(EntityCounterService.STUDENT, EntityCounterService.STATUS,
+                                         StudentStatus.REGISTERED, students.size());
+                trendRollupService.record(TrendSeries.REGISTRATIONS, null, students.size());
+                students.forEach(student -> distinctCountService.record(
+                    DistinctMetric.STUDENT_LOCATIONS, null, null, student.getLocation()));
+                detach();
+            });
+            for (int i = 0; i < students.size(); i++) {
+                StudentImportReader.Row row = chunk.get(candidates.get(i));
+                results[candidates.get(i)] = StudentImportResult.success(
+                    row.rowNumber(), row.email(), students.get(i).getStudentId().toString());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // Most likely a concurrent registration took one of the emails; retry the chunk row
+            // by row so only the failing rows are rejected, each with its own reason
+            logger.warn("Batch insert failed, retrying rows individually: {}", e.getMessage());
+            for (int i = 0; i < students.size(); i++) {
+                results[candidates.get(i)] = insertOne(chunk.get(candidates.get(i)), students.get(i));
+            }
+        }
+    }
+    
+    private StudentImportResult insertOne(StudentImportReader.Row row, Student student) {
+        student.setStudentId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                studentRepository.save(student);
+                principalDirectoryService.addStudents(List.of(student));
+                registrationFacetIndex.studentSaved(student);
+                entityCounterService.increment(EntityCounterService.STUDENT, EntityCounterService.STATUS,
+                                               StudentStatus.REGISTERED);
+                trendRollupService.record(TrendSeries.REGISTRATIONS, null, 1);
+                distinctCountService.record(DistinctMetric.STUDENT_LOCATIONS, null, null, student.getLocation());
+                detach();
+            });
+            return StudentImportResult.success(row.rowNumber(), row.email(), student.getStudentId().toString());
+        } catch (DataIntegrityViolationException e) {
+            // The unique email constraint; the pre-check missed a concurrent registration
+            return StudentImportResult.failure(row.rowNumber(), row.email(),
+                                               "Email already exists. Please use a different email.");
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Import of row {} failed", row.rowNumber(), e);
+            return StudentImportResult.failure(row.rowNumber(), row.email(),
+                                               "Registration failed: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+    
+    // Write the inserts, raising constraint violations here, then keep the persistence
+    // context from growing across chunks; must run inside the transaction to have any effect
+    private void detach() {
+        studentRepository.flush();
+        entityManager.clear();
+    }
+    
+    private Student toStudent(StudentRegistrationRequest request) {
+        Student student = new Student();
+        student.setFirstName(request.getFirstName());
+        student.setLastName(request.getLastName());
+        student.setEmail(request.getEmail());
+        student.setGender(Gender.fromString(request.getGender()));
+        student.setDateOfBirth(request.getDob());
+        student.setAge(request.getAge());
+        student.setLocation(request.getLocation());
+        student.setMobileNo(request.getMobileNo());
+        student.setStatus(StudentStatus.REGISTERED);
+        return student;
+    }
+}
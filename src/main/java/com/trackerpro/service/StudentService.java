@@ -1,23 +1,27 @@
 package com.trackerpro.service;
 
+import com.trackerpro.entity.PrincipalEntry;
 import com.trackerpro.entity.Student;
 import com.trackerpro.entity.StudentStatus;
 import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.TrendSeries;
 import com.trackerpro.repository.StudentRepository;
 import com.trackerpro.dto.StudentRegistrationRequest;
 import com.trackerpro.dto.RegistrationResponse;
-import com.trackerpro.dto.LoginRequest;
 import com.trackerpro.dto.LoginResponse;
 import com.trackerpro.exception.DuplicateEmailException;
+import com.trackerpro.exception.OverloadedException;
 import com.trackerpro.exception.StudentNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -27,16 +31,43 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
     /**
      * Register a new student
      */
     public RegistrationResponse registerStudent(StudentRegistrationRequest request) {
         try {
             // Check if email already exists
-            if (studentRepository.existsByEmailIgnoreCase(request.getEmail())) {
+            if (emailExistenceFilter.exists(request.getEmail(), () -> studentRepository.existsByEmailIgnoreCase(request.getEmail()))) {
                 return RegistrationResponse.failure("Email already exists. Please use a different email.");
             }
             
@@ -55,12 +86,21 @@ public class StudentService {
             
             // Save student
             Student savedStudent = studentRepository.save(student);
+            principalDirectoryService.syncStudent(savedStudent);
+            registrationFacetIndex.studentSaved(savedStudent);
+            entityCounterService.increment(EntityCounterService.STUDENT, EntityCounterService.STATUS, savedStudent.getStatus());
+            trendRollupService.record(TrendSeries.REGISTRATIONS, savedStudent.getRegisteredAt(), 1);
+            distinctCountService.record(DistinctMetric.STUDENT_LOCATIONS, null,
+                                        savedStudent.getRegisteredAt(), savedStudent.getLocation());
+            eventPublisher.publishEvent(DashboardEventHub.registration(savedStudent));
             
             return RegistrationResponse.success(
                 "Registration successful! Welcome to TrackerPro.", 
                 savedStudent.getStudentId().toString()
             );
             
+        } catch (OverloadedException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             return RegistrationResponse.failure("Invalid gender value provided.");
         } catch (Exception e) {
@@ -69,36 +109,34 @@ public class StudentService {
     }
     
     /**
-     * Authenticate student login
+     * Authenticate student login against a resolved principal directory entry
      */
-    public LoginResponse authenticateStudent(LoginRequest loginRequest) {
+    public LoginResponse authenticateStudent(PrincipalEntry entry, String rawPassword) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmailIgnoreCase(loginRequest.getEmail());
-            if (studentOpt.isPresent()) {
-                Student student = studentOpt.get();
-                
-                // Check if student is active
-                if (student.getStatus() == StudentStatus.SUSPENDED) {
-                    return LoginResponse.failure("Account is suspended. Please contact administrator.");
-                }
+            // Check if student is active
+            if (!entry.isLoginAllowed()) {
+                return LoginResponse.failure("Account is suspended. Please contact administrator.");
+            }
+            
+            // Verify password
+            if (passwordEncoder.matches(rawPassword, entry.getPasswordHash())) {
+                LoginResponse.UserInfo studentInfo = new LoginResponse.UserInfo(
+                    entry.getPrincipalId().toString(),
+                    entry.getFirstName(),
+                    entry.getLastName(),
+                    entry.getEmail(),
+                    "STUDENT"
+                );
                 
-                // Verify password
-                if (passwordEncoder.matches(loginRequest.getPassword(), student.getPassword())) {
-                    LoginResponse.UserInfo studentInfo = new LoginResponse.UserInfo(
-                        student.getStudentId().toString(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getEmail(),
-                        "STUDENT"
-                    );
-                    return LoginResponse.success("STUDENT", studentInfo);
-                } else {
-                    return LoginResponse.failure("Invalid email or password");
-                }
+                // Warm the data the student home page loads next
+                studentHomeCache.prefetch(entry.getPrincipalId());
+                return LoginResponse.success("STUDENT", studentInfo);
             }
             
             return LoginResponse.failure("Invalid email or password");
             
+        } catch (OverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.failure("Login failed. Please try again.");
         }
@@ -119,10 +157,12 @@ public class StudentService {
     }
     
     /**
-     * Search students
+     * Search students by name or email; one ranked page from the search index, falling back to
+     * typo-tolerant matching when nothing contains the term
      */
-    public List<Student> searchStudents(String searchTerm) {
-        return studentRepository.searchStudents(searchTerm);
+    public List<Student> searchStudents(String searchTerm, int page, int size) {
+        List<UUID> ids = searchIndexService.searchOrFuzzy(SearchIndexService.Kind.STUDENT, searchTerm, page, size).ids();
+        return SearchIndexService.inOrder(ids, studentRepository.findAllById(ids), Student::getStudentId);
     }
     
     /**
@@ -149,11 +189,13 @@ public class StudentService {
         
         // Check if email is being changed and if new email exists
         if (!existingStudent.getEmail().equalsIgnoreCase(updatedStudent.getEmail())) {
-            if (studentRepository.existsByEmailIgnoreCase(updatedStudent.getEmail())) {
+            if (emailExistenceFilter.exists(updatedStudent.getEmail(), () -> studentRepository.existsByEmailIgnoreCase(updatedStudent.getEmail()))) {
                 throw new DuplicateEmailException("Email already exists: " + updatedStudent.getEmail());
             }
         }
         
+        StudentStatus oldStatus = existingStudent.getStatus();
+        
         // Update fields
         existingStudent.setFirstName(updatedStudent.getFirstName());
         existingStudent.setLastName(updatedStudent.getLastName());
@@ -170,7 +212,12 @@ public class StudentService {
             existingStudent.setPassword(passwordEncoder.encode(updatedStudent.getPassword()));
         }
         
-        return studentRepository.save(existingStudent);
+        Student savedStudent = studentRepository.save(existingStudent);
+        principalDirectoryService.syncStudent(savedStudent);
+        registrationFacetIndex.studentSaved(savedStudent);
+        entityCounterService.move(EntityCounterService.STUDENT, EntityCounterService.STATUS, oldStatus, savedStudent.getStatus());
+        studentHomeCache.evictStudent(studentId);
+        return savedStudent;
     }
     
     /**
@@ -179,21 +226,30 @@ public class StudentService {
     public void deleteStudent(UUID studentId) {
         Student student = getStudentById(studentId);
         studentRepository.delete(student);
+        principalDirectoryService.removePrincipal(studentId);
+        registrationFacetIndex.studentDeleted(studentId);
+        entityCounterService.decrement(EntityCounterService.STUDENT, EntityCounterService.STATUS, student.getStatus());
+        trendRollupService.record(TrendSeries.REGISTRATIONS, student.getRegisteredAt(), -1);
+        studentHomeCache.evictStudent(studentId);
     }
     
     /**
      * Get student statistics
      */
+    @Transactional(readOnly = true)
     public StudentStatistics getStudentStatistics() {
         StudentStatistics stats = new StudentStatistics();
-        stats.setTotalStudents(studentRepository.count());
-        stats.setRegisteredStudents(studentRepository.countByStatus(StudentStatus.REGISTERED));
-        stats.setEnrolledStudents(studentRepository.countByStatus(StudentStatus.ENROLLED));
-        stats.setCompletedStudents(studentRepository.countByStatus(StudentStatus.COMPLETED));
         
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        stats.setNewStudentsThisWeek(studentRepository.countStudentsRegisteredThisWeek(weekAgo));
+        // Status counts come from the maintained counters
+        Map<String, Long> byStatus = entityCounterService.getCounts(EntityCounterService.STUDENT, EntityCounterService.STATUS);
+        stats.setTotalStudents(byStatus.values().stream().mapToLong(Long::longValue).sum());
+        stats.setRegisteredStudents(byStatus.getOrDefault(StudentStatus.REGISTERED.name(), 0L));
+        stats.setEnrolledStudents(byStatus.getOrDefault(StudentStatus.ENROLLED.name(), 0L));
+        stats.setCompletedStudents(byStatus.getOrDefault(StudentStatus.COMPLETED.name(), 0L));
         
+        // Summed from the hourly registration buckets
+        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
+        stats.setNewStudentsThisWeek(trendRollupService.countSince(TrendSeries.REGISTRATIONS, weekAgo));
         return stats;
     }
     
@@ -0,0 +1,163 @@
+package com.trackerpro.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, lock-free table of token buckets keyed by string.
+ *
+ * Each key hashes (with a per-instance seed) to a short probe run of slots. Bucket
+ * state is immutable and swapped in with compare-and-set, so concurrent attempts
+ * never block each other. A bucket that has refilled completely is
+ * indistinguishable from a fresh one, so it counts as expired and its slot is
+ * reused lazily; memory is therefore fixed at {@code slots} entries no matter how
+ * many distinct keys are seen.
+ */
+public class TokenBucketTable {
+    
+    private static final int PROBE_LENGTH = 4;
+    
+    private final AtomicReferenceArray<Bucket> slots;
+    private final int mask;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long seed;
+    private final LongSupplier nanoClock;
+    
+    public TokenBucketTable(int slots, double capacity, double refillPerMinute) {
+        this(slots, capacity, refillPerMinute, System::nanoTime);
+    }
+    
+    TokenBucketTable(int slots, double capacity, double refillPerMinute, LongSupplier nanoClock) {
+        int size = Integer.highestOneBit(Math.max(PROBE_LENGTH, slots - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.seed = Double.doubleToLongBits(Math.random()) ^ System.nanoTime();
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        long keyHash = hash(key);
+        int base = (int) (keyHash ^ (keyHash >>> 32)) & mask;
+        
+        while (true) {
+            long now = nanoClock.getAsLong();
+            int victim = -1;
+            Bucket victimBucket = null;
+            double victimTokens = -1;
+            boolean retry = false;
+            
+            for (int probe = 0; probe < PROBE_LENGTH && !retry; probe++) {
+                int index = (base + probe) & mask;
+                Bucket bucket = slots.get(index);
+                
+                if (bucket != null && bucket.keyHash == keyHash) {
+                    double tokens = refill(bucket, now);
+                    if (tokens < 1) {
+                        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    }
+                    if (slots.compareAndSet(index, bucket, new Bucket(keyHash, tokens - 1, now))) {
+                        return 0;
+                    }
+                    retry = true;
+                    continue;
+                }
+                
+                double tokens = bucket == null ? capacity : refill(bucket, now);
+                if (victimTokens >= capacity) {
+                    // Already found an empty or expired slot; keep scanning only for our own key
+                    continue;
+                }
+                // Prefer an empty or fully refilled (expired) slot, otherwise evict the fullest live bucket
+                if (tokens > victimTokens) {
+                    victim = index;
+                    victimBucket = bucket;
+                    victimTokens = tokens;
+                }
+            }
+            
+            if (!retry && slots.compareAndSet(victim, victimBucket, new Bucket(keyHash, capacity - 1, now))) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Give back a token taken for the key (up to capacity); a no-op once its bucket has
+     * been evicted
+     */
+    public void refund(String key) {
+        long keyHash = hash(key);
+        int base = (int) (keyHash ^ (keyHash >>> 32)) & mask;
+        
+        for (int probe = 0; probe < PROBE_LENGTH; probe++) {
+            int index = (base + probe) & mask;
+            while (true) {
+                Bucket bucket = slots.get(index);
+                if (bucket == null || bucket.keyHash != keyHash) {
+                    break;
+                }
+                long now = nanoClock.getAsLong();
+                double tokens = Math.min(capacity, refill(bucket, now) + 1);
+                if (slots.compareAndSet(index, bucket, new Bucket(keyHash, tokens, now))) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Number of slots holding a bucket that has not fully refilled yet
+     */
+    public int liveBuckets() {
+        long now = nanoClock.getAsLong();
+        int live = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            Bucket bucket = slots.get(i);
+            if (bucket != null && refill(bucket, now) < capacity) {
+                live++;
+            }
+        }
+        return live;
+    }
+    
+    public int getSlotCount() {
+        return slots.length();
+    }
+    
+    private double refill(Bucket bucket, long now) {
+        return Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+    }
+    
+    // Seeded 64-bit FNV-1a with a final avalanche, so colliding keys cannot be precomputed
+    private long hash(String key) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private static final class Bucket {
+        private final long keyHash;
+        private final double tokens;
+        private final long updatedAt;
+        
+        private Bucket(long keyHash, double tokens, long updatedAt) {
+            this.keyHash = keyHash;
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.TrendPoint;
+import com.trackerpro.entity.TrendBucket;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.entity.TrendSeries;
+import com.trackerpro.repository.ComplaintRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import com.trackerpro.repository.StudentRepository;
+import com.trackerpro.repository.TrendBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Hourly, daily and weekly counts of registrations, applications and complaints.
+ * Every insert adds one to its three buckets in the writer's transaction, so
+ * trend queries and "new this week" read a few bucket rows instead of scanning
+ * the base tables. Bucket rows are created ahead of the update in their own
+ * transaction, as for {@link EntityCounterService}.
+ *
+ * Compaction drops hourly buckets after a few weeks and daily buckets after a
+ * couple of years; the coarser buckets already hold the same events. A series
+ * with no buckets at all (first start, or a new series) is rebuilt from its
+ * base table once.
+ */
+@Service
+public class TrendRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TrendRollupService.class);
+    
+    // Hourly buckets back the weekly count, so at least this much is always kept
+    private static final int MIN_HOURLY_RETENTION_DAYS = 8;
+    
+    private static final int MAX_POINTS = 2000;
+    private static final int MAX_PROVISIONED_KEYS = 10_000;
+    
+    @Autowired
+    private TrendBucketRepository bucketRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private final int hourlyRetentionDays;
+    private final int dailyRetentionDays;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    
+    // Buckets known to exist; only recent buckets are written, so this is cleared when it grows
+    private final Set<String> provisionedBuckets = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public TrendRollupService(PlatformTransactionManager transactionManager,
+                              @Value("${trackerpro.trends.hourly-retention-days:35}") int hourlyRetentionDays,
+                              @Value("${trackerpro.trends.daily-retention-days:730}") int dailyRetentionDays) {
+        this.hourlyRetentionDays = Math.max(MIN_HOURLY_RETENTION_DAYS, hourlyRetentionDays);
+        this.dailyRetentionDays = Math.max(this.hourlyRetentionDays, dailyRetentionDays);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Count delta events of a series at the given time (now when null) in all granularities.
+     * A negative delta (the row was deleted) only adjusts buckets that still exist.
+     */
+    public void record(TrendSeries series, LocalDateTime time, long delta) {
+        LocalDateTime eventTime = time != null ? time : LocalDateTime.now();
+        if (delta > 0) {
+            for (TrendGranularity granularity : TrendGranularity.values()) {
+                provision(series, granularity, granularity.bucketStart(eventTime));
+            }
+        }
+        
+        // Joins the caller's transaction when there is one
+        transaction.executeWithoutResult(status -> {
+            for (TrendGranularity granularity : TrendGranularity.values()) {
+                LocalDateTime bucketStart = granularity.bucketStart(eventTime);
+                if (bucketRepository.addToBucket(series, granularity, bucketStart, delta) == 0) {
+                    // Removed by compaction meanwhile; an event that old is not worth a bucket
+                    provisionedBuckets.remove(keyOf(series, granularity, bucketStart));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Time series of one series in [from, to), one point per bucket including empty ones
+     */
+    public List<TrendPoint> getSeries(TrendSeries series, TrendGranularity granularity,
+                                      LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = granularity.bucketStart(from);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        LocalDateTime retainedSince = retainedSince(granularity, LocalDateTime.now());
+        if (retainedSince != null && start.isBefore(retainedSince)) {
+            throw new IllegalArgumentException(granularity.getDisplayName() + " trends are kept for "
+                + (granularity == TrendGranularity.HOUR ? hourlyRetentionDays : dailyRetentionDays) + " days");
+        }
+        
+        Map<LocalDateTime, Long> counts = new HashMap<>();
+        for (TrendBucket bucket : bucketRepository.findRange(series, granularity, start, to)) {
+            counts.put(bucket.getBucketStart(), bucket.getBucketCount());
+        }
+        
+        List<TrendPoint> points = new ArrayList<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            if (points.size() == MAX_POINTS) {
+                throw new IllegalArgumentException("Range has more than " + MAX_POINTS + " "
+                    + granularity.getDisplayName().toLowerCase() + " points");
+            }
+            points.add(new TrendPoint(bucket, counts.getOrDefault(bucket, 0L)));
+        }
+        return points;
+    }
+    
+    /**
+     * Events of a series since the given time, to hourly precision
+     */
+    public long countSince(TrendSeries series, LocalDateTime since) {
+        return bucketRepository.sumSince(series, TrendGranularity.HOUR, TrendGranularity.HOUR.bucketStart(since));
+    }
+    
+    /**
+     * Drop hourly and daily buckets past their retention; returns the number removed
+     */
+    @Scheduled(cron = "${trackerpro.trends.compaction-cron:0 15 3 * * *}")
+    public int compact() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer removed = transaction.execute(status ->
+            bucketRepository.deleteOlderThan(TrendGranularity.HOUR, retainedSince(TrendGranularity.HOUR, now))
+            + bucketRepository.deleteOlderThan(TrendGranularity.DAY, retainedSince(TrendGranularity.DAY, now)));
+        provisionedBuckets.clear();
+        
+        if (removed != null && removed > 0) {
+            logger.info("Trend compaction removed {} buckets", removed);
+        }
+        return removed == null ? 0 : removed;
+    }
+    
+    /**
+     * Build the buckets of every series that has none from its base table
+     */
+    public void rebuildEmptySeries() {
+        for (TrendSeries series : TrendSeries.values()) {
+            transaction.executeWithoutResult(status -> {
+                if (bucketRepository.existsBySeries(series)) {
+                    return;
+                }
+                
+                Map<TrendGranularity, Map<LocalDateTime, Long>> buckets = new EnumMap<>(TrendGranularity.class);
+                LocalDateTime now = LocalDateTime.now();
+                try (Stream<LocalDateTime> times = streamTimes(series)) {
+                    Iterator<LocalDateTime> iterator = times.iterator();
+                    while (iterator.hasNext()) {
+                        LocalDateTime time = iterator.next();
+                        if (time == null) {
+                            continue;
+                        }
+                        for (TrendGranularity granularity : TrendGranularity.values()) {
+                            LocalDateTime retainedSince = retainedSince(granularity, now);
+                            LocalDateTime bucketStart = granularity.bucketStart(time);
+                            if (retainedSince == null || !bucketStart.isBefore(retainedSince)) {
+                                buckets.computeIfAbsent(granularity, key -> new HashMap<>())
+                                       .merge(bucketStart, 1L, Long::sum);
+                            }
+                        }
+                    }
+                }
+                
+                List<TrendBucket> rows = new ArrayList<>();
+                buckets.forEach((granularity, counts) -> counts.forEach((bucketStart, count) ->
+                    rows.add(new TrendBucket(series, granularity, bucketStart, count))));
+                bucketRepository.saveAll(rows);
+                logger.info("Rebuilt {} {} trend buckets", rows.size(), series.name().toLowerCase());
+            });
+        }
+    }
+    
+    private Stream<LocalDateTime> streamTimes(TrendSeries series) {
+        return switch (series) {
+            case REGISTRATIONS -> studentRepository.streamRegisteredAt();
+            case APPLICATIONS -> applicationRepository.streamAppliedAt();
+            case COMPLAINTS -> complaintRepository.streamCreatedAt();
+        };
+    }
+    
+    /**
+     * Oldest bucket start still kept for a granularity, or null if kept forever
+     */
+    private LocalDateTime retainedSince(TrendGranularity granularity, LocalDateTime now) {
+        return switch (granularity) {
+            case HOUR -> TrendGranularity.HOUR.bucketStart(now.minusDays(hourlyRetentionDays));
+            case DAY -> TrendGranularity.DAY.bucketStart(now.minusDays(dailyRetentionDays));
+            case WEEK -> null;
+        };
+    }
+    
+    private void provision(TrendSeries series, TrendGranularity granularity, LocalDateTime bucketStart) {
+        String key = keyOf(series, granularity, bucketStart);
+        if (provisionedBuckets.contains(key)) {
+            return;
+        }
+        
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!bucketRepository.existsBySeriesAndGranularityAndBucketStart(series, granularity, bucketStart)) {
+                    bucketRepository.save(new TrendBucket(series, granularity, bucketStart, 0));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the same bucket concurrently
+            logger.debug("Trend bucket {} provisioned concurrently", key);
+        }
+        
+        if (provisionedBuckets.size() >= MAX_PROVISIONED_KEYS) {
+            provisionedBuckets.clear();
+        }
+        provisionedBuckets.add(key);
+    }
+    
+    private static String keyOf(TrendSeries series, TrendGranularity granularity, LocalDateTime bucketStart) {
+        return series.name() + '|' + granularity.name() + '|' + bucketStart;
+    }
+}
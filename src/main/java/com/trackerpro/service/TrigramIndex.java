@@ -0,0 +1,231 @@
+package com.trackerpro.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Trigram inverted index over a few short text fields per document (names, emails),
+ * answering the same case-insensitive substring matches as LOWER(col) LIKE '%term%'.
+ *
+ * Every document gets an int ordinal and every three-character sequence of its
+ * fields a posting bitmap of ordinals. A term of three or more characters is looked
+ * up by intersecting the postings of its trigrams, smallest first, and the few
+ * candidates left are checked against the stored text; shorter terms have no
+ * trigram and scan the stored text of every document instead.
+ *
+ * Hits are ranked by how the term matches: a whole field, the start of a field,
+ * the start of a word, then anywhere; within a rank newer documents come first.
+ *
+ * Not thread-safe; callers guard an index with their own lock.
+ */
+public class TrigramIndex {
+    
+    // Joins the fields of a document; stripped from search terms, so no match can span two fields
+    private static final char SEPARATOR = '\u0001';
+    
+    private static final int EXACT = 4;
+    private static final int FIELD_PREFIX = 3;
+    private static final int WORD_PREFIX = 2;
+    private static final int INFIX = 1;
+    
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<Long, CompressedBitmap> postings = new HashMap<>();
+    private final CompressedBitmap live = new CompressedBitmap();
+    
+    // Indexed by ordinal; null once the document is removed
+    private UUID[] ids = new UUID[64];
+    private String[] texts = new String[64];
+    private int nextOrdinal;
+    
+    /**
+     * Add or replace a document; null fields are skipped
+     */
+    public void put(UUID id, String... fields) {
+        String text = textOf(fields);
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) {
+            if (text.equals(texts[ordinal])) {
+                return;
+            }
+            unindex(ordinal);
+        } else {
+            ordinal = nextOrdinal++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ordinal * 2);
+                texts = Arrays.copyOf(texts, ordinal * 2);
+            }
+            ordinals.put(id, ordinal);
+            ids[ordinal] = id;
+            live.add(ordinal);
+        }
+        
+        texts[ordinal] = text;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = trigramAt(text, i);
+            if (trigram >= 0) {
+                postings.computeIfAbsent(trigram, key -> new CompressedBitmap()).add(ordinal);
+            }
+        }
+    }
+    
+    public void remove(UUID id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            unindex(ordinal);
+            live.remove(ordinal);
+            ids[ordinal] = null;
+            texts[ordinal] = null;
+        }
+    }
+    
+    /**
+     * One page of the documents matching the term, best matches first
+     */
+    public SearchHits search(String term, int page, int size) {
+        String needle = term == null ? "" : normalize(term).replace(String.valueOf(SEPARATOR), "");
+        if (needle.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+        
+        CompressedBitmap candidates = needle.length() < 3 ? live : candidatesOf(needle);
+        if (candidates == null) {
+            return new SearchHits(0, List.of());
+        }
+        
+        // Ordinals by rank, each filled newest first
+        int[][] ranked = new int[EXACT + 1][];
+        int[] counts = new int[EXACT + 1];
+        candidates.forEachDescending(ordinal -> {
+            int rank = rankOf(texts[ordinal], needle);
+            if (rank > 0) {
+                if (ranked[rank] == null) {
+                    ranked[rank] = new int[16];
+                } else if (counts[rank] == ranked[rank].length) {
+                    ranked[rank] = Arrays.copyOf(ranked[rank], counts[rank] * 2);
+                }
+                ranked[rank][counts[rank]++] = ordinal;
+            }
+            return true;
+        });
+        
+        long total = Arrays.stream(counts).asLongStream().sum();
+        long skip = (long) page * size;
+        List<UUID> pageIds = new ArrayList<>(size);
+        for (int rank = EXACT; rank >= INFIX && pageIds.size() < size; rank--) {
+            if (skip >= counts[rank]) {
+                skip -= counts[rank];
+                continue;
+            }
+            for (int i = (int) skip; i < counts[rank] && pageIds.size() < size; i++) {
+                pageIds.add(ids[ranked[rank][i]]);
+            }
+            skip = 0;
+        }
+        return new SearchHits(total, pageIds);
+    }
+    
+    public int size() {
+        return ordinals.size();
+    }
+    
+    /**
+     * Ids of the indexed documents, oldest first
+     */
+    public List<UUID> ids() {
+        List<UUID> indexed = new ArrayList<>(ordinals.size());
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (ids[ordinal] != null) {
+                indexed.add(ids[ordinal]);
+            }
+        }
+        return indexed;
+    }
+    
+    public int trigrams() {
+        return postings.size();
+    }
+    
+    // Intersection of the postings of every trigram in the term, or null when one has none
+    private CompressedBitmap candidatesOf(String needle) {
+        List<CompressedBitmap> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            CompressedBitmap posting = postings.get(trigramAt(needle, i));
+            if (posting == null) {
+                return null;
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        
+        CompressedBitmap candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates = candidates.and(lists.get(i));
+        }
+        return candidates.isEmpty() ? null : candidates;
+    }
+    
+    private void unindex(int ordinal) {
+        String text = texts[ordinal];
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = trigramAt(text, i);
+            CompressedBitmap posting = trigram >= 0 ? postings.get(trigram) : null;
+            if (posting != null) {
+                posting.remove(ordinal);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+    
+    // Best rank of any occurrence of the needle in the text, 0 when it does not occur
+    private static int rankOf(String text, String needle) {
+        int best = 0;
+        for (int at = text.indexOf(needle); at >= 0 && best < EXACT; at = text.indexOf(needle, at + 1)) {
+            int end = at + needle.length();
+            boolean fieldStart = at == 0 || text.charAt(at - 1) == SEPARATOR;
+            boolean fieldEnd = end == text.length() || text.charAt(end) == SEPARATOR;
+            int rank = fieldStart
+                ? (fieldEnd ? EXACT : FIELD_PREFIX)
+                : (Character.isLetterOrDigit(text.charAt(at - 1)) ? INFIX : WORD_PREFIX);
+            best = Math.max(best, rank);
+        }
+        return best;
+    }
+    
+    // Three chars packed into one key, or -1 when they cross a field boundary
+    private static long trigramAt(String text, int i) {
+        char a = text.charAt(i);
+        char b = text.charAt(i + 1);
+        char c = text.charAt(i + 2);
+        if (a == SEPARATOR || b == SEPARATOR || c == SEPARATOR) {
+            return -1;
+        }
+        // Spread by an odd multiplier so Long.hashCode does not collide on trigrams sharing
+        // characters; still one key per 48-bit packed trigram after the shift clears the sign bit
+        return ((((long) a << 32) | ((long) b << 16) | c) * 0x9E3779B97F4A7C15L) >>> 1;
+    }
+    
+    private static String textOf(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null && !field.isBlank()) {
+                if (!text.isEmpty()) {
+                    text.append(SEPARATOR);
+                }
+                text.append(normalize(field));
+            }
+        }
+        return text.toString();
+    }
+    
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
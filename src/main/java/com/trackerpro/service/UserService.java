@@ -1,21 +1,24 @@
 package com.trackerpro.service;
 
+import com.trackerpro.entity.PrincipalEntry;
+import com.trackerpro.entity.PrincipalType;
 import com.trackerpro.entity.User;
 import com.trackerpro.entity.UserRole;
 import com.trackerpro.entity.UserStatus;
 import com.trackerpro.entity.Gender;
 import com.trackerpro.repository.UserRepository;
-import com.trackerpro.dto.LoginRequest;
 import com.trackerpro.dto.LoginResponse;
 import com.trackerpro.exception.UserNotFoundException;
 import com.trackerpro.exception.DuplicateEmailException;
+import com.trackerpro.exception.OverloadedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -25,41 +28,53 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private LoginActivityService loginActivityService;
+    
     /**
-     * Authenticate user login (Faculty/HR only)
+     * Authenticate user login (Faculty/HR only) against a resolved principal directory entry
      */
-    public LoginResponse authenticateUser(LoginRequest loginRequest) {
+    public LoginResponse authenticateUser(PrincipalEntry entry, String rawPassword) {
         try {
-            // Check for regular users (Faculty/HR only)
-            Optional<User> userOpt = userRepository.findByEmailIgnoreCase(loginRequest.getEmail());
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                
-                // Check if user is active
-                if (user.getStatus() != UserStatus.ACTIVE) {
-                    return LoginResponse.failure("Account is not active. Please contact administrator.");
-                }
+            // Check if user is active
+            if (!entry.isLoginAllowed()) {
+                return LoginResponse.failure("Account is not active. Please contact administrator.");
+            }
+            
+            // Verify password
+            if (passwordEncoder.matches(rawPassword, entry.getPasswordHash())) {
+                // Update last login (written behind, the login itself stays read-only)
+                loginActivityService.recordLogin(PrincipalType.USER, entry.getPrincipalId(), LocalDateTime.now());
                 
-                // Verify password
-                if (passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                    LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
-                        user.getUserId().toString(),
-                        user.getFirstName(),
-                        user.getLastName(),
-                        user.getEmail(),
-                        user.getRole().name()
-                    );
-                    return LoginResponse.success(user.getRole().name(), userInfo);
-                } else {
-                    return LoginResponse.failure("Invalid email or password");
-                }
+                LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
+                    entry.getPrincipalId().toString(),
+                    entry.getFirstName(),
+                    entry.getLastName(),
+                    entry.getEmail(),
+                    entry.getRole()
+                );
+                return LoginResponse.success(entry.getRole(), userInfo);
             }
             
             return LoginResponse.failure("Invalid email or password");
             
+        } catch (OverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return LoginResponse.failure("Login failed. Please try again.");
         }
@@ -70,7 +85,7 @@ public class UserService {
      */
     public User createUser(User user) {
         // Check if email already exists
-        if (userRepository.existsByEmailIgnoreCase(user.getEmail())) {
+        if (emailExistenceFilter.exists(user.getEmail(), () -> userRepository.existsByEmailIgnoreCase(user.getEmail()))) {
             throw new DuplicateEmailException("Email already exists: " + user.getEmail());
         }
         
@@ -82,7 +97,11 @@ public class UserService {
             user.setStatus(UserStatus.ACTIVE);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalDirectoryService.syncUser(savedUser);
+        entityCounterService.increment(EntityCounterService.USER, EntityCounterService.ROLE, savedUser.getRole());
+        entityCounterService.increment(EntityCounterService.USER, EntityCounterService.STATUS, savedUser.getStatus());
+        return savedUser;
     }
     
     /**
@@ -107,10 +126,12 @@ public class UserService {
     }
     
     /**
-     * Search users
+     * Search users by name or email; one ranked page from the search index, falling back to
+     * typo-tolerant matching when nothing contains the term
      */
-    public List<User> searchUsers(String searchTerm) {
-        return userRepository.searchUsers(searchTerm);
+    public List<User> searchUsers(String searchTerm, int page, int size) {
+        List<UUID> ids = searchIndexService.searchOrFuzzy(SearchIndexService.Kind.USER, searchTerm, page, size).ids();
+        return SearchIndexService.inOrder(ids, userRepository.findAllById(ids), User::getUserId);
     }
     
     /**
@@ -129,11 +150,14 @@ public class UserService {
         
         // Check if email is being changed and if new email exists
         if (!existingUser.getEmail().equalsIgnoreCase(updatedUser.getEmail())) {
-            if (userRepository.existsByEmailIgnoreCase(updatedUser.getEmail())) {
+            if (emailExistenceFilter.exists(updatedUser.getEmail(), () -> userRepository.existsByEmailIgnoreCase(updatedUser.getEmail()))) {
                 throw new DuplicateEmailException("Email already exists: " + updatedUser.getEmail());
             }
         }
         
+        UserRole oldRole = existingUser.getRole();
+        UserStatus oldStatus = existingUser.getStatus();
+        
         // Update fields
         existingUser.setFirstName(updatedUser.getFirstName());
         existingUser.setLastName(updatedUser.getLastName());
@@ -150,7 +174,11 @@ public class UserService {
             existingUser.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
         }
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        principalDirectoryService.syncUser(savedUser);
+        entityCounterService.move(EntityCounterService.USER, EntityCounterService.ROLE, oldRole, savedUser.getRole());
+        entityCounterService.move(EntityCounterService.USER, EntityCounterService.STATUS, oldStatus, savedUser.getStatus());
+        return savedUser;
     }
     
     /**
@@ -159,17 +187,27 @@ public class UserService {
     public void deleteUser(UUID userId) {
         User user = getUserById(userId);
         userRepository.delete(user);
+        principalDirectoryService.removePrincipal(userId);
+        entityCounterService.decrement(EntityCounterService.USER, EntityCounterService.ROLE, user.getRole());
+        entityCounterService.decrement(EntityCounterService.USER, EntityCounterService.STATUS, user.getStatus());
     }
     
     /**
      * Get user statistics
      */
+    @Transactional(readOnly = true)
     public UserStatistics getUserStatistics() {
         UserStatistics stats = new UserStatistics();
-        stats.setTotalUsers(userRepository.count());
-        stats.setActiveUsers(userRepository.countByStatus(UserStatus.ACTIVE));
-        stats.setFacultyCount(userRepository.countByRole(UserRole.FACULTY));
-        stats.setHrCount(userRepository.countByRole(UserRole.HR));
+        
+        // Read from the maintained counters
+        Map<String, Map<String, Long>> counts = entityCounterService.getCounts(EntityCounterService.USER);
+        Map<String, Long> byStatus = counts.getOrDefault(EntityCounterService.STATUS, Map.of());
+        Map<String, Long> byRole = counts.getOrDefault(EntityCounterService.ROLE, Map.of());
+        
+        stats.setTotalUsers(byStatus.values().stream().mapToLong(Long::longValue).sum());
+        stats.setActiveUsers(byStatus.getOrDefault(UserStatus.ACTIVE.name(), 0L));
+        stats.setFacultyCount(byRole.getOrDefault(UserRole.FACULTY.name(), 0L));
+        stats.setHrCount(byRole.getOrDefault(UserRole.HR.name(), 0L));
         return stats;
     }
     
@@ -0,0 +1,89 @@
+package com.trackerpro.config;
+
+import com.trackerpro.exception.OverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PooledPasswordEncoderTest {
+    
+    @Test
+    public void testRejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BlockingEncoder(release), 1, 1, 5000, 3);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash running, one queued
+            callers.submit(() -> encoder.encode("first"));
+            callers.submit(() -> encoder.encode("second"));
+            waitFor(() -> encoder.getStatistics().getQueuedTasks() == 1);
+            
+            OverloadedException ex = assertThrows(OverloadedException.class, () -> encoder.encode("third"));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            assertEquals(1, encoder.getStatistics().getRejectedTasks());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+            encoder.destroy();
+        }
+        assertEquals(2, encoder.getStatistics().getCompletedTasks());
+    }
+    
+    @Test
+    public void testTimesOutWhenQueuedTooLong() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BlockingEncoder(release), 1, 4, 50, 1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            callers.submit(() -> encoder.encode("first"));
+            waitFor(() -> encoder.getStatistics().getActiveThreads() == 1);
+            
+            assertThrows(OverloadedException.class, () -> encoder.matches("second", "hash"));
+            assertTrue(encoder.getStatistics().getTimedOutTasks() >= 1);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            encoder.destroy();
+        }
+    }
+    
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+    
+    private static class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch release;
+        
+        BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+        
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+        
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.trackerpro.controller;
+
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+    "trackerpro.dashboard-stream.max-connections=1",
+    "trackerpro.dashboard-stream.interval-ms=100"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DashboardStreamTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Test
+    public void testStreamPushesStatsAndRegistrations() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/admin/dashboard/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+        
+        waitFor(response, "event:stats");
+        assertTrue(response.getContentAsString().contains("\"computedAt\""));
+        
+        // The connection cap is one, so a second page is turned away
+        assertEquals(503, mockMvc.perform(get("/api/admin/dashboard/stream")).andReturn().getResponse().getStatus());
+        
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Stream");
+        request.setLastName("Student");
+        request.setGender("FEMALE");
+        request.setDob("01/01/2003");
+        request.setMobileNo("9876543212");
+        request.setEmail("stream.student@example.com");
+        request.setPassword("secret1");
+        request.setAge(22);
+        RegistrationResponse registered = studentService.registerStudent(request);
+        assertTrue(registered.isSuccess());
+        
+        waitFor(response, "event:registration");
+        assertTrue(response.getContentAsString().contains(registered.getStudentId()));
+    }
+    
+    private static void waitFor(MockHttpServletResponse response, String text) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(text)) {
+            assertTrue(System.currentTimeMillis() < deadline, "no " + text + " in " + response.getContentAsString());
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.trackerpro.repository;
+
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import com.trackerpro.service.LoginKeyBackfillService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class LoginKeyLookupTest {
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private AdminRepository adminRepository;
+    
+    @Autowired
+    private LoginKeyBackfillService loginKeyBackfillService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    public void testCaseInsensitiveLookupsUseNormalizedColumns() {
+        Student student = new Student("Mixed", "Case", "Mixed.Case@Example.com", "hash",
+                                      Gender.FEMALE, "01/01/2003", 22, "Delhi", "1234567890");
+        studentRepository.save(student);
+        
+        assertTrue(studentRepository.existsByEmailIgnoreCase("mixed.case@example.COM"));
+        assertTrue(studentRepository.findByEmailIgnoreCase("MIXED.CASE@EXAMPLE.COM").isPresent());
+        assertTrue(adminRepository.existsByUsernameIgnoreCase("ADMIN"));
+        assertTrue(adminRepository.findByEmailIgnoreCase("Admin@Tracker.com").isPresent());
+    }
+    
+    @Test
+    public void testBackfillRestoresMissingNormalizedEmails() {
+        Student student = new Student("Legacy", "Row", "Legacy.Row@example.com", "hash",
+                                      Gender.MALE, "01/01/2003", 22, "Pune", "1234567890");
+        studentRepository.save(student);
+        jdbcTemplate.update("UPDATE students SET email_normalized = NULL WHERE email = 'Legacy.Row@example.com'");
+        assertFalse(studentRepository.existsByEmailIgnoreCase("legacy.row@example.com"));
+        
+        assertTrue(loginKeyBackfillService.backfill() >= 1);
+        assertTrue(studentRepository.existsByEmailIgnoreCase("legacy.row@example.com"));
+    }
+    
+    @Test
+    public void testEmailLookupIsAnIndexSeek() {
+        String plan = jdbcTemplate.queryForObject(
+            "EXPLAIN SELECT * FROM students WHERE email_normalized = 'someone@example.com'", String.class);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
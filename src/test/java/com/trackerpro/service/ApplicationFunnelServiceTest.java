@@ -0,0 +1,204 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.FunnelReport;
+import com.trackerpro.entity.ApplicationStatus;
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentApplication;
+import com.trackerpro.repository.CourseRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import com.trackerpro.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ApplicationFunnelServiceTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationFunnelServiceTest.class);
+    
+    @Autowired
+    private ApplicationFunnelService applicationFunnelService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    // Written through repositories, bypassing the counters other tests read, so removed again
+    private final List<StudentApplication> createdApplications = new ArrayList<>();
+    private final List<Student> createdStudents = new ArrayList<>();
+    private final List<Course> createdCourses = new ArrayList<>();
+    
+    @AfterEach
+    public void deleteCreatedRows() {
+        applicationRepository.deleteAll(createdApplications);
+        studentRepository.deleteAll(createdStudents);
+        courseRepository.deleteAll(createdCourses);
+    }
+    
+    @Test
+    public void testFunnelFollowsIncrementalChanges() {
+        Course course = course("FUN-101", "Funnel Course");
+        LocalDateTime now = LocalDateTime.now();
+        
+        StudentApplication waiting = apply(course, "waiting");
+        StudentApplication accepted = apply(course, "accepted");
+        accepted.setStatus(ApplicationStatus.ACCEPTED);
+        accepted.setInterviewDate(now.plusHours(10));
+        accepted.setAcceptedAt(now.plusHours(30));
+        applicationRepository.save(accepted);
+        StudentApplication rejected = apply(course, "rejected");
+        rejected.setStatus(ApplicationStatus.REJECTED);
+        rejected.setInterviewDate(now.plusHours(20));
+        applicationRepository.save(rejected);
+        
+        applicationFunnelService.refresh();
+        FunnelReport report = single(applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COURSE, course.getCourseId(), null));
+        assertEquals("Funnel Course", report.getLabel());
+        assertEquals(3, report.getApplications());
+        assertEquals(1, report.getRejected());
+        assertEquals(3, report.getReachedStage().get("APPLIED"));
+        assertEquals(2, report.getReachedStage().get("UNDER_REVIEW"));
+        assertEquals(2, report.getReachedStage().get("INTERVIEW"));
+        assertEquals(1, report.getReachedStage().get("ACCEPTED"));
+        assertEquals(0.5, report.getConversionFromPreviousStage().get("ACCEPTED"), 1e-9);
+        assertEquals(2, report.getTimeInStage().get("appliedToInterview").getSamples());
+        assertEquals(20.0, report.getTimeInStage().get("interviewToAccepted").getP50Hours(), 1.0);
+        
+        // Picked up by the incremental refresh, not by a rebuild
+        waiting.setStatus(ApplicationStatus.INTERVIEW);
+        waiting.setInterviewDate(now.plusHours(5));
+        applicationRepository.save(waiting);
+        applicationFunnelService.refresh();
+        
+        report = single(applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COURSE, course.getCourseId(), null));
+        assertEquals(3, report.getApplications());
+        assertEquals(3, report.getReachedStage().get("INTERVIEW"));
+        
+        assertThrows(IllegalArgumentException.class, () -> applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COHORT, null, "October"));
+    }
+    
+    @Test
+    public void testDeletedApplicationLeavesFunnelWithoutRebuild() {
+        Course course = course("FUN-102", "Funnel Delete Course");
+        apply(course, "kept");
+        StudentApplication removed = apply(course, "removed");
+        applicationFunnelService.refresh();
+        assertEquals(2, single(applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COURSE, course.getCourseId(), null)).getApplications());
+        
+        applicationRepository.delete(removed);
+        createdApplications.remove(removed);
+        
+        // Gone before any refresh, and a refresh (which re-reads recent rows) does not bring it back
+        assertEquals(1, single(applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COURSE, course.getCourseId(), null)).getApplications());
+        applicationFunnelService.refresh();
+        FunnelReport report = single(applicationFunnelService.getFunnel(
+            ApplicationFunnelService.GroupBy.COURSE, course.getCourseId(), null));
+        assertEquals(1, report.getApplications());
+        assertEquals(1, report.getReachedStage().get("APPLIED"));
+    }
+    
+    @Test
+    public void testHistogramPercentilesStayClose() {
+        ApplicationFunnelService.DurationHistogram histogram = new ApplicationFunnelService.DurationHistogram();
+        for (int minutes = 1; minutes <= 100_000; minutes++) {
+            histogram.record(minutes);
+        }
+        
+        assertEquals(50_000 / 60.0, histogram.percentileHours(0.50), 50_000 / 60.0 * 0.04);
+        assertEquals(99_000 / 60.0, histogram.percentileHours(0.99), 99_000 / 60.0 * 0.04);
+        assertTrue(histogram.percentileHours(0.90) < histogram.percentileHours(0.99));
+    }
+    
+    /**
+     * Times funnel queries over a synthetic snapshot of 200 courses and 36 cohorts.
+     * Run with -Dbenchmark.rows=1000000 -Dlogging.level.com.trackerpro=INFO; skipped otherwise.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    public void benchmarkFunnelQueries() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        Random random = new Random(16);
+        UUID[] courses = new UUID[200];
+        for (int c = 0; c < courses.length; c++) {
+            courses[c] = UUID.randomUUID();
+        }
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        LocalDateTime firstCohort = LocalDateTime.of(2023, 1, 1, 9, 0);
+        
+        long start = System.nanoTime();
+        ApplicationFunnelService.Columns columns = new ApplicationFunnelService.Columns(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime applied = firstCohort.plusMinutes(random.nextInt(36 * 30 * 24 * 60));
+            LocalDateTime interview = random.nextInt(2) == 0 ? applied.plusHours(1 + random.nextInt(300)) : null;
+            LocalDateTime accepted = interview != null && random.nextInt(2) == 0 ? interview.plusHours(1 + random.nextInt(300)) : null;
+            LocalDateTime completed = accepted != null && random.nextInt(3) == 0 ? accepted.plusDays(30 + random.nextInt(90)) : null;
+            int course = random.nextInt(courses.length);
+            columns.upsert(new Object[] {UUID.randomUUID(), courses[course], "Course " + course,
+                                         statuses[random.nextInt(statuses.length)], applied, interview, accepted, completed, applied});
+        }
+        logger.info("Funnel snapshot of {} rows built in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        
+        for (ApplicationFunnelService.GroupBy groupBy : ApplicationFunnelService.GroupBy.values()) {
+            long best = Long.MAX_VALUE;
+            int reports = 0;
+            for (int run = 0; run < 5; run++) {
+                start = System.nanoTime();
+                reports = ApplicationFunnelService.report(columns, groupBy,
+                    ApplicationFunnelService.NONE, ApplicationFunnelService.NONE).size();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            logger.info("rows={} groupBy={} reports={} query={} ms", rows, groupBy, reports, String.format("%.2f", best / 1e6));
+        }
+    }
+    
+    private Course course(String code, String title) {
+        Course course = courseRepository.save(new Course(code, title, 3, "Funnel Category"));
+        createdCourses.add(course);
+        return course;
+    }
+    
+    private StudentApplication apply(Course course, String name) {
+        Student student = studentRepository.save(new Student("Funnel", name, "funnel." + name + "@example.com", "hash",
+                                                             Gender.FEMALE, "01/01/2003", 22, "Delhi", "1234567890"));
+        createdStudents.add(student);
+        StudentApplication application = new StudentApplication();
+        application.setStudent(student);
+        application.setCourse(course);
+        application = applicationRepository.save(application);
+        createdApplications.add(application);
+        return application;
+    }
+    
+    private static FunnelReport single(List<FunnelReport> reports) {
+        assertEquals(1, reports.size());
+        return reports.get(0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.LoginRequest;
+import com.trackerpro.dto.LoginResponse;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AuthenticationServiceTest {
+    
+    @Autowired
+    private AuthenticationService authenticationService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private LoginActivityService loginActivityService;
+    
+    @Test
+    public void testSeededAdminAndFacultyCanLogIn() {
+        LoginResponse admin = authenticationService.authenticateLogin(new LoginRequest("ADMIN@tracker.com", "admin123"));
+        assertTrue(admin.isSuccess());
+        assertEquals("ADMIN", admin.getUserType());
+        assertNotNull(admin.getToken());
+        assertTrue(authenticationService.checkStatus("Bearer " + admin.getToken()).isSuccess());
+        
+        LoginResponse faculty = authenticationService.authenticateLogin(new LoginRequest("sarah.faculty@tracker.com", "faculty123"));
+        assertTrue(faculty.isSuccess());
+        assertEquals("FACULTY", faculty.getUserType());
+    }
+    
+    @Test
+    public void testRegisteredStudentCanLogIn() {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Directory");
+        request.setLastName("Student");
+        request.setEmail("directory.student@example.com");
+        request.setPassword("password123");
+        request.setGender("Female");
+        request.setDob("01/01/2003");
+        request.setAge(21);
+        request.setLocation("Chennai");
+        request.setMobileNo("1234567890");
+        
+        RegistrationResponse registration = studentService.registerStudent(request);
+        assertTrue(registration.isSuccess());
+        
+        LoginResponse login = authenticationService.authenticateLogin(
+            new LoginRequest("Directory.Student@example.com", "password123"));
+        assertTrue(login.isSuccess());
+        assertEquals("STUDENT", login.getUserType());
+        assertEquals(registration.getStudentId(), login.getUser().getId());
+    }
+    
+    @Test
+    public void testLastLoginIsWrittenBehind() {
+        LoginResponse login = authenticationService.authenticateLogin(new LoginRequest("mike.hr@tracker.com", "hr123456"));
+        assertTrue(login.isSuccess());
+        assertTrue(loginActivityService.getPendingCount() > 0);
+        
+        loginActivityService.flush();
+        
+        assertEquals(0, loginActivityService.getPendingCount());
+        assertNotNull(userService.getUserById(UUID.fromString(login.getUser().getId())).getLastLogin());
+    }
+    
+    @Test
+    public void testWrongPasswordAndUnknownEmailFail() {
+        assertFalse(authenticationService.authenticateLogin(new LoginRequest("admin@tracker.com", "wrong-password")).isSuccess());
+        assertFalse(authenticationService.authenticateLogin(new LoginRequest("nobody@tracker.com", "admin123")).isSuccess());
+    }
+    
+    @Test
+    public void testSuccessfulLoginsDoNotUseUpTheThrottle() {
+        // More than the account bucket holds, all from one address
+        for (int i = 0; i < 12; i++) {
+            assertTrue(authenticationService.authenticateLogin(
+                new LoginRequest("sarah.faculty@tracker.com", "faculty123"), "10.20.0.1").isSuccess());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterTest {
+    
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("student" + i + "@example.com");
+        }
+        
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("student" + i + "@example.com"));
+        }
+        assertEquals(10_000, filter.getInsertions());
+    }
+    
+    @Test
+    public void testFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("student" + i + "@example.com");
+        }
+        
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unknown" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double observed = falsePositives / 100_000.0;
+        assertTrue(observed < 0.02, "observed false positive rate " + observed);
+        assertTrue(filter.estimatedFalsePositiveRate() < 0.02);
+    }
+    
+    @Test
+    public void testExistenceFilterRulesNothingOutBeforeItIsLoaded() {
+        EmailExistenceFilter filter = new EmailExistenceFilter(1_000, 0.01);
+        
+        // Nothing has been read from the directory yet, so an absent key proves nothing
+        assertTrue(filter.mightExist("existing.student@example.com"));
+        assertFalse(filter.getStatistics().isLoaded());
+        assertEquals(0, filter.getStatistics().getDefinitelyAbsent());
+    }
+}
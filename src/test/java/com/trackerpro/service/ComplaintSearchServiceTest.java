@@ -0,0 +1,71 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.ComplaintSearchQuery;
+import com.trackerpro.dto.ComplaintSearchResult;
+import com.trackerpro.entity.Complaint;
+import com.trackerpro.entity.ComplaintPriority;
+import com.trackerpro.entity.ComplaintStatus;
+import com.trackerpro.repository.ComplaintRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ComplaintSearchServiceTest {
+    
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Test
+    public void testComplaintWritesReachTheIndex() {
+        Complaint inCategory = complaintRepository.save(
+            new Complaint("Plumbingx", "Water drips all night", "Quentin Okafor", "qo.complaint@example.com"));
+        Complaint mentioned = complaintRepository.save(
+            new Complaint("Hostel", "Plumbingx work left the corridor flooded", "Ilse Varga", "iv.complaint@example.com"));
+        
+        ComplaintSearchResult result = complaintSearchService.search(query("plumbingx"));
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(inCategory.getComplaintId(), mentioned.getComplaintId()),
+                     result.getComplaints().stream().map(Complaint::getComplaintId).toList());
+        
+        inCategory.setStatus(ComplaintStatus.RESOLVED);
+        inCategory.setPriority(ComplaintPriority.HIGH);
+        inCategory.setResolutionNotes("Washer replaced in the cistern");
+        complaintRepository.save(inCategory);
+        ComplaintSearchQuery resolved = query("cistern plumbingx");
+        resolved.setStatus(List.of(ComplaintStatus.RESOLVED));
+        resolved.setPriority(List.of(ComplaintPriority.HIGH, ComplaintPriority.URGENT));
+        assertEquals(List.of(inCategory.getComplaintId()),
+                     complaintSearchService.search(resolved).getComplaints().stream().map(Complaint::getComplaintId).toList());
+        
+        complaintRepository.delete(mentioned);
+        assertEquals(1, complaintSearchService.search(query("plumbingx")).getTotal());
+        
+        // A rebuild from the table agrees with the incremental updates
+        complaintSearchService.rebuild();
+        assertEquals(1, complaintSearchService.search(resolved).getTotal());
+        complaintRepository.delete(inCategory);
+        assertEquals(0, complaintSearchService.search(query("plumbingx cistern")).getTotal());
+        
+        assertThrows(IllegalArgumentException.class, () -> complaintSearchService.search(query(" ")));
+        ComplaintSearchQuery tooLarge = query("water");
+        tooLarge.setSize(ComplaintSearchService.MAX_PAGE_SIZE + 1);
+        assertThrows(IllegalArgumentException.class, () -> complaintSearchService.search(tooLarge));
+    }
+    
+    private static ComplaintSearchQuery query(String q) {
+        ComplaintSearchQuery query = new ComplaintSearchQuery();
+        query.setQ(q);
+        return query;
+    }
+}
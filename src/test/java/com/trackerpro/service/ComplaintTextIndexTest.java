@@ -0,0 +1,208 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.ComplaintPriority;
+import com.trackerpro.entity.ComplaintStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ComplaintTextIndexTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintTextIndexTest.class);
+    
+    private static final String[] CATEGORIES = {"Hostel", "Library", "Transport", "Canteen", "Fees", "Exams"};
+    private static final String[] NAMES = {"Aarav Sharma", "Priya Patel", "Rahul Reddy", "Sneha Iyer", "Vikram Nair"};
+    private static final String[] WORDS = {"water", "leak", "room", "bus", "late", "food", "cold", "refund",
+                                           "delayed", "fan", "broken", "book", "missing", "result", "wifi", "noisy"};
+    
+    @Test
+    public void testScoresMatchBm25FromTheDefinition() {
+        ComplaintTextIndex index = new ComplaintTextIndex();
+        Map<UUID, Map<String, Integer>> documents = new HashMap<>();
+        List<UUID> order = new ArrayList<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 1_500; i++) {
+            UUID id = UUID.randomUUID();
+            String[] fields = complaint(random);
+            index.put(id, fields[0], fields[1], fields[2], fields[3], ComplaintStatus.OPEN, ComplaintPriority.MEDIUM);
+            Map<String, Integer> frequencies = new HashMap<>();
+            weigh(frequencies, fields[0], ComplaintTextIndex.CATEGORY_WEIGHT);
+            weigh(frequencies, fields[1], ComplaintTextIndex.NAME_WEIGHT);
+            weigh(frequencies, fields[2], ComplaintTextIndex.TEXT_WEIGHT);
+            weigh(frequencies, fields[3], ComplaintTextIndex.TEXT_WEIGHT);
+            documents.put(id, frequencies);
+            order.add(id);
+        }
+        double averageLength = documents.values().stream()
+            .mapToInt(frequencies -> frequencies.values().stream().mapToInt(Integer::intValue).sum())
+            .average().orElse(0);
+        
+        for (String query : List.of("water leak", "hostel", "the bus was LATE", "Priya refund", "wifi", "xyzzy")) {
+            Map<UUID, Double> scores = new HashMap<>();
+            for (String term : ComplaintTextIndex.tokenize(query).keySet()) {
+                long df = documents.values().stream().filter(frequencies -> frequencies.containsKey(term)).count();
+                documents.forEach((id, frequencies) -> {
+                    Integer tf = frequencies.get(term);
+                    if (tf != null) {
+                        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+                        double idf = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+                        double k1 = ComplaintTextIndex.K1;
+                        double b = ComplaintTextIndex.B;
+                        double saturated = tf * (k1 + 1) / (tf + k1 * (1 - b + b * length / averageLength));
+                        scores.merge(id, idf * saturated, Double::sum);
+                    }
+                });
+            }
+            // Best score first, newest first among equal scores
+            List<UUID> expected = scores.keySet().stream()
+                .sorted(Comparator.<UUID>comparingDouble(scores::get).reversed()
+                    .thenComparing(Comparator.<UUID>comparingInt(order::indexOf).reversed()))
+                .toList();
+            
+            SearchHits hits = index.search(query, List.of(), List.of(), 0, 50);
+            assertEquals(expected.size(), hits.total(), query);
+            assertEquals(expected.subList(0, Math.min(50, expected.size())), hits.ids(), query);
+            if (expected.size() > 60) {
+                assertEquals(expected.subList(50, 60), index.search(query, List.of(), List.of(), 5, 10).ids(), query);
+            }
+        }
+    }
+    
+    @Test
+    public void testFiltersAndUpdatesReplacePostings() {
+        ComplaintTextIndex index = new ComplaintTextIndex();
+        UUID inCategory = UUID.randomUUID();
+        UUID mentioned = UUID.randomUUID();
+        UUID urgent = UUID.randomUUID();
+        index.put(mentioned, "Library", "Kavya Rao", "The hostel library is closed early", null,
+                  ComplaintStatus.OPEN, ComplaintPriority.LOW);
+        index.put(inCategory, "Hostel", "Arjun Das", "Room fan is broken", null,
+                  ComplaintStatus.IN_PROGRESS, ComplaintPriority.MEDIUM);
+        index.put(urgent, "Transport", "Meera Menon", "Bus never came", null,
+                  ComplaintStatus.OPEN, ComplaintPriority.URGENT);
+        
+        // The category counts more than a mention in the description
+        assertEquals(List.of(inCategory, mentioned), index.search("hostel", List.of(), List.of(), 0, 10).ids());
+        assertEquals(List.of(mentioned),
+                     index.search("hostel", List.of(ComplaintStatus.OPEN), List.of(), 0, 10).ids());
+        assertEquals(List.of(mentioned, urgent),
+                     index.search("bus library", List.of(), List.of(ComplaintPriority.URGENT, ComplaintPriority.LOW), 0, 10).ids());
+        assertEquals(0, index.search("the of and", List.of(), List.of(), 0, 10).total());
+        assertEquals(List.of(mentioned), index.search("hostel", List.of(), List.of(), 1, 1).ids());
+        // Pages far past the end are empty, also where page * size no longer fits in an int
+        assertEquals(List.of(), index.search("hostel", List.of(), List.of(), 2, 1).ids());
+        assertEquals(2, index.search("hostel", List.of(), List.of(), Integer.MAX_VALUE, 100).total());
+        assertEquals(List.of(), index.search("hostel", List.of(), List.of(), Integer.MAX_VALUE, 100).ids());
+        
+        index.put(inCategory, "Hostel", "Arjun Das", "Room fan is broken", "Replaced the fan motor",
+                  ComplaintStatus.RESOLVED, ComplaintPriority.MEDIUM);
+        assertEquals(List.of(inCategory), index.search("motor", List.of(ComplaintStatus.RESOLVED), List.of(), 0, 10).ids());
+        assertEquals(0, index.search("hostel", List.of(ComplaintStatus.IN_PROGRESS), List.of(), 0, 10).total());
+        
+        index.remove(mentioned);
+        index.remove(urgent);
+        index.remove(inCategory);
+        assertEquals(0, index.search("hostel bus motor", List.of(), List.of(), 0, 10).total());
+        assertEquals(0, index.size());
+        assertEquals(0, index.terms());
+    }
+    
+    /**
+     * Compares the index with the LIKE query it replaces on an in-memory H2 table.
+     * Run with -Dbenchmark.rows=100000 (or 1000000); skipped otherwise.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    public void benchmarkAgainstLikeQuery() throws Exception {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        ComplaintTextIndex index = new ComplaintTextIndex();
+        Random random = new Random(17);
+        
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:complaint_benchmark")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE complaints (id UUID PRIMARY KEY, category VARCHAR(50), " +
+                                  "student_name VARCHAR(100), description TEXT, resolution_notes TEXT, created_at BIGINT)");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO complaints VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    UUID id = UUID.randomUUID();
+                    String[] fields = complaint(random);
+                    index.put(id, fields[0], fields[1], fields[2], fields[3],
+                              ComplaintStatus.values()[random.nextInt(4)], ComplaintPriority.values()[random.nextInt(4)]);
+                    insert.setObject(1, id);
+                    for (int f = 0; f < 4; f++) {
+                        insert.setString(f + 2, fields[f]);
+                    }
+                    insert.setLong(6, i);
+                    insert.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            
+            String like = "SELECT id FROM complaints WHERE LOWER(description) LIKE ? OR LOWER(resolution_notes) LIKE ? " +
+                          "OR LOWER(student_name) LIKE ? OR LOWER(category) LIKE ? ORDER BY created_at DESC LIMIT 20";
+            try (PreparedStatement query = connection.prepareStatement(like)) {
+                for (String term : List.of("leak", "refund", "hostel", "priya", "xyzzy")) {
+                    long likeNanos = Long.MAX_VALUE;
+                    long indexNanos = Long.MAX_VALUE;
+                    SearchHits hits = null;
+                    for (int run = 0; run < 5; run++) {
+                        long start = System.nanoTime();
+                        for (int p = 1; p <= 4; p++) {
+                            query.setString(p, "%" + term + "%");
+                        }
+                        try (ResultSet result = query.executeQuery()) {
+                            while (result.next()) {
+                                result.getObject(1, UUID.class);
+                            }
+                        }
+                        likeNanos = Math.min(likeNanos, System.nanoTime() - start);
+                        
+                        start = System.nanoTime();
+                        hits = index.search(term, List.of(), List.of(), 0, 20);
+                        indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+                    }
+                    logger.info("rows={} term={} matches={} like={} ms index={} ms", rows, term, hits.total(),
+                                String.format("%.2f", likeNanos / 1e6), String.format("%.3f", indexNanos / 1e6));
+                }
+            }
+        }
+        assertEquals(rows, index.size());
+    }
+    
+    // [category, studentName, description, resolutionNotes]
+    private static String[] complaint(Random random) {
+        StringBuilder description = new StringBuilder("The");
+        for (int w = 3 + random.nextInt(12); w > 0; w--) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        String notes = random.nextInt(3) == 0 ? "Fixed the " + WORDS[random.nextInt(WORDS.length)] : null;
+        return new String[] {CATEGORIES[random.nextInt(CATEGORIES.length)], NAMES[random.nextInt(NAMES.length)],
+                             description.toString(), notes};
+    }
+    
+    private static void weigh(Map<String, Integer> frequencies, String text, int weight) {
+        ComplaintTextIndex.tokenize(text).forEach((term, count) -> frequencies.merge(term, count * weight, Integer::sum));
+    }
+}
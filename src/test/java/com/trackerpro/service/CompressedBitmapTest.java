@@ -0,0 +1,73 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedBitmapTest {
+    
+    @Test
+    public void testMatchesBitSetAcrossSparseAndDenseChunks() {
+        Random random = new Random(42);
+        CompressedBitmap sparse = new CompressedBitmap();
+        CompressedBitmap dense = new CompressedBitmap();
+        BitSet sparseBits = new BitSet();
+        BitSet denseBits = new BitSet();
+        
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(400_000);
+            sparse.add(value);
+            sparseBits.set(value);
+        }
+        // 20,000 values in the first chunk turns it into a bitmap container
+        for (int i = 0; i < 60_000; i++) {
+            int value = random.nextInt(i < 40_000 ? 65_536 : 400_000);
+            dense.add(value);
+            denseBits.set(value);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(65_536);
+            assertEquals(denseBits.get(value), dense.remove(value));
+            denseBits.clear(value);
+        }
+        
+        assertEquals(sparseBits.cardinality(), sparse.cardinality());
+        assertEquals(denseBits.cardinality(), dense.cardinality());
+        
+        BitSet and = (BitSet) sparseBits.clone();
+        and.and(denseBits);
+        assertEquals(and.cardinality(), sparse.and(dense).cardinality());
+        assertEquals(and.cardinality(), dense.andCardinality(sparse));
+        
+        BitSet or = (BitSet) sparseBits.clone();
+        or.or(denseBits);
+        CompressedBitmap union = sparse.or(dense);
+        assertEquals(or.cardinality(), union.cardinality());
+        
+        List<Integer> descending = new ArrayList<>();
+        union.forEachDescending(value -> descending.add(value) && descending.size() < 100);
+        int expected = or.length();
+        for (int value : descending) {
+            expected = or.previousSetBit(expected - 1);
+            assertEquals(expected, value);
+        }
+    }
+    
+    @Test
+    public void testRemovingLastValueEmptiesBitmap() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(70_000));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.remove(70_000));
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, CompressedBitmap.orAll(List.of()).cardinality());
+    }
+}
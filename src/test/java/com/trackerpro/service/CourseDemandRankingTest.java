@@ -0,0 +1,99 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.ApplicationResponse;
+import com.trackerpro.dto.CourseApplicationRequest;
+import com.trackerpro.dto.CourseDemand;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.ApplicationStatus;
+import com.trackerpro.entity.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CourseDemandRankingTest {
+    
+    @Autowired
+    private CourseDemandRanking courseDemandRanking;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Test
+    public void testRankingFollowsApplications() {
+        Course popular = publishedCourse("TOP-101", "Popular");
+        Course quiet = publishedCourse("TOP-102", "Quiet");
+        courseService.createCourse(new Course("TOP-103", "Draft", 3, "Ranking Category"));
+        
+        UUID first = apply("ranking.one@example.com", popular);
+        UUID second = apply("ranking.two@example.com", popular);
+        apply("ranking.three@example.com", quiet);
+        
+        List<CourseDemand> top = courseDemandRanking.getTop(10, "ranking category");
+        assertEquals(2, top.size());
+        assertEquals("Popular", top.get(0).getCourseTitle());
+        assertEquals(2, top.get(0).getOpenApplications());
+        assertEquals(1, top.get(1).getOpenApplications());
+        assertEquals(2, top.get(1).getRank());
+        
+        // Closed applications no longer count
+        applicationService.updateApplicationStatus(applicationOf(first), ApplicationStatus.REJECTED);
+        applicationService.updateApplicationStatus(applicationOf(second), ApplicationStatus.COMPLETED);
+        top = courseDemandRanking.getTop(1, "Ranking Category");
+        assertEquals("Quiet", top.get(0).getCourseTitle());
+        
+        // A rebuild from the database agrees with the incremental state
+        courseDemandRanking.rebuild();
+        top = courseDemandRanking.getTop(10, "Ranking Category");
+        assertEquals("Quiet", top.get(0).getCourseTitle());
+        assertEquals(0, top.get(1).getOpenApplications());
+        assertTrue(top.stream().noneMatch(course -> course.getCourseTitle().equals("Draft")));
+        
+        assertThrows(IllegalArgumentException.class, () -> courseDemandRanking.getTop(0, null));
+    }
+    
+    private Course publishedCourse(String code, String title) {
+        Course course = courseService.createCourse(new Course(code, title, 3, "Ranking Category"));
+        return courseService.publishCourse(course.getCourseId());
+    }
+    
+    private UUID apply(String email, Course course) {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Ranking");
+        request.setLastName("Student");
+        request.setGender("FEMALE");
+        request.setDob("01/01/2003");
+        request.setMobileNo("9876543212");
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setAge(22);
+        RegistrationResponse registered = studentService.registerStudent(request);
+        assertTrue(registered.isSuccess());
+        
+        UUID studentId = UUID.fromString(registered.getStudentId());
+        ApplicationResponse applied = applicationService.applyCourse(
+            new CourseApplicationRequest(studentId, course.getCourseId(), null));
+        assertTrue(applied.isSuccess());
+        return studentId;
+    }
+    
+    private UUID applicationOf(UUID studentId) {
+        return applicationService.getStudentApplication(studentId).orElseThrow().getApplicationId();
+    }
+}
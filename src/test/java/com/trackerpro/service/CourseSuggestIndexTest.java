@@ -0,0 +1,58 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.CourseSuggestion;
+import com.trackerpro.entity.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CourseSuggestIndexTest {
+    
+    @Autowired
+    private CourseSuggestIndex courseSuggestIndex;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Test
+    public void testSuggestionsFollowCourseChanges() {
+        Course byCode = courseService.createCourse(new Course("QZX-101", "Quartz Basics", 3, "Suggest Category"));
+        Course byTitle = courseService.createCourse(new Course("SUG-102", "Applied Qzx Methods", 3, "Suggest Category"));
+        courseService.publishCourse(byCode.getCourseId());
+        
+        // Drafts are only suggested when asked for; a code match ranks above a title word
+        assertEquals(List.of("QZX-101"), codes(courseSuggestIndex.suggest("qzx", 5, false)));
+        assertEquals(List.of("QZX-101", "SUG-102"), codes(courseSuggestIndex.suggest("Qz", 5, true)));
+        assertEquals(List.of("SUG-102"), codes(courseSuggestIndex.suggest("appl qzx", 5, true)));
+        // Equal scores fall back to title order
+        assertEquals(List.of("SUG-102", "QZX-101"), codes(courseSuggestIndex.suggest("suggest", 5, true)));
+        
+        byTitle.setCourseTitle("Applied Statistics");
+        courseService.updateCourse(byTitle.getCourseId(), byTitle);
+        assertEquals(List.of("QZX-101"), codes(courseSuggestIndex.suggest("qzx", 5, true)));
+        
+        courseService.unpublishCourse(byCode.getCourseId());
+        assertTrue(courseSuggestIndex.suggest("quartz", 5, false).isEmpty());
+        
+        courseService.deleteCourse(byCode.getCourseId());
+        assertTrue(courseSuggestIndex.suggest("quartz", 5, true).isEmpty());
+        
+        courseSuggestIndex.rebuild();
+        assertEquals(List.of("SUG-102"), codes(courseSuggestIndex.suggest("applied stat", 5, true)));
+        
+        assertThrows(IllegalArgumentException.class, () -> courseSuggestIndex.suggest("a", 0, true));
+    }
+    
+    private static List<String> codes(List<CourseSuggestion> suggestions) {
+        return suggestions.stream().map(CourseSuggestion::getCourseCode).toList();
+    }
+}
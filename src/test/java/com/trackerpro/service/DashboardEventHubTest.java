@@ -0,0 +1,53 @@
+package com.trackerpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackerpro.exception.OverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DashboardEventHubTest {
+    
+    private final AtomicBoolean statsFail = new AtomicBoolean();
+    private final DashboardEventHub hub = new DashboardEventHub(1, 8, 60_000, 1);
+    
+    public DashboardEventHubTest() {
+        DashboardStatsCache statsCache = new DashboardStatsCache(15, 300, 50) {
+            @Override
+            public Map<String, Object> getStats() {
+                if (statsFail.get()) {
+                    throw new IllegalStateException("stats unavailable");
+                }
+                return Map.of("totalStudents", 3);
+            }
+        };
+        ReflectionTestUtils.setField(hub, "dashboardStatsCache", statsCache);
+        ReflectionTestUtils.setField(hub, "objectMapper", new ObjectMapper());
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        hub.destroy();
+    }
+    
+    @Test
+    public void testFailedSubscribeGivesItsSlotBack() {
+        statsFail.set(true);
+        assertThrows(IllegalStateException.class, hub::subscribe);
+        assertEquals(0, hub.getStatistics().getConnections());
+        
+        // The only slot is free again, and taken by the next page
+        statsFail.set(false);
+        assertNotNull(hub.subscribe());
+        assertEquals(1, hub.getStatistics().getConnections());
+        assertThrows(OverloadedException.class, hub::subscribe);
+        assertEquals(1, hub.getStatistics().getConnectionsRejected());
+    }
+}
@@ -0,0 +1,41 @@
+package com.trackerpro.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class DashboardServiceTest {
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    public void testDashboardRunsFixedNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        DashboardService.DashboardStatistics dashboard = dashboardService.getDashboardStatistics();
+        
+        // Counter reads for students, users, courses and applications, the weekly range count, admins
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(1, dashboard.getAdminStatistics().getTotalAdmins());
+        assertEquals(1, dashboard.getAdminStatistics().getActiveAdmins());
+        assertEquals(1, dashboard.getUserStatistics().getFacultyCount());
+        assertEquals(1, dashboard.getUserStatistics().getHrCount());
+        assertTrue(dashboard.getUserStatistics().getActiveUsers() >= 2);
+        assertEquals(dashboard.getStudentStatistics().getTotalStudents(),
+                     dashboard.getStudentStatistics().getNewStudentsThisWeek());
+    }
+}
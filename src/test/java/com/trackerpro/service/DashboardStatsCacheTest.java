@@ -0,0 +1,68 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "trackerpro.dashboard-cache.fresh-seconds=3600",
+    "trackerpro.dashboard-cache.invalidate-after-changes=2"
+})
+@ActiveProfiles("test")
+public class DashboardStatsCacheTest {
+    
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Test
+    public void testSnapshotServedUntilChangesCrossThreshold() throws InterruptedException {
+        dashboardStatsCache.invalidate();
+        Map<String, Object> first = dashboardStatsCache.getStats();
+        assertNotNull(first.get("computedAt"));
+        assertSame(first, dashboardStatsCache.getStats());
+        
+        // Below the threshold the snapshot stays fresh
+        entityCounterService.add(EntityCounterService.COURSE, EntityCounterService.CATEGORY, "Snapshot Test", 1);
+        assertSame(first, dashboardStatsCache.getStats());
+        
+        // Crossing it serves the stale snapshot once while a refresh runs
+        entityCounterService.add(EntityCounterService.COURSE, EntityCounterService.CATEGORY, "Snapshot Test", -1);
+        long refreshesBefore = dashboardStatsCache.getStatistics().getRefreshes();
+        assertSame(first, dashboardStatsCache.getStats());
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dashboardStatsCache.getStatistics().getRefreshes() == refreshesBefore
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotSame(first, dashboardStatsCache.getStats());
+    }
+    
+    @Test
+    public void testConcurrentColdReadsShareOneRefresh() throws InterruptedException {
+        dashboardStatsCache.invalidate();
+        long refreshesBefore = dashboardStatsCache.getStatistics().getRefreshes();
+        
+        Thread[] readers = new Thread[8];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(dashboardStatsCache::getStats);
+            readers[i].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        
+        assertTrue(dashboardStatsCache.getStatistics().getRefreshes() - refreshesBefore < readers.length);
+    }
+}
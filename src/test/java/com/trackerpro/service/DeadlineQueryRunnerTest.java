@@ -0,0 +1,69 @@
+package com.trackerpro.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DeadlineQueryRunnerTest {
+    
+    @Autowired
+    private DeadlineQueryRunner queryRunner;
+    
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Test
+    public void testStatementRunningAtTheDeadlineIsCancelled() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+        
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofMillis(300))
+            .branch("slow", deadline -> {
+                try {
+                    // Ten billion joined rows: minutes of work unless cancelled
+                    return queryRunner.readOnly(deadline, () -> entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.X + b.X = 3")
+                        .getSingleResult());
+                } catch (RuntimeException e) {
+                    failure.set(e);
+                    throw e;
+                } finally {
+                    stopped.countDown();
+                }
+            })
+            .execute();
+        
+        assertTrue(result.getErrors().get("slow").startsWith("Timed out"));
+        assertTrue(stopped.await(2, TimeUnit.SECONDS), "statement still running after the deadline");
+        assertNotNull(failure.get());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2300);
+    }
+    
+    @Test
+    public void testQueryWithinTheDeadlineReturnsItsValue() {
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofSeconds(5))
+            .branch("quick", deadline -> queryRunner.readOnly(deadline, () ->
+                ((Number) entityManager.createNativeQuery("SELECT 42").getSingleResult()).intValue()))
+            .execute();
+        
+        assertEquals(42, result.get("quick", Integer.class));
+    }
+}
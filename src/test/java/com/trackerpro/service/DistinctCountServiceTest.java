@@ -0,0 +1,57 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.DistinctEstimate;
+import com.trackerpro.entity.DistinctMetric;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.repository.DistinctSketchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DistinctCountServiceTest {
+    
+    @Autowired
+    private DistinctCountService distinctCountService;
+    
+    @Autowired
+    private DistinctSketchRepository sketchRepository;
+    
+    @Test
+    public void testWeeklySketchesMergeAcrossRange() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastWeek = now.minusWeeks(1);
+        distinctCountService.record(DistinctMetric.APPLICANTS, "Sketch Category", now, "student-1");
+        distinctCountService.record(DistinctMetric.APPLICANTS, "Sketch Category", now, "student-2");
+        distinctCountService.record(DistinctMetric.APPLICANTS, "sketch category", lastWeek, "student-1");
+        distinctCountService.record(DistinctMetric.APPLICANTS, "Sketch Category", lastWeek, "student-3");
+        distinctCountService.record(DistinctMetric.APPLICANTS, "Other Sketch Category", now, "student-4");
+        
+        List<DistinctEstimate> thisWeek = distinctCountService.estimate(
+            DistinctMetric.APPLICANTS, "Sketch Category", now, now.plusMinutes(1));
+        assertEquals(1, thisWeek.size());
+        assertEquals(2, thisWeek.get(0).getEstimate());
+        
+        // student-1 applied in both weeks and is counted once
+        List<DistinctEstimate> twoWeeks = distinctCountService.estimate(
+            DistinctMetric.APPLICANTS, null, lastWeek, now.plusMinutes(1));
+        DistinctEstimate category = twoWeeks.stream()
+            .filter(estimate -> estimate.getDimension().equals("sketch category")).findFirst().orElseThrow();
+        assertEquals(3, category.getEstimate());
+        assertTrue(category.getLowerBound() <= 3 && category.getUpperBound() >= 3);
+        assertEquals(DistinctCountService.ALL, twoWeeks.get(twoWeeks.size() - 1).getDimension());
+        
+        assertTrue(distinctCountService.flush() >= 2);
+        assertTrue(sketchRepository.findByMetricAndDimensionAndBucketStart(DistinctMetric.APPLICANTS, "sketch category",
+            TrendGranularity.WEEK.bucketStart(lastWeek)).isPresent());
+        assertEquals(0, distinctCountService.getStatistics().getPendingWrites());
+    }
+}
@@ -0,0 +1,99 @@
+package com.trackerpro.service;
+
+import com.trackerpro.repository.PrincipalEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EmailExistenceFilterTest {
+
+    private final PrincipalEntryRepository principalEntryRepository = mock(PrincipalEntryRepository.class);
+    private final EmailExistenceFilter filter = new EmailExistenceFilter(1000, 0.01);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(filter, "principalEntryRepository", principalEntryRepository);
+        when(principalEntryRepository.count()).thenReturn(1L);
+    }
+
+    @Test
+    public void testAddDuringTheScanReachesTheRebuiltFilter() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch added = new CountDownLatch(1);
+        // The scan stops after its first key until the add has gone to the old filter
+        when(principalEntryRepository.streamAllLoginKeys()).thenAnswer(invocation -> Stream.of("scanned@example.com", "last@example.com")
+                .peek(key -> {
+                    if (key.startsWith("last")) {
+                        scanning.countDown();
+                        await(added);
+                    }
+                }));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuild = executor.submit(filter::rebuild);
+            assertTrue(scanning.await(5, TimeUnit.SECONDS));
+            filter.add("late@example.com");
+            added.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(filter.mightExist("scanned@example.com"));
+        assertTrue(filter.mightExist("late@example.com"));
+    }
+
+    @Test
+    public void testAddsRacingRebuildsAreNeverLost() throws Exception {
+        when(principalEntryRepository.streamAllLoginKeys()).thenAnswer(invocation -> Stream.of("scanned@example.com"));
+        filter.rebuild();
+
+        AtomicBoolean rebuilding = new AtomicBoolean(true);
+        List<String> keys = new ArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    filter.rebuild();
+                }
+                rebuilding.set(false);
+            });
+            // An add falling between a rebuild's replay and its swap would reach only the replaced filter
+            for (int i = 0; i < 20_000 && rebuilding.get(); i++) {
+                String key = "user" + i + "@example.com";
+                filter.add(key);
+                keys.add(key);
+            }
+            rebuilds.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightExist(key), key);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
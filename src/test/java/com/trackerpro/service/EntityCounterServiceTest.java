@@ -0,0 +1,96 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.ApplicationResponse;
+import com.trackerpro.dto.CourseApplicationRequest;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.StudentStatus;
+import com.trackerpro.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class EntityCounterServiceTest {
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    public void testCountersFollowRegistrationAndApplication() {
+        StudentService.StudentStatistics before = studentService.getStudentStatistics();
+        CourseService.CourseStatistics coursesBefore = courseService.getCourseStatistics();
+        long applicationsBefore = applicationService.getApplicationStatistics().getAppliedCount();
+    
+        RegistrationResponse registered = studentService.registerStudent(request("counter.student@example.com"));
+        assertTrue(registered.isSuccess());
+        assertEquals(before.getRegisteredStudents() + 1, studentService.getStudentStatistics().getRegisteredStudents());
+    
+        Course course = new Course("CNT-101", "Counting", 3, "Counter Category");
+        course = courseService.createCourse(course);
+        courseService.publishCourse(course.getCourseId());
+        CourseService.CourseStatistics coursesAfter = courseService.getCourseStatistics();
+        assertEquals(coursesBefore.getTotalCourses() + 1, coursesAfter.getTotalCourses());
+        assertEquals(coursesBefore.getPublishedCourses() + 1, coursesAfter.getPublishedCourses());
+        assertEquals(coursesBefore.getTotalCategories() + 1, coursesAfter.getTotalCategories());
+    
+        ApplicationResponse applied = applicationService.applyCourse(new CourseApplicationRequest(
+            UUID.fromString(registered.getStudentId()), course.getCourseId(), null));
+        assertTrue(applied.isSuccess());
+    
+        StudentService.StudentStatistics after = studentService.getStudentStatistics();
+        assertEquals(before.getTotalStudents() + 1, after.getTotalStudents());
+        assertEquals(before.getRegisteredStudents(), after.getRegisteredStudents());
+        assertEquals(before.getEnrolledStudents() + 1, after.getEnrolledStudents());
+        assertEquals(applicationsBefore + 1, applicationService.getApplicationStatistics().getAppliedCount());
+    
+        // Nothing drifted, so reconciliation has nothing to correct
+        assertEquals(0, entityCounterService.reconcile());
+    }
+    
+    @Test
+    public void testReconcileCorrectsDrift() {
+        entityCounterService.add(EntityCounterService.STUDENT, EntityCounterService.STATUS, StudentStatus.COMPLETED, 5);
+        entityCounterService.add(EntityCounterService.COURSE, EntityCounterService.CATEGORY, "Phantom", 2);
+    
+        assertTrue(entityCounterService.reconcile() >= 2);
+    
+        assertEquals(studentRepository.countByStatus(StudentStatus.COMPLETED),
+                     studentService.getStudentStatistics().getCompletedStudents());
+        assertEquals(0L, entityCounterService.getCounts(EntityCounterService.COURSE, EntityCounterService.CATEGORY)
+                                             .getOrDefault("Phantom", 0L));
+    }
+    
+    private static StudentRegistrationRequest request(String email) {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Counter");
+        request.setLastName("Student");
+        request.setGender("MALE");
+        request.setDob("01/01/2003");
+        request.setMobileNo("9876543211");
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setAge(22);
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FanOutExecutorTest {
+    
+    private final FanOutExecutor fanOutExecutor = new FanOutExecutor(4, false);
+    
+    @AfterEach
+    public void tearDown() {
+        fanOutExecutor.destroy();
+    }
+    
+    @Test
+    public void testBranchesRunInParallel() {
+        long start = System.nanoTime();
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofSeconds(5))
+            .branch("first", deadline -> sleepThenReturn(300, "a"))
+            .branch("second", deadline -> sleepThenReturn(300, "b"))
+            .branch("third", deadline -> sleepThenReturn(300, "c"))
+            .execute();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertTrue(result.isComplete());
+        assertEquals("a", result.get("first", String.class));
+        assertEquals("c", result.get("third", String.class));
+        assertTrue(elapsedMillis < 800, "took " + elapsedMillis + " ms");
+        assertTrue(result.getTimingsMillis().get("second") >= 250);
+    }
+    
+    @Test
+    public void testSlowAndFailingBranchesReturnPartialResult() {
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofMillis(200))
+            .branch("fast", deadline -> "ok")
+            .branch("slow", deadline -> sleepThenReturn(2000, "late"))
+            .branch("broken", deadline -> { throw new IllegalStateException("boom"); })
+            .execute();
+        
+        assertFalse(result.isComplete());
+        assertEquals("ok", result.get("fast", String.class));
+        assertNull(result.get("slow", String.class));
+        assertTrue(result.getErrors().get("slow").startsWith("Timed out"));
+        assertTrue(result.getErrors().get("broken").contains("boom"));
+        assertEquals(1, fanOutExecutor.getStatistics().get("slow").getFailures());
+    }
+    
+    @Test
+    public void testAsyncCallReportsBranchesAsTheyFinish() throws Exception {
+        List<String> finished = new CopyOnWriteArrayList<>();
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofMillis(300))
+            .branch("slow", deadline -> sleepThenReturn(150, "b"))
+            .branch("fast", deadline -> "a")
+            .branch("late", deadline -> sleepThenReturn(2000, "c"))
+            .onBranchDone((name, value, error, elapsedMillis) -> finished.add(name + "=" + (error == null ? value : error.getClass().getSimpleName())))
+            .executeAsync()
+            .get(2, TimeUnit.SECONDS);
+        
+        // A branch still running at the deadline is reported as cancelled
+        assertEquals(List.of("fast=a", "slow=b", "late=CancellationException"), finished);
+        assertEquals("b", result.get("slow", String.class));
+        assertTrue(result.getErrors().get("late").startsWith("Timed out"));
+    }
+    
+    @Test
+    public void testLateBranchIsInterruptedAndRunsItsExpiryActions() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch expired = new CountDownLatch(1);
+        // Long enough for the branch to start: one not started by the deadline never runs at all
+        FanOutExecutor.Result result = fanOutExecutor.call(Duration.ofMillis(500))
+            .branch("late", deadline -> {
+                started.countDown();
+                try (FanOutExecutor.Deadline.Registration ignored = deadline.onExpiry(expired::countDown)) {
+                    Thread.sleep(5000);
+                    return "late";
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    return null;
+                }
+            })
+            .execute();
+        
+        assertTrue(result.getErrors().get("late").startsWith("Timed out"));
+        assertTrue(started.await(0, TimeUnit.SECONDS));
+        assertTrue(expired.await(1, TimeUnit.SECONDS));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testSaturatedPoolFailsBranchesInsteadOfRunningThemOnTheCaller() {
+        FanOutExecutor single = new FanOutExecutor(1, false);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        List<Thread> ranOn = new CopyOnWriteArrayList<>();
+        try {
+            FanOutExecutor.Call call = single.call(Duration.ofMillis(300))
+                .branch("blocking", deadline -> {
+                    try {
+                        return release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        return false;
+                    }
+                });
+            // One running and 256 queued fill the pool
+            for (int i = 0; i < 300; i++) {
+                call.branch("branch-" + i, deadline -> ranOn.add(Thread.currentThread()));
+            }
+            FanOutExecutor.Result result = call.execute();
+            
+            assertEquals("Failed: Fan-out pool is saturated", result.getErrors().get("branch-299"));
+            assertFalse(ranOn.contains(caller));
+        } finally {
+            release.countDown();
+            single.destroy();
+        }
+    }
+    
+    private static String sleepThenReturn(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,171 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyNameIndexTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FuzzyNameIndexTest.class);
+    
+    private static final String[] FIRST = {"Aarav", "Priya", "Rahul", "Sneha", "Vikram", "Ananya", "Rohan", "Kavya", "Arjun", "Meera"};
+    private static final String[] LAST = {"Sharma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Khan", "Das", "Menon", "Rao"};
+    
+    @Test
+    public void testDictionaryWalkMatchesBruteForceDistance() {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        Random random = new Random(3);
+        List<String> dictionary = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(9);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(6)));
+            }
+            dictionary.add(word.toString());
+            index.put(UUID.randomUUID(), word.toString());
+        }
+        
+        for (String query : List.of("abc", "fedcba", "aaaa", "bacdef", "e", "abcdefabc")) {
+            for (int maxEdits = 0; maxEdits <= FuzzyNameIndex.MAX_EDITS; maxEdits++) {
+                Map<String, Integer> expected = new HashMap<>();
+                for (String word : dictionary) {
+                    int distance = distance(query, word);
+                    if (distance <= maxEdits) {
+                        expected.put(word, distance);
+                    }
+                }
+                assertEquals(expected, index.wordsWithin(query, maxEdits), query + "/" + maxEdits);
+            }
+        }
+    }
+    
+    @Test
+    public void testTyposRankByDistanceAndFollowUpdates() {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        UUID exact = UUID.randomUUID();
+        UUID swapped = UUID.randomUUID();
+        UUID twoOff = UUID.randomUUID();
+        index.put(twoOff, "Priyanka", "Shamra", "pshamra@example.com");
+        index.put(swapped, "Priya", "Shamra", "priya.s@example.com");
+        index.put(exact, "Priya", "Sharma", "priya.sharma@example.com");
+        
+        assertEquals(List.of(exact, swapped), index.search("priya sharma", 0, 10).ids());
+        assertEquals(List.of(exact, swapped, twoOff), index.search("sharma", 0, 10).ids());
+        // Email local parts are words too; short words must match exactly
+        assertEquals(List.of(exact), index.search("priya.shrama@example.org", 0, 10).ids());
+        assertEquals(0, index.search("pr", 0, 10).total());
+        assertEquals(List.of(swapped), index.search("sharma", 1, 1).ids());
+        
+        index.put(exact, "Priya", "Verma", "priya.verma@example.com");
+        assertEquals(List.of(swapped, twoOff), index.search("sharma", 0, 10).ids());
+        index.remove(swapped);
+        index.remove(twoOff);
+        assertEquals(0, index.search("sharma", 0, 10).total());
+        assertEquals(List.of(exact), index.search("varma", 0, 10).ids());
+    }
+    
+    @Test
+    public void testRemovedOrdinalsAreCompactedAwayKeepingTheRanking() {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(id, "Churn", "Student" + i);
+        }
+        // Remove all but every tenth, then add a newer one
+        List<UUID> kept = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 10 == 0) {
+                kept.add(0, ids.get(i));
+            } else {
+                index.remove(ids.get(i));
+            }
+        }
+        UUID newest = UUID.randomUUID();
+        index.put(newest, "Churn", "Latecomer");
+        kept.add(0, newest);
+        
+        assertTrue(index.ordinalRange() < 200, "range " + index.ordinalRange());
+        assertEquals(kept, index.search("churn", 0, 200).ids());
+        // Close misses of the neighbouring numbers follow the exact match
+        assertEquals(ids.get(990), index.search("student990", 0, 10).ids().get(0));
+        index.remove(ids.get(990));
+        assertEquals(ids.get(980), index.search("churn student990", 0, 10).ids().get(0));
+    }
+    
+    /**
+     * Builds an index of synthetic students with unique email local parts and reports the
+     * retained heap and typo lookup times. Run with -Dbenchmark.rows=1000000; skipped otherwise.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    public void measureHeapAndLatency() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        Random random = new Random(5);
+        long before = usedHeap();
+        
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (int i = 0; i < rows; i++) {
+            String first = FIRST[random.nextInt(FIRST.length)] + (char) ('a' + random.nextInt(26));
+            String last = LAST[random.nextInt(LAST.length)] + (char) ('a' + random.nextInt(26));
+            index.put(UUID.randomUUID(), first, last, (first + "." + last + i + "@example.com").toLowerCase());
+        }
+        long retained = usedHeap() - before;
+        logger.info("rows={} words={} heap={} MB ({} bytes per document)",
+                    rows, index.words(), retained >> 20, retained / rows);
+        
+        for (String query : List.of("pryiab", "sharmq", "ananyac menno", "kavyad.rao12x", "zzzzzz")) {
+            long best = Long.MAX_VALUE;
+            SearchHits hits = null;
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                hits = index.search(query, 0, 20);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            logger.info("rows={} query={} matches={} {} ms", rows, query, hits.total(), String.format("%.2f", best / 1e6));
+        }
+        assertEquals(rows, index.size());
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    // Optimal string alignment distance, straight from the definition
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,78 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.GlobalSearchHit;
+import com.trackerpro.dto.GlobalSearchResult;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class GlobalSearchServiceTest {
+    
+    @Autowired
+    private GlobalSearchService globalSearchService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Test
+    public void testMergesAllSourcesIntoRankedGroups() {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Globsearch");
+        request.setLastName("Fanout");
+        request.setGender("FEMALE");
+        request.setDob("01/01/2002");
+        request.setMobileNo("9876543215");
+        request.setEmail("globsearch.fanout@example.com");
+        request.setPassword("secret1");
+        request.setAge(23);
+        request.setLocation("Searchville");
+        RegistrationResponse registered = studentService.registerStudent(request);
+        assertTrue(registered.isSuccess());
+        UUID studentId = UUID.fromString(registered.getStudentId());
+        Course course = courseService.createCourse(new Course("GLB-201", "Intro to Globsearch", 3, "Search"));
+        
+        GlobalSearchResult result = globalSearchService.search("globsearch", 5);
+        
+        assertTrue(result.isComplete(), String.valueOf(result.getErrors()));
+        assertEquals(List.of("students", "users", "admins", "courses", "applications", "complaints"),
+                     List.copyOf(result.getTimingsMillis().keySet()));
+        // A name prefix outranks a later title word, so students come first
+        assertEquals(List.of("students", "courses"), List.copyOf(result.getGroups().keySet()));
+        GlobalSearchHit student = result.getGroups().get("students").get(0);
+        assertEquals(studentId, student.getId());
+        assertEquals("Globsearch Fanout", student.getTitle());
+        assertEquals(0.8, student.getScore(), 1e-9);
+        assertEquals(course.getCourseId(), result.getGroups().get("courses").get(0).getId());
+        
+        assertThrows(IllegalArgumentException.class, () -> globalSearchService.search(" ", 5));
+        assertThrows(IllegalArgumentException.class, () -> globalSearchService.search("x", GlobalSearchService.MAX_LIMIT + 1));
+        
+        courseService.deleteCourse(course.getCourseId());
+        studentService.deleteStudent(studentId);
+    }
+    
+    @Test
+    public void testScoresMatchesOnOneScale() {
+        assertEquals(1.0, GlobalSearchService.score("Data Science", "data science"), 1e-9);
+        assertEquals(0.8, GlobalSearchService.score("Database Design", "data"), 1e-9);
+        assertEquals(0.6, GlobalSearchService.score("Intro to Data", "data"), 1e-9);
+        assertEquals(0.4, GlobalSearchService.score("Metadata", "data"), 1e-9);
+        assertEquals(0.2, GlobalSearchService.score("Dtaa", "data"), 1e-9);
+    }
+}
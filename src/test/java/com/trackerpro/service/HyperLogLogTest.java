@@ -0,0 +1,56 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HyperLogLogTest {
+    
+    @Test
+    public void testEstimatesStayWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("student-" + i);
+        }
+        // Four standard errors, so the test does not fail by chance
+        assertEquals(100_000, sketch.estimate(), 100_000 * 4 * sketch.relativeStandardError());
+        
+        HyperLogLog small = new HyperLogLog(12);
+        for (int i = 0; i < 50; i++) {
+            small.add("location-" + (i % 10));
+        }
+        assertEquals(10, small.estimate());
+    }
+    
+    @Test
+    public void testMergedWeeksCountSharedValuesOnce() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 20_000; i++) {
+            first.add("applicant-" + i);
+            second.add("applicant-" + (i + 10_000));
+        }
+        first.merge(second);
+        assertEquals(30_000, first.estimate(), 30_000 * 4 * first.relativeStandardError());
+    }
+    
+    @Test
+    public void testSerializationRoundTrips() {
+        HyperLogLog sparse = new HyperLogLog(12);
+        assertTrue(sparse.add("pune"));
+        assertFalse(sparse.add("pune"));
+        byte[] sparseBytes = sparse.toBytes();
+        assertTrue(sparseBytes.length < 10);
+        assertEquals(1, HyperLogLog.fromBytes(sparseBytes).estimate());
+        
+        HyperLogLog dense = new HyperLogLog(12);
+        for (int i = 0; i < 10_000; i++) {
+            dense.add("value-" + i);
+        }
+        byte[] denseBytes = dense.toBytes();
+        assertEquals(2 + 4096, denseBytes.length);
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(denseBytes).estimate());
+    }
+}
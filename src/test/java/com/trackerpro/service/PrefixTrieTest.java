@@ -0,0 +1,53 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefixTrieTest {
+    
+    @Test
+    public void testPrefixLookupsAcrossSplitEdges() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("data", "d1", 2);
+        trie.put("database", "d2", 3);
+        trie.put("design", "d3", 1);
+        trie.put("data", "d1", 1);
+        
+        assertEquals(Map.of("d1", 2, "d2", 3, "d3", 1), collect(trie, "d"));
+        assertEquals(Map.of("d1", 2, "d2", 3), collect(trie, "dat"));
+        assertEquals(Map.of("d2", 3), collect(trie, "datab"));
+        assertEquals(Map.of("d1", 2, "d2", 3), collect(trie, "data"));
+        assertTrue(collect(trie, "dx").isEmpty());
+        assertTrue(collect(trie, "databases").isEmpty());
+    }
+    
+    @Test
+    public void testRemovalPrunesAndMergesNodes() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("java", "j", 1);
+        int afterOne = trie.nodes();
+        trie.put("javascript", "js", 1);
+        trie.put("jakarta", "jk", 1);
+        
+        trie.remove("javascript", "js");
+        trie.remove("jakarta", "jk");
+        trie.remove("jakarta", "missing");
+        assertEquals(afterOne, trie.nodes());
+        assertEquals(Map.of("j", 1), collect(trie, "ja"));
+        
+        trie.remove("java", "j");
+        assertEquals(1, trie.nodes());
+        assertTrue(collect(trie, "").isEmpty());
+    }
+    
+    private static Map<String, Integer> collect(PrefixTrie<String> trie, String prefix) {
+        Map<String, Integer> values = new HashMap<>();
+        trie.forEachWithPrefix(prefix, values::put);
+        return values;
+    }
+}
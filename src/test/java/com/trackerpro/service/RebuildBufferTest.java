@@ -0,0 +1,68 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RebuildBufferTest {
+
+    private final RebuildBuffer rebuildBuffer = new RebuildBuffer(new ReentrantReadWriteLock());
+
+    // Guarded by the buffer's lock
+    private Map<String, Long> index = new HashMap<>(Map.of("a", 1L));
+
+    @Test
+    public void testChangesDuringARebuildReachTheRebuiltIndex() {
+        rebuildBuffer.begin();
+        // The rebuild read "a" before these committed
+        Map<String, Long> rebuilt = new HashMap<>(Map.of("a", 1L));
+        rebuildBuffer.apply(() -> index.put("b", 2L));
+        rebuildBuffer.apply(() -> index.remove("a"));
+        rebuildBuffer.swap(() -> index = rebuilt);
+        rebuildBuffer.end();
+        assertEquals(Map.of("b", 2L), index);
+
+        // Nothing is kept once no rebuild is running
+        rebuildBuffer.apply(() -> index.put("c", 3L));
+        Map<String, Long> next = new HashMap<>();
+        rebuildBuffer.begin();
+        rebuildBuffer.swap(() -> index = next);
+        rebuildBuffer.end();
+        assertEquals(Map.of(), index);
+    }
+
+    @Test
+    public void testDeltasReplayAsTheirReplacement() {
+        rebuildBuffer.begin();
+        // The rebuild already counted the increment, so a replayed delta would count it twice
+        Map<String, Long> rebuilt = new HashMap<>(Map.of("a", 2L));
+        rebuildBuffer.apply(() -> index.merge("a", 1L, Long::sum), () -> index.put("a", 2L));
+        assertEquals(2L, index.get("a"));
+        rebuildBuffer.swap(() -> index = rebuilt);
+        rebuildBuffer.end();
+        assertEquals(Map.of("a", 2L), index);
+    }
+
+    @Test
+    public void testOverlappingRebuildsEachReplayEveryChangeSinceTheFirstBegan() {
+        rebuildBuffer.begin();
+        rebuildBuffer.apply(() -> index.put("b", 2L));
+        rebuildBuffer.begin();
+        rebuildBuffer.apply(() -> index.put("c", 3L));
+
+        Map<String, Long> first = new HashMap<>();
+        rebuildBuffer.swap(() -> index = first);
+        rebuildBuffer.end();
+        assertEquals(Map.of("b", 2L, "c", 3L), index);
+
+        // The second rebuild began after "b" committed, but its snapshot may predate it
+        Map<String, Long> second = new HashMap<>();
+        rebuildBuffer.swap(() -> index = second);
+        rebuildBuffer.end();
+        assertEquals(Map.of("b", 2L, "c", 3L), index);
+    }
+}
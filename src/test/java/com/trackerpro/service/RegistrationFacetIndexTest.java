@@ -0,0 +1,79 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.RegistrationFacetQuery;
+import com.trackerpro.dto.RegistrationFacetResult;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RegistrationFacetIndexTest {
+    
+    @Autowired
+    private RegistrationFacetIndex registrationFacetIndex;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Test
+    public void testFiltersCombineAndFacetsCountOtherFilters() {
+        register("facet.one@example.com", "FEMALE", 21);
+        register("facet.two@example.com", "MALE", 22);
+        String newest = register("facet.three@example.com", "FEMALE", 24);
+        
+        RegistrationFacetQuery query = new RegistrationFacetQuery();
+        query.setLocation("facetville");
+        query.setGender(List.of(Gender.FEMALE));
+        RegistrationFacetResult result = registrationFacetIndex.search(query);
+        assertEquals(2, result.getTotal());
+        assertEquals(newest, result.getStudents().get(0).getStudentId().toString());
+        // The gender facet ignores the gender filter itself
+        assertEquals(1L, result.getFacets().get("gender").get("MALE"));
+        assertEquals(2L, result.getFacets().get("gender").get("FEMALE"));
+        assertEquals(2L, result.getFacets().get("location").get("Facetville"));
+        
+        query.setMinAge(23);
+        query.setWeekFrom(LocalDate.now());
+        result = registrationFacetIndex.search(query);
+        assertEquals(1, result.getTotal());
+        
+        // Updates move the student between facet values
+        Student student = studentService.getStudentById(UUID.fromString(newest));
+        student.setLocation("Elsewhere");
+        studentService.updateStudent(student.getStudentId(), student);
+        assertEquals(0, registrationFacetIndex.search(query).getTotal());
+        
+        query.setSize(0);
+        assertThrows(IllegalArgumentException.class, () -> registrationFacetIndex.search(query));
+    }
+    
+    private String register(String email, String gender, int age) {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Facet");
+        request.setLastName("Student");
+        request.setGender(gender);
+        request.setDob("01/01/2003");
+        request.setMobileNo("9876543213");
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setAge(age);
+        request.setLocation("Facetville");
+        RegistrationResponse registered = studentService.registerStudent(request);
+        assertTrue(registered.isSuccess());
+        return registered.getStudentId();
+    }
+}
@@ -0,0 +1,107 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SearchIndexServiceTest {
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private EntityCounterService entityCounterService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    public void testEntityChangesReachTheIndex() {
+        UUID studentId = UUID.fromString(register("Trigramma", "Quixote", "tq.search@example.com"));
+        
+        List<Student> found = studentService.searchStudents("TRIGRAMM", 0, 10);
+        assertEquals(1, found.size());
+        assertEquals(studentId, found.get(0).getStudentId());
+        assertEquals(1, studentService.searchStudents("tq.search@", 0, 10).size());
+        
+        Student student = studentService.getStudentById(studentId);
+        student.setLastName("Zarathustra");
+        studentService.updateStudent(studentId, student);
+        assertTrue(studentService.searchStudents("quixote", 0, 10).isEmpty());
+        assertEquals(studentId, studentService.searchStudents("zarathus", 0, 10).get(0).getStudentId());
+        
+        // Nothing contains a misspelt name, so the typo-tolerant index answers
+        assertEquals(studentId, studentService.searchStudents("Trigrama Zarathustar", 0, 10).get(0).getStudentId());
+        
+        studentService.deleteStudent(studentId);
+        assertTrue(studentService.searchStudents("trigramma", 0, 10).isEmpty());
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> searchIndexService.search(SearchIndexService.Kind.STUDENT, "x", 0, SearchIndexService.MAX_PAGE_SIZE + 1));
+    }
+    
+    @Test
+    public void testRebuildMatchesIncrementalIndex() {
+        register("Rebuilda", "Indexer", "rebuild.search@example.com");
+        long before = searchIndexService.search(SearchIndexService.Kind.STUDENT, "e", 0, 1).total();
+        
+        searchIndexService.rebuild();
+        assertEquals(before, searchIndexService.search(SearchIndexService.Kind.STUDENT, "e", 0, 1).total());
+        assertEquals(1, searchIndexService.search(SearchIndexService.Kind.STUDENT, "rebuilda", 0, 10).total());
+        assertTrue(searchIndexService.search(SearchIndexService.Kind.ADMIN, "admin", 0, 10).total() > 0);
+    }
+    
+    @Test
+    public void testWarmStartCatchesUpWithRowsChangedWhileDown() {
+        UUID renamed = UUID.fromString(register("Segmenta", "Warmstart", "segmenta.warm@example.com"));
+        UUID removed = UUID.fromString(register("Segmentb", "Warmstart", "segmentb.warm@example.com"));
+        searchIndexService.flush();
+        assertTrue(searchIndexService.getStatistics().get("student").getSegments() > 0);
+        
+        // Written behind the application's back, as if while it was stopped
+        jdbcTemplate.update("UPDATE students SET last_name = 'Coldstart', updated_at = ? WHERE student_id = ?",
+                            LocalDateTime.now(), renamed);
+        jdbcTemplate.update("DELETE FROM students WHERE student_id = ?", removed);
+        assertEquals(2, searchIndexService.search(SearchIndexService.Kind.STUDENT, "warmstart", 0, 10).total());
+        
+        searchIndexService.warmStart();
+        assertEquals(0, searchIndexService.search(SearchIndexService.Kind.STUDENT, "warmstart", 0, 10).total());
+        assertEquals(List.of(renamed), searchIndexService.search(SearchIndexService.Kind.STUDENT, "coldstart", 0, 10).ids());
+        assertEquals(List.of(renamed), searchIndexService.fuzzySearch(SearchIndexService.Kind.STUDENT, "segmenta coldstrat", 0, 10).ids());
+        entityCounterService.reconcile();
+    }
+    
+    private String register(String firstName, String lastName, String email) {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName(firstName);
+        request.setLastName(lastName);
+        request.setGender("MALE");
+        request.setDob("01/01/2003");
+        request.setMobileNo("9876543214");
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setAge(22);
+        request.setLocation("Searchville");
+        RegistrationResponse registered = studentService.registerStudent(request);
+        assertTrue(registered.isSuccess());
+        return registered.getStudentId();
+    }
+}
@@ -0,0 +1,148 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SegmentStoreTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SegmentStoreTest.class);
+    
+    private static final String[] FIRST = {"Aarav", "Priya", "Rahul", "Sneha", "Vikram", "Ananya", "Rohan", "Kavya", "Arjun", "Meera"};
+    private static final String[] LAST = {"Sharma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Khan", "Das", "Menon", "Rao"};
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void testSegmentsReplayInOrderAndMergeIntoOne() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        assertEquals(0, store.load().segments());
+        assertNull(store.load().watermark());
+        
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        LocalDateTime baseTime = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_456_789);
+        try (SegmentStore.Writer base = store.newBase(baseTime)) {
+            base.add(first, new String[] {"Asha", "Kulkarni", "asha@example.com"});
+            base.add(second, new String[] {"Bilal", null, "bilal@example.com"});
+            base.commit();
+        }
+        
+        store.record(third, new String[] {"Chitra", "Menon", "chitra@example.com"});
+        store.record(second, null);
+        store.record(first, new String[] {"Asha", "Kulkarni-Rao", "asha@example.com"});
+        assertEquals(3, store.flush(baseTime.plusMinutes(1)));
+        assertEquals(0, store.flush(baseTime.plusMinutes(2)));
+        store.record(second, new String[] {"Bilal", "Shaikh", "bilal@example.com"});
+        store.flush(baseTime.plusMinutes(3));
+        
+        SegmentStore.Snapshot snapshot = store.load();
+        assertEquals(3, snapshot.segments());
+        assertEquals(baseTime.plusMinutes(3), snapshot.watermark());
+        // Updates keep a document's place; a deleted and re-added one goes last
+        assertEquals(List.of(first, third, second), List.copyOf(snapshot.documents().keySet()));
+        assertArrayEquals(new String[] {"Asha", "Kulkarni-Rao", "asha@example.com"}, snapshot.documents().get(first));
+        
+        store.merge();
+        SegmentStore.Snapshot merged = new SegmentStore(directory).load();
+        assertEquals(1, merged.segments());
+        assertEquals(snapshot.watermark(), merged.watermark());
+        assertEquals(List.copyOf(snapshot.documents().keySet()), List.copyOf(merged.documents().keySet()));
+        assertArrayEquals(snapshot.documents().get(second), merged.documents().get(second));
+        
+        // Segments written after a reopen still come last
+        SegmentStore reopened = new SegmentStore(directory);
+        reopened.record(third, null);
+        reopened.flush(baseTime.plusMinutes(4));
+        assertEquals(List.of(first, second), List.copyOf(reopened.load().documents().keySet()));
+    }
+    
+    @Test
+    public void testDamagedAndUncommittedSegmentsAreNotRead() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        try (SegmentStore.Writer abandoned = store.newBase(LocalDateTime.now())) {
+            abandoned.add(UUID.randomUUID(), new String[] {"Never", "Committed"});
+        }
+        assertEquals(0, store.load().segments());
+        
+        store.record(UUID.randomUUID(), new String[] {"Deepa", "Iyer", "deepa@example.com"});
+        store.flush(LocalDateTime.now());
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), 40);
+        }
+        assertThrows(IOException.class, store::load);
+    }
+    
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+    
+    /**
+     * Writes a base segment of synthetic students and times a warm start from it: reading
+     * the segment and building both search indexes. Run with -Dbenchmark.rows=1000000; skipped otherwise.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    public void measureWarmStart() throws Exception {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        Random random = new Random(13);
+        SegmentStore store = new SegmentStore(directory);
+        try (SegmentStore.Writer base = store.newBase(LocalDateTime.now())) {
+            for (int i = 0; i < rows; i++) {
+                String first = FIRST[random.nextInt(FIRST.length)];
+                String last = LAST[random.nextInt(LAST.length)];
+                base.add(UUID.randomUUID(), new String[] {first, last, (first + "." + last + i + "@example.com").toLowerCase()});
+            }
+            base.commit();
+        }
+        
+        long start = System.nanoTime();
+        SegmentStore reopened = new SegmentStore(directory);
+        TrigramIndex index = new TrigramIndex();
+        FuzzyNameIndex fuzzyIndex = new FuzzyNameIndex();
+        // As SearchIndexService#warmStart does: each index replays the segment on its own thread
+        Thread trigrams = new Thread(() -> {
+            try {
+                reopened.replay(index::put, index::remove);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        trigrams.start();
+        reopened.replay(fuzzyIndex::put, fuzzyIndex::remove);
+        long fuzzyDone = System.nanoTime();
+        trigrams.join();
+        long done = System.nanoTime();
+        logger.info("rows={} segment={} MB fuzzy={} ms both={} ms", rows, size(directory) >> 20,
+                    (fuzzyDone - start) / 1_000_000, (done - start) / 1_000_000);
+        assertEquals(rows, index.size());
+    }
+}
@@ -0,0 +1,55 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.PrincipalType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionTokenServiceTest {
+    
+    private final SessionTokenService sessionTokenService = new SessionTokenService("test-secret", 60);
+    
+    @Test
+    public void testIssuedTokenVerifies() {
+        String token = sessionTokenService.issueToken(PrincipalType.STUDENT, "student-1", "STUDENT");
+        
+        Optional<SessionTokenService.SessionClaims> claims = sessionTokenService.verify(token);
+        assertTrue(claims.isPresent());
+        assertEquals(PrincipalType.STUDENT, claims.get().getPrincipalType());
+        assertEquals("student-1", claims.get().getPrincipalId());
+        assertEquals("STUDENT", claims.get().getRole());
+    }
+    
+    @Test
+    public void testTamperedOrForeignTokensAreRejected() {
+        String token = sessionTokenService.issueToken(PrincipalType.USER, "user-1", "HR");
+        String tampered = token.substring(0, token.indexOf('.') - 2) + "AA" + token.substring(token.indexOf('.'));
+        String foreign = new SessionTokenService("other-secret", 60).issueToken(PrincipalType.ADMIN, "admin-1", "ADMIN");
+        
+        assertFalse(sessionTokenService.verify(tampered).isPresent());
+        assertFalse(sessionTokenService.verify(foreign).isPresent());
+        assertFalse(sessionTokenService.verify("not-a-token").isPresent());
+    }
+    
+    @Test
+    public void testExpiredAndRevokedTokensAreRejected() {
+        String expired = new SessionTokenService("test-secret", 0).issueToken(PrincipalType.ADMIN, "admin-1", "ADMIN");
+        assertFalse(sessionTokenService.verify(expired).isPresent());
+        
+        String token = sessionTokenService.issueToken(PrincipalType.ADMIN, "admin-1", "ADMIN");
+        assertTrue(sessionTokenService.revoke(token));
+        assertFalse(sessionTokenService.verify(token).isPresent());
+        assertEquals(1, sessionTokenService.getRevokedCount());
+    }
+    
+    @Test
+    public void testExtractBearerToken() {
+        assertEquals("abc.def", SessionTokenService.extractBearerToken("Bearer abc.def"));
+        assertEquals(null, SessionTokenService.extractBearerToken("Basic abc"));
+        assertEquals(null, SessionTokenService.extractBearerToken(null));
+    }
+}
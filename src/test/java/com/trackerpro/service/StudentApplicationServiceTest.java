@@ -0,0 +1,111 @@
+package com.trackerpro.service;
+
+import com.trackerpro.entity.Course;
+import com.trackerpro.entity.Gender;
+import com.trackerpro.entity.Student;
+import com.trackerpro.entity.StudentApplication;
+import com.trackerpro.repository.CourseRepository;
+import com.trackerpro.repository.StudentApplicationRepository;
+import com.trackerpro.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class StudentApplicationServiceTest {
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentApplicationRepository applicationRepository;
+    
+    // Written through repositories, bypassing the counters other tests read, so removed again
+    private final List<StudentApplication> createdApplications = new ArrayList<>();
+    private final List<Student> createdStudents = new ArrayList<>();
+    private final List<Course> createdCourses = new ArrayList<>();
+    
+    @AfterEach
+    public void deleteCreatedRows() {
+        applicationRepository.deleteAll(createdApplications);
+        studentRepository.deleteAll(createdStudents);
+        courseRepository.deleteAll(createdCourses);
+    }
+    
+    @Test
+    public void testSearchPagesOverApplicationsNotStudents() {
+        Course course = courseRepository.save(new Course("APS-101", "Application Paging", 3, "Search"));
+        createdCourses.add(course);
+        student("Alpha");
+        UUID second = apply(course, student("Bravo"));
+        student("Charlie");
+        UUID fourth = apply(course, student("Delta"));
+        
+        // Students without applications take no page slots
+        List<UUID> all = ids(applicationService.searchApplications("pagesearcher", 0, 10));
+        assertEquals(Set.of(second, fourth), Set.copyOf(all));
+        assertEquals(2, all.size());
+        assertEquals(all.subList(0, 1), ids(applicationService.searchApplications("pagesearcher", 0, 1)));
+        assertEquals(all.subList(1, 2), ids(applicationService.searchApplications("pagesearcher", 1, 1)));
+        assertTrue(applicationService.searchApplications("pagesearcher", 2, 1).isEmpty());
+        assertTrue(applicationService.searchApplications("pagesearcher", Integer.MAX_VALUE, 10).isEmpty());
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> applicationService.searchApplications("pagesearcher", 0, SearchIndexService.MAX_PAGE_SIZE + 1));
+    }
+    
+    @Test
+    public void testEveryApplicationOfAStudentIsKept() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        UUID older = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        // Rows come newest first across students; the second student has two applications
+        List<Object[]> rows = List.of(new Object[] {newer, second}, new Object[] {other, first},
+                                      new Object[] {older, second});
+        
+        assertEquals(List.of(other, newer, older), StudentApplicationService.inStudentOrder(List.of(first, second), rows));
+        assertEquals(List.of(newer, older, other), StudentApplicationService.inStudentOrder(List.of(second, first), rows));
+        assertEquals(List.of(), StudentApplicationService.inStudentOrder(List.of(UUID.randomUUID()), rows));
+    }
+    
+    private Student student(String firstName) {
+        Student student = studentRepository.save(new Student(firstName, "Pagesearcher",
+                                                             firstName.toLowerCase() + ".pagesearcher@example.com", "hash",
+                                                             Gender.MALE, "01/01/2003", 22, "Delhi", "1234567890"));
+        createdStudents.add(student);
+        return student;
+    }
+    
+    private UUID apply(Course course, Student student) {
+        StudentApplication application = new StudentApplication();
+        application.setStudent(student);
+        application.setCourse(course);
+        application = applicationRepository.save(application);
+        createdApplications.add(application);
+        return application.getApplicationId();
+    }
+    
+    private static List<UUID> ids(List<StudentApplication> applications) {
+        return applications.stream().map(StudentApplication::getApplicationId).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.ApplicationResponse;
+import com.trackerpro.dto.CourseApplicationRequest;
+import com.trackerpro.dto.LoginRequest;
+import com.trackerpro.dto.LoginResponse;
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import com.trackerpro.entity.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class StudentHomeCacheTest {
+    
+    @Autowired
+    private StudentHomeCache studentHomeCache;
+    
+    @Autowired
+    private AuthenticationService authenticationService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentApplicationService applicationService;
+    
+    @Test
+    public void testLoginPrefetchServesHomeFromCacheUntilWrite() throws InterruptedException {
+        Course course = new Course();
+        course.setCourseCode("CACHE101");
+        course.setCourseTitle("Caching Basics");
+        course.setDurationMonths(3);
+        course.setCategory("Engineering");
+        course = courseService.createCourse(course);
+        courseService.publishCourse(course.getCourseId());
+        
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        request.setFirstName("Cached");
+        request.setLastName("Student");
+        request.setEmail("cached.student@example.com");
+        request.setPassword("password123");
+        request.setGender("Male");
+        request.setDob("01/01/2003");
+        request.setAge(22);
+        request.setMobileNo("1234567890");
+        RegistrationResponse registration = studentService.registerStudent(request);
+        UUID studentId = UUID.fromString(registration.getStudentId());
+        
+        long prefetchesBefore = studentHomeCache.getStatistics().getPrefetches();
+        LoginResponse login = authenticationService.authenticateLogin(
+            new LoginRequest("cached.student@example.com", "password123"));
+        assertTrue(login.isSuccess());
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (studentHomeCache.getStatistics().getPrefetches() == prefetchesBefore
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        
+        long hitsBefore = studentHomeCache.getStatistics().getHits();
+        assertEquals("Cached", studentHomeCache.getStudent(studentId).orElseThrow().getFirstName());
+        assertTrue(studentHomeCache.canApply(studentId));
+        assertTrue(studentHomeCache.getAvailableCourses().stream()
+            .anyMatch(available -> available.getCourseCode().equals("CACHE101")));
+        assertEquals(hitsBefore + 3, studentHomeCache.getStatistics().getHits());
+        
+        // Applying evicts the student's entry, so the next read sees the application
+        ApplicationResponse applied = applicationService.applyCourse(
+            new CourseApplicationRequest(studentId, course.getCourseId(), null));
+        assertTrue(applied.isSuccess());
+        assertFalse(studentHomeCache.canApply(studentId));
+        assertEquals("Caching Basics", studentHomeCache.getApplication(studentId).orElseThrow()
+            .getCourse().getCourseTitle());
+    }
+}
@@ -0,0 +1,99 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.RegistrationResponse;
+import com.trackerpro.dto.StudentImportResult;
+import com.trackerpro.dto.StudentImportSummary;
+import com.trackerpro.dto.StudentRegistrationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "trackerpro.student-import.chunk-size=2")
+@ActiveProfiles("test")
+public class StudentImportServiceTest {
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private PrincipalDirectoryService principalDirectoryService;
+    
+    @Test
+    public void testCsvImportReportsEveryRow() {
+        StudentRegistrationRequest existing = new StudentRegistrationRequest();
+        existing.setFirstName("Existing");
+        existing.setLastName("Student");
+        existing.setGender("FEMALE");
+        existing.setDob("01/01/2003");
+        existing.setMobileNo("9876543210");
+        existing.setEmail("existing.import@example.com");
+        existing.setPassword("secret1");
+        existing.setAge(22);
+        RegistrationResponse registered = studentService.registerStudent(existing);
+        assertTrue(registered.isSuccess());
+        
+        String csv = String.join("\n",
+            "email,firstName,lastName,gender,dob,age,location,mobileNo,password",
+            "first.import@example.com,First,Import,MALE,01/02/2003,21,\"Pune, MH\",9876500001,secret1",
+            "EXISTING.import@example.com,Dup,Existing,MALE,01/02/2003,21,Pune,9876500002,secret1",
+            "second.import@example.com,Second,Import,FEMALE,01/02/2003,22,Pune,12345,secret1",
+            "third.import@example.com,Third,Import,FEMALE,01/02/2003,23,Pune,9876500003,secret1",
+            "First.Import@example.com,Again,Import,MALE,01/02/2003,21,Pune,9876500004,secret1",
+            "fourth.import@example.com,Fourth,Import,ROBOT,01/02/2003,21,Pune,9876500005,secret1");
+        
+        List<StudentImportResult> results = new ArrayList<>();
+        StudentImportSummary summary = studentImportService.importStudents(
+            new BufferedReader(new StringReader(csv)), StudentImportReader.Format.CSV, results::add);
+        
+        assertEquals(6, summary.getTotalRows());
+        assertEquals(2, summary.getImported());
+        assertEquals(4, summary.getFailed());
+        
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).getRow());
+        }
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        // Repeats an email imported by an earlier chunk
+        assertFalse(results.get(4).isSuccess());
+        assertFalse(results.get(5).isSuccess());
+        
+        assertTrue(principalDirectoryService.resolveLogin("first.import@example.com").isPresent());
+        assertEquals("Pune, MH", studentService.getStudentById(
+            UUID.fromString(results.get(0).getStudentId())).getLocation());
+    }
+    
+    @Test
+    public void testNdjsonImport() {
+        String ndjson = String.join("\n",
+            "{\"firstName\":\"Json\",\"lastName\":\"Row\",\"gender\":\"MALE\",\"dob\":\"01/01/2002\",\"age\":23,"
+                + "\"mobileNo\":\"9876500010\",\"email\":\"json.import@example.com\",\"password\":\"secret1\"}",
+            "",
+            "{not json");
+        
+        List<StudentImportResult> results = new ArrayList<>();
+        StudentImportSummary summary = studentImportService.importStudents(
+            new BufferedReader(new StringReader(ndjson)), StudentImportReader.Format.NDJSON, results::add);
+        
+        assertEquals(2, summary.getTotalRows());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+    }
+}
@@ -0,0 +1,71 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTableTest {
+    
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucketTable table = new TokenBucketTable(64, 3, 60, clock::get);
+        
+        assertEquals(0, table.tryAcquire("alice@example.com"));
+        assertEquals(0, table.tryAcquire("alice@example.com"));
+        assertEquals(0, table.tryAcquire("alice@example.com"));
+        long wait = table.tryAcquire("alice@example.com");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+        
+        // Other keys are unaffected
+        assertEquals(0, table.tryAcquire("bob@example.com"));
+        
+        // 60 per minute refills one token per second
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, table.tryAcquire("alice@example.com"));
+        assertTrue(table.tryAcquire("alice@example.com") > 0);
+    }
+    
+    @Test
+    public void testMemoryStaysFixedAndExpiredBucketsAreReused() {
+        TokenBucketTable table = new TokenBucketTable(16, 2, 60, clock::get);
+        
+        for (int i = 0; i < 10_000; i++) {
+            table.tryAcquire("user" + i + "@example.com");
+        }
+        assertEquals(16, table.getSlotCount());
+        assertTrue(table.liveBuckets() <= 16);
+        
+        // Once every bucket has refilled, none of them count as live
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(0, table.liveBuckets());
+    }
+    
+    @Test
+    public void testRefundGivesBackATokenUpToCapacity() {
+        TokenBucketTable table = new TokenBucketTable(64, 2, 60, clock::get);
+        
+        assertEquals(0, table.tryAcquire("campus-nat"));
+        assertEquals(0, table.tryAcquire("campus-nat"));
+        assertTrue(table.tryAcquire("campus-nat") > 0);
+        
+        // Refunded attempts can be made again straight away
+        table.refund("campus-nat");
+        assertEquals(0, table.tryAcquire("campus-nat"));
+        assertTrue(table.tryAcquire("campus-nat") > 0);
+        
+        // Refunds never raise a bucket above capacity, and unknown keys are ignored
+        for (int i = 0; i < 5; i++) {
+            table.refund("campus-nat");
+        }
+        table.refund("unseen");
+        assertEquals(0, table.tryAcquire("campus-nat"));
+        assertEquals(0, table.tryAcquire("campus-nat"));
+        assertTrue(table.tryAcquire("campus-nat") > 0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.trackerpro.service;
+
+import com.trackerpro.dto.TrendPoint;
+import com.trackerpro.entity.TrendBucket;
+import com.trackerpro.entity.TrendGranularity;
+import com.trackerpro.entity.TrendSeries;
+import com.trackerpro.repository.TrendBucketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TrendRollupServiceTest {
+    
+    @Autowired
+    private TrendRollupService trendRollupService;
+    
+    @Autowired
+    private TrendBucketRepository bucketRepository;
+    
+    @Test
+    public void testRecordedEventsShowUpInEveryGranularity() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minusDays(6);
+        LocalDateTime to = now.plusHours(1);
+        List<TrendPoint> before = trendRollupService.getSeries(TrendSeries.COMPLAINTS, TrendGranularity.DAY, from, to);
+        long hourlyBefore = trendRollupService.countSince(TrendSeries.COMPLAINTS, now.minusDays(7));
+        
+        trendRollupService.record(TrendSeries.COMPLAINTS, now, 3);
+        trendRollupService.record(TrendSeries.COMPLAINTS, now, -1);
+        
+        List<TrendPoint> after = trendRollupService.getSeries(TrendSeries.COMPLAINTS, TrendGranularity.DAY, from, to);
+        assertEquals(7, after.size());
+        assertEquals(TrendGranularity.DAY.bucketStart(from), after.get(0).getBucketStart());
+        assertEquals(before.get(6).getCount() + 2, after.get(6).getCount());
+        assertEquals(hourlyBefore + 2, trendRollupService.countSince(TrendSeries.COMPLAINTS, now.minusDays(7)));
+        
+        List<TrendPoint> weeks = trendRollupService.getSeries(TrendSeries.COMPLAINTS, TrendGranularity.WEEK, now, to);
+        assertTrue(weeks.get(0).getCount() >= 2);
+    }
+    
+    @Test
+    public void testCompactionDropsExpiredHourlyBuckets() {
+        LocalDateTime old = TrendGranularity.HOUR.bucketStart(LocalDateTime.now().minusDays(400));
+        bucketRepository.save(new TrendBucket(TrendSeries.APPLICATIONS, TrendGranularity.HOUR, old, 5));
+        bucketRepository.save(new TrendBucket(TrendSeries.APPLICATIONS, TrendGranularity.WEEK,
+                                              TrendGranularity.WEEK.bucketStart(old), 5));
+        
+        assertTrue(trendRollupService.compact() >= 1);
+        
+        assertFalse(bucketRepository.existsBySeriesAndGranularityAndBucketStart(
+            TrendSeries.APPLICATIONS, TrendGranularity.HOUR, old));
+        assertTrue(bucketRepository.existsBySeriesAndGranularityAndBucketStart(
+            TrendSeries.APPLICATIONS, TrendGranularity.WEEK, TrendGranularity.WEEK.bucketStart(old)));
+        assertThrows(IllegalArgumentException.class, () -> trendRollupService.getSeries(
+            TrendSeries.APPLICATIONS, TrendGranularity.HOUR, old, LocalDateTime.now()));
+    }
+}
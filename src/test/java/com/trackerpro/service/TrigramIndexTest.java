@@ -0,0 +1,167 @@
+package com.trackerpro.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TrigramIndexTest.class);
+    
+    private static final String[] FIRST = {"Aarav", "Priya", "Rahul", "Sneha", "Vikram", "Ananya", "Rohan", "Kavya", "Arjun", "Meera"};
+    private static final String[] LAST = {"Sharma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Khan", "Das", "Menon", "Rao"};
+    
+    @Test
+    public void testMatchesSubstringScanAndRanksBetterMatchesFirst() {
+        TrigramIndex index = new TrigramIndex();
+        Map<UUID, String[]> documents = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            UUID id = UUID.randomUUID();
+            String[] fields = person(random, i);
+            documents.put(id, fields);
+            index.put(id, fields);
+        }
+        
+        for (String term : List.of("pri", "SHARMA", "a", "ya", "el.", "@example", "rao9", "zzz", "ananya.menon1")) {
+            Set<UUID> expected = new HashSet<>();
+            documents.forEach((id, fields) -> {
+                for (String field : fields) {
+                    if (field.toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT))) {
+                        expected.add(id);
+                    }
+                }
+            });
+            SearchHits hits = index.search(term, 0, 5_000);
+            assertEquals(expected.size(), hits.total(), term);
+            assertEquals(expected, new HashSet<>(hits.ids()), term);
+        }
+        
+        UUID exact = UUID.randomUUID();
+        UUID prefix = UUID.randomUUID();
+        UUID word = UUID.randomUUID();
+        UUID infix = UUID.randomUUID();
+        TrigramIndex ranked = new TrigramIndex();
+        ranked.put(infix, "Kuldeep", "Singh", "xdeep@example.com");
+        ranked.put(word, "Amar", "Singh", "amar.deep@example.com");
+        ranked.put(exact, "Deep", "Shah", "ds@example.com");
+        ranked.put(prefix, "Deepika", "Rao", "dr@example.com");
+        assertEquals(List.of(exact, prefix, word, infix), ranked.search("deep", 0, 10).ids());
+        assertEquals(List.of(word, infix), ranked.search("deep", 1, 2).ids());
+    }
+    
+    @Test
+    public void testUpdatesAndRemovalsReplacePostings() {
+        TrigramIndex index = new TrigramIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Nikhil", "Joshi", "nikhil@example.com");
+        assertEquals(List.of(id), index.search("joshi", 0, 10).ids());
+        
+        index.put(id, "Nikhil", "Kulkarni", "nikhil@example.com");
+        assertEquals(0, index.search("joshi", 0, 10).total());
+        assertEquals(List.of(id), index.search("kulk", 0, 10).ids());
+        
+        index.remove(id);
+        assertEquals(0, index.search("nik", 0, 10).total());
+        assertEquals(0, index.search("n", 0, 10).total());
+        assertEquals(0, index.size());
+        assertEquals(0, index.trigrams());
+        // Terms never match across two fields
+        index.put(id, "Ab", "Cd", null);
+        assertEquals(0, index.search("bc", 0, 10).total());
+    }
+    
+    /**
+     * Compares the index with the LIKE query it replaced, kept only here as the baseline,
+     * on an in-memory H2 table. Run with -Dbenchmark.rows=100000 (or 1000000); skipped otherwise.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    public void benchmarkAgainstLikeQuery() throws Exception {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        List<String> terms = List.of("pri", "sharma", "ananya.men", "kavya.rao12", "@example", "xyz");
+        TrigramIndex index = new TrigramIndex();
+        Random random = new Random(11);
+        
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:trigram_benchmark")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE people (id UUID PRIMARY KEY, first_name VARCHAR(50), " +
+                                  "last_name VARCHAR(50), email VARCHAR(100))");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO people VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    UUID id = UUID.randomUUID();
+                    String[] fields = person(random, i);
+                    index.put(id, fields);
+                    insert.setObject(1, id);
+                    insert.setString(2, fields[0]);
+                    insert.setString(3, fields[1]);
+                    insert.setString(4, fields[2]);
+                    insert.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            
+            String like = "SELECT id FROM people WHERE LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? " +
+                          "OR LOWER(email) LIKE ?";
+            try (PreparedStatement query = connection.prepareStatement(like)) {
+                for (String term : terms) {
+                    long likeNanos = Long.MAX_VALUE;
+                    long indexNanos = Long.MAX_VALUE;
+                    List<UUID> likeIds = new ArrayList<>();
+                    SearchHits hits = null;
+                    for (int run = 0; run < 5; run++) {
+                        long start = System.nanoTime();
+                        likeIds.clear();
+                        for (int p = 1; p <= 3; p++) {
+                            query.setString(p, "%" + term + "%");
+                        }
+                        try (ResultSet result = query.executeQuery()) {
+                            while (result.next()) {
+                                likeIds.add(result.getObject(1, UUID.class));
+                            }
+                        }
+                        likeNanos = Math.min(likeNanos, System.nanoTime() - start);
+                        
+                        start = System.nanoTime();
+                        hits = index.search(term, 0, 50);
+                        indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+                    }
+                    assertEquals(likeIds.size(), hits.total(), term);
+                    logger.info("rows={} term={} matches={} like={} ms index={} ms", rows, term, hits.total(),
+                                String.format("%.2f", likeNanos / 1e6), String.format("%.3f", indexNanos / 1e6));
+                }
+            }
+        }
+        assertEquals(rows, index.size());
+    }
+    
+    private static String[] person(Random random, int i) {
+        String first = FIRST[random.nextInt(FIRST.length)];
+        String last = LAST[random.nextInt(LAST.length)];
+        return new String[] {first, last, (first + "." + last + i + "@example.com").toLowerCase(Locale.ROOT)};
+    }
+}